@@ -11,7 +11,9 @@
  */
 'use strict';
 
+var ReactNativeAttributePayload = require('ReactNativeAttributePayload');
 var ReactNativeStyleAttributes = require('ReactNativeStyleAttributes');
+var ReactNativeTagHandles = require('ReactNativeTagHandles');
 var UIManager = require('UIManager');
 var UnimplementedView = require('UnimplementedView');
 
@@ -40,6 +42,13 @@ var warning = require('warning');
  *
  * Common types are lined up with the appropriate prop differs with
  * `TypeToDifferMap`.  Non-scalar types not in the map default to `deepDiffer`.
+ *
+ * When the native UIManager exports view manager constants lazily, the config
+ * of a view manager that wasn't exported yet is requested from native here and
+ * filled in once it arrives. Instances rendered before that are created with
+ * their style only, and updated with the rest of their props once it does, so
+ * components should still be required ahead of their first render. The config
+ * of RCTView, whose native props every component has, is always exported.
  */
 import type { ComponentInterface } from 'verifyPropTypes';
 
@@ -49,10 +58,96 @@ function requireNativeComponent(
   extraConfig?: ?{nativeOnly?: Object},
 ): Function {
   var viewConfig = UIManager[viewName];
+  if (!viewConfig && UIManager.isLazyViewManager &&
+      UIManager.isLazyViewManager(viewName)) {
+    return createLazyNativeComponentClass(
+      viewName,
+      componentInterface,
+      extraConfig
+    );
+  }
   if (!viewConfig || !viewConfig.NativeProps) {
     warning(false, 'Native component for "%s" does not exist', viewName);
     return UnimplementedView;
   }
+  setUpViewConfig(viewName, viewConfig, componentInterface, extraConfig);
+  return createReactNativeComponentClass(viewConfig);
+}
+
+function createLazyNativeComponentClass(
+  viewName: string,
+  componentInterface?: ?ComponentInterface,
+  extraConfig?: ?{nativeOnly?: Object},
+): Function {
+  var viewConfig = {
+    uiViewClassName: viewName,
+    validAttributes: {style: ReactNativeStyleAttributes},
+  };
+  var ComponentClass = createReactNativeComponentClass(viewConfig);
+
+  // Instances mounted before the config arrives were created with their style
+  // only, they get the rest of their props once it does.
+  var instancesMountedEarly = [];
+  var mountComponent = ComponentClass.prototype.mountComponent;
+  ComponentClass.prototype.mountComponent = function(
+    rootID,
+    transaction,
+    context
+  ) {
+    if (instancesMountedEarly) {
+      instancesMountedEarly.push(this);
+    }
+    return mountComponent.call(this, rootID, transaction, context);
+  };
+
+  UIManager.loadViewManagerConfig(viewName).then(
+    (config) => {
+      Object.assign(viewConfig, config);
+      UIManager[viewName] = viewConfig;
+      if (viewConfig.NativeProps) {
+        setUpViewConfig(viewName, viewConfig, componentInterface, extraConfig);
+      }
+      var instances = instancesMountedEarly;
+      instancesMountedEarly = null;
+      instances.forEach((instance) => {
+        if (!instance._rootNodeID) {
+          // Unmounted since
+          return;
+        }
+        var updatePayload = ReactNativeAttributePayload.create(
+          instance._currentElement.props,
+          viewConfig.validAttributes
+        );
+        if (updatePayload) {
+          UIManager.updateView(
+            ReactNativeTagHandles.mostRecentMountedNodeHandleForRootNodeID(
+              instance._rootNodeID
+            ),
+            viewName,
+            updatePayload
+          );
+        }
+      });
+    },
+    (error) => {
+      instancesMountedEarly = null;
+      warning(
+        false,
+        'Could not load native component config for "%s": %s',
+        viewName,
+        error.message
+      );
+    }
+  );
+  return ComponentClass;
+}
+
+function setUpViewConfig(
+  viewName: string,
+  viewConfig: Object,
+  componentInterface?: ?ComponentInterface,
+  extraConfig?: ?{nativeOnly?: Object},
+): void {
   var nativeProps = {
     ...UIManager.RCTView.NativeProps,
     ...viewConfig.NativeProps,
@@ -93,7 +188,6 @@ function requireNativeComponent(
       extraConfig && extraConfig.nativeOnly
     );
   }
-  return createReactNativeComponentClass(viewConfig);
 }
 
 var TypeToDifferMap = {
@@ -11,6 +11,7 @@
  */
 'use strict';
 
+var ErrorUtils = require('ErrorUtils');
 var EventPluginHub = require('EventPluginHub');
 var ReactEventEmitterMixin = require('ReactEventEmitterMixin');
 var ReactNativeTagHandles = require('ReactNativeTagHandles');
@@ -30,6 +31,9 @@ var topLevelTypes = EventConstants.topLevelTypes;
 // Shared default empty native event - conserve memory.
 var EMPTY_NATIVE_EVENT = {};
 
+// Target tag of the touches in event batches, see `receiveEventBatch`.
+var TOUCHES_TARGET_TAG = -1;
+
 /**
  * Selects a subsequence of `Touch`es, without destroying `touches`.
  *
@@ -208,6 +212,39 @@ var ReactNativeEventEmitter = merge(ReactEventEmitterMixin, {
         nativeEvent
       );
     }
+  },
+
+  /**
+   * Receives all the events of a frame at once. `records` holds, for each
+   * event in order, its target tag, the index of its top level type in
+   * `topLevelTypes` and its payload. Touches are recorded with a tag of -1 and
+   * `[touches, changedIndices]` as payload.
+   */
+  receiveEventBatch: function(
+    eventTopLevelTypes: Array<string>,
+    records: Array<any>
+  ) {
+    for (var ii = 0; ii < records.length; ii += 3) {
+      var tag = records[ii];
+      var topLevelType = eventTopLevelTypes[records[ii + 1]];
+      var payload = records[ii + 2];
+      // Events were dispatched one call at a time before being batched, each
+      // guarded by MessageQueue. A handler that throws is still a fatal error,
+      // but mustn't drop the other events of the frame.
+      try {
+        if (tag === TOUCHES_TARGET_TAG) {
+          ReactNativeEventEmitter.receiveTouches(
+            topLevelType,
+            payload[0],
+            payload[1]
+          );
+        } else {
+          ReactNativeEventEmitter.receiveEvent(tag, topLevelType, payload);
+        }
+      } catch (e) {
+        ErrorUtils.reportFatalError(e);
+      }
+    }
   }
 });
 
@@ -0,0 +1,68 @@
+/**
+ * Copyright 2004-present Facebook. All Rights Reserved.
+ */
+'use strict';
+
+jest.dontMock('ReactNativeEventEmitter');
+jest.dontMock('merge');
+
+var ErrorUtils = require('ErrorUtils');
+var ReactNativeEventEmitter = require('ReactNativeEventEmitter');
+
+describe('ReactNativeEventEmitter', () => {
+
+  describe('receiveEventBatch', () => {
+    beforeEach(() => {
+      ReactNativeEventEmitter.receiveEvent = jest.genMockFunction();
+      ReactNativeEventEmitter.receiveTouches = jest.genMockFunction();
+      ErrorUtils.reportError.mockClear();
+      ErrorUtils.reportFatalError.mockClear();
+      ErrorUtils.reportFatalError.mockImplementation(() => {});
+    });
+
+    it('should deliver events and touches in order', () => {
+      var touches = [{identifier: 0}];
+      var changedIndices = [0];
+      ReactNativeEventEmitter.receiveEventBatch(
+        ['topChange', 'topTouchStart'],
+        [
+          2, 0, {value: 1},
+          -1, 1, [touches, changedIndices],
+          3, 0, null,
+        ]
+      );
+
+      expect(ReactNativeEventEmitter.receiveEvent.mock.calls).toEqual([
+        [2, 'topChange', {value: 1}],
+        [3, 'topChange', null],
+      ]);
+      expect(ReactNativeEventEmitter.receiveTouches.mock.calls).toEqual([
+        ['topTouchStart', touches, changedIndices],
+      ]);
+      expect(ErrorUtils.reportFatalError).not.toBeCalled();
+    });
+
+    it('should report a throwing handler as fatal and keep delivering', () => {
+      var error = new Error('handler error');
+      ReactNativeEventEmitter.receiveEvent.mockImplementation((tag) => {
+        if (tag === 3) {
+          throw error;
+        }
+      });
+
+      ReactNativeEventEmitter.receiveEventBatch(
+        ['topChange'],
+        [
+          2, 0, {value: 1},
+          3, 0, {value: 2},
+          4, 0, {value: 3},
+        ]
+      );
+
+      expect(ReactNativeEventEmitter.receiveEvent.mock.calls.map(call => call[0]))
+        .toEqual([2, 3, 4]);
+      expect(ErrorUtils.reportFatalError.mock.calls).toEqual([[error]]);
+      expect(ErrorUtils.reportError).not.toBeCalled();
+    });
+  });
+});
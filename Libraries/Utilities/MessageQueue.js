@@ -25,6 +25,8 @@ let MODULE_IDS = 0;
 let METHOD_IDS = 1;
 let PARAMS = 2;
 let CALL_IDS = 3;
+// Module ID of the callback invocations in batches sent by native
+let CALLBACK_MODULE_ID = -1;
 let MIN_TIME_BETWEEN_FLUSHES_MS = 5;
 
 let TRACE_TAG_REACT_APPS = 1 << 17;
@@ -62,6 +64,7 @@ class MessageQueue {
     [
       'invokeCallbackAndReturnFlushedQueue',
       'callFunctionReturnFlushedQueue',
+      'callBatchReturnFlushedQueue',
       'flushedQueue',
     ].forEach((fn) => this[fn] = this[fn].bind(this));
 
@@ -100,6 +103,28 @@ class MessageQueue {
     return this.flushedQueue();
   }
 
+  /**
+   * Runs function calls and callback invocations batched by native, in order.
+   * The batch has the same layout as the queue flushed to native.
+   */
+  callBatchReturnFlushedQueue(batch) {
+    let moduleIDs = batch[MODULE_IDS];
+    let methodIDs = batch[METHOD_IDS];
+    let params = batch[PARAMS];
+    for (let i = 0; i < moduleIDs.length; i++) {
+      guard(() => {
+        if (moduleIDs[i] === CALLBACK_MODULE_ID) {
+          this.__invokeCallback(methodIDs[i], params[i]);
+        } else {
+          this.__callFunction(moduleIDs[i], methodIDs[i], params[i]);
+        }
+      });
+    }
+    guard(() => this.__callImmediates());
+
+    return this.flushedQueue();
+  }
+
   flushedQueue() {
     this.__callImmediates();
 
@@ -109,6 +134,10 @@ class MessageQueue {
   }
 
   processModuleConfig(config, moduleID) {
+    if (!Array.isArray(config)) {
+      // Android describes the module the same way as in remoteModuleConfig
+      config = this._genModulesConfig(config)[moduleID];
+    }
     const module = this._genModule(config, moduleID);
     this._genLookup(config, moduleID, this._remoteModuleTable, this._remoteMethodTable);
     return module;
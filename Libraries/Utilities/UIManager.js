@@ -42,4 +42,38 @@ if (!UIManager.setChildren) {
   } 
 }
 
+/**
+ * When the native UIManager exports view manager constants lazily, it lists
+ * the view managers whose constants weren't exported in `LazyViewManagerNames`.
+ * `loadViewManagerConfig` loads them, after which they are available as
+ * `UIManager[viewManagerName]` like the others.
+ */
+if (UIManager.LazyViewManagerNames) {
+  var pendingViewManagerConfigs = {};
+
+  UIManager.isLazyViewManager = function(viewManagerName: string): boolean {
+    return !UIManager[viewManagerName] &&
+      UIManager.LazyViewManagerNames.indexOf(viewManagerName) !== -1;
+  };
+
+  UIManager.loadViewManagerConfig = function(
+    viewManagerName: string
+  ): Promise {
+    if (UIManager[viewManagerName]) {
+      return Promise.resolve(UIManager[viewManagerName]);
+    }
+    var pendingConfig = pendingViewManagerConfigs[viewManagerName];
+    if (!pendingConfig) {
+      pendingConfig = UIManager.getConstantsForViewManager(viewManagerName)
+        .then((config) => {
+          delete pendingViewManagerConfigs[viewManagerName];
+          UIManager[viewManagerName] = UIManager[viewManagerName] || config;
+          return UIManager[viewManagerName];
+        });
+      pendingViewManagerConfigs[viewManagerName] = pendingConfig;
+    }
+    return pendingConfig;
+  };
+}
+
 module.exports = UIManager;
@@ -17,6 +17,7 @@ var ErrorUtils = {
   applyWithGuard: jest.genMockFunction().mockImplementation(execute),
   inGuard: jest.genMockFunction().mockReturnValue(true),
   reportError: jest.genMockFunction().mockImplementation(reportError),
+  reportFatalError: jest.genMockFunction().mockImplementation(reportError),
   setGlobalHandler: jest.genMockFunction(),
 };
 
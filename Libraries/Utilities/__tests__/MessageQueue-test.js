@@ -85,6 +85,15 @@ describe('MessageQueue', () => {
     expect(() => queue.__invokeCallback(1)).toThrow();
   });
 
+  it('should run batched calls and callbacks in order', () => {
+    let calls = [];
+    TestModule.testHook1 = () => calls.push('testHook1');
+    TestModule.testHook2 = () => calls.push('testHook2');
+    queue.RemoteModules.one.remoteMethod1(() => calls.push('callback'));
+    queue.callBatchReturnFlushedQueue([[0, -1, 0], [1, 1, 0], [[], [], []]]);
+    expect(calls).toEqual(['testHook2', 'callback', 'testHook1']);
+  });
+
   it('should throw when calling both success and failure callback', () => {
     queue.RemoteModules.one.remoteMethod1(() => {}, () => {});
     queue.__invokeCallback(1);
@@ -0,0 +1,269 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.csslayout;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link CSSNode#calculateLayout} on a few representative tree shapes of
+ * {@link #NODE_COUNT} nodes each.
+ *
+ * {@link #relayout} changes the width of the root, which invalidates the cached layout of every
+ * node whose size depends on it, and is reported per node: its score is ns/node and, with the gc
+ * profiler, {@code gc.alloc.rate.norm} is bytes allocated per node. {@link #relayoutSingleLeaf}
+ * changes the height of one leaf, which dirties only the path to the root, and is reported per
+ * layout pass. Both include consuming the new layouts with {@link CSSNode#markLayoutSeen}.
+ *
+ * Run with: ./gradlew :ReactAndroid:benchmarks:jmh -PjmhInclude=LayoutEngineBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LayoutEngineBenchmark {
+
+  public static final int NODE_COUNT = 1000;
+
+  private static final int DEEP_COLUMN_DEPTH = 50;
+  private static final int WIDE_ROW_LENGTH = 100;
+
+  public enum TreeShape {
+    /** Chains of {@link #DEEP_COLUMN_DEPTH} nested columns, each level padded and stretched */
+    DEEP_COLUMN,
+    /** A column of rows of {@link #WIDE_ROW_LENGTH} flexible children each */
+    WIDE_ROW,
+    /** Fixed-size cells in a wrapping row */
+    FLEX_WRAP_GRID,
+    /** Cards that each have absolutely positioned overlays pinned to their edges */
+    ABSOLUTE_OVERLAY,
+    /** List rows where most leaves are measured by a text-like {@link CSSNode.MeasureFunction} */
+    TEXT_MEASURE,
+  }
+
+  /**
+   * Stands in for text measurement: 360dp worth of glyphs, broken into 16dp-high lines of at most
+   * the available width.
+   */
+  private static final CSSNode.MeasureFunction TEXT_LIKE_MEASURE_FUNCTION =
+      new CSSNode.MeasureFunction() {
+        @Override
+        public void measure(CSSNode node, float width, float height, MeasureOutput measureOutput) {
+          float lineWidth = CSSConstants.isUndefined(width) ? 360 : Math.min(width, 360);
+          measureOutput.width = lineWidth;
+          measureOutput.height = 16 * (float) Math.ceil(360 / Math.max(lineWidth, 1));
+        }
+      };
+
+  @Param
+  public TreeShape shape;
+
+  private CSSNode mRoot;
+  private CSSNode mLeaf;
+  private CSSLayoutContext mLayoutContext;
+  private boolean mToggle;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    mRoot = new CSSNode();
+    mRoot.setStyleWidth(1080);
+    mRoot.setStyleHeight(1920);
+
+    NodeBudget budget = new NodeBudget(NODE_COUNT - 1);
+    switch (shape) {
+      case DEEP_COLUMN:
+        buildDeepColumns(mRoot, budget);
+        break;
+      case WIDE_ROW:
+        buildWideRows(mRoot, budget);
+        break;
+      case FLEX_WRAP_GRID:
+        buildFlexWrapGrid(mRoot, budget);
+        break;
+      case ABSOLUTE_OVERLAY:
+        buildAbsoluteOverlays(mRoot, budget);
+        break;
+      case TEXT_MEASURE:
+        buildTextRows(mRoot, budget);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown shape " + shape);
+    }
+
+    mLeaf = mRoot;
+    while (mLeaf.getChildCount() > 0) {
+      mLeaf = mLeaf.getChildAt(mLeaf.getChildCount() - 1);
+    }
+    mLayoutContext = new CSSLayoutContext();
+    mRoot.calculateLayout(mLayoutContext);
+    markLayoutSeenRecursive(mRoot);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NODE_COUNT)
+  public CSSNode relayout() {
+    mToggle = !mToggle;
+    mRoot.setStyleWidth(mToggle ? 720 : 1080);
+    mRoot.calculateLayout(mLayoutContext);
+    markLayoutSeenRecursive(mRoot);
+    return mRoot;
+  }
+
+  @Benchmark
+  public CSSNode relayoutSingleLeaf() {
+    mToggle = !mToggle;
+    if (!mLeaf.isMeasureDefined()) {
+      mLeaf.setStyleHeight(mToggle ? 20 : 24);
+    } else {
+      mLeaf.setMargin(Spacing.TOP, mToggle ? 0 : 2);
+    }
+    mRoot.calculateLayout(mLayoutContext);
+    markLayoutSeenRecursive(mRoot);
+    return mRoot;
+  }
+
+  /**
+   * Consumes the new layouts the way UIImplementation does after each pass, skipping subtrees
+   * whose layout was reused.
+   */
+  private static void markLayoutSeenRecursive(CSSNode node) {
+    if (!node.hasNewLayout()) {
+      return;
+    }
+    node.markLayoutSeen();
+    if (node.hasNewDescendantLayout()) {
+      for (int i = 0; i < node.getChildCount(); i++) {
+        markLayoutSeenRecursive(node.getChildAt(i));
+      }
+    }
+  }
+
+  private static void buildDeepColumns(CSSNode root, NodeBudget budget) {
+    while (budget.hasMore()) {
+      CSSNode parent = root;
+      for (int depth = 0; depth < DEEP_COLUMN_DEPTH && budget.hasMore(); depth++) {
+        CSSNode node = budget.add(parent);
+        node.setPadding(Spacing.ALL, 1);
+        parent = node;
+      }
+      parent.setStyleHeight(8);
+    }
+  }
+
+  private static void buildWideRows(CSSNode root, NodeBudget budget) {
+    while (budget.hasMore()) {
+      CSSNode row = budget.add(root);
+      row.setFlexDirection(CSSFlexDirection.ROW);
+      for (int i = 0; i < WIDE_ROW_LENGTH && budget.hasMore(); i++) {
+        CSSNode cell = budget.add(row);
+        cell.setFlex(1);
+        cell.setStyleHeight(24);
+        cell.setMargin(Spacing.HORIZONTAL, 1);
+      }
+    }
+  }
+
+  private static void buildFlexWrapGrid(CSSNode root, NodeBudget budget) {
+    CSSNode grid = budget.add(root);
+    grid.setFlexDirection(CSSFlexDirection.ROW);
+    grid.setWrap(CSSWrap.WRAP);
+    grid.setJustifyContent(CSSJustify.SPACE_BETWEEN);
+    while (budget.hasMore()) {
+      CSSNode cell = budget.add(grid);
+      cell.setStyleWidth(96);
+      cell.setStyleHeight(96);
+      cell.setMargin(Spacing.ALL, 4);
+    }
+  }
+
+  private static void buildAbsoluteOverlays(CSSNode root, NodeBudget budget) {
+    while (budget.hasMore()) {
+      CSSNode card = budget.add(root);
+      card.setStyleHeight(160);
+      card.setMargin(Spacing.ALL, 8);
+      if (budget.hasMore()) {
+        CSSNode content = budget.add(card);
+        content.setFlex(1);
+      }
+      for (int i = 0; i < 4 && budget.hasMore(); i++) {
+        CSSNode overlay = budget.add(card);
+        overlay.setPositionType(CSSPositionType.ABSOLUTE);
+        overlay.setStyleWidth(24);
+        overlay.setStyleHeight(24);
+        if (i % 2 == 0) {
+          overlay.setPositionLeft(8);
+        } else {
+          overlay.setPositionRight(8);
+        }
+        if (i < 2) {
+          overlay.setPositionTop(8);
+        } else {
+          overlay.setPositionBottom(8);
+        }
+      }
+    }
+  }
+
+  private static void buildTextRows(CSSNode root, NodeBudget budget) {
+    while (budget.hasMore()) {
+      CSSNode row = budget.add(root);
+      row.setFlexDirection(CSSFlexDirection.ROW);
+      row.setPadding(Spacing.ALL, 8);
+      if (!budget.hasMore()) {
+        break;
+      }
+      CSSNode icon = budget.add(row);
+      icon.setStyleWidth(48);
+      icon.setStyleHeight(48);
+      if (!budget.hasMore()) {
+        break;
+      }
+      CSSNode body = budget.add(row);
+      body.setFlex(1);
+      for (int i = 0; i < 3 && budget.hasMore(); i++) {
+        CSSNode text = budget.add(body);
+        text.setMeasureFunction(TEXT_LIKE_MEASURE_FUNCTION);
+      }
+    }
+  }
+
+  /**
+   * Creates nodes until a fixed count is reached, so every shape has exactly {@link #NODE_COUNT}
+   * nodes and per node results are comparable.
+   */
+  private static class NodeBudget {
+
+    private int mRemaining;
+
+    private NodeBudget(int count) {
+      mRemaining = count;
+    }
+
+    private boolean hasMore() {
+      return mRemaining > 0;
+    }
+
+    private CSSNode add(CSSNode parent) {
+      mRemaining--;
+      CSSNode node = new CSSNode();
+      parent.addChildAt(node, parent.getChildCount());
+      return node;
+    }
+  }
+}
@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import javax.annotation.Nullable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the Java side of emitting an event through {@code RCTEventEmitter#receiveEvent}: a
+ * {@link Proxy} whose invocation handler looks up the method id and tracing name of the called
+ * {@link Method} and converts the boxed arguments like {@link Arguments#fromJavaArgs}, and a copy of
+ * the stub {@code JavaScriptModuleProcessor} generates for it.
+ *
+ * WritableNativeArray and CatalystInstanceImpl depend on native code and the Android framework, so
+ * the arguments are pushed into a Java array and the call ends where
+ * {@code CatalystInstanceImpl#callFunction} would start.
+ *
+ * Run with: ./gradlew :ReactAndroid:benchmarks:jmh -PjmhInclude=JSModuleCallBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JSModuleCallBenchmark {
+
+  public interface FakeEventEmitter {
+    void receiveEvent(int targetTag, String eventName, @Nullable FakeNativeArray event);
+    void receiveTouches(String eventName, FakeNativeArray touches, FakeNativeArray changedIndices);
+  }
+
+  private FakeEventEmitter mProxy;
+  private FakeEventEmitter mStub;
+  private FakeCatalystInstance mCatalystInstance;
+  private int mTargetTag;
+
+  @Setup
+  public void setUp() {
+    mCatalystInstance = new FakeCatalystInstance();
+    mProxy = (FakeEventEmitter) Proxy.newProxyInstance(
+        FakeEventEmitter.class.getClassLoader(),
+        new Class[]{FakeEventEmitter.class},
+        new InvocationHandlerImpl(mCatalystInstance, FakeEventEmitter.class, 4));
+    mStub = new FakeEventEmitterStub(mCatalystInstance, 4);
+  }
+
+  @Benchmark
+  public Object proxy() {
+    mProxy.receiveEvent(mTargetTag++, "topScroll", new FakeNativeArray());
+    return mCatalystInstance.mLastArguments;
+  }
+
+  @Benchmark
+  public Object stub() {
+    mStub.receiveEvent(mTargetTag++, "topScroll", new FakeNativeArray());
+    return mCatalystInstance.mLastArguments;
+  }
+
+  /**
+   * Stands in for WritableNativeArray, which keeps its values in native memory.
+   */
+  public static class FakeNativeArray {
+
+    private final List<Object> mValues = new ArrayList<>();
+
+    public void pushNull() {
+      mValues.add(null);
+    }
+
+    public void pushBoolean(boolean value) {
+      mValues.add(value);
+    }
+
+    public void pushDouble(double value) {
+      mValues.add(value);
+    }
+
+    public void pushString(String value) {
+      mValues.add(value);
+    }
+
+    public void pushArray(FakeNativeArray array) {
+      mValues.add(array);
+    }
+  }
+
+  private static class FakeCatalystInstance {
+
+    private @Nullable FakeNativeArray mLastArguments;
+    private int mCalls;
+
+    public void callFunction(
+        int moduleId,
+        int methodId,
+        FakeNativeArray arguments,
+        String tracingName,
+        boolean batched) {
+      mLastArguments = arguments;
+      mCalls += moduleId + methodId + tracingName.length() + (batched ? 1 : 0);
+    }
+  }
+
+  /**
+   * Reproduces JavaScriptModuleRegistry.JavaScriptModuleInvocationHandler and the method lookups
+   * of JavaScriptModuleRegistration.
+   */
+  private static class InvocationHandlerImpl implements InvocationHandler {
+
+    private final FakeCatalystInstance mCatalystInstance;
+    private final int mModuleId;
+    private final Map<Method, Integer> mMethodsToIds = new HashMap<>();
+    private final Map<Method, String> mMethodsToTracingNames = new HashMap<>();
+
+    public InvocationHandlerImpl(
+        FakeCatalystInstance catalystInstance,
+        Class<?> moduleInterface,
+        int moduleId) {
+      mCatalystInstance = catalystInstance;
+      mModuleId = moduleId;
+      Method[] methods = moduleInterface.getDeclaredMethods();
+      Arrays.sort(methods, new Comparator<Method>() {
+        @Override
+        public int compare(Method lhs, Method rhs) {
+          return lhs.getName().compareTo(rhs.getName());
+        }
+      });
+      for (int i = 0; i < methods.length; i++) {
+        mMethodsToIds.put(methods[i], i);
+        mMethodsToTracingNames.put(
+            methods[i],
+            "JSCall__" + moduleInterface.getSimpleName() + "_" + methods[i].getName());
+      }
+    }
+
+    @Override
+    public @Nullable Object invoke(Object proxy, Method method, Object[] args) {
+      String tracingName = mMethodsToTracingNames.get(method);
+      mCatalystInstance.callFunction(
+          mModuleId,
+          mMethodsToIds.get(method),
+          fromJavaArgs(args),
+          tracingName,
+          true);
+      return null;
+    }
+
+    private static FakeNativeArray fromJavaArgs(Object[] args) {
+      FakeNativeArray arguments = new FakeNativeArray();
+      for (int i = 0; i < args.length; i++) {
+        Object argument = args[i];
+        if (argument == null) {
+          arguments.pushNull();
+          continue;
+        }
+
+        Class argumentClass = argument.getClass();
+        if (argumentClass == Boolean.class) {
+          arguments.pushBoolean(((Boolean) argument).booleanValue());
+        } else if (argumentClass == Integer.class) {
+          arguments.pushDouble(((Integer) argument).doubleValue());
+        } else if (argumentClass == Double.class) {
+          arguments.pushDouble(((Double) argument).doubleValue());
+        } else if (argumentClass == Float.class) {
+          arguments.pushDouble(((Float) argument).doubleValue());
+        } else if (argumentClass == String.class) {
+          arguments.pushString(argument.toString());
+        } else if (argumentClass == FakeNativeArray.class) {
+          arguments.pushArray((FakeNativeArray) argument);
+        } else {
+          throw new RuntimeException("Cannot convert argument of type " + argumentClass);
+        }
+      }
+      return arguments;
+    }
+  }
+
+  /**
+   * Stands in for JavaScriptModuleStub.
+   */
+  private abstract static class FakeJavaScriptModuleStub {
+
+    private final FakeCatalystInstance mCatalystInstance;
+    private final int mModuleId;
+
+    protected FakeJavaScriptModuleStub(FakeCatalystInstance catalystInstance, int moduleId) {
+      mCatalystInstance = catalystInstance;
+      mModuleId = moduleId;
+    }
+
+    protected final void callFunction(
+        int methodId,
+        FakeNativeArray arguments,
+        String tracingName,
+        boolean batched) {
+      mCatalystInstance.callFunction(mModuleId, methodId, arguments, tracingName, batched);
+    }
+  }
+
+  /**
+   * The output of JavaScriptModuleProcessor for RCTEventEmitter, with FakeNativeArray and
+   * FakeJavaScriptModuleStub in place of the native array and JavaScriptModuleStub. Keep it in sync
+   * with the processor, the generated stubs themselves can't run outside of Android.
+   */
+  private static class FakeEventEmitterStub extends FakeJavaScriptModuleStub
+      implements FakeEventEmitter {
+
+    public FakeEventEmitterStub(FakeCatalystInstance catalystInstance, int moduleId) {
+      super(catalystInstance, moduleId);
+    }
+
+    @Override
+    public void receiveEvent(int arg0, String arg1, FakeNativeArray arg2) {
+      FakeNativeArray arguments = new FakeNativeArray();
+      arguments.pushDouble(arg0);
+      if (arg1 == null) {
+        arguments.pushNull();
+      } else {
+        arguments.pushString(arg1);
+      }
+      if (arg2 == null) {
+        arguments.pushNull();
+      } else {
+        arguments.pushArray(arg2);
+      }
+      callFunction(0, arguments, "JSCall__FakeEventEmitter_receiveEvent", true);
+    }
+
+    @Override
+    public void receiveTouches(String arg0, FakeNativeArray arg1, FakeNativeArray arg2) {
+      FakeNativeArray arguments = new FakeNativeArray();
+      if (arg0 == null) {
+        arguments.pushNull();
+      } else {
+        arguments.pushString(arg0);
+      }
+      if (arg1 == null) {
+        arguments.pushNull();
+      } else {
+        arguments.pushArray(arg1);
+      }
+      if (arg2 == null) {
+        arguments.pushNull();
+      } else {
+        arguments.pushArray(arg2);
+      }
+      callFunction(1, arguments, "JSCall__FakeEventEmitter_receiveTouches", true);
+    }
+  }
+}
@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares building the modules config JSON passed to JS at startup, as
+ * {@code CatalystInstanceImpl#buildModulesConfigJSONProperty} does without a
+ * {@link ModulesConfigCache}, with fingerprinting the config and reading the JSON of a previous
+ * launch from a file.
+ *
+ * The modules are described by plain Java fakes, since NativeModuleRegistry depends on the Android
+ * framework, and ModulesConfigCache#get is reproduced here because it logs through FLog. The
+ * constants are shaped like the ones UIManagerModule exports: a map per view manager with its
+ * native props and commands, and the event types maps.
+ *
+ * Run with: ./gradlew :ReactAndroid:benchmarks:jmh -PjmhInclude=ModulesConfigCacheBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ModulesConfigCacheBenchmark {
+
+  private static final int METHOD_COUNT = 8;
+  private static final int CONSTANT_COUNT = 6;
+  private static final int PROP_COUNT = 25;
+
+  @Param({"40"})
+  public int moduleCount;
+
+  @Param({"20", "60"})
+  public int viewManagerCount;
+
+  private List<FakeModule> mModules;
+  private File mFile;
+
+  @Setup
+  public void setUp() throws IOException {
+    mModules = new ArrayList<>();
+    for (int i = 0; i < moduleCount; i++) {
+      Map<String, Object> constants = new HashMap<>();
+      for (int j = 0; j < CONSTANT_COUNT; j++) {
+        constants.put("Constant" + j, j % 2 == 0 ? (Object) ("value" + j) : (Object) j);
+      }
+      mModules.add(new FakeModule("Module" + i, constants));
+    }
+    mModules.add(new FakeModule("UIManager", createUIManagerConstants(viewManagerCount)));
+
+    mFile = File.createTempFile("ModulesConfigCacheBenchmark", null);
+    DataOutputStream output = new DataOutputStream(new FileOutputStream(mFile));
+    try {
+      output.writeLong(fingerprint());
+      output.write(writeJSON().getBytes("UTF-8"));
+    } finally {
+      output.close();
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    mFile.delete();
+  }
+
+  @Benchmark
+  public String build() throws IOException {
+    return writeJSON();
+  }
+
+  @Benchmark
+  public String cached() throws IOException {
+    long fingerprint = fingerprint();
+    DataInputStream input = new DataInputStream(new FileInputStream(mFile));
+    try {
+      if (input.readLong() != fingerprint) {
+        throw new IllegalStateException("Fingerprint changed");
+      }
+      byte[] json = new byte[(int) mFile.length() - 8];
+      input.readFully(json);
+      return new String(json, "UTF-8");
+    } finally {
+      input.close();
+    }
+  }
+
+  private long fingerprint() {
+    ModulesConfigFingerprint fingerprint = new ModulesConfigFingerprint();
+    for (int i = 0; i < mModules.size(); i++) {
+      FakeModule module = mModules.get(i);
+      fingerprint.add(module.mName).add(i).add(false).add(METHOD_COUNT);
+      for (int j = 0; j < METHOD_COUNT; j++) {
+        fingerprint.add("method" + j).add("remote");
+      }
+      fingerprint.addValue(module.mConstants);
+    }
+    return fingerprint.build();
+  }
+
+  private String writeJSON() throws IOException {
+    StringWriter writer = new StringWriter();
+    JsonGenerator jg = new JsonFactory().createGenerator(writer);
+    jg.writeStartObject();
+    jg.writeObjectFieldStart("remoteModuleConfig");
+    for (int i = 0; i < mModules.size(); i++) {
+      FakeModule module = mModules.get(i);
+      jg.writeObjectFieldStart(module.mName);
+      jg.writeNumberField("moduleID", i);
+      jg.writeObjectFieldStart("methods");
+      for (int j = 0; j < METHOD_COUNT; j++) {
+        jg.writeObjectFieldStart("method" + j);
+        jg.writeNumberField("methodID", j);
+        jg.writeStringField("type", "remote");
+        jg.writeEndObject();
+      }
+      jg.writeEndObject();
+      JsonGeneratorHelper.writeObjectField(jg, "constants", module.mConstants);
+      jg.writeEndObject();
+    }
+    jg.writeEndObject();
+    jg.writeEndObject();
+    jg.close();
+    return writer.getBuffer().toString();
+  }
+
+  private static Map<String, Object> createUIManagerConstants(int viewManagerCount) {
+    Map<String, Object> constants = new HashMap<>();
+    Map<String, Object> bubblingEventTypes = new HashMap<>();
+    Map<String, Object> directEventTypes = new HashMap<>();
+    for (int i = 0; i < viewManagerCount; i++) {
+      Map<String, Object> nativeProps = new HashMap<>();
+      for (int j = 0; j < PROP_COUNT; j++) {
+        nativeProps.put("prop" + j, j % 3 == 0 ? "boolean" : "number");
+      }
+      Map<String, Object> commands = new HashMap<>();
+      commands.put("focus", 1);
+      commands.put("blur", 2);
+      Map<String, Object> viewManagerConstants = new HashMap<>();
+      viewManagerConstants.put("NativeProps", nativeProps);
+      viewManagerConstants.put("Commands", commands);
+      constants.put("RCTView" + i, viewManagerConstants);
+
+      Map<String, Object> phasedRegistrationNames = new HashMap<>();
+      phasedRegistrationNames.put("bubbled", "onEvent" + i);
+      phasedRegistrationNames.put("captured", "onEvent" + i + "Capture");
+      Map<String, Object> bubblingEventType = new HashMap<>();
+      bubblingEventType.put("phasedRegistrationNames", phasedRegistrationNames);
+      bubblingEventTypes.put("topEvent" + i, bubblingEventType);
+      Map<String, Object> directEventType = new HashMap<>();
+      directEventType.put("registrationName", "onDirectEvent" + i);
+      directEventTypes.put("topDirectEvent" + i, directEventType);
+    }
+    constants.put("customBubblingEventTypes", bubblingEventTypes);
+    constants.put("customDirectEventTypes", directEventTypes);
+    return constants;
+  }
+
+  private static class FakeModule {
+
+    private final String mName;
+    private final Map<String, Object> mConstants;
+
+    private FakeModule(String name, Map<String, Object> constants) {
+      mName = name;
+      mConstants = constants;
+    }
+  }
+}
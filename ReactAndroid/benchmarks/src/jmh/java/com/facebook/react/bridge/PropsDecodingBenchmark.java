@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Counts the JNI calls made to apply a props diff, the way ViewManagerPropertyUpdater and the
+ * prop setters read it through CatalystStylesDiffMap: iterate the keys, then check for null and
+ * read the value of each. {@code nativeMap} reads a ReadableNativeMap one call at a time,
+ * {@code decodedMap} decodes it with a single call first.
+ *
+ * ReadableNativeMap can't be loaded on the JVM, so it's replaced with a map that counts the
+ * calls made to it. The number of calls per operation is printed at the end of each run. The time reported for
+ * {@code nativeMap} doesn't include the cost of the JNI transitions themselves.
+ *
+ * Run with: ./gradlew :ReactAndroid:benchmarks:jmh -PjmhInclude=PropsDecodingBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PropsDecodingBenchmark {
+
+  @Param({"4", "24"})
+  public int propCount;
+
+  private CountingNativeMap mProps;
+  // Calls made by the last operation, every operation makes the same calls
+  private int mLastCalls;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    // Style props of a view, mostly numbers like layout props, borders and opacity
+    Map<String, Object> values = new LinkedHashMap<>();
+    for (int i = 0; i < propCount; i++) {
+      switch (i % 6) {
+        case 0:
+          values.put("backgroundColor" + i, 0xff336699);
+          break;
+        case 1:
+          values.put("borderWidth" + i, 1.5);
+          break;
+        case 2:
+          values.put("testID" + i, "row-" + i);
+          break;
+        case 3:
+          values.put("opacity" + i, null);
+          break;
+        case 4:
+          values.put("collapsable" + i, false);
+          break;
+        default:
+          values.put("borderRadius" + i, 4.0);
+          break;
+      }
+    }
+    mProps = new CountingNativeMap(values);
+  }
+
+  @TearDown(Level.Trial)
+  public void printCalls() {
+    System.out.println("JNI calls per operation: " + mLastCalls);
+  }
+
+  @Benchmark
+  public double nativeMap() {
+    mProps.mCalls = 0;
+    double result = applyProps(mProps);
+    mLastCalls = mProps.mCalls;
+    return result;
+  }
+
+  @Benchmark
+  public double decodedMap() {
+    mProps.mCalls = 0;
+    double result = applyProps(mProps.decode());
+    mLastCalls = mProps.mCalls;
+    return result;
+  }
+
+  /**
+   * Reads every prop the way the generated setters do through CatalystStylesDiffMap.
+   */
+  private static double applyProps(ReadableMap props) {
+    double result = 0;
+    ReadableMapKeySetIterator iterator = props.keySetIterator();
+    while (iterator.hasNextKey()) {
+      String name = iterator.nextKey();
+      if (name.startsWith("backgroundColor")) {
+        result += props.isNull(name) ? 0 : props.getInt(name);
+      } else if (name.startsWith("collapsable")) {
+        result += props.isNull(name) ? 0 : (props.getBoolean(name) ? 1 : 0);
+      } else if (name.startsWith("testID")) {
+        String value = props.getString(name);
+        result += value == null ? 0 : value.length();
+      } else {
+        result += props.isNull(name) ? 0 : (float) props.getDouble(name);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Map counting every call that would cross JNI on a ReadableNativeMap.
+   */
+  private static class CountingNativeMap implements ReadableMap {
+
+    private final Map<String, Object> mValues;
+    private int mCalls;
+
+    public CountingNativeMap(Map<String, Object> values) {
+      mValues = values;
+    }
+
+    public DecodedReadableMap decode() {
+      mCalls++;
+      int size = mValues.size();
+      String[] keys = new String[size];
+      byte[] types = new byte[size];
+      double[] numbers = new double[size];
+      Object[] objects = new Object[size];
+      int i = 0;
+      for (Map.Entry<String, Object> entry : mValues.entrySet()) {
+        // Keys and strings are new objects when copied out of native memory
+        keys[i] = new String(entry.getKey());
+        Object value = entry.getValue();
+        if (value == null) {
+          types[i] = DecodedReadableMap.TYPE_NULL;
+        } else if (value instanceof Boolean) {
+          types[i] = DecodedReadableMap.TYPE_BOOLEAN;
+          numbers[i] = (Boolean) value ? 1 : 0;
+        } else if (value instanceof Integer) {
+          types[i] = DecodedReadableMap.TYPE_INT;
+          numbers[i] = (Integer) value;
+        } else if (value instanceof Double) {
+          types[i] = DecodedReadableMap.TYPE_DOUBLE;
+          numbers[i] = (Double) value;
+        } else {
+          types[i] = DecodedReadableMap.TYPE_STRING;
+          objects[i] = new String((String) value);
+        }
+        i++;
+      }
+      return new DecodedReadableMap(keys, types, numbers, objects);
+    }
+
+    @Override
+    public boolean hasKey(String name) {
+      mCalls++;
+      return mValues.containsKey(name);
+    }
+
+    @Override
+    public boolean isNull(String name) {
+      mCalls++;
+      return mValues.get(name) == null;
+    }
+
+    @Override
+    public boolean getBoolean(String name) {
+      mCalls++;
+      return (Boolean) mValues.get(name);
+    }
+
+    @Override
+    public double getDouble(String name) {
+      mCalls++;
+      Object value = mValues.get(name);
+      return value instanceof Integer ? (Integer) value : (Double) value;
+    }
+
+    @Override
+    public int getInt(String name) {
+      mCalls++;
+      return (Integer) mValues.get(name);
+    }
+
+    @Override
+    public String getString(String name) {
+      mCalls++;
+      return (String) mValues.get(name);
+    }
+
+    @Override
+    public ReadableArray getArray(String name) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ReadableMap getMap(String name) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ReadableType getType(String name) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ReadableMapKeySetIterator keySetIterator() {
+      final List<String> keys = new ArrayList<>(mValues.keySet());
+      final Iterator<String> iterator = keys.iterator();
+      // ReadableNativeMapKeySetIterator is initialized with a JNI call too
+      mCalls++;
+      return new ReadableMapKeySetIterator() {
+        @Override
+        public boolean hasNextKey() {
+          mCalls++;
+          return iterator.hasNext();
+        }
+
+        @Override
+        public String nextKey() {
+          mCalls++;
+          return new String(iterator.next());
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures how long threads dispatching events wait on the staging data structure of
+ * EventDispatcher while the UI thread moves the staged events to the events to dispatch, with 3
+ * producer threads and one consumer thread.
+ *
+ * The {@code locked} group reproduces the previous staging: an ArrayList guarded by a lock which
+ * the UI thread holds while it computes the cookies of the staged events and coalesces them. The
+ * {@code lockFree} group adds to a {@link MpscQueue} and does the same work for each polled event
+ * outside of any lock. Producers burn a few cycles between events, standing in for the gesture
+ * and scroll handling that creates them.
+ *
+ * The scores to compare are the ones of the producers ({@code lockedDispatch} and
+ * {@code lockFreeDispatch}).
+ *
+ * Run with: ./gradlew :ReactAndroid:benchmarks:jmh -PjmhInclude=EventStagingBenchmark
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventStagingBenchmark {
+
+  private static final int PRODUCERS = 3;
+  private static final int EVENTS_PER_PRODUCER = 1024;
+  private static final int PRODUCER_TOKENS = 50;
+  private static final String[] EVENT_NAMES = {"topScroll", "topTouchMove", "topChange"};
+
+  /**
+   * Events dispatched by one producer thread, reused so that allocation doesn't hide contention.
+   */
+  @State(Scope.Thread)
+  public static class ProducerState {
+
+    private final FakeEvent[] mEvents = new FakeEvent[EVENTS_PER_PRODUCER];
+    private int mNextEvent;
+
+    @Setup
+    public void setUp() {
+      for (int i = 0; i < mEvents.length; i++) {
+        mEvents[i] = new FakeEvent(i % 32, EVENT_NAMES[i % EVENT_NAMES.length], (short) 0);
+      }
+    }
+
+    private FakeEvent nextEvent() {
+      FakeEvent event = mEvents[mNextEvent];
+      mNextEvent = (mNextEvent + 1) % mEvents.length;
+      return event;
+    }
+  }
+
+  private final Object mStagingLock = new Object();
+  private final ArrayList<FakeEvent> mLockedStaging = new ArrayList<>();
+  private final MpscQueue<FakeEvent> mLockFreeStaging = new MpscQueue<>();
+  private final Coalescer mCoalescer = new Coalescer();
+
+  @Benchmark
+  @Group("locked")
+  @GroupThreads(PRODUCERS)
+  public void lockedDispatch(ProducerState producer) {
+    Blackhole.consumeCPU(PRODUCER_TOKENS);
+    FakeEvent event = producer.nextEvent();
+    synchronized (mStagingLock) {
+      mLockedStaging.add(event);
+    }
+  }
+
+  @Benchmark
+  @Group("locked")
+  @GroupThreads(1)
+  public int lockedMoveStagedEvents() {
+    synchronized (mStagingLock) {
+      for (int i = 0; i < mLockedStaging.size(); i++) {
+        mCoalescer.add(mLockedStaging.get(i));
+      }
+      mLockedStaging.clear();
+    }
+    return mCoalescer.swap();
+  }
+
+  @Benchmark
+  @Group("lockFree")
+  @GroupThreads(PRODUCERS)
+  public void lockFreeDispatch(ProducerState producer) {
+    Blackhole.consumeCPU(PRODUCER_TOKENS);
+    mLockFreeStaging.add(producer.nextEvent());
+  }
+
+  @Benchmark
+  @Group("lockFree")
+  @GroupThreads(1)
+  public int lockFreeMoveStagedEvents() {
+    FakeEvent event;
+    while ((event = mLockFreeStaging.poll()) != null) {
+      mCoalescer.add(event);
+    }
+    return mCoalescer.swap();
+  }
+
+  private static class FakeEvent {
+
+    private final int mViewTag;
+    private final String mEventName;
+    private final short mCoalescingKey;
+
+    public FakeEvent(int viewTag, String eventName, short coalescingKey) {
+      mViewTag = viewTag;
+      mEventName = eventName;
+      mCoalescingKey = coalescingKey;
+    }
+  }
+
+  /**
+   * The work EventDispatcher does for each staged event: computing its cookie and looking up the
+   * last event with the same cookie. A HashMap stands in for android.util.LongSparseArray.
+   */
+  private static class Coalescer {
+
+    private final Map<String, Short> mEventNameToEventId = new HashMap<>();
+    private final Map<Long, Integer> mEventCookieToLastEventIdx = new HashMap<>();
+    private final ArrayList<FakeEvent> mEvents = new ArrayList<>();
+    private short mNextEventTypeId;
+
+    public void add(FakeEvent event) {
+      Short eventTypeId = mEventNameToEventId.get(event.mEventName);
+      if (eventTypeId == null) {
+        eventTypeId = mNextEventTypeId++;
+        mEventNameToEventId.put(event.mEventName, eventTypeId);
+      }
+      long eventCookie = event.mViewTag |
+          (((long) eventTypeId) & 0xffff) << 32 |
+          (((long) event.mCoalescingKey) & 0xffff) << 48;
+
+      Integer lastEventIdx = mEventCookieToLastEventIdx.get(eventCookie);
+      if (lastEventIdx == null) {
+        mEventCookieToLastEventIdx.put(eventCookie, mEvents.size());
+        mEvents.add(event);
+      } else {
+        mEvents.set(lastEventIdx, event);
+      }
+    }
+
+    /**
+     * Hands the coalesced events over, like a frame does.
+     */
+    public int swap() {
+      int size = mEvents.size();
+      mEvents.clear();
+      mEventCookieToLastEventIdx.clear();
+      return size;
+    }
+  }
+}
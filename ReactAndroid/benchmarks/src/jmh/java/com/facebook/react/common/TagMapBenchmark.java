@@ -0,0 +1,238 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.common;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the tag registries of the UI manager when mounting and unmounting {@link #viewCount}
+ * views: {@link IntObjectMap} against a copy of the algorithm of android.util.SparseArray, which
+ * isn't available on the JVM.
+ *
+ * {@link #mount} registers every tag then resolves it, as creating a view and adding it to its
+ * parent do. {@link #unmount} also removes every tag afterwards. With {@code SEQUENTIAL} tags,
+ * which is how JS allocates them, a SparseArray always appends. {@code SHUFFLED} tags stand for a
+ * registry that already holds tags around the ones being mounted, e.g. screens mounted after
+ * others were unmounted.
+ *
+ * Run with: ./gradlew :ReactAndroid:benchmarks:jmh -PjmhInclude=TagMapBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TagMapBenchmark {
+
+  public enum MapType {
+    INT_OBJECT_MAP,
+    SPARSE_ARRAY,
+  }
+
+  public enum TagOrder {
+    SEQUENTIAL,
+    SHUFFLED,
+  }
+
+  @Param({"10000", "50000"})
+  public int viewCount;
+
+  @Param
+  public MapType mapType;
+
+  @Param
+  public TagOrder tagOrder;
+
+  private int[] mTags;
+  private Object mView;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    mTags = new int[viewCount];
+    int tag = 1;
+    for (int i = 0; i < viewCount; i++) {
+      // Multiples of 10 are reserved for root views
+      if (tag % 10 == 0) {
+        tag++;
+      }
+      mTags[i] = tag++;
+    }
+    if (tagOrder == TagOrder.SHUFFLED) {
+      Random random = new Random(42);
+      for (int i = viewCount - 1; i > 0; i--) {
+        int j = random.nextInt(i + 1);
+        int swap = mTags[i];
+        mTags[i] = mTags[j];
+        mTags[j] = swap;
+      }
+    }
+    mView = new Object();
+  }
+
+  @Benchmark
+  public int mount() {
+    TagMap map = createMap();
+    registerAll(map);
+    return resolveAll(map);
+  }
+
+  @Benchmark
+  public int unmount() {
+    TagMap map = createMap();
+    registerAll(map);
+    int resolved = resolveAll(map);
+    for (int i = 0; i < viewCount; i++) {
+      map.remove(mTags[i]);
+    }
+    return resolved + map.size();
+  }
+
+  private TagMap createMap() {
+    return mapType == MapType.INT_OBJECT_MAP ? new IntObjectTagMap() : new SparseArrayTagMap();
+  }
+
+  private void registerAll(TagMap map) {
+    for (int i = 0; i < viewCount; i++) {
+      map.put(mTags[i], mView);
+    }
+  }
+
+  private int resolveAll(TagMap map) {
+    int resolved = 0;
+    for (int i = 0; i < viewCount; i++) {
+      if (map.get(mTags[i]) != null) {
+        resolved++;
+      }
+    }
+    return resolved;
+  }
+
+  private interface TagMap {
+    void put(int tag, Object view);
+    Object get(int tag);
+    void remove(int tag);
+    int size();
+  }
+
+  private static class IntObjectTagMap implements TagMap {
+
+    private final IntObjectMap<Object> mMap = new IntObjectMap<>();
+
+    @Override
+    public void put(int tag, Object view) {
+      mMap.put(tag, view);
+    }
+
+    @Override
+    public Object get(int tag) {
+      return mMap.get(tag);
+    }
+
+    @Override
+    public void remove(int tag) {
+      mMap.remove(tag);
+    }
+
+    @Override
+    public int size() {
+      return mMap.size();
+    }
+  }
+
+  /**
+   * Sorted parallel arrays with binary search, removals marking entries as deleted and compacted
+   * lazily, like android.util.SparseArray.
+   */
+  private static class SparseArrayTagMap implements TagMap {
+
+    private static final Object DELETED = new Object();
+
+    private int[] mKeys = new int[10];
+    private Object[] mValues = new Object[10];
+    private int mSize;
+    private boolean mGarbage;
+
+    @Override
+    public void put(int tag, Object view) {
+      int i = Arrays.binarySearch(mKeys, 0, mSize, tag);
+      if (i >= 0) {
+        mValues[i] = view;
+        return;
+      }
+      i = ~i;
+      if (i < mSize && mValues[i] == DELETED) {
+        mKeys[i] = tag;
+        mValues[i] = view;
+        return;
+      }
+      if (mGarbage && mSize >= mKeys.length) {
+        gc();
+        i = ~Arrays.binarySearch(mKeys, 0, mSize, tag);
+      }
+      if (mSize == mKeys.length) {
+        int newLength = mSize * 2;
+        mKeys = Arrays.copyOf(mKeys, newLength);
+        mValues = Arrays.copyOf(mValues, newLength);
+      }
+      System.arraycopy(mKeys, i, mKeys, i + 1, mSize - i);
+      System.arraycopy(mValues, i, mValues, i + 1, mSize - i);
+      mKeys[i] = tag;
+      mValues[i] = view;
+      mSize++;
+    }
+
+    @Override
+    public Object get(int tag) {
+      int i = Arrays.binarySearch(mKeys, 0, mSize, tag);
+      return i < 0 || mValues[i] == DELETED ? null : mValues[i];
+    }
+
+    @Override
+    public void remove(int tag) {
+      int i = Arrays.binarySearch(mKeys, 0, mSize, tag);
+      if (i >= 0 && mValues[i] != DELETED) {
+        mValues[i] = DELETED;
+        mGarbage = true;
+      }
+    }
+
+    @Override
+    public int size() {
+      if (mGarbage) {
+        gc();
+      }
+      return mSize;
+    }
+
+    private void gc() {
+      int size = 0;
+      for (int i = 0; i < mSize; i++) {
+        if (mValues[i] != DELETED) {
+          mKeys[size] = mKeys[i];
+          mValues[size] = mValues[i];
+          size++;
+        }
+      }
+      Arrays.fill(mValues, size, mSize, null);
+      mSize = size;
+      mGarbage = false;
+    }
+  }
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import java.util.concurrent.TimeUnit;
+
+import com.facebook.csslayout.CSSFlexDirection;
+import com.facebook.csslayout.CSSLayoutContext;
+import com.facebook.csslayout.CSSNode;
+import com.facebook.csslayout.CSSWrap;
+import com.facebook.csslayout.MeasureOutput;
+import com.facebook.csslayout.Spacing;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares laying out several independent roots one after another (as
+ * {@link UIImplementation#dispatchViewUpdates} does by default) with
+ * {@link ParallelRootLayoutCalculator}. Each iteration changes the width of every root, which
+ * forces a full relayout of each hierarchy.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParallelRootLayoutBenchmark {
+
+  private static final CSSNode.MeasureFunction TEXT_LIKE_MEASURE_FUNCTION =
+      new CSSNode.MeasureFunction() {
+        @Override
+        public void measure(CSSNode node, float width, float height, MeasureOutput measureOutput) {
+          float lineWidth = Float.isNaN(width) ? 120 : Math.min(width, 120);
+          measureOutput.width = lineWidth;
+          measureOutput.height = 16 * (float) Math.ceil(360 / Math.max(lineWidth, 1));
+        }
+      };
+
+  @Param({"1", "2", "4", "8"})
+  public int rootCount;
+
+  @Param({"500"})
+  public int nodesPerRoot;
+
+  private CSSNode[] mRoots;
+  private CSSLayoutContext mSerialLayoutContext;
+  private ParallelRootLayoutCalculator mCalculator;
+  private boolean mWide;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    mRoots = new CSSNode[rootCount];
+    for (int i = 0; i < rootCount; i++) {
+      mRoots[i] = createRoot(nodesPerRoot);
+    }
+    mSerialLayoutContext = new CSSLayoutContext();
+    mCalculator = new ParallelRootLayoutCalculator();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    mCalculator.shutdown();
+  }
+
+  @Benchmark
+  public void serial() {
+    resizeRoots();
+    for (int i = 0; i < rootCount; i++) {
+      mRoots[i].calculateLayout(mSerialLayoutContext);
+    }
+    markLayoutSeen();
+  }
+
+  @Benchmark
+  public void parallel() {
+    resizeRoots();
+    mCalculator.calculateLayouts(mRoots, rootCount);
+    markLayoutSeen();
+  }
+
+  private void resizeRoots() {
+    mWide = !mWide;
+    for (int i = 0; i < rootCount; i++) {
+      mRoots[i].setStyleWidth(mWide ? 1080 : 720);
+    }
+  }
+
+  private void markLayoutSeen() {
+    for (int i = 0; i < rootCount; i++) {
+      markLayoutSeenRecursive(mRoots[i]);
+    }
+  }
+
+  private static void markLayoutSeenRecursive(CSSNode node) {
+    if (node.hasNewLayout()) {
+      node.markLayoutSeen();
+    }
+    for (int i = 0; i < node.getChildCount(); i++) {
+      markLayoutSeenRecursive(node.getChildAt(i));
+    }
+  }
+
+  /**
+   * A list-like screen: a column of rows, each row an avatar, a column of two text nodes and a
+   * wrapping row of small chips.
+   */
+  private static CSSNode createRoot(int nodeCount) {
+    CSSNode root = new CSSNode();
+    root.setStyleWidth(1080);
+    root.setStyleHeight(1920);
+    int created = 1;
+    while (created < nodeCount) {
+      CSSNode row = new CSSNode();
+      row.setFlexDirection(CSSFlexDirection.ROW);
+      row.setPadding(Spacing.ALL, 8);
+      root.addChildAt(row, root.getChildCount());
+
+      CSSNode avatar = new CSSNode();
+      avatar.setStyleWidth(48);
+      avatar.setStyleHeight(48);
+      row.addChildAt(avatar, 0);
+
+      CSSNode body = new CSSNode();
+      body.setFlex(1);
+      row.addChildAt(body, 1);
+      for (int i = 0; i < 2; i++) {
+        CSSNode text = new CSSNode();
+        text.setMeasureFunction(TEXT_LIKE_MEASURE_FUNCTION);
+        body.addChildAt(text, i);
+      }
+
+      CSSNode chips = new CSSNode();
+      chips.setFlexDirection(CSSFlexDirection.ROW);
+      chips.setWrap(CSSWrap.WRAP);
+      body.addChildAt(chips, 2);
+      for (int i = 0; i < 4; i++) {
+        CSSNode chip = new CSSNode();
+        chip.setStyleWidth(64);
+        chip.setStyleHeight(24);
+        chip.setMargin(Spacing.RIGHT, 4);
+        chips.addChildAt(chip, i);
+      }
+      created += 10;
+    }
+    return root;
+  }
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the ways a float {@code @ReactProp} and a float {@code @ReactPropGroup} setter can be
+ * called: the way the fallback setters of {@link ViewManagersPropertyCache} used to call them
+ * (static argument arrays, checked access, a new box per call), the way they call them now
+ * (accessible method, per setter arguments, box reused while the value doesn't change) and the
+ * direct call made by setters generated by the annotation processor.
+ *
+ * ViewManagersPropertyCache depends on the Android framework, so its invocation is reproduced here
+ * on a plain Java target.
+ *
+ * Run with: ./gradlew :ReactAndroid:benchmarks:jmh -PjmhInclude=PropSetterInvokeBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PropSetterInvokeBenchmark {
+
+  private static final Object[] SHARED_ARGS = new Object[2];
+  private static final Object[] SHARED_GROUP_ARGS = new Object[3];
+
+  public enum ValueChanges {
+    /** The same value is set again, e.g. when a list row is updated */
+    UNCHANGED,
+    /** Every update sets a new value, e.g. during an animation */
+    CHANGING,
+  }
+
+  @Param
+  public ValueChanges valueChanges;
+
+  private FakeViewManager mManager;
+  private Object mView;
+  private Method mSetter;
+  private Method mGroupSetter;
+  private Method mAccessibleSetter;
+  private Method mAccessibleGroupSetter;
+  private Object[] mArgs;
+  private Object[] mGroupArgs;
+  private Float mBoxedValue;
+  private float mValue;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    mManager = new FakeViewManager();
+    mView = new Object();
+    mSetter = FakeViewManager.class.getMethod("setOpacity", Object.class, float.class);
+    mGroupSetter =
+        FakeViewManager.class.getMethod("setBorderWidth", Object.class, int.class, float.class);
+    mAccessibleSetter = FakeViewManager.class.getMethod("setOpacity", Object.class, float.class);
+    mAccessibleSetter.setAccessible(true);
+    mAccessibleGroupSetter =
+        FakeViewManager.class.getMethod("setBorderWidth", Object.class, int.class, float.class);
+    mAccessibleGroupSetter.setAccessible(true);
+    mArgs = new Object[2];
+    mGroupArgs = new Object[3];
+    mGroupArgs[1] = 2;
+  }
+
+  private float nextValue() {
+    if (valueChanges == ValueChanges.CHANGING) {
+      mValue += 0.5f;
+    }
+    return mValue;
+  }
+
+  @Benchmark
+  public float sharedArgsInvoke() throws Exception {
+    SHARED_ARGS[0] = mView;
+    SHARED_ARGS[1] = nextValue();
+    mSetter.invoke(mManager, SHARED_ARGS);
+    Arrays.fill(SHARED_ARGS, null);
+    return mManager.mOpacity;
+  }
+
+  @Benchmark
+  public float sharedArgsInvokeGroup() throws Exception {
+    SHARED_GROUP_ARGS[0] = mView;
+    SHARED_GROUP_ARGS[1] = 2;
+    SHARED_GROUP_ARGS[2] = nextValue();
+    mGroupSetter.invoke(mManager, SHARED_GROUP_ARGS);
+    Arrays.fill(SHARED_GROUP_ARGS, null);
+    return mManager.mBorderWidth;
+  }
+
+  @Benchmark
+  public float cachedArgsInvoke() throws Exception {
+    mArgs[0] = mView;
+    mArgs[1] = box(nextValue());
+    mAccessibleSetter.invoke(mManager, mArgs);
+    mArgs[0] = null;
+    mArgs[1] = null;
+    return mManager.mOpacity;
+  }
+
+  @Benchmark
+  public float cachedArgsInvokeGroup() throws Exception {
+    mGroupArgs[0] = mView;
+    mGroupArgs[2] = box(nextValue());
+    mAccessibleGroupSetter.invoke(mManager, mGroupArgs);
+    mGroupArgs[0] = null;
+    mGroupArgs[2] = null;
+    return mManager.mBorderWidth;
+  }
+
+  @Benchmark
+  public float directCall() {
+    mManager.setOpacity(mView, nextValue());
+    return mManager.mOpacity;
+  }
+
+  private Float box(float value) {
+    Float boxedValue = mBoxedValue;
+    if (boxedValue == null || Float.floatToIntBits(boxedValue) != Float.floatToIntBits(value)) {
+      boxedValue = mBoxedValue = value;
+    }
+    return boxedValue;
+  }
+
+  public static class FakeViewManager {
+
+    private float mOpacity;
+    private float mBorderWidth;
+
+    public void setOpacity(Object view, float opacity) {
+      mOpacity = opacity;
+    }
+
+    public void setBorderWidth(Object view, int index, float width) {
+      mBorderWidth = width;
+    }
+  }
+}
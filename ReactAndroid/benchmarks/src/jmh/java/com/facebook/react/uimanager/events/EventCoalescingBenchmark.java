@@ -0,0 +1,265 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager.events;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.facebook.react.common.LongIntMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the coalescing EventDispatcher does on the UI thread for one frame of a fast scroll
+ * through a list: two scroll events and two touch moves, which coalesce, and {@link #rowsPerFrame}
+ * rows appearing, each sending a layout and an image load event. Events are handed over to JS
+ * every {@link #framesPerDispatch} frames, 1 when JS keeps up, more when it is behind and events
+ * pile up.
+ *
+ * {@code SPARSE_ARRAY} is the previous coalescing index, a LongSparseArray of boxed indices (its
+ * algorithm is reproduced since it isn't available on the JVM) with event type ids looked up by
+ * event name. {@code LONG_INT_MAP} is {@link LongIntMap} with the type ids cached by the events.
+ * Events are reused across frames so that only the allocations of coalescing are measured.
+ *
+ * Run with -prof gc: gc.alloc.rate.norm is the allocation per frame, so times 60 the allocation
+ * rate of a 60 fps scroll.
+ *
+ * Run with: ./gradlew :ReactAndroid:benchmarks:jmh -PjmhInclude=EventCoalescingBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventCoalescingBenchmark {
+
+  private static final int FIRST_ROW_TAG = 1000;
+  private static final int ROW_COUNT = 10000;
+
+  public enum IndexType {
+    SPARSE_ARRAY,
+    LONG_INT_MAP,
+  }
+
+  @Param
+  public IndexType indexType;
+
+  @Param({"10"})
+  public int rowsPerFrame;
+
+  @Param({"1", "8"})
+  public int framesPerDispatch;
+
+  private FakeEvent[] mEvents;
+  private FakeEvent[] mPendingEvents;
+  private int mPendingEventsSize;
+  private int mFrame;
+  private int mNextRow;
+  private CoalescingIndex mIndex;
+
+  @Setup
+  public void setUp() {
+    mEvents = new FakeEvent[4 + 2 * rowsPerFrame];
+    for (int i = 0; i < mEvents.length; i++) {
+      mEvents[i] = new FakeEvent();
+    }
+    mPendingEvents = new FakeEvent[16];
+    mIndex = indexType == IndexType.SPARSE_ARRAY ?
+        new SparseArrayIndex() :
+        new LongIntMapIndex();
+  }
+
+  @Benchmark
+  public int frame() {
+    int event = 0;
+    mEvents[event++].init(2, "topScroll", (short) 0);
+    mEvents[event++].init(3, "topTouchMove", (short) 1);
+    mEvents[event++].init(2, "topScroll", (short) 0);
+    mEvents[event++].init(3, "topTouchMove", (short) 1);
+    for (int row = 0; row < rowsPerFrame; row++) {
+      int tag = FIRST_ROW_TAG + mNextRow;
+      mNextRow = (mNextRow + 1) % ROW_COUNT;
+      mEvents[event++].init(tag, "topLayout", (short) 0);
+      mEvents[event++].init(tag + 1, "topLoad", (short) 0);
+    }
+    for (int i = 0; i < event; i++) {
+      coalesce(mEvents[i]);
+    }
+
+    int dispatched = mPendingEventsSize;
+    if (++mFrame % framesPerDispatch == 0) {
+      Arrays.fill(mPendingEvents, 0, mPendingEventsSize, null);
+      mPendingEventsSize = 0;
+      mIndex.clear();
+    }
+    return dispatched;
+  }
+
+  /**
+   * EventDispatcher#moveStagedEventsToPendingEvents for a single event, where the most recent
+   * event always wins.
+   */
+  private void coalesce(FakeEvent event) {
+    long eventCookie = mIndex.getEventCookie(event);
+    int lastEventIdx = mIndex.get(eventCookie);
+    if (lastEventIdx != -1) {
+      mPendingEvents[lastEventIdx] = null;
+    }
+    mIndex.put(eventCookie, mPendingEventsSize);
+    if (mPendingEventsSize == mPendingEvents.length) {
+      mPendingEvents = Arrays.copyOf(mPendingEvents, 2 * mPendingEvents.length);
+    }
+    mPendingEvents[mPendingEventsSize++] = event;
+  }
+
+  private static long getEventCookie(int viewTag, short eventTypeId, short coalescingKey) {
+    return viewTag |
+        (((long) eventTypeId) & 0xffff) << 32 |
+        (((long) coalescingKey) & 0xffff) << 48;
+  }
+
+  private static class FakeEvent {
+
+    private int mViewTag;
+    private String mEventName;
+    private short mCoalescingKey;
+
+    // Event#getEventTypeId
+    private String mEventTypeName;
+    private short mEventTypeId;
+
+    public void init(int viewTag, String eventName, short coalescingKey) {
+      mViewTag = viewTag;
+      mEventName = eventName;
+      mCoalescingKey = coalescingKey;
+    }
+  }
+
+  private interface CoalescingIndex {
+    long getEventCookie(FakeEvent event);
+    int get(long eventCookie);
+    void put(long eventCookie, int eventIdx);
+    void clear();
+  }
+
+  private static class LongIntMapIndex implements CoalescingIndex {
+
+    private static final Map<String, Short> sEventNameToEventTypeId = new HashMap<>();
+
+    private final LongIntMap mEventCookieToLastEventIdx = new LongIntMap();
+
+    @Override
+    public long getEventCookie(FakeEvent event) {
+      if (event.mEventName != event.mEventTypeName) {
+        event.mEventTypeId = internEventTypeId(event.mEventName);
+        event.mEventTypeName = event.mEventName;
+      }
+      return EventCoalescingBenchmark.getEventCookie(
+          event.mViewTag,
+          event.mEventTypeId,
+          event.mCoalescingKey);
+    }
+
+    private static synchronized short internEventTypeId(String eventName) {
+      Short eventTypeId = sEventNameToEventTypeId.get(eventName);
+      if (eventTypeId == null) {
+        eventTypeId = (short) sEventNameToEventTypeId.size();
+        sEventNameToEventTypeId.put(eventName, eventTypeId);
+      }
+      return eventTypeId;
+    }
+
+    @Override
+    public int get(long eventCookie) {
+      return mEventCookieToLastEventIdx.get(eventCookie, -1);
+    }
+
+    @Override
+    public void put(long eventCookie, int eventIdx) {
+      mEventCookieToLastEventIdx.put(eventCookie, eventIdx);
+    }
+
+    @Override
+    public void clear() {
+      mEventCookieToLastEventIdx.clear();
+    }
+  }
+
+  /**
+   * Sorted parallel arrays with binary search, like android.util.LongSparseArray, holding boxed
+   * indices.
+   */
+  private static class SparseArrayIndex implements CoalescingIndex {
+
+    private final Map<String, Short> mEventNameToEventId = new HashMap<>();
+    private short mNextEventTypeId;
+
+    private long[] mKeys = new long[10];
+    private Object[] mValues = new Object[10];
+    private int mSize;
+
+    @Override
+    public long getEventCookie(FakeEvent event) {
+      short eventTypeId;
+      Short eventIdObj = mEventNameToEventId.get(event.mEventName);
+      if (eventIdObj != null) {
+        eventTypeId = eventIdObj;
+      } else {
+        eventTypeId = mNextEventTypeId++;
+        mEventNameToEventId.put(event.mEventName, eventTypeId);
+      }
+      return EventCoalescingBenchmark.getEventCookie(
+          event.mViewTag,
+          eventTypeId,
+          event.mCoalescingKey);
+    }
+
+    @Override
+    public int get(long eventCookie) {
+      int i = Arrays.binarySearch(mKeys, 0, mSize, eventCookie);
+      return i < 0 ? -1 : (Integer) mValues[i];
+    }
+
+    @Override
+    public void put(long eventCookie, int eventIdx) {
+      // Boxed the way LongSparseArray<Integer>#put(long, Integer) gets them
+      Integer value = eventIdx;
+      int i = Arrays.binarySearch(mKeys, 0, mSize, eventCookie);
+      if (i >= 0) {
+        mValues[i] = value;
+        return;
+      }
+      i = ~i;
+      if (mSize == mKeys.length) {
+        int newLength = mSize <= 4 ? 8 : mSize * 2;
+        mKeys = Arrays.copyOf(mKeys, newLength);
+        mValues = Arrays.copyOf(mValues, newLength);
+      }
+      System.arraycopy(mKeys, i, mKeys, i + 1, mSize - i);
+      System.arraycopy(mValues, i, mValues, i + 1, mSize - i);
+      mKeys[i] = eventCookie;
+      mValues[i] = value;
+      mSize++;
+    }
+
+    @Override
+    public void clear() {
+      Arrays.fill(mValues, 0, mSize, null);
+      mSize = 0;
+    }
+  }
+}
@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.tests;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import android.util.Log;
+
+import com.facebook.react.shell.MainReactPackage;
+import com.facebook.react.testing.ReactIntegrationTestCase;
+import com.facebook.react.uimanager.ViewManager;
+import com.facebook.react.uimanager.ViewManagerProvider;
+import com.facebook.react.uimanager.ViewManagerRegistry;
+import com.facebook.react.views.image.ReactImageManager;
+import com.facebook.react.views.scroll.ReactScrollViewManager;
+import com.facebook.react.views.text.ReactRawTextManager;
+import com.facebook.react.views.text.ReactTextViewManager;
+import com.facebook.react.views.view.ReactViewManager;
+
+/**
+ * Measures the startup work of {@link ViewManagerRegistry} on a device, with the view managers of
+ * {@link MainReactPackage}: creating all of them with the catalyst instance, versus registering
+ * them through {@link ViewManagerProvider}s. Both then resolve the view managers used by a typical
+ * first screen. Timings are logged under the {@link #TAG} tag, run with:
+ *
+ *   ./gradlew :ReactAndroid:connectedAndroidTest \
+ *       -Pandroid.testInstrumentationRunnerArguments.class=\
+ *       com.facebook.react.tests.ViewManagerRegistryStartupTestCase
+ *   adb logcat -s ViewManagerRegistryStartup
+ *
+ * The first run of each also includes loading the classes of the view managers it creates, which
+ * is what dominates app startup, so it's logged separately. Eager registration runs second, so
+ * the classes of the view managers used by the first screen are already loaded for it.
+ */
+public class ViewManagerRegistryStartupTestCase extends ReactIntegrationTestCase {
+
+  private static final String TAG = "ViewManagerRegistryStartup";
+  private static final int ITERATIONS = 50;
+
+  private static final String[] USED_VIEW_MANAGER_NAMES = {
+      "RCTView",
+      "RCTText",
+      "RCTRawText",
+      "RCTImageView",
+      "RCTScrollView",
+  };
+
+  private static final ViewManagerProvider UNUSED_VIEW_MANAGER_PROVIDER =
+      new ViewManagerProvider() {
+        @Override
+        public ViewManager createViewManager() {
+          throw new AssertionError("Only the view managers of the first screen should be created");
+        }
+      };
+
+  private static final String[] MAIN_REACT_PACKAGE_VIEW_MANAGER_NAMES = {
+      "ARTGroup",
+      "ARTShape",
+      "ARTText",
+      "ARTSurfaceView",
+      "AndroidDialogPicker",
+      "AndroidDrawerLayout",
+      "AndroidDropdownPicker",
+      "AndroidHorizontalScrollView",
+      "RCTImageView",
+      "AndroidProgressBar",
+      "RCTRawText",
+      "RCTScrollView",
+      "AndroidSwitch",
+      "RCTTextInlineImage",
+      "AndroidTextInput",
+      "RCTText",
+      "ToolbarAndroid",
+      "RCTView",
+      "AndroidViewPager",
+      "RCTVirtualText",
+      "RCTWebView",
+      "AndroidRecyclerViewBackedScrollView",
+      "AndroidSwipeRefreshLayout",
+  };
+
+  public void testStartup() {
+    long providedColdNs = timeProvidedRegistration();
+    long eagerColdNs = timeEagerRegistration();
+
+    long providedNs = 0;
+    long eagerNs = 0;
+    for (int i = 0; i < ITERATIONS; i++) {
+      providedNs += timeProvidedRegistration();
+      eagerNs += timeEagerRegistration();
+    }
+
+    Log.i(TAG, "Eager: first " + eagerColdNs / 1000 + "us, then " +
+        eagerNs / ITERATIONS / 1000 + "us");
+    Log.i(TAG, "Provided: first " + providedColdNs / 1000 + "us, then " +
+        providedNs / ITERATIONS / 1000 + "us");
+  }
+
+  public void testProvidersMatchMainReactPackage() {
+    Set<String> names = new HashSet<>();
+    for (ViewManager viewManager : new MainReactPackage().createViewManagers(getContext())) {
+      names.add(viewManager.getName());
+    }
+    assertEquals(names, createMainReactPackageProviders().keySet());
+  }
+
+  private long timeEagerRegistration() {
+    long startNs = System.nanoTime();
+    List<ViewManager> viewManagers = new MainReactPackage().createViewManagers(getContext());
+    resolveUsedViewManagers(new ViewManagerRegistry(viewManagers));
+    return System.nanoTime() - startNs;
+  }
+
+  private long timeProvidedRegistration() {
+    long startNs = System.nanoTime();
+    resolveUsedViewManagers(
+        new ViewManagerRegistry(
+            Collections.<ViewManager>emptyList(),
+            createMainReactPackageProviders()));
+    return System.nanoTime() - startNs;
+  }
+
+  private static void resolveUsedViewManagers(ViewManagerRegistry registry) {
+    for (String name : USED_VIEW_MANAGER_NAMES) {
+      assertEquals(name, registry.get(name).getName());
+    }
+  }
+
+  /**
+   * Providers for the view managers of {@link MainReactPackage}. Only the ones used by the first
+   * screen are ever created, so the others throw.
+   */
+  private static Map<String, ViewManagerProvider> createMainReactPackageProviders() {
+    Map<String, ViewManagerProvider> providers = new HashMap<>();
+    for (String name : MAIN_REACT_PACKAGE_VIEW_MANAGER_NAMES) {
+      providers.put(name, UNUSED_VIEW_MANAGER_PROVIDER);
+    }
+    providers.put(
+        "RCTView",
+        new ViewManagerProvider() {
+          @Override
+          public ViewManager createViewManager() {
+            return new ReactViewManager();
+          }
+        });
+    providers.put(
+        "RCTText",
+        new ViewManagerProvider() {
+          @Override
+          public ViewManager createViewManager() {
+            return new ReactTextViewManager();
+          }
+        });
+    providers.put(
+        "RCTRawText",
+        new ViewManagerProvider() {
+          @Override
+          public ViewManager createViewManager() {
+            return new ReactRawTextManager();
+          }
+        });
+    providers.put(
+        "RCTImageView",
+        new ViewManagerProvider() {
+          @Override
+          public ViewManager createViewManager() {
+            return new ReactImageManager();
+          }
+        });
+    providers.put(
+        "RCTScrollView",
+        new ViewManagerProvider() {
+          @Override
+          public ViewManager createViewManager() {
+            return new ReactScrollViewManager();
+          }
+        });
+    return providers;
+  }
+}
@@ -11,6 +11,8 @@
 
 package com.facebook.csslayout;
 
+import javax.annotation.Nullable;
+
 /**
  * A context for holding values local to a given instance of layout computation.
  *
@@ -20,4 +22,43 @@ package com.facebook.csslayout;
  */
 public class CSSLayoutContext {
   /*package*/ final MeasureOutput measureOutput = new MeasureOutput();
+  /*package*/ final @Nullable Object measureLock;
+
+  /*package*/ int measureCacheHits;
+  /*package*/ int measureCacheMisses;
+
+  public CSSLayoutContext() {
+    this(null);
+  }
+
+  /**
+   * @param measureLock if non-null, every {@link CSSNode.MeasureFunction} invocation made with this
+   * context is synchronized on this object. Contexts used to lay out different hierarchies
+   * concurrently should share the same lock, since measure functions are not required to be
+   * thread safe.
+   */
+  public CSSLayoutContext(@Nullable Object measureLock) {
+    this.measureLock = measureLock;
+  }
+
+  /**
+   * @return the number of measurements served from a node's {@link MeasureCache} since the last
+   * call to {@link #resetMeasureCacheCounters()}
+   */
+  public int getMeasureCacheHitCount() {
+    return measureCacheHits;
+  }
+
+  /**
+   * @return the number of times a {@link CSSNode.MeasureFunction} was actually invoked since the
+   * last call to {@link #resetMeasureCacheCounters()}
+   */
+  public int getMeasureCacheMissCount() {
+    return measureCacheMisses;
+  }
+
+  public void resetMeasureCacheCounters() {
+    measureCacheHits = 0;
+    measureCacheMisses = 0;
+  }
 }
@@ -72,7 +72,9 @@ public class CSSNode {
   private @Nullable ArrayList<CSSNode> mChildren;
   private @Nullable CSSNode mParent;
   private @Nullable MeasureFunction mMeasureFunction = null;
+  private @Nullable MeasureCache mMeasureCache = null;
   private LayoutState mLayoutState = LayoutState.DIRTY;
+  private boolean mHasNewDescendantLayout = false;
 
   public int getChildCount() {
     return mChildren == null ? 0 : mChildren.size();
@@ -120,6 +122,9 @@ public class CSSNode {
   public void setMeasureFunction(MeasureFunction measureFunction) {
     if (mMeasureFunction != measureFunction) {
       mMeasureFunction = measureFunction;
+      if (mMeasureCache == null && measureFunction != null) {
+        mMeasureCache = new MeasureCache();
+      }
       dirty();
     }
   }
@@ -128,13 +133,29 @@ public class CSSNode {
     return mMeasureFunction != null;
   }
 
-  /*package*/ MeasureOutput measure(MeasureOutput measureOutput, float width, float height) {
+  /*package*/ MeasureOutput measure(CSSLayoutContext layoutContext, float width, float height) {
     if (!isMeasureDefined()) {
       throw new RuntimeException("Measure function isn't defined!");
     }
+    MeasureOutput measureOutput = layoutContext.measureOutput;
+    MeasureCache measureCache = Assertions.assertNotNull(mMeasureCache);
+    if (measureCache.get(width, height, measureOutput)) {
+      layoutContext.measureCacheHits++;
+      return measureOutput;
+    }
+    layoutContext.measureCacheMisses++;
     measureOutput.height = CSSConstants.UNDEFINED;
     measureOutput.width = CSSConstants.UNDEFINED;
-    Assertions.assertNotNull(mMeasureFunction).measure(this, width, height, measureOutput);
+    MeasureFunction measureFunction = Assertions.assertNotNull(mMeasureFunction);
+    Object measureLock = layoutContext.measureLock;
+    if (measureLock == null) {
+      measureFunction.measure(this, width, height, measureOutput);
+    } else {
+      synchronized (measureLock) {
+        measureFunction.measure(this, width, height, measureOutput);
+      }
+    }
+    measureCache.put(width, height, measureOutput);
     return measureOutput;
   }
 
@@ -161,6 +182,11 @@ public class CSSNode {
   }
 
   protected void dirty() {
+    // Measurements may depend on any property of this node, so they can't be reused once it changes
+    if (mMeasureCache != null) {
+      mMeasureCache.clear();
+    }
+
     if (mLayoutState == LayoutState.DIRTY) {
       return;
     } else if (mLayoutState == LayoutState.HAS_NEW_LAYOUT) {
@@ -174,7 +200,20 @@ public class CSSNode {
     }
   }
 
-  /*package*/ void markHasNewLayout() {
+  /**
+   * Whether the last layout pass that gave this node a new layout also laid out its descendants.
+   * When it didn't, the layout of this node was reused from the previous pass with the same
+   * constraints: no descendant was dirty, and none of them has a new layout. Callers walking the
+   * tree for nodes with {@link #hasNewLayout()} can then skip this node's whole subtree.
+   */
+  public boolean hasNewDescendantLayout() {
+    return mHasNewDescendantLayout;
+  }
+
+  /*package*/ void markHasNewLayout(boolean hasNewDescendantLayout) {
+    // Descendant layouts from an earlier, not yet seen, pass are still new
+    mHasNewDescendantLayout = hasNewDescendantLayout ||
+        (mLayoutState == LayoutState.HAS_NEW_LAYOUT && mHasNewDescendantLayout);
     mLayoutState = LayoutState.HAS_NEW_LAYOUT;
   }
 
@@ -494,5 +533,9 @@ public class CSSNode {
     layout.resetResult();
     lineIndex = 0;
     mLayoutState = LayoutState.DIRTY;
+    mHasNewDescendantLayout = false;
+    if (mMeasureCache != null) {
+      mMeasureCache.clear();
+    }
   }
 }
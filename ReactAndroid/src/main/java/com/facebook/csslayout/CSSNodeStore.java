@@ -0,0 +1,724 @@
+/**
+ * Copyright (c) 2014-present, Facebook, Inc.
+ * All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.csslayout;
+
+import javax.annotation.Nullable;
+
+import java.util.Arrays;
+
+import static com.facebook.csslayout.CSSLayout.DIMENSION_HEIGHT;
+import static com.facebook.csslayout.CSSLayout.DIMENSION_WIDTH;
+import static com.facebook.csslayout.CSSLayout.POSITION_BOTTOM;
+import static com.facebook.csslayout.CSSLayout.POSITION_LEFT;
+import static com.facebook.csslayout.CSSLayout.POSITION_RIGHT;
+import static com.facebook.csslayout.CSSLayout.POSITION_TOP;
+
+/**
+ * Alternative, struct-of-arrays backend for a tree of CSS nodes.
+ *
+ * A {@link CSSNode} allocates a {@link CSSStyle} with three {@link Spacing} instances, position and
+ * dimension arrays, a {@link CSSLayout} and a {@link CachedCSSLayout}: well over a dozen heap
+ * objects per node. This store instead keeps every style and layout field in primitive arrays
+ * indexed by an integer node id, so a tree of any size costs a fixed number of arrays plus one
+ * child array per non-leaf node. Nodes are addressed by the id returned from {@link #createNode()},
+ * which acts as a lightweight handle; the methods taking an id mirror the {@link CSSNode} API.
+ *
+ * Layout is computed by {@link CSSNodeStoreLayoutEngine}, which implements the same algorithm as
+ * {@link LayoutEngine} and produces identical results, as checked by CSSNodeStoreLayoutEngineTest.
+ * CSSNode and ReactShadowNode are not backed by this store yet.
+ *
+ * This class is not thread safe. Like {@link CSSNode}, separate stores may be laid out
+ * concurrently as long as each uses its own {@link CSSLayoutContext}.
+ */
+public final class CSSNodeStore {
+
+  /**
+   * Id used for "no node", e.g. the parent of a root.
+   */
+  public static final int NONE = -1;
+
+  /**
+   * Should measure the given node and put the result in the given MeasureOutput. Equivalent of
+   * {@link CSSNode.MeasureFunction} for nodes of a {@link CSSNodeStore}.
+   */
+  public interface MeasureFunction {
+    void measure(
+        CSSNodeStore store,
+        int node,
+        float width,
+        float height,
+        MeasureOutput measureOutput);
+  }
+
+  private static final int DEFAULT_CAPACITY = 64;
+  private static final int SPACING_STRIDE = 9;
+
+  private static final byte STATE_DIRTY = 0;
+  private static final byte STATE_HAS_NEW_LAYOUT = 1;
+  private static final byte STATE_UP_TO_DATE = 2;
+
+  // Tree
+  private int[] mParent;
+  private int[][] mChildren;
+  private int[] mChildCount;
+  private byte[] mLayoutState;
+  private boolean[] mHasNewDescendantLayout;
+  private boolean[] mInUse;
+  private int[] mFreeIds;
+  private int mFreeCount;
+  private int mSize;
+  private int mCapacity;
+
+  // Style
+  /*package*/ CSSDirection[] direction;
+  /*package*/ CSSFlexDirection[] flexDirection;
+  /*package*/ CSSJustify[] justifyContent;
+  /*package*/ CSSAlign[] alignContent;
+  /*package*/ CSSAlign[] alignItems;
+  /*package*/ CSSAlign[] alignSelf;
+  /*package*/ CSSPositionType[] positionType;
+  /*package*/ CSSWrap[] flexWrap;
+  /*package*/ float[] flex;
+  /*package*/ float[] margin;
+  /*package*/ float[] padding;
+  /*package*/ float[] border;
+  /*package*/ float[] defaultPadding;
+  /*package*/ boolean[] hasDefaultPadding;
+  /*package*/ float[] stylePosition;
+  /*package*/ float[] styleDimensions;
+  /*package*/ float[] minWidth;
+  /*package*/ float[] minHeight;
+  /*package*/ float[] maxWidth;
+  /*package*/ float[] maxHeight;
+
+  // Layout results
+  /*package*/ float[] layoutPosition;
+  /*package*/ float[] layoutDimensions;
+  /*package*/ CSSDirection[] layoutDirection;
+
+  // Equivalent of CachedCSSLayout
+  /*package*/ float[] lastRequestedWidth;
+  /*package*/ float[] lastRequestedHeight;
+  /*package*/ float[] lastParentMaxWidth;
+  /*package*/ float[] lastParentMaxHeight;
+  /*package*/ float[] lastPosition;
+  /*package*/ float[] lastDimensions;
+  /*package*/ CSSDirection[] lastDirection;
+
+  // Scratch state used by the layout engine
+  /*package*/ int[] lineIndex;
+  /*package*/ int[] nextAbsoluteChild;
+  /*package*/ int[] nextFlexChild;
+
+  private MeasureFunction[] mMeasureFunctions;
+  private MeasureCache[] mMeasureCaches;
+
+  public CSSNodeStore() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public CSSNodeStore(int initialCapacity) {
+    mCapacity = Math.max(initialCapacity, 1);
+    allocate(mCapacity);
+  }
+
+  /**
+   * @return the id of a new node with default style and no parent
+   */
+  public int createNode() {
+    int node;
+    if (mFreeCount > 0) {
+      node = mFreeIds[--mFreeCount];
+    } else {
+      if (mSize == mCapacity) {
+        grow(mCapacity * 2);
+      }
+      node = mSize++;
+    }
+    mInUse[node] = true;
+    resetNode(node);
+    return node;
+  }
+
+  /**
+   * Releases the given node so its id can be reused by a later {@link #createNode()}. The node must
+   * be detached and have no children.
+   */
+  public void releaseNode(int node) {
+    assertInUse(node);
+    if (mParent[node] != NONE || mChildCount[node] > 0) {
+      throw new IllegalStateException("You should not release an attached node");
+    }
+    mInUse[node] = false;
+    mMeasureFunctions[node] = null;
+    mMeasureCaches[node] = null;
+    if (mFreeCount == mFreeIds.length) {
+      mFreeIds = Arrays.copyOf(mFreeIds, mFreeIds.length * 2);
+    }
+    mFreeIds[mFreeCount++] = node;
+  }
+
+  public int getChildCount(int node) {
+    return mChildCount[node];
+  }
+
+  public int getChildAt(int node, int i) {
+    if (i < 0 || i >= mChildCount[node]) {
+      throw new IndexOutOfBoundsException("Index " + i + " out of bounds for node " + node);
+    }
+    return mChildren[node][i];
+  }
+
+  public int getParent(int node) {
+    return mParent[node];
+  }
+
+  /**
+   * @return the index of the given child, or -1 if the child doesn't exist in this node.
+   */
+  public int indexOf(int node, int child) {
+    int[] children = mChildren[node];
+    for (int i = 0, count = mChildCount[node]; i < count; i++) {
+      if (children[i] == child) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public void addChildAt(int node, int child, int i) {
+    assertInUse(node);
+    assertInUse(child);
+    if (mParent[child] != NONE) {
+      throw new IllegalStateException("Child already has a parent, it must be removed first.");
+    }
+    int count = mChildCount[node];
+    if (i < 0 || i > count) {
+      throw new IndexOutOfBoundsException("Index " + i + " out of bounds for node " + node);
+    }
+    int[] children = mChildren[node];
+    if (children == null) {
+      // 4 is kinda arbitrary, but matches the initial child capacity of CSSNode.
+      children = new int[4];
+      mChildren[node] = children;
+    } else if (count == children.length) {
+      children = Arrays.copyOf(children, count * 2);
+      mChildren[node] = children;
+    }
+    System.arraycopy(children, i, children, i + 1, count - i);
+    children[i] = child;
+    mChildCount[node] = count + 1;
+    mParent[child] = node;
+    dirty(node);
+  }
+
+  public int removeChildAt(int node, int i) {
+    int count = mChildCount[node];
+    if (i < 0 || i >= count) {
+      throw new IndexOutOfBoundsException("Index " + i + " out of bounds for node " + node);
+    }
+    int[] children = mChildren[node];
+    int removed = children[i];
+    System.arraycopy(children, i + 1, children, i, count - i - 1);
+    mChildCount[node] = count - 1;
+    mParent[removed] = NONE;
+    dirty(node);
+    return removed;
+  }
+
+  public void setMeasureFunction(int node, @Nullable MeasureFunction measureFunction) {
+    if (mMeasureFunctions[node] != measureFunction) {
+      mMeasureFunctions[node] = measureFunction;
+      if (mMeasureCaches[node] == null && measureFunction != null) {
+        mMeasureCaches[node] = new MeasureCache();
+      }
+      dirty(node);
+    }
+  }
+
+  public boolean isMeasureDefined(int node) {
+    return mMeasureFunctions[node] != null;
+  }
+
+  /*package*/ MeasureOutput measure(
+      CSSLayoutContext layoutContext,
+      int node,
+      float width,
+      float height) {
+    MeasureFunction measureFunction = mMeasureFunctions[node];
+    if (measureFunction == null) {
+      throw new RuntimeException("Measure function isn't defined!");
+    }
+    MeasureOutput measureOutput = layoutContext.measureOutput;
+    MeasureCache measureCache = mMeasureCaches[node];
+    if (measureCache.get(width, height, measureOutput)) {
+      layoutContext.measureCacheHits++;
+      return measureOutput;
+    }
+    layoutContext.measureCacheMisses++;
+    measureOutput.height = CSSConstants.UNDEFINED;
+    measureOutput.width = CSSConstants.UNDEFINED;
+    Object measureLock = layoutContext.measureLock;
+    if (measureLock == null) {
+      measureFunction.measure(this, node, width, height, measureOutput);
+    } else {
+      synchronized (measureLock) {
+        measureFunction.measure(this, node, width, height, measureOutput);
+      }
+    }
+    measureCache.put(width, height, measureOutput);
+    return measureOutput;
+  }
+
+  /**
+   * Performs the actual layout of the tree rooted at the given node and saves the results in this
+   * store, see {@link #getLayoutX(int)} and friends.
+   */
+  public void calculateLayout(CSSLayoutContext layoutContext, int root) {
+    assertInUse(root);
+    resetLayoutResult(root);
+    CSSNodeStoreLayoutEngine.layoutNode(
+        this,
+        layoutContext,
+        root,
+        CSSConstants.UNDEFINED,
+        CSSConstants.UNDEFINED,
+        null);
+  }
+
+  public boolean isDirty(int node) {
+    return mLayoutState[node] == STATE_DIRTY;
+  }
+
+  public boolean hasNewLayout(int node) {
+    return mLayoutState[node] == STATE_HAS_NEW_LAYOUT;
+  }
+
+  public void dirty(int node) {
+    MeasureCache measureCache = mMeasureCaches[node];
+    if (measureCache != null) {
+      measureCache.clear();
+    }
+
+    byte state = mLayoutState[node];
+    if (state == STATE_DIRTY) {
+      return;
+    } else if (state == STATE_HAS_NEW_LAYOUT) {
+      throw new IllegalStateException("Previous layout was ignored! markLayoutSeen() never called");
+    }
+
+    mLayoutState[node] = STATE_DIRTY;
+
+    if (mParent[node] != NONE) {
+      dirty(mParent[node]);
+    }
+  }
+
+  /**
+   * See {@link CSSNode#hasNewDescendantLayout()}.
+   */
+  public boolean hasNewDescendantLayout(int node) {
+    return mHasNewDescendantLayout[node];
+  }
+
+  /*package*/ void markHasNewLayout(int node, boolean hasNewDescendantLayout) {
+    mHasNewDescendantLayout[node] = hasNewDescendantLayout ||
+        (mLayoutState[node] == STATE_HAS_NEW_LAYOUT && mHasNewDescendantLayout[node]);
+    mLayoutState[node] = STATE_HAS_NEW_LAYOUT;
+  }
+
+  /**
+   * See {@link CSSNode#markLayoutSeen()}.
+   */
+  public void markLayoutSeen(int node) {
+    if (!hasNewLayout(node)) {
+      throw new IllegalStateException("Expected node to have a new layout to be seen!");
+    }
+
+    mLayoutState[node] = STATE_UP_TO_DATE;
+  }
+
+  public void setDirection(int node, CSSDirection value) {
+    if (direction[node] != value) {
+      direction[node] = value;
+      dirty(node);
+    }
+  }
+
+  public void setFlexDirection(int node, CSSFlexDirection value) {
+    if (flexDirection[node] != value) {
+      flexDirection[node] = value;
+      dirty(node);
+    }
+  }
+
+  public void setJustifyContent(int node, CSSJustify value) {
+    if (justifyContent[node] != value) {
+      justifyContent[node] = value;
+      dirty(node);
+    }
+  }
+
+  public void setAlignContent(int node, CSSAlign value) {
+    if (alignContent[node] != value) {
+      alignContent[node] = value;
+      dirty(node);
+    }
+  }
+
+  public void setAlignItems(int node, CSSAlign value) {
+    if (alignItems[node] != value) {
+      alignItems[node] = value;
+      dirty(node);
+    }
+  }
+
+  public void setAlignSelf(int node, CSSAlign value) {
+    if (alignSelf[node] != value) {
+      alignSelf[node] = value;
+      dirty(node);
+    }
+  }
+
+  public void setPositionType(int node, CSSPositionType value) {
+    if (positionType[node] != value) {
+      positionType[node] = value;
+      dirty(node);
+    }
+  }
+
+  public void setWrap(int node, CSSWrap value) {
+    if (flexWrap[node] != value) {
+      flexWrap[node] = value;
+      dirty(node);
+    }
+  }
+
+  public void setFlex(int node, float value) {
+    setFloat(flex, node, node, value);
+  }
+
+  public void setMargin(int node, int spacingType, float value) {
+    setFloat(margin, node, node * SPACING_STRIDE + spacingType, value);
+  }
+
+  public void setPadding(int node, int spacingType, float value) {
+    setFloat(padding, node, node * SPACING_STRIDE + spacingType, value);
+  }
+
+  public void setBorder(int node, int spacingType, float value) {
+    setFloat(border, node, node * SPACING_STRIDE + spacingType, value);
+  }
+
+  /**
+   * See {@link CSSNode#setDefaultPadding(int, float)}.
+   */
+  public void setDefaultPadding(int node, int spacingType, float value) {
+    if (!hasDefaultPadding[node]) {
+      hasDefaultPadding[node] = true;
+      int base = node * SPACING_STRIDE;
+      Arrays.fill(defaultPadding, base, base + SPACING_STRIDE, 0);
+      defaultPadding[base + Spacing.START] = CSSConstants.UNDEFINED;
+      defaultPadding[base + Spacing.END] = CSSConstants.UNDEFINED;
+    }
+    setFloat(defaultPadding, node, node * SPACING_STRIDE + spacingType, value);
+  }
+
+  public void setPositionTop(int node, float value) {
+    setFloat(stylePosition, node, node * 4 + POSITION_TOP, value);
+  }
+
+  public void setPositionBottom(int node, float value) {
+    setFloat(stylePosition, node, node * 4 + POSITION_BOTTOM, value);
+  }
+
+  public void setPositionLeft(int node, float value) {
+    setFloat(stylePosition, node, node * 4 + POSITION_LEFT, value);
+  }
+
+  public void setPositionRight(int node, float value) {
+    setFloat(stylePosition, node, node * 4 + POSITION_RIGHT, value);
+  }
+
+  public void setStyleWidth(int node, float value) {
+    setFloat(styleDimensions, node, node * 2 + DIMENSION_WIDTH, value);
+  }
+
+  public void setStyleHeight(int node, float value) {
+    setFloat(styleDimensions, node, node * 2 + DIMENSION_HEIGHT, value);
+  }
+
+  public void setMinWidth(int node, float value) {
+    setFloat(minWidth, node, node, value);
+  }
+
+  public void setMinHeight(int node, float value) {
+    setFloat(minHeight, node, node, value);
+  }
+
+  public void setMaxWidth(int node, float value) {
+    setFloat(maxWidth, node, node, value);
+  }
+
+  public void setMaxHeight(int node, float value) {
+    setFloat(maxHeight, node, node, value);
+  }
+
+  public float getLayoutX(int node) {
+    return layoutPosition[node * 4 + POSITION_LEFT];
+  }
+
+  public float getLayoutY(int node) {
+    return layoutPosition[node * 4 + POSITION_TOP];
+  }
+
+  public float getLayoutWidth(int node) {
+    return layoutDimensions[node * 2 + DIMENSION_WIDTH];
+  }
+
+  public float getLayoutHeight(int node) {
+    return layoutDimensions[node * 2 + DIMENSION_HEIGHT];
+  }
+
+  public CSSDirection getLayoutDirection(int node) {
+    return layoutDirection[node];
+  }
+
+  /*package*/ float marginWithFallback(int node, int spacingType, int fallbackType) {
+    return spacingWithFallback(margin, null, node, spacingType, fallbackType);
+  }
+
+  /*package*/ float paddingWithFallback(int node, int spacingType, int fallbackType) {
+    return spacingWithFallback(
+        padding,
+        hasDefaultPadding[node] ? defaultPadding : null,
+        node,
+        spacingType,
+        fallbackType);
+  }
+
+  /*package*/ float borderWithFallback(int node, int spacingType, int fallbackType) {
+    return spacingWithFallback(border, null, node, spacingType, fallbackType);
+  }
+
+  /**
+   * Same resolution rules as {@link Spacing#getWithFallback}, with "is set" derived from the stored
+   * value not being undefined.
+   */
+  private static float spacingWithFallback(
+      float[] values,
+      @Nullable float[] defaults,
+      int node,
+      int spacingType,
+      int fallbackType) {
+    int base = node * SPACING_STRIDE;
+    float value = values[base + spacingType];
+    if (!CSSConstants.isUndefined(value)) {
+      return value;
+    }
+
+    value = values[base + fallbackType];
+    if (!CSSConstants.isUndefined(value)) {
+      return value;
+    }
+    int aliasType = fallbackType == Spacing.TOP || fallbackType == Spacing.BOTTOM ?
+        Spacing.VERTICAL :
+        Spacing.HORIZONTAL;
+    value = values[base + aliasType];
+    if (!CSSConstants.isUndefined(value)) {
+      return value;
+    }
+    value = values[base + Spacing.ALL];
+    if (!CSSConstants.isUndefined(value)) {
+      return value;
+    }
+
+    if (defaults != null) {
+      return defaults[base + fallbackType];
+    }
+    return fallbackType == Spacing.START || fallbackType == Spacing.END ?
+        CSSConstants.UNDEFINED :
+        0;
+  }
+
+  /*package*/ void resetLayoutResult(int node) {
+    int positionBase = node * 4;
+    Arrays.fill(layoutPosition, positionBase, positionBase + 4, 0);
+    int dimensionBase = node * 2;
+    Arrays.fill(layoutDimensions, dimensionBase, dimensionBase + 2, CSSConstants.UNDEFINED);
+    layoutDirection[node] = CSSDirection.LTR;
+  }
+
+  /*package*/ void saveLastLayout(int node) {
+    System.arraycopy(layoutPosition, node * 4, lastPosition, node * 4, 4);
+    System.arraycopy(layoutDimensions, node * 2, lastDimensions, node * 2, 2);
+    lastDirection[node] = layoutDirection[node];
+  }
+
+  /*package*/ void restoreLastLayout(int node) {
+    System.arraycopy(lastPosition, node * 4, layoutPosition, node * 4, 4);
+    System.arraycopy(lastDimensions, node * 2, layoutDimensions, node * 2, 2);
+    layoutDirection[node] = lastDirection[node];
+  }
+
+  private void setFloat(float[] array, int node, int index, float value) {
+    if (!FloatUtil.floatsEqual(array[index], value)) {
+      array[index] = value;
+      dirty(node);
+    }
+  }
+
+  private void assertInUse(int node) {
+    if (node < 0 || node >= mSize || !mInUse[node]) {
+      throw new IllegalArgumentException("Node " + node + " does not exist in this store");
+    }
+  }
+
+  private void resetNode(int node) {
+    mParent[node] = NONE;
+    mChildCount[node] = 0;
+    mLayoutState[node] = STATE_DIRTY;
+    mHasNewDescendantLayout[node] = false;
+
+    direction[node] = CSSDirection.INHERIT;
+    flexDirection[node] = CSSFlexDirection.COLUMN;
+    justifyContent[node] = CSSJustify.FLEX_START;
+    alignContent[node] = CSSAlign.FLEX_START;
+    alignItems[node] = CSSAlign.STRETCH;
+    alignSelf[node] = CSSAlign.AUTO;
+    positionType[node] = CSSPositionType.RELATIVE;
+    flexWrap[node] = CSSWrap.NOWRAP;
+    flex[node] = 0f;
+
+    int spacingBase = node * SPACING_STRIDE;
+    Arrays.fill(margin, spacingBase, spacingBase + SPACING_STRIDE, CSSConstants.UNDEFINED);
+    Arrays.fill(padding, spacingBase, spacingBase + SPACING_STRIDE, CSSConstants.UNDEFINED);
+    Arrays.fill(border, spacingBase, spacingBase + SPACING_STRIDE, CSSConstants.UNDEFINED);
+    hasDefaultPadding[node] = false;
+
+    Arrays.fill(stylePosition, node * 4, node * 4 + 4, CSSConstants.UNDEFINED);
+    Arrays.fill(styleDimensions, node * 2, node * 2 + 2, CSSConstants.UNDEFINED);
+    minWidth[node] = CSSConstants.UNDEFINED;
+    minHeight[node] = CSSConstants.UNDEFINED;
+    maxWidth[node] = CSSConstants.UNDEFINED;
+    maxHeight[node] = CSSConstants.UNDEFINED;
+
+    resetLayoutResult(node);
+    lastRequestedWidth[node] = CSSConstants.UNDEFINED;
+    lastRequestedHeight[node] = CSSConstants.UNDEFINED;
+    lastParentMaxWidth[node] = CSSConstants.UNDEFINED;
+    lastParentMaxHeight[node] = CSSConstants.UNDEFINED;
+    saveLastLayout(node);
+
+    lineIndex[node] = 0;
+    nextAbsoluteChild[node] = NONE;
+    nextFlexChild[node] = NONE;
+  }
+
+  private void allocate(int capacity) {
+    mParent = new int[capacity];
+    mChildren = new int[capacity][];
+    mChildCount = new int[capacity];
+    mLayoutState = new byte[capacity];
+    mHasNewDescendantLayout = new boolean[capacity];
+    mInUse = new boolean[capacity];
+    mFreeIds = new int[Math.max(capacity / 4, 4)];
+
+    direction = new CSSDirection[capacity];
+    flexDirection = new CSSFlexDirection[capacity];
+    justifyContent = new CSSJustify[capacity];
+    alignContent = new CSSAlign[capacity];
+    alignItems = new CSSAlign[capacity];
+    alignSelf = new CSSAlign[capacity];
+    positionType = new CSSPositionType[capacity];
+    flexWrap = new CSSWrap[capacity];
+    flex = new float[capacity];
+    margin = new float[capacity * SPACING_STRIDE];
+    padding = new float[capacity * SPACING_STRIDE];
+    border = new float[capacity * SPACING_STRIDE];
+    defaultPadding = new float[capacity * SPACING_STRIDE];
+    hasDefaultPadding = new boolean[capacity];
+    stylePosition = new float[capacity * 4];
+    styleDimensions = new float[capacity * 2];
+    minWidth = new float[capacity];
+    minHeight = new float[capacity];
+    maxWidth = new float[capacity];
+    maxHeight = new float[capacity];
+
+    layoutPosition = new float[capacity * 4];
+    layoutDimensions = new float[capacity * 2];
+    layoutDirection = new CSSDirection[capacity];
+
+    lastRequestedWidth = new float[capacity];
+    lastRequestedHeight = new float[capacity];
+    lastParentMaxWidth = new float[capacity];
+    lastParentMaxHeight = new float[capacity];
+    lastPosition = new float[capacity * 4];
+    lastDimensions = new float[capacity * 2];
+    lastDirection = new CSSDirection[capacity];
+
+    lineIndex = new int[capacity];
+    nextAbsoluteChild = new int[capacity];
+    nextFlexChild = new int[capacity];
+
+    mMeasureFunctions = new MeasureFunction[capacity];
+    mMeasureCaches = new MeasureCache[capacity];
+  }
+
+  private void grow(int capacity) {
+    mParent = Arrays.copyOf(mParent, capacity);
+    mChildren = Arrays.copyOf(mChildren, capacity);
+    mChildCount = Arrays.copyOf(mChildCount, capacity);
+    mLayoutState = Arrays.copyOf(mLayoutState, capacity);
+    mHasNewDescendantLayout = Arrays.copyOf(mHasNewDescendantLayout, capacity);
+    mInUse = Arrays.copyOf(mInUse, capacity);
+
+    direction = Arrays.copyOf(direction, capacity);
+    flexDirection = Arrays.copyOf(flexDirection, capacity);
+    justifyContent = Arrays.copyOf(justifyContent, capacity);
+    alignContent = Arrays.copyOf(alignContent, capacity);
+    alignItems = Arrays.copyOf(alignItems, capacity);
+    alignSelf = Arrays.copyOf(alignSelf, capacity);
+    positionType = Arrays.copyOf(positionType, capacity);
+    flexWrap = Arrays.copyOf(flexWrap, capacity);
+    flex = Arrays.copyOf(flex, capacity);
+    margin = Arrays.copyOf(margin, capacity * SPACING_STRIDE);
+    padding = Arrays.copyOf(padding, capacity * SPACING_STRIDE);
+    border = Arrays.copyOf(border, capacity * SPACING_STRIDE);
+    defaultPadding = Arrays.copyOf(defaultPadding, capacity * SPACING_STRIDE);
+    hasDefaultPadding = Arrays.copyOf(hasDefaultPadding, capacity);
+    stylePosition = Arrays.copyOf(stylePosition, capacity * 4);
+    styleDimensions = Arrays.copyOf(styleDimensions, capacity * 2);
+    minWidth = Arrays.copyOf(minWidth, capacity);
+    minHeight = Arrays.copyOf(minHeight, capacity);
+    maxWidth = Arrays.copyOf(maxWidth, capacity);
+    maxHeight = Arrays.copyOf(maxHeight, capacity);
+
+    layoutPosition = Arrays.copyOf(layoutPosition, capacity * 4);
+    layoutDimensions = Arrays.copyOf(layoutDimensions, capacity * 2);
+    layoutDirection = Arrays.copyOf(layoutDirection, capacity);
+
+    lastRequestedWidth = Arrays.copyOf(lastRequestedWidth, capacity);
+    lastRequestedHeight = Arrays.copyOf(lastRequestedHeight, capacity);
+    lastParentMaxWidth = Arrays.copyOf(lastParentMaxWidth, capacity);
+    lastParentMaxHeight = Arrays.copyOf(lastParentMaxHeight, capacity);
+    lastPosition = Arrays.copyOf(lastPosition, capacity * 4);
+    lastDimensions = Arrays.copyOf(lastDimensions, capacity * 2);
+    lastDirection = Arrays.copyOf(lastDirection, capacity);
+
+    lineIndex = Arrays.copyOf(lineIndex, capacity);
+    nextAbsoluteChild = Arrays.copyOf(nextAbsoluteChild, capacity);
+    nextFlexChild = Arrays.copyOf(nextFlexChild, capacity);
+
+    mMeasureFunctions = Arrays.copyOf(mMeasureFunctions, capacity);
+    mMeasureCaches = Arrays.copyOf(mMeasureCaches, capacity);
+
+    mCapacity = capacity;
+  }
+}
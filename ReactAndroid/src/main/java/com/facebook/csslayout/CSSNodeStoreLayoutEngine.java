@@ -0,0 +1,951 @@
+/**
+ * Copyright (c) 2014-present, Facebook, Inc.
+ * All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.csslayout;
+
+import static com.facebook.csslayout.CSSLayout.DIMENSION_HEIGHT;
+import static com.facebook.csslayout.CSSLayout.DIMENSION_WIDTH;
+import static com.facebook.csslayout.CSSLayout.POSITION_BOTTOM;
+import static com.facebook.csslayout.CSSLayout.POSITION_LEFT;
+import static com.facebook.csslayout.CSSLayout.POSITION_RIGHT;
+import static com.facebook.csslayout.CSSLayout.POSITION_TOP;
+
+/**
+ * Variant of {@link LayoutEngine} that runs over a {@link CSSNodeStore} instead of a tree of
+ * {@link CSSNode} objects. The algorithm is a line-by-line port of the generated section of
+ * {@link LayoutEngine}, with {@code node.style.x} / {@code node.layout.x} accesses replaced by
+ * reads and writes into the store's arrays. Keep the two in sync when syncing css-layout.
+ */
+/*package*/ class CSSNodeStoreLayoutEngine {
+
+  private static final int CSS_FLEX_DIRECTION_COLUMN =
+      CSSFlexDirection.COLUMN.ordinal();
+  private static final int CSS_FLEX_DIRECTION_COLUMN_REVERSE =
+      CSSFlexDirection.COLUMN_REVERSE.ordinal();
+  private static final int CSS_FLEX_DIRECTION_ROW =
+      CSSFlexDirection.ROW.ordinal();
+  private static final int CSS_FLEX_DIRECTION_ROW_REVERSE =
+      CSSFlexDirection.ROW_REVERSE.ordinal();
+
+  private static final int[] leading = {
+      POSITION_TOP,
+      POSITION_BOTTOM,
+      POSITION_LEFT,
+      POSITION_RIGHT,
+  };
+
+  private static final int[] trailing = {
+      POSITION_BOTTOM,
+      POSITION_TOP,
+      POSITION_RIGHT,
+      POSITION_LEFT,
+  };
+
+  private static final int[] pos = {
+      POSITION_TOP,
+      POSITION_BOTTOM,
+      POSITION_LEFT,
+      POSITION_RIGHT,
+  };
+
+  private static final int[] dim = {
+      DIMENSION_HEIGHT,
+      DIMENSION_HEIGHT,
+      DIMENSION_WIDTH,
+      DIMENSION_WIDTH,
+  };
+
+  private static final int[] leadingSpacing = {
+      Spacing.TOP,
+      Spacing.BOTTOM,
+      Spacing.START,
+      Spacing.START
+  };
+
+  private static final int[] trailingSpacing = {
+      Spacing.BOTTOM,
+      Spacing.TOP,
+      Spacing.END,
+      Spacing.END
+  };
+
+  private static float boundAxis(CSSNodeStore s, int node, int axis, float value) {
+    float min = CSSConstants.UNDEFINED;
+    float max = CSSConstants.UNDEFINED;
+
+    if (axis == CSS_FLEX_DIRECTION_COLUMN ||
+        axis == CSS_FLEX_DIRECTION_COLUMN_REVERSE) {
+      min = s.minHeight[node];
+      max = s.maxHeight[node];
+    } else if (axis == CSS_FLEX_DIRECTION_ROW ||
+               axis == CSS_FLEX_DIRECTION_ROW_REVERSE) {
+      min = s.minWidth[node];
+      max = s.maxWidth[node];
+    }
+
+    float boundValue = value;
+
+    if (!Float.isNaN(max) && max >= 0.0 && boundValue > max) {
+      boundValue = max;
+    }
+    if (!Float.isNaN(min) && min >= 0.0 && boundValue < min) {
+      boundValue = min;
+    }
+
+    return boundValue;
+  }
+
+  private static void setDimensionFromStyle(CSSNodeStore s, int node, int axis) {
+    // The parent already computed us a width or height. We just skip it
+    if (!Float.isNaN(s.layoutDimensions[node * 2 + dim[axis]])) {
+      return;
+    }
+    // We only run if there's a width or height defined
+    float styleDimension = s.styleDimensions[node * 2 + dim[axis]];
+    if (Float.isNaN(styleDimension) || styleDimension <= 0.0) {
+      return;
+    }
+
+    // The dimensions can never be smaller than the padding and border
+    float maxLayoutDimension = Math.max(
+        boundAxis(s, node, axis, styleDimension),
+        s.paddingWithFallback(node, leadingSpacing[axis], leading[axis]) +
+            s.paddingWithFallback(node, trailingSpacing[axis], trailing[axis]) +
+            s.borderWithFallback(node, leadingSpacing[axis], leading[axis]) +
+            s.borderWithFallback(node, trailingSpacing[axis], trailing[axis]));
+    s.layoutDimensions[node * 2 + dim[axis]] = maxLayoutDimension;
+  }
+
+  private static float getRelativePosition(CSSNodeStore s, int node, int axis) {
+    float lead = s.stylePosition[node * 4 + leading[axis]];
+    if (!Float.isNaN(lead)) {
+      return lead;
+    }
+
+    float trailingPos = s.stylePosition[node * 4 + trailing[axis]];
+    return Float.isNaN(trailingPos) ? 0 : -trailingPos;
+  }
+
+  private static int resolveAxis(
+      int axis,
+      CSSDirection direction) {
+    if (direction == CSSDirection.RTL) {
+      if (axis == CSS_FLEX_DIRECTION_ROW) {
+        return CSS_FLEX_DIRECTION_ROW_REVERSE;
+      } else if (axis == CSS_FLEX_DIRECTION_ROW_REVERSE) {
+        return CSS_FLEX_DIRECTION_ROW;
+      }
+    }
+
+    return axis;
+  }
+
+  private static CSSDirection resolveDirection(
+      CSSNodeStore s,
+      int node,
+      CSSDirection parentDirection) {
+    CSSDirection direction = s.direction[node];
+    if (direction == CSSDirection.INHERIT) {
+      direction = (parentDirection == null ? CSSDirection.LTR : parentDirection);
+    }
+
+    return direction;
+  }
+
+  private static int getFlexDirection(CSSNodeStore s, int node) {
+    return s.flexDirection[node].ordinal();
+  }
+
+  private static int getCrossFlexDirection(
+      int axis,
+      CSSDirection direction) {
+    if (axis == CSS_FLEX_DIRECTION_COLUMN ||
+        axis == CSS_FLEX_DIRECTION_COLUMN_REVERSE) {
+      return resolveAxis(CSS_FLEX_DIRECTION_ROW, direction);
+    } else {
+      return CSS_FLEX_DIRECTION_COLUMN;
+    }
+  }
+
+  private static CSSAlign getAlignItem(CSSNodeStore s, int node, int child) {
+    if (s.alignSelf[child] != CSSAlign.AUTO) {
+      return s.alignSelf[child];
+    }
+    return s.alignItems[node];
+  }
+
+  private static boolean needsRelayout(
+      CSSNodeStore s,
+      int node,
+      float parentMaxWidth,
+      float parentMaxHeight) {
+    return s.isDirty(node) ||
+        !FloatUtil.floatsEqual(
+            s.lastRequestedHeight[node],
+            s.layoutDimensions[node * 2 + DIMENSION_HEIGHT]) ||
+        !FloatUtil.floatsEqual(
+            s.lastRequestedWidth[node],
+            s.layoutDimensions[node * 2 + DIMENSION_WIDTH]) ||
+        !FloatUtil.floatsEqual(s.lastParentMaxWidth[node], parentMaxWidth) ||
+        !FloatUtil.floatsEqual(s.lastParentMaxHeight[node], parentMaxHeight);
+  }
+
+  /*package*/ static void layoutNode(
+      CSSNodeStore s,
+      CSSLayoutContext layoutContext,
+      int node,
+      float parentMaxWidth,
+      float parentMaxHeight,
+      CSSDirection parentDirection) {
+    if (needsRelayout(s, node, parentMaxWidth, parentMaxHeight)) {
+      s.lastRequestedWidth[node] = s.layoutDimensions[node * 2 + DIMENSION_WIDTH];
+      s.lastRequestedHeight[node] = s.layoutDimensions[node * 2 + DIMENSION_HEIGHT];
+      s.lastParentMaxWidth[node] = parentMaxWidth;
+      s.lastParentMaxHeight[node] = parentMaxHeight;
+
+      layoutNodeImpl(s, layoutContext, node, parentMaxWidth, parentMaxHeight, parentDirection);
+      s.saveLastLayout(node);
+      s.markHasNewLayout(node, s.getChildCount(node) > 0);
+    } else {
+      s.restoreLastLayout(node);
+      s.markHasNewLayout(node, false);
+    }
+  }
+
+  private static void layoutNodeImpl(
+      CSSNodeStore s,
+      CSSLayoutContext layoutContext,
+      int node,
+      float parentMaxWidth,
+      float parentMaxHeight,
+      CSSDirection parentDirection) {
+    for (int i = 0, childCount = s.getChildCount(node); i < childCount; i++) {
+      s.resetLayoutResult(s.getChildAt(node, i));
+    }
+
+  
+    CSSDirection direction = resolveDirection(s, node, parentDirection);
+    int mainAxis = resolveAxis(getFlexDirection(s, node), direction);
+    int crossAxis = getCrossFlexDirection(mainAxis, direction);
+    int resolvedRowAxis = resolveAxis(CSS_FLEX_DIRECTION_ROW, direction);
+  
+    // Handle width and height style attributes
+    setDimensionFromStyle(s, node, mainAxis);
+    setDimensionFromStyle(s, node, crossAxis);
+  
+    // Set the resolved resolution in the node's layout
+    s.layoutDirection[node] = direction;
+  
+    // The position is set by the parent, but we need to complete it with a
+    // delta composed of the margin and left/top/right/bottom
+    s.layoutPosition[node * 4 + leading[mainAxis]] += s.marginWithFallback(node, leadingSpacing[mainAxis], leading[mainAxis]) +
+      getRelativePosition(s, node, mainAxis);
+    s.layoutPosition[node * 4 + trailing[mainAxis]] += s.marginWithFallback(node, trailingSpacing[mainAxis], trailing[mainAxis]) +
+      getRelativePosition(s, node, mainAxis);
+    s.layoutPosition[node * 4 + leading[crossAxis]] += s.marginWithFallback(node, leadingSpacing[crossAxis], leading[crossAxis]) +
+      getRelativePosition(s, node, crossAxis);
+    s.layoutPosition[node * 4 + trailing[crossAxis]] += s.marginWithFallback(node, trailingSpacing[crossAxis], trailing[crossAxis]) +
+      getRelativePosition(s, node, crossAxis);
+  
+    // Inline immutable values from the target node to avoid excessive method
+    // invocations during the layout calculation.
+    int childCount = s.getChildCount(node);
+    float paddingAndBorderAxisResolvedRow = ((s.paddingWithFallback(node, leadingSpacing[resolvedRowAxis], leading[resolvedRowAxis]) + s.borderWithFallback(node, leadingSpacing[resolvedRowAxis], leading[resolvedRowAxis])) + (s.paddingWithFallback(node, trailingSpacing[resolvedRowAxis], trailing[resolvedRowAxis]) + s.borderWithFallback(node, trailingSpacing[resolvedRowAxis], trailing[resolvedRowAxis])));
+    float paddingAndBorderAxisColumn = ((s.paddingWithFallback(node, leadingSpacing[CSS_FLEX_DIRECTION_COLUMN], leading[CSS_FLEX_DIRECTION_COLUMN]) + s.borderWithFallback(node, leadingSpacing[CSS_FLEX_DIRECTION_COLUMN], leading[CSS_FLEX_DIRECTION_COLUMN])) + (s.paddingWithFallback(node, trailingSpacing[CSS_FLEX_DIRECTION_COLUMN], trailing[CSS_FLEX_DIRECTION_COLUMN]) + s.borderWithFallback(node, trailingSpacing[CSS_FLEX_DIRECTION_COLUMN], trailing[CSS_FLEX_DIRECTION_COLUMN])));
+  
+    if (s.isMeasureDefined(node)) {
+      boolean isResolvedRowDimDefined = !Float.isNaN(s.layoutDimensions[node * 2 + dim[resolvedRowAxis]]);
+  
+      float width = CSSConstants.UNDEFINED;
+      if ((!Float.isNaN(s.styleDimensions[node * 2 + dim[resolvedRowAxis]]) && s.styleDimensions[node * 2 + dim[resolvedRowAxis]] >= 0.0)) {
+        width = s.styleDimensions[node * 2 + DIMENSION_WIDTH];
+      } else if (isResolvedRowDimDefined) {
+        width = s.layoutDimensions[node * 2 + dim[resolvedRowAxis]];
+      } else {
+        width = parentMaxWidth -
+          (s.marginWithFallback(node, leadingSpacing[resolvedRowAxis], leading[resolvedRowAxis]) + s.marginWithFallback(node, trailingSpacing[resolvedRowAxis], trailing[resolvedRowAxis]));
+      }
+      width -= paddingAndBorderAxisResolvedRow;
+  
+      float height = CSSConstants.UNDEFINED;
+      if ((!Float.isNaN(s.styleDimensions[node * 2 + dim[CSS_FLEX_DIRECTION_COLUMN]]) && s.styleDimensions[node * 2 + dim[CSS_FLEX_DIRECTION_COLUMN]] >= 0.0)) {
+        height = s.styleDimensions[node * 2 + DIMENSION_HEIGHT];
+      } else if (!Float.isNaN(s.layoutDimensions[node * 2 + dim[CSS_FLEX_DIRECTION_COLUMN]])) {
+        height = s.layoutDimensions[node * 2 + dim[CSS_FLEX_DIRECTION_COLUMN]];
+      } else {
+        height = parentMaxHeight -
+          (s.marginWithFallback(node, leadingSpacing[resolvedRowAxis], leading[resolvedRowAxis]) + s.marginWithFallback(node, trailingSpacing[resolvedRowAxis], trailing[resolvedRowAxis]));
+      }
+      height -= ((s.paddingWithFallback(node, leadingSpacing[CSS_FLEX_DIRECTION_COLUMN], leading[CSS_FLEX_DIRECTION_COLUMN]) + s.borderWithFallback(node, leadingSpacing[CSS_FLEX_DIRECTION_COLUMN], leading[CSS_FLEX_DIRECTION_COLUMN])) + (s.paddingWithFallback(node, trailingSpacing[CSS_FLEX_DIRECTION_COLUMN], trailing[CSS_FLEX_DIRECTION_COLUMN]) + s.borderWithFallback(node, trailingSpacing[CSS_FLEX_DIRECTION_COLUMN], trailing[CSS_FLEX_DIRECTION_COLUMN])));
+  
+      // We only need to give a dimension for the text if we haven't got any
+      // for it computed yet. It can either be from the style attribute or because
+      // the element is flexible.
+      boolean isRowUndefined = !(!Float.isNaN(s.styleDimensions[node * 2 + dim[resolvedRowAxis]]) && s.styleDimensions[node * 2 + dim[resolvedRowAxis]] >= 0.0) && !isResolvedRowDimDefined;
+      boolean isColumnUndefined = !(!Float.isNaN(s.styleDimensions[node * 2 + dim[CSS_FLEX_DIRECTION_COLUMN]]) && s.styleDimensions[node * 2 + dim[CSS_FLEX_DIRECTION_COLUMN]] >= 0.0) &&
+        Float.isNaN(s.layoutDimensions[node * 2 + dim[CSS_FLEX_DIRECTION_COLUMN]]);
+  
+      // Let's not measure the text if we already know both dimensions
+      if (isRowUndefined || isColumnUndefined) {
+        MeasureOutput measureDim = s.measure(
+          layoutContext,
+          node,
+          width,
+          height
+        );
+        if (isRowUndefined) {
+          s.layoutDimensions[node * 2 + DIMENSION_WIDTH] = measureDim.width +
+            paddingAndBorderAxisResolvedRow;
+        }
+        if (isColumnUndefined) {
+          s.layoutDimensions[node * 2 + DIMENSION_HEIGHT] = measureDim.height +
+            paddingAndBorderAxisColumn;
+        }
+      }
+      if (childCount == 0) {
+        return;
+      }
+    }
+  
+    boolean isNodeFlexWrap = (s.flexWrap[node] == CSSWrap.WRAP);
+  
+    CSSJustify justifyContent = s.justifyContent[node];
+  
+    float leadingPaddingAndBorderMain = (s.paddingWithFallback(node, leadingSpacing[mainAxis], leading[mainAxis]) + s.borderWithFallback(node, leadingSpacing[mainAxis], leading[mainAxis]));
+    float leadingPaddingAndBorderCross = (s.paddingWithFallback(node, leadingSpacing[crossAxis], leading[crossAxis]) + s.borderWithFallback(node, leadingSpacing[crossAxis], leading[crossAxis]));
+    float paddingAndBorderAxisMain = ((s.paddingWithFallback(node, leadingSpacing[mainAxis], leading[mainAxis]) + s.borderWithFallback(node, leadingSpacing[mainAxis], leading[mainAxis])) + (s.paddingWithFallback(node, trailingSpacing[mainAxis], trailing[mainAxis]) + s.borderWithFallback(node, trailingSpacing[mainAxis], trailing[mainAxis])));
+    float paddingAndBorderAxisCross = ((s.paddingWithFallback(node, leadingSpacing[crossAxis], leading[crossAxis]) + s.borderWithFallback(node, leadingSpacing[crossAxis], leading[crossAxis])) + (s.paddingWithFallback(node, trailingSpacing[crossAxis], trailing[crossAxis]) + s.borderWithFallback(node, trailingSpacing[crossAxis], trailing[crossAxis])));
+  
+    boolean isMainDimDefined = !Float.isNaN(s.layoutDimensions[node * 2 + dim[mainAxis]]);
+    boolean isCrossDimDefined = !Float.isNaN(s.layoutDimensions[node * 2 + dim[crossAxis]]);
+    boolean isMainRowDirection = (mainAxis == CSS_FLEX_DIRECTION_ROW || mainAxis == CSS_FLEX_DIRECTION_ROW_REVERSE);
+  
+    int i;
+    int ii;
+    int child;
+    int axis;
+  
+    int firstAbsoluteChild = CSSNodeStore.NONE;
+    int currentAbsoluteChild = CSSNodeStore.NONE;
+  
+    float definedMainDim = CSSConstants.UNDEFINED;
+    if (isMainDimDefined) {
+      definedMainDim = s.layoutDimensions[node * 2 + dim[mainAxis]] - paddingAndBorderAxisMain;
+    }
+  
+    // We want to execute the next two loops one per line with flex-wrap
+    int startLine = 0;
+    int endLine = 0;
+    // int nextOffset = 0;
+    int alreadyComputedNextLayout = 0;
+    // We aggregate the total dimensions of the container in those two variables
+    float linesCrossDim = 0;
+    float linesMainDim = 0;
+    int linesCount = 0;
+    while (endLine < childCount) {
+      // <Loop A> Layout non flexible children and count children by type
+  
+      // mainContentDim is accumulation of the dimensions and margin of all the
+      // non flexible children. This will be used in order to either set the
+      // dimensions of the node if none already exist, or to compute the
+      // remaining space left for the flexible children.
+      float mainContentDim = 0;
+  
+      // There are three kind of children, non flexible, flexible and absolute.
+      // We need to know how many there are in order to distribute the space.
+      int flexibleChildrenCount = 0;
+      float totalFlexible = 0;
+      int nonFlexibleChildrenCount = 0;
+  
+      // Use the line loop to position children in the main axis for as long
+      // as they are using a simple stacking behaviour. Children that are
+      // immediately stacked in the initial loop will not be touched again
+      // in <Loop C>.
+      boolean isSimpleStackMain =
+          (isMainDimDefined && justifyContent == CSSJustify.FLEX_START) ||
+          (!isMainDimDefined && justifyContent != CSSJustify.CENTER);
+      int firstComplexMain = (isSimpleStackMain ? childCount : startLine);
+  
+      // Use the initial line loop to position children in the cross axis for
+      // as long as they are relatively positioned with alignment STRETCH or
+      // FLEX_START. Children that are immediately stacked in the initial loop
+      // will not be touched again in <Loop D>.
+      boolean isSimpleStackCross = true;
+      int firstComplexCross = childCount;
+  
+      int firstFlexChild = CSSNodeStore.NONE;
+      int currentFlexChild = CSSNodeStore.NONE;
+  
+      float mainDim = leadingPaddingAndBorderMain;
+      float crossDim = 0;
+  
+      float maxWidth;
+      float maxHeight;
+      for (i = startLine; i < childCount; ++i) {
+        child = s.getChildAt(node, i);
+        s.lineIndex[child] = linesCount;
+  
+        s.nextAbsoluteChild[child] = CSSNodeStore.NONE;
+        s.nextFlexChild[child] = CSSNodeStore.NONE;
+  
+        CSSAlign alignItem = getAlignItem(s, node, child);
+  
+        // Pre-fill cross axis dimensions when the child is using stretch before
+        // we call the recursive layout pass
+        if (alignItem == CSSAlign.STRETCH &&
+            s.positionType[child] == CSSPositionType.RELATIVE &&
+            isCrossDimDefined &&
+            !(!Float.isNaN(s.styleDimensions[child * 2 + dim[crossAxis]]) && s.styleDimensions[child * 2 + dim[crossAxis]] >= 0.0)) {
+          s.layoutDimensions[child * 2 + dim[crossAxis]] = Math.max(
+            boundAxis(s, child, crossAxis, s.layoutDimensions[node * 2 + dim[crossAxis]] -
+              paddingAndBorderAxisCross - (s.marginWithFallback(child, leadingSpacing[crossAxis], leading[crossAxis]) + s.marginWithFallback(child, trailingSpacing[crossAxis], trailing[crossAxis]))),
+            // You never want to go smaller than padding
+            ((s.paddingWithFallback(child, leadingSpacing[crossAxis], leading[crossAxis]) + s.borderWithFallback(child, leadingSpacing[crossAxis], leading[crossAxis])) + (s.paddingWithFallback(child, trailingSpacing[crossAxis], trailing[crossAxis]) + s.borderWithFallback(child, trailingSpacing[crossAxis], trailing[crossAxis])))
+          );
+        } else if (s.positionType[child] == CSSPositionType.ABSOLUTE) {
+          // Store a private linked list of absolutely positioned children
+          // so that we can efficiently traverse them later.
+          if (firstAbsoluteChild == CSSNodeStore.NONE) {
+            firstAbsoluteChild = child;
+          }
+          if (currentAbsoluteChild != CSSNodeStore.NONE) {
+            s.nextAbsoluteChild[currentAbsoluteChild] = child;
+          }
+          currentAbsoluteChild = child;
+  
+          // Pre-fill dimensions when using absolute position and both offsets for the axis are defined (either both
+          // left and right or top and bottom).
+          for (ii = 0; ii < 2; ii++) {
+            axis = (ii != 0) ? CSS_FLEX_DIRECTION_ROW : CSS_FLEX_DIRECTION_COLUMN;
+            if (!Float.isNaN(s.layoutDimensions[node * 2 + dim[axis]]) &&
+                !(!Float.isNaN(s.styleDimensions[child * 2 + dim[axis]]) && s.styleDimensions[child * 2 + dim[axis]] >= 0.0) &&
+                !Float.isNaN(s.stylePosition[child * 4 + leading[axis]]) &&
+                !Float.isNaN(s.stylePosition[child * 4 + trailing[axis]])) {
+              s.layoutDimensions[child * 2 + dim[axis]] = Math.max(
+                boundAxis(s, child, axis, s.layoutDimensions[node * 2 + dim[axis]] -
+                  ((s.paddingWithFallback(node, leadingSpacing[axis], leading[axis]) + s.borderWithFallback(node, leadingSpacing[axis], leading[axis])) + (s.paddingWithFallback(node, trailingSpacing[axis], trailing[axis]) + s.borderWithFallback(node, trailingSpacing[axis], trailing[axis]))) -
+                  (s.marginWithFallback(child, leadingSpacing[axis], leading[axis]) + s.marginWithFallback(child, trailingSpacing[axis], trailing[axis])) -
+                  (Float.isNaN(s.stylePosition[child * 4 + leading[axis]]) ?  0 : s.stylePosition[child * 4 + leading[axis]]) -
+                  (Float.isNaN(s.stylePosition[child * 4 + trailing[axis]]) ?  0 : s.stylePosition[child * 4 + trailing[axis]])),
+                // You never want to go smaller than padding
+                ((s.paddingWithFallback(child, leadingSpacing[axis], leading[axis]) + s.borderWithFallback(child, leadingSpacing[axis], leading[axis])) + (s.paddingWithFallback(child, trailingSpacing[axis], trailing[axis]) + s.borderWithFallback(child, trailingSpacing[axis], trailing[axis])))
+              );
+            }
+          }
+        }
+  
+        float nextContentDim = 0;
+  
+        // It only makes sense to consider a child flexible if we have a computed
+        // dimension for the node.
+        if (isMainDimDefined && (s.positionType[child] == CSSPositionType.RELATIVE && s.flex[child] > 0)) {
+          flexibleChildrenCount++;
+          totalFlexible += s.flex[child];
+  
+          // Store a private linked list of flexible children so that we can
+          // efficiently traverse them later.
+          if (firstFlexChild == CSSNodeStore.NONE) {
+            firstFlexChild = child;
+          }
+          if (currentFlexChild != CSSNodeStore.NONE) {
+            s.nextFlexChild[currentFlexChild] = child;
+          }
+          currentFlexChild = child;
+  
+          // Even if we don't know its exact size yet, we already know the padding,
+          // border and margin. We'll use this partial information, which represents
+          // the smallest possible size for the child, to compute the remaining
+          // available space.
+          nextContentDim = ((s.paddingWithFallback(child, leadingSpacing[mainAxis], leading[mainAxis]) + s.borderWithFallback(child, leadingSpacing[mainAxis], leading[mainAxis])) + (s.paddingWithFallback(child, trailingSpacing[mainAxis], trailing[mainAxis]) + s.borderWithFallback(child, trailingSpacing[mainAxis], trailing[mainAxis]))) +
+            (s.marginWithFallback(child, leadingSpacing[mainAxis], leading[mainAxis]) + s.marginWithFallback(child, trailingSpacing[mainAxis], trailing[mainAxis]));
+  
+        } else {
+          maxWidth = CSSConstants.UNDEFINED;
+          maxHeight = CSSConstants.UNDEFINED;
+  
+          if (!isMainRowDirection) {
+            if ((!Float.isNaN(s.styleDimensions[node * 2 + dim[resolvedRowAxis]]) && s.styleDimensions[node * 2 + dim[resolvedRowAxis]] >= 0.0)) {
+              maxWidth = s.layoutDimensions[node * 2 + dim[resolvedRowAxis]] -
+                paddingAndBorderAxisResolvedRow;
+            } else {
+              maxWidth = parentMaxWidth -
+                (s.marginWithFallback(node, leadingSpacing[resolvedRowAxis], leading[resolvedRowAxis]) + s.marginWithFallback(node, trailingSpacing[resolvedRowAxis], trailing[resolvedRowAxis])) -
+                paddingAndBorderAxisResolvedRow;
+            }
+          } else {
+            if ((!Float.isNaN(s.styleDimensions[node * 2 + dim[CSS_FLEX_DIRECTION_COLUMN]]) && s.styleDimensions[node * 2 + dim[CSS_FLEX_DIRECTION_COLUMN]] >= 0.0)) {
+              maxHeight = s.layoutDimensions[node * 2 + dim[CSS_FLEX_DIRECTION_COLUMN]] -
+                  paddingAndBorderAxisColumn;
+            } else {
+              maxHeight = parentMaxHeight -
+                (s.marginWithFallback(node, leadingSpacing[CSS_FLEX_DIRECTION_COLUMN], leading[CSS_FLEX_DIRECTION_COLUMN]) + s.marginWithFallback(node, trailingSpacing[CSS_FLEX_DIRECTION_COLUMN], trailing[CSS_FLEX_DIRECTION_COLUMN])) -
+                paddingAndBorderAxisColumn;
+            }
+          }
+  
+          // This is the main recursive call. We layout non flexible children.
+          if (alreadyComputedNextLayout == 0) {
+            layoutNode(s, layoutContext, child, maxWidth, maxHeight, direction);
+          }
+  
+          // Absolute positioned elements do not take part of the layout, so we
+          // don't use them to compute mainContentDim
+          if (s.positionType[child] == CSSPositionType.RELATIVE) {
+            nonFlexibleChildrenCount++;
+            // At this point we know the final size and margin of the element.
+            nextContentDim = (s.layoutDimensions[child * 2 + dim[mainAxis]] + s.marginWithFallback(child, leadingSpacing[mainAxis], leading[mainAxis]) + s.marginWithFallback(child, trailingSpacing[mainAxis], trailing[mainAxis]));
+          }
+        }
+  
+        // The element we are about to add would make us go to the next line
+        if (isNodeFlexWrap &&
+            isMainDimDefined &&
+            mainContentDim + nextContentDim > definedMainDim &&
+            // If there's only one element, then it's bigger than the content
+            // and needs its own line
+            i != startLine) {
+          nonFlexibleChildrenCount--;
+          alreadyComputedNextLayout = 1;
+          break;
+        }
+  
+        // Disable simple stacking in the main axis for the current line as
+        // we found a non-trivial child. The remaining children will be laid out
+        // in <Loop C>.
+        if (isSimpleStackMain &&
+            (s.positionType[child] != CSSPositionType.RELATIVE || (s.positionType[child] == CSSPositionType.RELATIVE && s.flex[child] > 0))) {
+          isSimpleStackMain = false;
+          firstComplexMain = i;
+        }
+  
+        // Disable simple stacking in the cross axis for the current line as
+        // we found a non-trivial child. The remaining children will be laid out
+        // in <Loop D>.
+        if (isSimpleStackCross &&
+            (s.positionType[child] != CSSPositionType.RELATIVE ||
+                (alignItem != CSSAlign.STRETCH && alignItem != CSSAlign.FLEX_START) ||
+                Float.isNaN(s.layoutDimensions[child * 2 + dim[crossAxis]]))) {
+          isSimpleStackCross = false;
+          firstComplexCross = i;
+        }
+  
+        if (isSimpleStackMain) {
+          s.layoutPosition[child * 4 + pos[mainAxis]] += mainDim;
+          if (isMainDimDefined) {
+            s.layoutPosition[child * 4 + trailing[mainAxis]] = s.layoutDimensions[node * 2 + dim[mainAxis]] - s.layoutDimensions[child * 2 + dim[mainAxis]] - s.layoutPosition[child * 4 + pos[mainAxis]];
+          }
+  
+          mainDim += (s.layoutDimensions[child * 2 + dim[mainAxis]] + s.marginWithFallback(child, leadingSpacing[mainAxis], leading[mainAxis]) + s.marginWithFallback(child, trailingSpacing[mainAxis], trailing[mainAxis]));
+          crossDim = Math.max(crossDim, boundAxis(s, child, crossAxis, (s.layoutDimensions[child * 2 + dim[crossAxis]] + s.marginWithFallback(child, leadingSpacing[crossAxis], leading[crossAxis]) + s.marginWithFallback(child, trailingSpacing[crossAxis], trailing[crossAxis]))));
+        }
+  
+        if (isSimpleStackCross) {
+          s.layoutPosition[child * 4 + pos[crossAxis]] += linesCrossDim + leadingPaddingAndBorderCross;
+          if (isCrossDimDefined) {
+            s.layoutPosition[child * 4 + trailing[crossAxis]] = s.layoutDimensions[node * 2 + dim[crossAxis]] - s.layoutDimensions[child * 2 + dim[crossAxis]] - s.layoutPosition[child * 4 + pos[crossAxis]];
+          }
+        }
+  
+        alreadyComputedNextLayout = 0;
+        mainContentDim += nextContentDim;
+        endLine = i + 1;
+      }
+  
+      // <Loop B> Layout flexible children and allocate empty space
+  
+      // In order to position the elements in the main axis, we have two
+      // controls. The space between the beginning and the first element
+      // and the space between each two elements.
+      float leadingMainDim = 0;
+      float betweenMainDim = 0;
+  
+      // The remaining available space that needs to be allocated
+      float remainingMainDim = 0;
+      if (isMainDimDefined) {
+        remainingMainDim = definedMainDim - mainContentDim;
+      } else {
+        remainingMainDim = Math.max(mainContentDim, 0) - mainContentDim;
+      }
+  
+      // If there are flexible children in the mix, they are going to fill the
+      // remaining space
+      if (flexibleChildrenCount != 0) {
+        float flexibleMainDim = remainingMainDim / totalFlexible;
+        float baseMainDim;
+        float boundMainDim;
+  
+        // If the flex share of remaining space doesn't meet min/max bounds,
+        // remove this child from flex calculations.
+        currentFlexChild = firstFlexChild;
+        while (currentFlexChild != CSSNodeStore.NONE) {
+          baseMainDim = flexibleMainDim * s.flex[currentFlexChild] +
+              ((s.paddingWithFallback(currentFlexChild, leadingSpacing[mainAxis], leading[mainAxis]) + s.borderWithFallback(currentFlexChild, leadingSpacing[mainAxis], leading[mainAxis])) + (s.paddingWithFallback(currentFlexChild, trailingSpacing[mainAxis], trailing[mainAxis]) + s.borderWithFallback(currentFlexChild, trailingSpacing[mainAxis], trailing[mainAxis])));
+          boundMainDim = boundAxis(s, currentFlexChild, mainAxis, baseMainDim);
+  
+          if (baseMainDim != boundMainDim) {
+            remainingMainDim -= boundMainDim;
+            totalFlexible -= s.flex[currentFlexChild];
+          }
+  
+          currentFlexChild = s.nextFlexChild[currentFlexChild];
+        }
+        flexibleMainDim = remainingMainDim / totalFlexible;
+  
+        // The non flexible children can overflow the container, in this case
+        // we should just assume that there is no space available.
+        if (flexibleMainDim < 0) {
+          flexibleMainDim = 0;
+        }
+  
+        currentFlexChild = firstFlexChild;
+        while (currentFlexChild != CSSNodeStore.NONE) {
+          // At this point we know the final size of the element in the main
+          // dimension
+          s.layoutDimensions[currentFlexChild * 2 + dim[mainAxis]] = boundAxis(s, currentFlexChild, mainAxis,
+            flexibleMainDim * s.flex[currentFlexChild] +
+                ((s.paddingWithFallback(currentFlexChild, leadingSpacing[mainAxis], leading[mainAxis]) + s.borderWithFallback(currentFlexChild, leadingSpacing[mainAxis], leading[mainAxis])) + (s.paddingWithFallback(currentFlexChild, trailingSpacing[mainAxis], trailing[mainAxis]) + s.borderWithFallback(currentFlexChild, trailingSpacing[mainAxis], trailing[mainAxis])))
+          );
+  
+          maxWidth = CSSConstants.UNDEFINED;
+          if ((!Float.isNaN(s.styleDimensions[node * 2 + dim[resolvedRowAxis]]) && s.styleDimensions[node * 2 + dim[resolvedRowAxis]] >= 0.0)) {
+            maxWidth = s.layoutDimensions[node * 2 + dim[resolvedRowAxis]] -
+              paddingAndBorderAxisResolvedRow;
+          } else if (!isMainRowDirection) {
+            maxWidth = parentMaxWidth -
+              (s.marginWithFallback(node, leadingSpacing[resolvedRowAxis], leading[resolvedRowAxis]) + s.marginWithFallback(node, trailingSpacing[resolvedRowAxis], trailing[resolvedRowAxis])) -
+              paddingAndBorderAxisResolvedRow;
+          }
+          maxHeight = CSSConstants.UNDEFINED;
+          if ((!Float.isNaN(s.styleDimensions[node * 2 + dim[CSS_FLEX_DIRECTION_COLUMN]]) && s.styleDimensions[node * 2 + dim[CSS_FLEX_DIRECTION_COLUMN]] >= 0.0)) {
+            maxHeight = s.layoutDimensions[node * 2 + dim[CSS_FLEX_DIRECTION_COLUMN]] -
+              paddingAndBorderAxisColumn;
+          } else if (isMainRowDirection) {
+            maxHeight = parentMaxHeight -
+              (s.marginWithFallback(node, leadingSpacing[CSS_FLEX_DIRECTION_COLUMN], leading[CSS_FLEX_DIRECTION_COLUMN]) + s.marginWithFallback(node, trailingSpacing[CSS_FLEX_DIRECTION_COLUMN], trailing[CSS_FLEX_DIRECTION_COLUMN])) -
+              paddingAndBorderAxisColumn;
+          }
+  
+          // And we recursively call the layout algorithm for this child
+          layoutNode(s, layoutContext, currentFlexChild, maxWidth, maxHeight, direction);
+  
+          child = currentFlexChild;
+          currentFlexChild = s.nextFlexChild[currentFlexChild];
+          s.nextFlexChild[child] = CSSNodeStore.NONE;
+        }
+  
+      // We use justifyContent to figure out how to allocate the remaining
+      // space available
+      } else if (justifyContent != CSSJustify.FLEX_START) {
+        if (justifyContent == CSSJustify.CENTER) {
+          leadingMainDim = remainingMainDim / 2;
+        } else if (justifyContent == CSSJustify.FLEX_END) {
+          leadingMainDim = remainingMainDim;
+        } else if (justifyContent == CSSJustify.SPACE_BETWEEN) {
+          remainingMainDim = Math.max(remainingMainDim, 0);
+          if (flexibleChildrenCount + nonFlexibleChildrenCount - 1 != 0) {
+            betweenMainDim = remainingMainDim /
+              (flexibleChildrenCount + nonFlexibleChildrenCount - 1);
+          } else {
+            betweenMainDim = 0;
+          }
+        } else if (justifyContent == CSSJustify.SPACE_AROUND) {
+          // Space on the edges is half of the space between elements
+          betweenMainDim = remainingMainDim /
+            (flexibleChildrenCount + nonFlexibleChildrenCount);
+          leadingMainDim = betweenMainDim / 2;
+        }
+      }
+  
+      // <Loop C> Position elements in the main axis and compute dimensions
+  
+      // At this point, all the children have their dimensions set. We need to
+      // find their position. In order to do that, we accumulate data in
+      // variables that are also useful to compute the total dimensions of the
+      // container!
+      mainDim += leadingMainDim;
+  
+      for (i = firstComplexMain; i < endLine; ++i) {
+        child = s.getChildAt(node, i);
+  
+        if (s.positionType[child] == CSSPositionType.ABSOLUTE &&
+            !Float.isNaN(s.stylePosition[child * 4 + leading[mainAxis]])) {
+          // In case the child is position absolute and has left/top being
+          // defined, we override the position to whatever the user said
+          // (and margin/border).
+          s.layoutPosition[child * 4 + pos[mainAxis]] = (Float.isNaN(s.stylePosition[child * 4 + leading[mainAxis]]) ?  0 : s.stylePosition[child * 4 + leading[mainAxis]]) +
+            s.borderWithFallback(node, leadingSpacing[mainAxis], leading[mainAxis]) +
+            s.marginWithFallback(child, leadingSpacing[mainAxis], leading[mainAxis]);
+        } else {
+          // If the child is position absolute (without top/left) or relative,
+          // we put it at the current accumulated offset.
+          s.layoutPosition[child * 4 + pos[mainAxis]] += mainDim;
+  
+          // Define the trailing position accordingly.
+          if (isMainDimDefined) {
+            s.layoutPosition[child * 4 + trailing[mainAxis]] = s.layoutDimensions[node * 2 + dim[mainAxis]] - s.layoutDimensions[child * 2 + dim[mainAxis]] - s.layoutPosition[child * 4 + pos[mainAxis]];
+          }
+  
+          // Now that we placed the element, we need to update the variables
+          // We only need to do that for relative elements. Absolute elements
+          // do not take part in that phase.
+          if (s.positionType[child] == CSSPositionType.RELATIVE) {
+            // The main dimension is the sum of all the elements dimension plus
+            // the spacing.
+            mainDim += betweenMainDim + (s.layoutDimensions[child * 2 + dim[mainAxis]] + s.marginWithFallback(child, leadingSpacing[mainAxis], leading[mainAxis]) + s.marginWithFallback(child, trailingSpacing[mainAxis], trailing[mainAxis]));
+            // The cross dimension is the max of the elements dimension since there
+            // can only be one element in that cross dimension.
+            crossDim = Math.max(crossDim, boundAxis(s, child, crossAxis, (s.layoutDimensions[child * 2 + dim[crossAxis]] + s.marginWithFallback(child, leadingSpacing[crossAxis], leading[crossAxis]) + s.marginWithFallback(child, trailingSpacing[crossAxis], trailing[crossAxis]))));
+          }
+        }
+      }
+  
+      float containerCrossAxis = s.layoutDimensions[node * 2 + dim[crossAxis]];
+      if (!isCrossDimDefined) {
+        containerCrossAxis = Math.max(
+          // For the cross dim, we add both sides at the end because the value
+          // is aggregate via a max function. Intermediate negative values
+          // can mess this computation otherwise
+          boundAxis(s, node, crossAxis, crossDim + paddingAndBorderAxisCross),
+          paddingAndBorderAxisCross
+        );
+      }
+  
+      // <Loop D> Position elements in the cross axis
+      for (i = firstComplexCross; i < endLine; ++i) {
+        child = s.getChildAt(node, i);
+  
+        if (s.positionType[child] == CSSPositionType.ABSOLUTE &&
+            !Float.isNaN(s.stylePosition[child * 4 + leading[crossAxis]])) {
+          // In case the child is absolutely positionned and has a
+          // top/left/bottom/right being set, we override all the previously
+          // computed positions to set it correctly.
+          s.layoutPosition[child * 4 + pos[crossAxis]] = (Float.isNaN(s.stylePosition[child * 4 + leading[crossAxis]]) ?  0 : s.stylePosition[child * 4 + leading[crossAxis]]) +
+            s.borderWithFallback(node, leadingSpacing[crossAxis], leading[crossAxis]) +
+            s.marginWithFallback(child, leadingSpacing[crossAxis], leading[crossAxis]);
+  
+        } else {
+          float leadingCrossDim = leadingPaddingAndBorderCross;
+  
+          // For a relative children, we're either using alignItems (parent) or
+          // alignSelf (child) in order to determine the position in the cross axis
+          if (s.positionType[child] == CSSPositionType.RELATIVE) {
+            /*eslint-disable */
+            // This variable is intentionally re-defined as the code is transpiled to a block scope language
+            CSSAlign alignItem = getAlignItem(s, node, child);
+            /*eslint-enable */
+            if (alignItem == CSSAlign.STRETCH) {
+              // You can only stretch if the dimension has not already been set
+              // previously.
+              if (Float.isNaN(s.layoutDimensions[child * 2 + dim[crossAxis]])) {
+                s.layoutDimensions[child * 2 + dim[crossAxis]] = Math.max(
+                  boundAxis(s, child, crossAxis, containerCrossAxis -
+                    paddingAndBorderAxisCross - (s.marginWithFallback(child, leadingSpacing[crossAxis], leading[crossAxis]) + s.marginWithFallback(child, trailingSpacing[crossAxis], trailing[crossAxis]))),
+                  // You never want to go smaller than padding
+                  ((s.paddingWithFallback(child, leadingSpacing[crossAxis], leading[crossAxis]) + s.borderWithFallback(child, leadingSpacing[crossAxis], leading[crossAxis])) + (s.paddingWithFallback(child, trailingSpacing[crossAxis], trailing[crossAxis]) + s.borderWithFallback(child, trailingSpacing[crossAxis], trailing[crossAxis])))
+                );
+              }
+            } else if (alignItem != CSSAlign.FLEX_START) {
+              // The remaining space between the parent dimensions+padding and child
+              // dimensions+margin.
+              float remainingCrossDim = containerCrossAxis -
+                paddingAndBorderAxisCross - (s.layoutDimensions[child * 2 + dim[crossAxis]] + s.marginWithFallback(child, leadingSpacing[crossAxis], leading[crossAxis]) + s.marginWithFallback(child, trailingSpacing[crossAxis], trailing[crossAxis]));
+  
+              if (alignItem == CSSAlign.CENTER) {
+                leadingCrossDim += remainingCrossDim / 2;
+              } else { // CSSAlign.FLEX_END
+                leadingCrossDim += remainingCrossDim;
+              }
+            }
+          }
+  
+          // And we apply the position
+          s.layoutPosition[child * 4 + pos[crossAxis]] += linesCrossDim + leadingCrossDim;
+  
+          // Define the trailing position accordingly.
+          if (isCrossDimDefined) {
+            s.layoutPosition[child * 4 + trailing[crossAxis]] = s.layoutDimensions[node * 2 + dim[crossAxis]] - s.layoutDimensions[child * 2 + dim[crossAxis]] - s.layoutPosition[child * 4 + pos[crossAxis]];
+          }
+        }
+      }
+  
+      linesCrossDim += crossDim;
+      linesMainDim = Math.max(linesMainDim, mainDim);
+      linesCount += 1;
+      startLine = endLine;
+    }
+  
+    // <Loop E>
+    //
+    // Note(prenaux): More than one line, we need to layout the crossAxis
+    // according to alignContent.
+    //
+    // Note that we could probably remove <Loop D> and handle the one line case
+    // here too, but for the moment this is safer since it won't interfere with
+    // previously working code.
+    //
+    // See specs:
+    // http://www.w3.org/TR/2012/CR-css3-flexbox-20120918/#layout-algorithm
+    // section 9.4
+    //
+    if (linesCount > 1 && isCrossDimDefined) {
+      float nodeCrossAxisInnerSize = s.layoutDimensions[node * 2 + dim[crossAxis]] -
+          paddingAndBorderAxisCross;
+      float remainingAlignContentDim = nodeCrossAxisInnerSize - linesCrossDim;
+  
+      float crossDimLead = 0;
+      float currentLead = leadingPaddingAndBorderCross;
+  
+      CSSAlign alignContent = s.alignContent[node];
+      if (alignContent == CSSAlign.FLEX_END) {
+        currentLead += remainingAlignContentDim;
+      } else if (alignContent == CSSAlign.CENTER) {
+        currentLead += remainingAlignContentDim / 2;
+      } else if (alignContent == CSSAlign.STRETCH) {
+        if (nodeCrossAxisInnerSize > linesCrossDim) {
+          crossDimLead = (remainingAlignContentDim / linesCount);
+        }
+      }
+  
+      int endIndex = 0;
+      for (i = 0; i < linesCount; ++i) {
+        int startIndex = endIndex;
+  
+        // compute the line's height and find the endIndex
+        float lineHeight = 0;
+        for (ii = startIndex; ii < childCount; ++ii) {
+          child = s.getChildAt(node, ii);
+          if (s.positionType[child] != CSSPositionType.RELATIVE) {
+            continue;
+          }
+          if (s.lineIndex[child] != i) {
+            break;
+          }
+          if (!Float.isNaN(s.layoutDimensions[child * 2 + dim[crossAxis]])) {
+            lineHeight = Math.max(
+              lineHeight,
+              s.layoutDimensions[child * 2 + dim[crossAxis]] + (s.marginWithFallback(child, leadingSpacing[crossAxis], leading[crossAxis]) + s.marginWithFallback(child, trailingSpacing[crossAxis], trailing[crossAxis]))
+            );
+          }
+        }
+        endIndex = ii;
+        lineHeight += crossDimLead;
+  
+        for (ii = startIndex; ii < endIndex; ++ii) {
+          child = s.getChildAt(node, ii);
+          if (s.positionType[child] != CSSPositionType.RELATIVE) {
+            continue;
+          }
+  
+          CSSAlign alignContentAlignItem = getAlignItem(s, node, child);
+          if (alignContentAlignItem == CSSAlign.FLEX_START) {
+            s.layoutPosition[child * 4 + pos[crossAxis]] = currentLead + s.marginWithFallback(child, leadingSpacing[crossAxis], leading[crossAxis]);
+          } else if (alignContentAlignItem == CSSAlign.FLEX_END) {
+            s.layoutPosition[child * 4 + pos[crossAxis]] = currentLead + lineHeight - s.marginWithFallback(child, trailingSpacing[crossAxis], trailing[crossAxis]) - s.layoutDimensions[child * 2 + dim[crossAxis]];
+          } else if (alignContentAlignItem == CSSAlign.CENTER) {
+            float childHeight = s.layoutDimensions[child * 2 + dim[crossAxis]];
+            s.layoutPosition[child * 4 + pos[crossAxis]] = currentLead + (lineHeight - childHeight) / 2;
+          } else if (alignContentAlignItem == CSSAlign.STRETCH) {
+            s.layoutPosition[child * 4 + pos[crossAxis]] = currentLead + s.marginWithFallback(child, leadingSpacing[crossAxis], leading[crossAxis]);
+            // TODO(prenaux): Correctly set the height of items with undefined
+            //                (auto) crossAxis dimension.
+          }
+        }
+  
+        currentLead += lineHeight;
+      }
+    }
+  
+    boolean needsMainTrailingPos = false;
+    boolean needsCrossTrailingPos = false;
+  
+    // If the user didn't specify a width or height, and it has not been set
+    // by the container, then we set it via the children.
+    if (!isMainDimDefined) {
+      s.layoutDimensions[node * 2 + dim[mainAxis]] = Math.max(
+        // We're missing the last padding at this point to get the final
+        // dimension
+        boundAxis(s, node, mainAxis, linesMainDim + (s.paddingWithFallback(node, trailingSpacing[mainAxis], trailing[mainAxis]) + s.borderWithFallback(node, trailingSpacing[mainAxis], trailing[mainAxis]))),
+        // We can never assign a width smaller than the padding and borders
+        paddingAndBorderAxisMain
+      );
+  
+      if (mainAxis == CSS_FLEX_DIRECTION_ROW_REVERSE ||
+          mainAxis == CSS_FLEX_DIRECTION_COLUMN_REVERSE) {
+        needsMainTrailingPos = true;
+      }
+    }
+  
+    if (!isCrossDimDefined) {
+      s.layoutDimensions[node * 2 + dim[crossAxis]] = Math.max(
+        // For the cross dim, we add both sides at the end because the value
+        // is aggregate via a max function. Intermediate negative values
+        // can mess this computation otherwise
+        boundAxis(s, node, crossAxis, linesCrossDim + paddingAndBorderAxisCross),
+        paddingAndBorderAxisCross
+      );
+  
+      if (crossAxis == CSS_FLEX_DIRECTION_ROW_REVERSE ||
+          crossAxis == CSS_FLEX_DIRECTION_COLUMN_REVERSE) {
+        needsCrossTrailingPos = true;
+      }
+    }
+  
+    // <Loop F> Set trailing position if necessary
+    if (needsMainTrailingPos || needsCrossTrailingPos) {
+      for (i = 0; i < childCount; ++i) {
+        child = s.getChildAt(node, i);
+  
+        if (needsMainTrailingPos) {
+          s.layoutPosition[child * 4 + trailing[mainAxis]] = s.layoutDimensions[node * 2 + dim[mainAxis]] - s.layoutDimensions[child * 2 + dim[mainAxis]] - s.layoutPosition[child * 4 + pos[mainAxis]];
+        }
+  
+        if (needsCrossTrailingPos) {
+          s.layoutPosition[child * 4 + trailing[crossAxis]] = s.layoutDimensions[node * 2 + dim[crossAxis]] - s.layoutDimensions[child * 2 + dim[crossAxis]] - s.layoutPosition[child * 4 + pos[crossAxis]];
+        }
+      }
+    }
+  
+    // <Loop G> Calculate dimensions for absolutely positioned elements
+    currentAbsoluteChild = firstAbsoluteChild;
+    while (currentAbsoluteChild != CSSNodeStore.NONE) {
+      // Pre-fill dimensions when using absolute position and both offsets for
+      // the axis are defined (either both left and right or top and bottom).
+      for (ii = 0; ii < 2; ii++) {
+        axis = (ii != 0) ? CSS_FLEX_DIRECTION_ROW : CSS_FLEX_DIRECTION_COLUMN;
+  
+        if (!Float.isNaN(s.layoutDimensions[node * 2 + dim[axis]]) &&
+            !(!Float.isNaN(s.styleDimensions[currentAbsoluteChild * 2 + dim[axis]]) && s.styleDimensions[currentAbsoluteChild * 2 + dim[axis]] >= 0.0) &&
+            !Float.isNaN(s.stylePosition[currentAbsoluteChild * 4 + leading[axis]]) &&
+            !Float.isNaN(s.stylePosition[currentAbsoluteChild * 4 + trailing[axis]])) {
+          s.layoutDimensions[currentAbsoluteChild * 2 + dim[axis]] = Math.max(
+            boundAxis(s, currentAbsoluteChild, axis, s.layoutDimensions[node * 2 + dim[axis]] -
+              (s.borderWithFallback(node, leadingSpacing[axis], leading[axis]) + s.borderWithFallback(node, trailingSpacing[axis], trailing[axis])) -
+              (s.marginWithFallback(currentAbsoluteChild, leadingSpacing[axis], leading[axis]) + s.marginWithFallback(currentAbsoluteChild, trailingSpacing[axis], trailing[axis])) -
+              (Float.isNaN(s.stylePosition[currentAbsoluteChild * 4 + leading[axis]]) ?  0 : s.stylePosition[currentAbsoluteChild * 4 + leading[axis]]) -
+              (Float.isNaN(s.stylePosition[currentAbsoluteChild * 4 + trailing[axis]]) ?  0 : s.stylePosition[currentAbsoluteChild * 4 + trailing[axis]])
+            ),
+            // You never want to go smaller than padding
+            ((s.paddingWithFallback(currentAbsoluteChild, leadingSpacing[axis], leading[axis]) + s.borderWithFallback(currentAbsoluteChild, leadingSpacing[axis], leading[axis])) + (s.paddingWithFallback(currentAbsoluteChild, trailingSpacing[axis], trailing[axis]) + s.borderWithFallback(currentAbsoluteChild, trailingSpacing[axis], trailing[axis])))
+          );
+        }
+  
+        if (!Float.isNaN(s.stylePosition[currentAbsoluteChild * 4 + trailing[axis]]) &&
+            !!Float.isNaN(s.stylePosition[currentAbsoluteChild * 4 + leading[axis]])) {
+          s.layoutPosition[currentAbsoluteChild * 4 + leading[axis]] =
+            s.layoutDimensions[node * 2 + dim[axis]] -
+            s.layoutDimensions[currentAbsoluteChild * 2 + dim[axis]] -
+            (Float.isNaN(s.stylePosition[currentAbsoluteChild * 4 + trailing[axis]]) ?  0 : s.stylePosition[currentAbsoluteChild * 4 + trailing[axis]]);
+        }
+      }
+  
+      child = currentAbsoluteChild;
+      currentAbsoluteChild = s.nextAbsoluteChild[currentAbsoluteChild];
+      s.nextAbsoluteChild[child] = CSSNodeStore.NONE;
+    }
+  }
+}
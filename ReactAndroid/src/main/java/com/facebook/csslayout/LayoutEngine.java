@@ -209,11 +209,13 @@ public class LayoutEngine {
 
       layoutNodeImpl(layoutContext, node, parentMaxWidth, parentMaxHeight, parentDirection);
       node.lastLayout.copy(node.layout);
+      node.markHasNewLayout(node.getChildCount() > 0);
     } else {
+      // Nothing in this subtree changed and the constraints are the same, so the previous layout
+      // of every descendant is still valid; only this node needs to be repositioned by its parent.
       node.layout.copy(node.lastLayout);
+      node.markHasNewLayout(false);
     }
-
-    node.markHasNewLayout();
   }
 
   private static void layoutNodeImpl(
@@ -293,7 +295,7 @@ public class LayoutEngine {
       if (isRowUndefined || isColumnUndefined) {
         MeasureOutput measureDim = node.measure(
           
-          layoutContext.measureOutput,
+          layoutContext,
           width,
           height
         );
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2014-present, Facebook, Inc.
+ * All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.csslayout;
+
+/**
+ * Small bounded cache of {@link CSSNode.MeasureFunction} results for a single {@link CSSNode}.
+ *
+ * Entries are keyed on the (width, height) constraints passed to the measure function. During
+ * flex resolution the same node is commonly measured with a handful of different constraints, so
+ * keeping more than one entry avoids re-running expensive measurements (e.g. text layout) each
+ * time the engine probes a different width. When full, entries are replaced round-robin.
+ *
+ * The cache must be cleared whenever the node is dirtied, see {@link CSSNode#dirty()}.
+ */
+/*package*/ class MeasureCache {
+
+  /*package*/ static final int MAX_ENTRIES = 4;
+
+  private final float[] mRequestedWidths = new float[MAX_ENTRIES];
+  private final float[] mRequestedHeights = new float[MAX_ENTRIES];
+  private final float[] mMeasuredWidths = new float[MAX_ENTRIES];
+  private final float[] mMeasuredHeights = new float[MAX_ENTRIES];
+  private int mSize = 0;
+  private int mNextSlot = 0;
+
+  /**
+   * Looks up a previous measurement for the given constraints and copies it into
+   * {@code measureOutput}.
+   *
+   * @return whether a cached measurement was found
+   */
+  /*package*/ boolean get(float width, float height, MeasureOutput measureOutput) {
+    for (int i = 0; i < mSize; i++) {
+      if (FloatUtil.floatsEqual(mRequestedWidths[i], width) &&
+          FloatUtil.floatsEqual(mRequestedHeights[i], height)) {
+        measureOutput.width = mMeasuredWidths[i];
+        measureOutput.height = mMeasuredHeights[i];
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /*package*/ void put(float width, float height, MeasureOutput measureOutput) {
+    int slot = mNextSlot;
+    mRequestedWidths[slot] = width;
+    mRequestedHeights[slot] = height;
+    mMeasuredWidths[slot] = measureOutput.width;
+    mMeasuredHeights[slot] = measureOutput.height;
+    mNextSlot = (slot + 1) % MAX_ENTRIES;
+    if (mSize < MAX_ENTRIES) {
+      mSize++;
+    }
+  }
+
+  /*package*/ void clear() {
+    mSize = 0;
+    mNextSlot = 0;
+  }
+}
@@ -50,12 +50,18 @@ FBA_SRC=.
 FBA_TESTS=$ROOT/javatests/com/facebook/csslayout
 
 echo "Copying src files over..."
+# This overwrites the local changes to CSSNode.java, LayoutEngine.java and CSSLayoutContext.java,
+# which have to be ported to the new files, see the notes printed when done
 cp $SRC/*.java $FBA_SRC
 echo "Copying test files over..."
 cp $TESTS/*.java $FBA_TESTS
 
 echo "Patching files..."
 for sourcefile in $FBA_SRC/*.java; do
+  # These live here only, they are not copied from GitHub
+  case $(basename $sourcefile) in
+    CSSNodeStore*.java|MeasureCache.java) continue ;;
+  esac
   patchfile $sourcefile
 done
 for testfile in $FBA_TESTS/*.java; do
@@ -96,3 +102,11 @@ The code was generated by running 'make' in the css-layout folder and copied to
 
 echo "Done."
 echo "Please run buck test //javatests/com/facebook/csslayout"
+echo "If LayoutEngine.java changed, port the change to CSSNodeStoreLayoutEngine.java and run"
+echo "CSSNodeStoreLayoutEngineTest, which compares the two on random trees."
+echo "The measure cache is local to React Native and was overwritten: port MeasureCache's use in"
+echo "CSSNode (measure, setMeasureFunction, dirty and reset), the hit and miss counters of"
+echo "CSSLayoutContext and the measure call in LayoutEngine, then run MeasureCacheTest."
+echo "Skipping clean subtrees is local to React Native as well: port hasNewDescendantLayout and"
+echo "markHasNewLayout(boolean) of CSSNode and their calls at the end of LayoutEngine.layoutNode,"
+echo "then run LayoutEngineSubtreeTest."
@@ -17,15 +17,17 @@ import java.util.Map;
 import java.util.Set;
 
 import com.facebook.react.bridge.JavaScriptModule;
+import com.facebook.react.bridge.ModuleSpec;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.uimanager.ViewManager;
+import com.facebook.react.uimanager.ViewManagerProvider;
 
 /**
  * {@code CompositeReactPackage} allows to create a single package composed of views and modules
  * from several other packages.
  */
-public class CompositeReactPackage implements ReactPackage {
+public class CompositeReactPackage implements LazyNativeModulesPackage, LazyViewManagersPackage {
 
   private final List<ReactPackage> mChildReactPackages = new ArrayList<>();
 
@@ -58,6 +60,23 @@ public class CompositeReactPackage implements ReactPackage {
     return new ArrayList(moduleMap.values());
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<ModuleSpec> createNativeModuleSpecs(ReactApplicationContext reactContext) {
+    final Map<String, ModuleSpec> moduleSpecMap = new HashMap<>();
+    for (ReactPackage reactPackage: mChildReactPackages) {
+      if (reactPackage instanceof LazyNativeModulesPackage) {
+        for (ModuleSpec moduleSpec:
+            ((LazyNativeModulesPackage) reactPackage).createNativeModuleSpecs(reactContext)) {
+          moduleSpecMap.put(moduleSpec.getName(), moduleSpec);
+        }
+      }
+    }
+    return new ArrayList(moduleSpecMap.values());
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -85,4 +104,20 @@ public class CompositeReactPackage implements ReactPackage {
     }
     return new ArrayList(viewManagerMap.values());
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, ViewManagerProvider> createViewManagerProviders(
+      ReactApplicationContext reactContext) {
+    final Map<String, ViewManagerProvider> viewManagerProviderMap = new HashMap<>();
+    for (ReactPackage reactPackage: mChildReactPackages) {
+      if (reactPackage instanceof LazyViewManagersPackage) {
+        viewManagerProviderMap.putAll(
+            ((LazyViewManagersPackage) reactPackage).createViewManagerProviders(reactContext));
+      }
+    }
+    return viewManagerProviderMap;
+  }
 }
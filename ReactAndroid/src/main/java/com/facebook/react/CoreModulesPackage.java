@@ -9,9 +9,13 @@
 
 package com.facebook.react;
 
+import javax.annotation.Nullable;
+
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import com.facebook.react.bridge.JavaScriptModule;
 import com.facebook.react.bridge.NativeModule;
@@ -26,9 +30,12 @@ import com.facebook.react.modules.debug.AnimationsDebugModule;
 import com.facebook.react.modules.debug.SourceCodeModule;
 import com.facebook.react.modules.systeminfo.AndroidInfoModule;
 import com.facebook.react.uimanager.AppRegistry;
+import com.facebook.react.uimanager.UIImplementation;
 import com.facebook.react.uimanager.UIImplementationProvider;
 import com.facebook.react.uimanager.UIManagerModule;
 import com.facebook.react.uimanager.ViewManager;
+import com.facebook.react.uimanager.ViewManagerProvider;
+import com.facebook.react.uimanager.ViewManagerRegistry;
 import com.facebook.react.uimanager.debug.DebugComponentOwnershipModule;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 import com.facebook.systrace.Systrace;
@@ -43,14 +50,17 @@ import com.facebook.systrace.Systrace;
   private final ReactInstanceManager mReactInstanceManager;
   private final DefaultHardwareBackBtnHandler mHardwareBackBtnHandler;
   private final UIImplementationProvider mUIImplementationProvider;
+  private final @Nullable Collection<String> mEagerViewManagerNames;
 
   CoreModulesPackage(
       ReactInstanceManager reactInstanceManager,
       DefaultHardwareBackBtnHandler hardwareBackBtnHandler,
-      UIImplementationProvider uiImplementationProvider) {
+      UIImplementationProvider uiImplementationProvider,
+      @Nullable Collection<String> eagerViewManagerNames) {
     mReactInstanceManager = reactInstanceManager;
     mHardwareBackBtnHandler = hardwareBackBtnHandler;
     mUIImplementationProvider = uiImplementationProvider;
+    mEagerViewManagerNames = eagerViewManagerNames;
   }
 
   @Override
@@ -61,12 +71,23 @@ import com.facebook.systrace.Systrace;
     try {
       List<ViewManager> viewManagersList = mReactInstanceManager.createAllViewManagers(
           catalystApplicationContext);
+      Map<String, ViewManagerProvider> viewManagerProviders =
+          mReactInstanceManager.createAllViewManagerProviders(catalystApplicationContext);
+      UIImplementation uiImplementation;
+      if (viewManagerProviders.isEmpty()) {
+        uiImplementation = mUIImplementationProvider.createUIImplementation(
+            catalystApplicationContext,
+            viewManagersList);
+      } else {
+        uiImplementation = mUIImplementationProvider.createUIImplementation(
+            catalystApplicationContext,
+            new ViewManagerRegistry(viewManagersList, viewManagerProviders));
+      }
       uiManagerModule = new UIManagerModule(
           catalystApplicationContext,
           viewManagersList,
-          mUIImplementationProvider.createUIImplementation(
-              catalystApplicationContext,
-              viewManagersList));
+          uiImplementation,
+          mEagerViewManagerNames);
     } finally {
       Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
     }
@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react;
+
+import java.util.List;
+
+import com.facebook.react.bridge.ModuleSpec;
+import com.facebook.react.bridge.ReactApplicationContext;
+
+/**
+ * {@link ReactPackage} that registers some of its native modules with a {@link ModuleSpec}, so that
+ * they're only created, and their methods and constants only collected, when JS first requires
+ * them. Until then JS only knows their name, which keeps the module config JS needs before it can
+ * start small.
+ *
+ * Modules returned by {@link #createNativeModules} are still created when the catalyst instance is
+ * created. When the JS executor can't ask for module configs synchronously, e.g. when debugging JS
+ * remotely, lazy modules are created at startup too.
+ */
+public interface LazyNativeModulesPackage extends ReactPackage {
+
+  /**
+   * @return specs of native modules to register with the newly created catalyst instance
+   */
+  List<ModuleSpec> createNativeModuleSpecs(ReactApplicationContext reactContext);
+}
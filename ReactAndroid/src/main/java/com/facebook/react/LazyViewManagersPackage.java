@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react;
+
+import java.util.Map;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.uimanager.ViewManagerProvider;
+
+/**
+ * {@link ReactPackage} that registers some of its view managers through providers, so that they're
+ * only created the first time JS creates one of their views. Packages with many view managers, most
+ * of which aren't used by the first screen of the app, can use this to make startup faster.
+ *
+ * View managers returned by {@link #createViewManagers} are still created when the catalyst
+ * instance is created. Constants of provided view managers are loaded by JS when it first requires
+ * their native component, and their custom event types aren't exported, see
+ * {@link com.facebook.react.uimanager.UIManagerModule}.
+ */
+public interface LazyViewManagersPackage extends ReactPackage {
+
+  /**
+   * @return providers of view managers to register with the newly created catalyst instance, by
+   * the name of the view manager they create
+   */
+  Map<String, ViewManagerProvider> createViewManagerProviders(ReactApplicationContext reactContext);
+}
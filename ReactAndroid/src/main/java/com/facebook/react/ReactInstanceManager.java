@@ -12,7 +12,9 @@ package com.facebook.react;
 import javax.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import android.app.Activity;
 import android.app.Application;
@@ -27,7 +29,9 @@ import com.facebook.react.common.annotations.VisibleForTesting;
 import com.facebook.react.devsupport.DevSupportManager;
 import com.facebook.react.modules.core.DefaultHardwareBackBtnHandler;
 import com.facebook.react.uimanager.UIImplementationProvider;
+import com.facebook.react.uimanager.UIManagerModule;
 import com.facebook.react.uimanager.ViewManager;
+import com.facebook.react.uimanager.ViewManagerProvider;
 
 /**
  * This class is managing instances of {@link CatalystInstance}. It expose a way to configure
@@ -131,6 +135,13 @@ public abstract class ReactInstanceManager {
   public abstract List<ViewManager> createAllViewManagers(
     ReactApplicationContext catalystApplicationContext);
 
+  /**
+   * Uses configured {@link LazyViewManagersPackage} instances to create providers of the view
+   * managers that are created on first use
+   */
+  public abstract Map<String, ViewManagerProvider> createAllViewManagerProviders(
+    ReactApplicationContext catalystApplicationContext);
+
   /**
    * Add a listener to be notified of react instance events.
    */
@@ -161,6 +172,8 @@ public abstract class ReactInstanceManager {
     protected @Nullable LifecycleState mInitialLifecycleState;
     protected @Nullable UIImplementationProvider mUIImplementationProvider;
     protected @Nullable NativeModuleCallExceptionHandler mNativeModuleCallExceptionHandler;
+    protected @Nullable Collection<String> mEagerViewManagerNames;
+    protected boolean mUseModulesConfigCache;
 
     protected Builder() {
     }
@@ -175,6 +188,27 @@ public abstract class ReactInstanceManager {
       return this;
     }
 
+    /**
+     * Enables exporting view manager constants to JS lazily. Only the view managers named here,
+     * e.g. the ones used by the first screen of the app, have their constants exported when JS
+     * starts. JS loads the constants of the others the first time it requires their native
+     * component. See {@link UIManagerModule}.
+     */
+    public Builder setEagerViewManagerNames(@Nullable Collection<String> eagerViewManagerNames) {
+      mEagerViewManagerNames = eagerViewManagerNames;
+      return this;
+    }
+
+    /**
+     * When {@code true}, the modules config JS gets when it starts is stored in the application's
+     * cache directory and reused by the next launches for as long as the native modules, their
+     * methods and their constants and the JS modules stay the same.
+     */
+    public Builder setUseModulesConfigCache(boolean useModulesConfigCache) {
+      mUseModulesConfigCache = useModulesConfigCache;
+      return this;
+    }
+
     /**
      * Name of the JS bundle file to be loaded from application's raw assets.
      * Example: {@code "index.android.js"}
@@ -287,7 +321,9 @@ public abstract class ReactInstanceManager {
           mBridgeIdleDebugListener,
           Assertions.assertNotNull(mInitialLifecycleState, "Initial lifecycle state was not set"),
           mUIImplementationProvider,
-          mNativeModuleCallExceptionHandler);
+          mNativeModuleCallExceptionHandler,
+          mEagerViewManagerNames,
+          mUseModulesConfigCache);
     }
   }
 }
@@ -11,9 +11,12 @@ package com.facebook.react;
 
 import javax.annotation.Nullable;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import android.app.Activity;
@@ -35,6 +38,8 @@ import com.facebook.react.bridge.JavaJSExecutor;
 import com.facebook.react.bridge.JavaScriptExecutor;
 import com.facebook.react.bridge.JavaScriptModule;
 import com.facebook.react.bridge.JavaScriptModulesConfig;
+import com.facebook.react.bridge.ModuleSpec;
+import com.facebook.react.bridge.ModulesConfigCache;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.NativeModuleCallExceptionHandler;
 import com.facebook.react.bridge.NativeModuleRegistry;
@@ -61,6 +66,7 @@ import com.facebook.react.uimanager.AppRegistry;
 import com.facebook.react.uimanager.UIImplementationProvider;
 import com.facebook.react.uimanager.UIManagerModule;
 import com.facebook.react.uimanager.ViewManager;
+import com.facebook.react.uimanager.ViewManagerProvider;
 import com.facebook.soloader.SoLoader;
 import com.facebook.systrace.Systrace;
 
@@ -83,6 +89,8 @@ import com.facebook.systrace.Systrace;
  */
 /* package */ class ReactInstanceManagerImpl extends ReactInstanceManager {
 
+  private static final String MODULES_CONFIG_CACHE_FILE_NAME = "ReactNativeModulesConfig";
+
   /* should only be accessed from main thread (UI thread) */
   private final List<ReactRootView> mAttachedRootViews = new ArrayList<>();
   private LifecycleState mLifecycleState;
@@ -105,6 +113,8 @@ import com.facebook.systrace.Systrace;
       new ConcurrentLinkedQueue<>();
   private volatile boolean mHasStartedCreatingInitialContext = false;
   private final UIImplementationProvider mUIImplementationProvider;
+  private final @Nullable Collection<String> mEagerViewManagerNames;
+  private final @Nullable ModulesConfigCache mModulesConfigCache;
   private final MemoryPressureRouter mMemoryPressureRouter;
   private final @Nullable NativeModuleCallExceptionHandler mNativeModuleCallExceptionHandler;
 
@@ -243,7 +253,9 @@ import com.facebook.systrace.Systrace;
       @Nullable NotThreadSafeBridgeIdleDebugListener bridgeIdleDebugListener,
       LifecycleState initialLifecycleState,
       UIImplementationProvider uiImplementationProvider,
-      NativeModuleCallExceptionHandler nativeModuleCallExceptionHandler) {
+      NativeModuleCallExceptionHandler nativeModuleCallExceptionHandler,
+      @Nullable Collection<String> eagerViewManagerNames,
+      boolean useModulesConfigCache) {
     initializeSoLoaderIfNecessary(applicationContext);
 
     // TODO(9577825): remove this
@@ -268,6 +280,11 @@ import com.facebook.systrace.Systrace;
     mUIImplementationProvider = uiImplementationProvider;
     mMemoryPressureRouter = new MemoryPressureRouter(applicationContext);
     mNativeModuleCallExceptionHandler = nativeModuleCallExceptionHandler;
+    mEagerViewManagerNames = eagerViewManagerNames;
+    mModulesConfigCache = useModulesConfigCache
+        ? new ModulesConfigCache(
+            new File(applicationContext.getCacheDir(), MODULES_CONFIG_CACHE_FILE_NAME))
+        : null;
   }
 
   @Override
@@ -540,6 +557,20 @@ import com.facebook.systrace.Systrace;
     }
   }
 
+  @Override
+  public Map<String, ViewManagerProvider> createAllViewManagerProviders(
+      ReactApplicationContext catalystApplicationContext) {
+    Map<String, ViewManagerProvider> allViewManagerProviders = new HashMap<>();
+    for (ReactPackage reactPackage : mPackages) {
+      if (reactPackage instanceof LazyViewManagersPackage) {
+        allViewManagerProviders.putAll(
+            ((LazyViewManagersPackage) reactPackage)
+                .createViewManagerProviders(catalystApplicationContext));
+      }
+    }
+    return allViewManagerProviders;
+  }
+
   @Override
   public void addReactInstanceEventListener(ReactInstanceEventListener listener) {
     mReactInstanceEventListeners.add(listener);
@@ -673,7 +704,11 @@ import com.facebook.systrace.Systrace;
         "createAndProcessCoreModulesPackage");
     try {
       CoreModulesPackage coreModulesPackage =
-          new CoreModulesPackage(this, mBackBtnHandler, mUIImplementationProvider);
+          new CoreModulesPackage(
+              this,
+              mBackBtnHandler,
+              mUIImplementationProvider,
+              mEagerViewManagerNames);
       processPackage(coreModulesPackage, reactContext, nativeRegistryBuilder, jsModulesBuilder);
     } finally {
       Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
@@ -716,7 +751,8 @@ import com.facebook.systrace.Systrace;
         .setRegistry(nativeModuleRegistry)
         .setJSModulesConfig(javaScriptModulesConfig)
         .setJSBundleLoader(jsBundleLoader)
-        .setNativeModuleCallExceptionHandler(exceptionHandler);
+        .setNativeModuleCallExceptionHandler(exceptionHandler)
+        .setModulesConfigCache(mModulesConfigCache);
 
     Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "createCatalystInstance");
     CatalystInstance catalystInstance;
@@ -751,6 +787,12 @@ import com.facebook.systrace.Systrace;
     for (NativeModule nativeModule : reactPackage.createNativeModules(reactContext)) {
       nativeRegistryBuilder.add(nativeModule);
     }
+    if (reactPackage instanceof LazyNativeModulesPackage) {
+      for (ModuleSpec moduleSpec :
+          ((LazyNativeModulesPackage) reactPackage).createNativeModuleSpecs(reactContext)) {
+        nativeRegistryBuilder.add(moduleSpec);
+      }
+    }
     for (Class<? extends JavaScriptModule> jsModuleClass : reactPackage.createJSModules()) {
       jsModulesBuilder.add(jsModuleClass);
     }
@@ -11,6 +11,9 @@ package com.facebook.react.bridge;
 
 import javax.annotation.Nullable;
 
+import java.util.List;
+import java.util.Map;
+
 import android.os.Bundle;
 
 public class Arguments {
@@ -32,32 +35,93 @@ public class Arguments {
   public static WritableNativeArray fromJavaArgs(Object[] args) {
     WritableNativeArray arguments = new WritableNativeArray();
     for (int i = 0; i < args.length; i++) {
-      Object argument = args[i];
-      if (argument == null) {
-        arguments.pushNull();
-        continue;
+      pushJavaArg(arguments, args[i]);
+    }
+    return arguments;
+  }
+
+  /* package */ static void pushJavaArg(WritableNativeArray arguments, @Nullable Object argument) {
+    if (argument == null) {
+      arguments.pushNull();
+      return;
+    }
+
+    Class argumentClass = argument.getClass();
+    if (argumentClass == Boolean.class) {
+      arguments.pushBoolean(((Boolean) argument).booleanValue());
+    } else if (argumentClass == Integer.class) {
+      arguments.pushDouble(((Integer) argument).doubleValue());
+    } else if (argumentClass == Double.class) {
+      arguments.pushDouble(((Double) argument).doubleValue());
+    } else if (argumentClass == Float.class) {
+      arguments.pushDouble(((Float) argument).doubleValue());
+    } else if (argumentClass == String.class) {
+      arguments.pushString(argument.toString());
+    } else if (argumentClass == WritableNativeMap.class) {
+      arguments.pushMap((WritableNativeMap) argument);
+    } else if (argumentClass == WritableNativeArray.class) {
+      arguments.pushArray((WritableNativeArray) argument);
+    } else {
+      throw new RuntimeException("Cannot convert argument of type " + argumentClass);
+    }
+  }
+
+  /**
+   * Convert a {@link Map} of constants, as returned by {@link NativeModule#getConstants}, to a
+   * {@link WritableMap}. Values can be null, booleans, numbers, strings, or lists and maps of
+   * those, like the ones {@link JsonGeneratorHelper} writes.
+   */
+  public static WritableMap makeNativeMap(Map<String, Object> map) {
+    WritableMap nativeMap = createMap();
+    for (Map.Entry<String, Object> entry : map.entrySet()) {
+      String key = entry.getKey();
+      Object value = entry.getValue();
+      if (value == null) {
+        nativeMap.putNull(key);
+      } else if (value instanceof Boolean) {
+        nativeMap.putBoolean(key, (Boolean) value);
+      } else if (value instanceof Integer) {
+        nativeMap.putInt(key, (Integer) value);
+      } else if (value instanceof Number) {
+        nativeMap.putDouble(key, ((Number) value).doubleValue());
+      } else if (value instanceof String) {
+        nativeMap.putString(key, (String) value);
+      } else if (value instanceof Map) {
+        nativeMap.putMap(key, makeNativeMap((Map<String, Object>) value));
+      } else if (value instanceof List) {
+        nativeMap.putArray(key, makeNativeArray((List) value));
+      } else {
+        throw new IllegalArgumentException("Could not convert " + value.getClass());
       }
+    }
+    return nativeMap;
+  }
 
-      Class argumentClass = argument.getClass();
-      if (argumentClass == Boolean.class) {
-        arguments.pushBoolean(((Boolean) argument).booleanValue());
-      } else if (argumentClass == Integer.class) {
-        arguments.pushDouble(((Integer) argument).doubleValue());
-      } else if (argumentClass == Double.class) {
-        arguments.pushDouble(((Double) argument).doubleValue());
-      } else if (argumentClass == Float.class) {
-        arguments.pushDouble(((Float) argument).doubleValue());
-      } else if (argumentClass == String.class) {
-        arguments.pushString(argument.toString());
-      } else if (argumentClass == WritableNativeMap.class) {
-        arguments.pushMap((WritableNativeMap) argument);
-      } else if (argumentClass == WritableNativeArray.class) {
-        arguments.pushArray((WritableNativeArray) argument);
+  /**
+   * Convert a {@link List} to a {@link WritableArray}, see {@link #makeNativeMap}.
+   */
+  public static WritableArray makeNativeArray(List list) {
+    WritableArray nativeArray = createArray();
+    for (Object value : list) {
+      if (value == null) {
+        nativeArray.pushNull();
+      } else if (value instanceof Boolean) {
+        nativeArray.pushBoolean((Boolean) value);
+      } else if (value instanceof Integer) {
+        nativeArray.pushInt((Integer) value);
+      } else if (value instanceof Number) {
+        nativeArray.pushDouble(((Number) value).doubleValue());
+      } else if (value instanceof String) {
+        nativeArray.pushString((String) value);
+      } else if (value instanceof Map) {
+        nativeArray.pushMap(makeNativeMap((Map<String, Object>) value));
+      } else if (value instanceof List) {
+        nativeArray.pushArray(makeNativeArray((List) value));
       } else {
-        throw new RuntimeException("Cannot convert argument of type " + argumentClass);
+        throw new IllegalArgumentException("Could not convert " + value.getClass());
       }
     }
-    return arguments;
+    return nativeArray;
   }
 
   /**
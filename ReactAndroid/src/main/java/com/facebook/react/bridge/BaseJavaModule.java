@@ -45,12 +45,18 @@ import java.util.Map;
  *
  * Please note that it is not allowed to have multiple methods annotated with {@link ReactMethod}
  * with the same name.
+ *
+ * Methods are called through the {@link ReactMethodInvoker} generated for the module class when
+ * there is one, and through reflection otherwise.
  */
 public abstract class BaseJavaModule implements NativeModule {
   // taken from Libraries/Utilities/MessageQueue.js
   static final public String METHOD_TYPE_REMOTE = "remote";
   static final public String METHOD_TYPE_REMOTE_ASYNC = "remoteAsync";
 
+  // Generated invokers by module class, null for classes that don't have one
+  private static final Map<Class<?>, ReactMethodInvoker<?>> GENERATED_INVOKERS = new HashMap<>();
+
   private static abstract class ArgumentExtractor<T> {
     public int getJSArgumentsNeeded() {
       return 1;
@@ -278,9 +284,58 @@ public abstract class BaseJavaModule implements NativeModule {
     }
   }
 
+  /**
+   * Calls a method through the generated {@link ReactMethodInvoker} of the module.
+   */
+  private class GeneratedJavaMethod implements NativeMethod {
+
+    private final ReactMethodInvoker<BaseJavaModule> mInvoker;
+    private final int mMethodIndex;
+    private final String mName;
+    private final String mType;
+    private final int mJSArgumentsNeeded;
+
+    public GeneratedJavaMethod(ReactMethodInvoker<BaseJavaModule> invoker, int methodIndex) {
+      mInvoker = invoker;
+      mMethodIndex = methodIndex;
+      mName = invoker.getMethodNames()[methodIndex];
+      mType = invoker.getMethodTypes()[methodIndex];
+      mJSArgumentsNeeded = invoker.getJSArgumentCounts()[methodIndex];
+    }
+
+    @Override
+    public void invoke(CatalystInstance catalystInstance, ReadableNativeArray parameters) {
+      Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "callJavaModuleMethod");
+      try {
+        if (mJSArgumentsNeeded != parameters.size()) {
+          throw new NativeArgumentsParseException(
+              BaseJavaModule.this.getName() + "." + mName + " got " +
+              parameters.size() + " arguments, expected " + mJSArgumentsNeeded);
+        }
+        mInvoker.invoke(BaseJavaModule.this, mMethodIndex, catalystInstance, parameters);
+      } finally {
+        Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+      }
+    }
+
+    @Override
+    public String getType() {
+      return mType;
+    }
+  }
+
   @Override
   public final Map<String, NativeMethod> getMethods() {
     Map<String, NativeMethod> methods = new HashMap<String, NativeMethod>();
+    ReactMethodInvoker<BaseJavaModule> invoker = findGeneratedInvoker(getClass());
+    if (invoker != null) {
+      String[] methodNames = invoker.getMethodNames();
+      for (int i = 0; i < methodNames.length; i++) {
+        methods.put(methodNames[i], new GeneratedJavaMethod(invoker, i));
+      }
+      return methods;
+    }
+
     Method[] targetMethods = getClass().getDeclaredMethods();
     for (int i = 0; i < targetMethods.length; i++) {
       Method targetMethod = targetMethods[i];
@@ -298,6 +353,29 @@ public abstract class BaseJavaModule implements NativeModule {
     return methods;
   }
 
+  private static @Nullable ReactMethodInvoker<BaseJavaModule> findGeneratedInvoker(
+      Class<? extends BaseJavaModule> moduleClass) {
+    synchronized (GENERATED_INVOKERS) {
+      @SuppressWarnings("unchecked")
+      ReactMethodInvoker<BaseJavaModule> invoker =
+          (ReactMethodInvoker<BaseJavaModule>) GENERATED_INVOKERS.get(moduleClass);
+      if (invoker == null && !GENERATED_INVOKERS.containsKey(moduleClass)) {
+        String invokerClassName = moduleClass.getName() + "$$MethodInvoker";
+        try {
+          //noinspection unchecked
+          invoker = (ReactMethodInvoker<BaseJavaModule>)
+              Class.forName(invokerClassName).newInstance();
+        } catch (ClassNotFoundException e) {
+          // The module wasn't processed, its methods will be called through reflection
+        } catch (InstantiationException | IllegalAccessException e) {
+          throw new RuntimeException("Unable to instantiate " + invokerClassName, e);
+        }
+        GENERATED_INVOKERS.put(moduleClass, invoker);
+      }
+      return invoker;
+    }
+  }
+
   /**
    * @return a map of constants this module exports to JS. Supports JSON types.
    */
@@ -307,7 +385,17 @@ public abstract class BaseJavaModule implements NativeModule {
 
   @Override
   public final void writeConstantsField(JsonGenerator jg, String fieldName) throws IOException {
-    Map<String, Object> constants = getConstants();
+    writeConstantsField(jg, fieldName, getConstants());
+  }
+
+  /**
+   * Writes constants returned by {@link #getConstants} earlier, see
+   * {@link #writeConstantsField(JsonGenerator, String)}.
+   */
+  /* package */ static void writeConstantsField(
+      JsonGenerator jg,
+      String fieldName,
+      @Nullable Map<String, Object> constants) throws IOException {
     if (constants == null || constants.isEmpty()) {
       return;
     }
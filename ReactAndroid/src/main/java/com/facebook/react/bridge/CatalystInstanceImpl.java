@@ -14,6 +14,8 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
@@ -29,6 +31,7 @@ import com.facebook.react.common.ReactConstants;
 import com.facebook.react.common.annotations.VisibleForTesting;
 import com.facebook.infer.annotation.Assertions;
 import com.facebook.systrace.Systrace;
+import com.facebook.systrace.SystraceMessage;
 import com.facebook.systrace.TraceListener;
 
 import com.fasterxml.jackson.core.JsonFactory;
@@ -56,8 +59,13 @@ public class CatalystInstanceImpl implements CatalystInstance {
   private final TraceListener mTraceListener;
   private final JavaScriptModuleRegistry mJSModuleRegistry;
   private final JSBundleLoader mJSBundleLoader;
+  private final @Nullable ModulesConfigCache mModulesConfigCache;
   private volatile int mTraceID = 0;
 
+  // Calls to JS waiting for the JS thread, see #getOpenJSCallBatch
+  private final Object mJSCallBatchLock = new Object();
+  private @Nullable JSCallBatch mOpenJSCallBatch;
+
   // Access from native modules thread
   private final NativeModuleRegistry mJavaRegistry;
   private final NativeModuleCallExceptionHandler mNativeModuleCallExceptionHandler;
@@ -73,7 +81,8 @@ public class CatalystInstanceImpl implements CatalystInstance {
       final NativeModuleRegistry registry,
       final JavaScriptModulesConfig jsModulesConfig,
       final JSBundleLoader jsBundleLoader,
-      NativeModuleCallExceptionHandler nativeModuleCallExceptionHandler) {
+      NativeModuleCallExceptionHandler nativeModuleCallExceptionHandler,
+      @Nullable ModulesConfigCache modulesConfigCache) {
     mCatalystQueueConfiguration = CatalystQueueConfigurationImpl.create(
         catalystQueueConfigurationSpec,
         new NativeExceptionHandler());
@@ -82,6 +91,7 @@ public class CatalystInstanceImpl implements CatalystInstance {
     mJSModuleRegistry = new JavaScriptModuleRegistry(CatalystInstanceImpl.this, jsModulesConfig);
     mJSBundleLoader = jsBundleLoader;
     mNativeModuleCallExceptionHandler = nativeModuleCallExceptionHandler;
+    mModulesConfigCache = modulesConfigCache;
     mTraceListener = new JSProfilerTraceListener();
 
     try {
@@ -123,7 +133,10 @@ public class CatalystInstanceImpl implements CatalystInstance {
     try {
       bridge.setGlobalVariable(
           "__fbBatchedBridgeConfig",
-          buildModulesConfigJSONProperty(mJavaRegistry, jsModulesConfig));
+          buildModulesConfigJSONProperty(
+              mJavaRegistry,
+              jsModulesConfig,
+              jsExecutor.supportsLazyModuleConfig()));
       bridge.setGlobalVariable(
           "__RCTProfileIsProfiling",
           Systrace.isTracing(Systrace.TRACE_TAG_REACT_APPS) ? "true" : "false");
@@ -165,47 +178,63 @@ public class CatalystInstanceImpl implements CatalystInstance {
     }
   }
 
+  /**
+   * Calls a JS function. Unless {@param batched} is false, the call is sent to JS in a
+   * {@link JSCallBatch} along with the other calls and callback invocations made before the JS
+   * thread gets to it. See {@link UnbatchedJSCall}.
+   */
   /* package */ void callFunction(
       final int moduleId,
       final int methodId,
       final NativeArray arguments,
-      final String tracingName) {
+      final String tracingName,
+      boolean batched) {
     if (mDestroyed) {
       FLog.w(ReactConstants.TAG, "Calling JS function after bridge has been destroyed.");
       return;
     }
 
-    incrementPendingJSCalls();
+    synchronized (mJSCallBatchLock) {
+      if (batched) {
+        getOpenJSCallBatch().addFunctionCall(moduleId, methodId, arguments);
+        return;
+      }
 
-    final int traceID = mTraceID++;
-    Systrace.startAsyncFlow(
-        Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
-        tracingName,
-        traceID);
+      // Calls made after this one go to a new batch, which runs after this call
+      mOpenJSCallBatch = null;
 
-    mCatalystQueueConfiguration.getJSQueueThread().runOnQueue(
-        new Runnable() {
-          @Override
-          public void run() {
-            mCatalystQueueConfiguration.getJSQueueThread().assertIsOnThread();
+      incrementPendingJSCalls();
 
-            Systrace.endAsyncFlow(
-                Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
-                tracingName,
-                traceID);
+      final int traceID = mTraceID++;
+      Systrace.startAsyncFlow(
+          Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+          tracingName,
+          traceID);
 
-            if (mDestroyed) {
-              return;
-            }
+      mCatalystQueueConfiguration.getJSQueueThread().runOnQueue(
+          new Runnable() {
+            @Override
+            public void run() {
+              mCatalystQueueConfiguration.getJSQueueThread().assertIsOnThread();
 
-            Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, tracingName);
-            try {
-              Assertions.assertNotNull(mBridge).callFunction(moduleId, methodId, arguments);
-            } finally {
-              Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+              Systrace.endAsyncFlow(
+                  Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+                  tracingName,
+                  traceID);
+
+              if (mDestroyed) {
+                return;
+              }
+
+              Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, tracingName);
+              try {
+                Assertions.assertNotNull(mBridge).callFunction(moduleId, methodId, arguments);
+              } finally {
+                Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+              }
             }
-          }
-        });
+          });
+    }
   }
 
   // This is called from java code, so it won't be stripped anyway, but proguard will rename it,
@@ -218,12 +247,30 @@ public class CatalystInstanceImpl implements CatalystInstance {
       return;
     }
 
+    synchronized (mJSCallBatchLock) {
+      getOpenJSCallBatch().addCallback(callbackID, arguments);
+    }
+  }
+
+  /**
+   * Returns the batch that calls to JS are added to, and schedules a new one to be sent to JS if
+   * there's none. The batch is closed when the JS thread starts sending it. Must be called with
+   * {@link #mJSCallBatchLock} held.
+   */
+  private JSCallBatch getOpenJSCallBatch() {
+    if (mOpenJSCallBatch != null) {
+      return mOpenJSCallBatch;
+    }
+
+    final JSCallBatch batch = new JSCallBatch();
+    mOpenJSCallBatch = batch;
+
     incrementPendingJSCalls();
 
     final int traceID = mTraceID++;
     Systrace.startAsyncFlow(
         Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
-        "<callback>",
+        "JSCallBatch",
         traceID);
 
     mCatalystQueueConfiguration.getJSQueueThread().runOnQueue(
@@ -232,23 +279,33 @@ public class CatalystInstanceImpl implements CatalystInstance {
           public void run() {
             mCatalystQueueConfiguration.getJSQueueThread().assertIsOnThread();
 
+            synchronized (mJSCallBatchLock) {
+              if (mOpenJSCallBatch == batch) {
+                mOpenJSCallBatch = null;
+              }
+            }
+
             Systrace.endAsyncFlow(
                 Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
-                "<callback>",
+                "JSCallBatch",
                 traceID);
 
             if (mDestroyed) {
               return;
             }
 
-            Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "<callback>");
+            SystraceMessage.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "JSCallBatch")
+                .arg("calls", batch.size())
+                .flush();
             try {
-              Assertions.assertNotNull(mBridge).invokeCallback(callbackID, arguments);
+              batch.send(Assertions.assertNotNull(mBridge));
             } finally {
               Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
             }
           }
         });
+
+    return batch;
   }
 
   /**
@@ -368,14 +425,66 @@ public class CatalystInstanceImpl implements CatalystInstance {
 
   private String buildModulesConfigJSONProperty(
       NativeModuleRegistry nativeModuleRegistry,
-      JavaScriptModulesConfig jsModulesConfig) {
+      JavaScriptModulesConfig jsModulesConfig,
+      boolean describeModulesLazily) {
+    if (mModulesConfigCache == null) {
+      return writeModulesConfigJSONProperty(
+          nativeModuleRegistry,
+          jsModulesConfig,
+          describeModulesLazily,
+          null);
+    }
+
+    ModulesConfigFingerprint fingerprint = new ModulesConfigFingerprint();
+    // Creating constants can be expensive, so the ones fingerprinted are reused on a cache miss
+    Map<String, Map<String, Object>> constants = new HashMap<>();
+    if (!nativeModuleRegistry.addToFingerprint(fingerprint, describeModulesLazily, constants)) {
+      return writeModulesConfigJSONProperty(
+          nativeModuleRegistry,
+          jsModulesConfig,
+          describeModulesLazily,
+          constants);
+    }
+    jsModulesConfig.addToFingerprint(fingerprint);
+    long fingerprintValue = fingerprint.build();
+
+    Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "readModulesConfigCache");
+    String modulesConfig;
+    try {
+      modulesConfig = mModulesConfigCache.get(fingerprintValue);
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+    }
+    if (modulesConfig != null) {
+      return modulesConfig;
+    }
+
+    modulesConfig = writeModulesConfigJSONProperty(
+        nativeModuleRegistry,
+        jsModulesConfig,
+        describeModulesLazily,
+        constants);
+    Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "writeModulesConfigCache");
+    try {
+      mModulesConfigCache.put(fingerprintValue, modulesConfig);
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+    }
+    return modulesConfig;
+  }
+
+  private String writeModulesConfigJSONProperty(
+      NativeModuleRegistry nativeModuleRegistry,
+      JavaScriptModulesConfig jsModulesConfig,
+      boolean describeModulesLazily,
+      @Nullable Map<String, Map<String, Object>> constants) {
     JsonFactory jsonFactory = new JsonFactory();
     StringWriter writer = new StringWriter();
     try {
       JsonGenerator jg = jsonFactory.createGenerator(writer);
       jg.writeStartObject();
       jg.writeFieldName("remoteModuleConfig");
-      nativeModuleRegistry.writeModuleDescriptions(jg);
+      nativeModuleRegistry.writeModuleDescriptions(jg, describeModulesLazily, constants);
       jg.writeFieldName("localModulesConfig");
       jsModulesConfig.writeModuleDescriptions(jg);
       jg.writeEndObject();
@@ -450,6 +559,17 @@ public class CatalystInstanceImpl implements CatalystInstance {
 
       decrementPendingJSCalls();
     }
+
+    @Override
+    public @Nullable String getModuleConfig(String moduleName) {
+      mCatalystQueueConfiguration.getJSQueueThread().assertIsOnThread();
+
+      if (mDestroyed) {
+        return null;
+      }
+
+      return mJavaRegistry.getModuleConfig(moduleName);
+    }
   }
 
   private class NativeExceptionHandler implements QueueThreadExceptionHandler {
@@ -490,6 +610,7 @@ public class CatalystInstanceImpl implements CatalystInstance {
     private @Nullable JavaScriptModulesConfig mJSModulesConfig;
     private @Nullable JavaScriptExecutor mJSExecutor;
     private @Nullable NativeModuleCallExceptionHandler mNativeModuleCallExceptionHandler;
+    private @Nullable ModulesConfigCache mModulesConfigCache;
 
     public Builder setCatalystQueueConfigurationSpec(
         CatalystQueueConfigurationSpec catalystQueueConfigurationSpec) {
@@ -523,6 +644,15 @@ public class CatalystInstanceImpl implements CatalystInstance {
       return this;
     }
 
+    /**
+     * Reuses the modules config JSON from a previous launch when modules, their methods and their
+     * constants haven't changed since.
+     */
+    public Builder setModulesConfigCache(@Nullable ModulesConfigCache modulesConfigCache) {
+      mModulesConfigCache = modulesConfigCache;
+      return this;
+    }
+
     public CatalystInstanceImpl build() {
       return new CatalystInstanceImpl(
           Assertions.assertNotNull(mCatalystQueueConfigurationSpec),
@@ -530,7 +660,8 @@ public class CatalystInstanceImpl implements CatalystInstance {
           Assertions.assertNotNull(mRegistry),
           Assertions.assertNotNull(mJSModulesConfig),
           Assertions.assertNotNull(mJSBundleLoader),
-          Assertions.assertNotNull(mNativeModuleCallExceptionHandler));
+          Assertions.assertNotNull(mNativeModuleCallExceptionHandler),
+          mModulesConfigCache);
     }
   }
 }
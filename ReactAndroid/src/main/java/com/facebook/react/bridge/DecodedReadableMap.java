@@ -0,0 +1,294 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import javax.annotation.Nullable;
+
+import java.util.Arrays;
+
+import com.facebook.proguard.annotations.DoNotStrip;
+
+/**
+ * Read-only copy of a {@link ReadableNativeMap} held in the Java heap, obtained with
+ * {@link ReadableNativeMap#decode}. Reading a {@link ReadableNativeMap} costs a JNI call per
+ * accessor, and checking for null before reading a value, as prop setters do, costs two. Here the
+ * whole map is copied with a single JNI call and every accessor is a lookup in flat arrays.
+ *
+ * Numbers and booleans are stored unboxed, strings, arrays and maps are stored as objects. Nested
+ * arrays and maps are not decoded, they remain native. Keys are found through a small hash table
+ * over their hash codes, which prop names passed as literals already have cached.
+ */
+@DoNotStrip
+public final class DecodedReadableMap implements ReadableMap {
+
+  // Value types, must match the ones in OnLoad.cpp
+  /* package */ static final byte TYPE_NULL = 0;
+  /* package */ static final byte TYPE_BOOLEAN = 1;
+  /* package */ static final byte TYPE_INT = 2;
+  /* package */ static final byte TYPE_DOUBLE = 3;
+  /* package */ static final byte TYPE_STRING = 4;
+  /* package */ static final byte TYPE_ARRAY = 5;
+  /* package */ static final byte TYPE_MAP = 6;
+
+  private final String[] mKeys;
+  private final byte[] mTypes;
+  // Numbers, and booleans as 0 or 1
+  private final double[] mNumbers;
+  // Strings, arrays and maps
+  private final Object[] mObjects;
+  private final int[] mHashes;
+  // Index + 1 of the entry for each slot, or 0. Its length is a power of two, at least twice the
+  // number of entries.
+  private final int[] mSlots;
+
+  /**
+   * Takes ownership of the given arrays, which all have the same length and hold entries with
+   * distinct keys. Called from native code.
+   */
+  @DoNotStrip
+  /* package */ DecodedReadableMap(
+      String[] keys,
+      byte[] types,
+      double[] numbers,
+      Object[] objects) {
+    mKeys = keys;
+    mTypes = types;
+    mNumbers = numbers;
+    mObjects = objects;
+    mHashes = new int[keys.length];
+    mSlots = new int[Integer.highestOneBit(Math.max(keys.length, 1) * 2 - 1) * 2];
+    int mask = mSlots.length - 1;
+    for (int i = 0; i < keys.length; i++) {
+      int hash = keys[i].hashCode();
+      mHashes[i] = hash;
+      int slot = spread(hash) & mask;
+      while (mSlots[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      mSlots[slot] = i + 1;
+    }
+  }
+
+  /**
+   * @return a map with the entries of both maps, taking the value from {@code second} for keys
+   * present in both
+   */
+  public static DecodedReadableMap merge(DecodedReadableMap first, DecodedReadableMap second) {
+    int maxSize = first.mKeys.length + second.mKeys.length;
+    String[] keys = new String[maxSize];
+    byte[] types = new byte[maxSize];
+    double[] numbers = new double[maxSize];
+    Object[] objects = new Object[maxSize];
+
+    int size = 0;
+    for (int i = 0; i < first.mKeys.length; i++) {
+      if (second.findIndex(first.mKeys[i]) < 0) {
+        keys[size] = first.mKeys[i];
+        types[size] = first.mTypes[i];
+        numbers[size] = first.mNumbers[i];
+        objects[size] = first.mObjects[i];
+        size++;
+      }
+    }
+    int secondSize = second.mKeys.length;
+    System.arraycopy(second.mKeys, 0, keys, size, secondSize);
+    System.arraycopy(second.mTypes, 0, types, size, secondSize);
+    System.arraycopy(second.mNumbers, 0, numbers, size, secondSize);
+    System.arraycopy(second.mObjects, 0, objects, size, secondSize);
+    size += secondSize;
+
+    return new DecodedReadableMap(
+        Arrays.copyOf(keys, size),
+        Arrays.copyOf(types, size),
+        Arrays.copyOf(numbers, size),
+        Arrays.copyOf(objects, size));
+  }
+
+  public int size() {
+    return mKeys.length;
+  }
+
+  @Override
+  public boolean hasKey(String name) {
+    return findIndex(name) >= 0;
+  }
+
+  @Override
+  public boolean isNull(String name) {
+    return mTypes[getIndex(name)] == TYPE_NULL;
+  }
+
+  @Override
+  public boolean getBoolean(String name) {
+    return mNumbers[getIndex(name, TYPE_BOOLEAN)] != 0;
+  }
+
+  @Override
+  public double getDouble(String name) {
+    int index = getIndex(name);
+    if (mTypes[index] != TYPE_DOUBLE && mTypes[index] != TYPE_INT) {
+      throw unexpectedType(name, index, "number");
+    }
+    return mNumbers[index];
+  }
+
+  @Override
+  public int getInt(String name) {
+    double value = mNumbers[getIndex(name, TYPE_INT)];
+    int intValue = (int) value;
+    if (intValue != value) {
+      throw new UnexpectedNativeTypeException(
+          "Value '" + (long) value + "' doesn't fit into a 32 bit signed int");
+    }
+    return intValue;
+  }
+
+  @Override
+  public @Nullable String getString(String name) {
+    return (String) getObject(name, TYPE_STRING);
+  }
+
+  @Override
+  public @Nullable ReadableArray getArray(String name) {
+    return (ReadableArray) getObject(name, TYPE_ARRAY);
+  }
+
+  @Override
+  public @Nullable ReadableMap getMap(String name) {
+    return (ReadableMap) getObject(name, TYPE_MAP);
+  }
+
+  @Override
+  public ReadableType getType(String name) {
+    return getReadableType(mTypes[getIndex(name)]);
+  }
+
+  @Override
+  public ReadableMapKeySetIterator keySetIterator() {
+    return new ReadableMapKeySetIterator() {
+      private int mIndex;
+
+      @Override
+      public boolean hasNextKey() {
+        return mIndex < mKeys.length;
+      }
+
+      @Override
+      public String nextKey() {
+        if (mIndex == mKeys.length) {
+          throw new InvalidIteratorException("No such element exists");
+        }
+        return mKeys[mIndex++];
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("{");
+    for (int i = 0; i < mKeys.length; i++) {
+      if (i > 0) {
+        builder.append(',');
+      }
+      builder.append('"').append(mKeys[i]).append("\":");
+      switch (mTypes[i]) {
+        case TYPE_NULL:
+          builder.append("null");
+          break;
+        case TYPE_BOOLEAN:
+          builder.append(mNumbers[i] != 0);
+          break;
+        case TYPE_INT:
+          builder.append((long) mNumbers[i]);
+          break;
+        case TYPE_DOUBLE:
+          builder.append(mNumbers[i]);
+          break;
+        case TYPE_STRING:
+          builder.append('"').append(mObjects[i]).append('"');
+          break;
+        default:
+          builder.append(mObjects[i]);
+          break;
+      }
+    }
+    return builder.append('}').toString();
+  }
+
+  private int findIndex(String name) {
+    int hash = name.hashCode();
+    int mask = mSlots.length - 1;
+    int slot = spread(hash) & mask;
+    while (true) {
+      int index = mSlots[slot] - 1;
+      if (index < 0 || (mHashes[index] == hash && mKeys[index].equals(name))) {
+        return index;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  private int getIndex(String name) {
+    int index = findIndex(name);
+    if (index < 0) {
+      throw new NoSuchKeyException(name);
+    }
+    return index;
+  }
+
+  private int getIndex(String name, byte type) {
+    int index = getIndex(name);
+    if (mTypes[index] != type) {
+      throw unexpectedType(name, index, getReadableType(type).name());
+    }
+    return index;
+  }
+
+  private @Nullable Object getObject(String name, byte type) {
+    int index = getIndex(name);
+    if (mTypes[index] == TYPE_NULL) {
+      return null;
+    }
+    if (mTypes[index] != type) {
+      throw unexpectedType(name, index, getReadableType(type).name());
+    }
+    return mObjects[index];
+  }
+
+  private UnexpectedNativeTypeException unexpectedType(String name, int index, String expected) {
+    return new UnexpectedNativeTypeException(
+        "Expected " + expected + " for key '" + name + "', got a " +
+            getReadableType(mTypes[index]).name());
+  }
+
+  private static ReadableType getReadableType(byte type) {
+    switch (type) {
+      case TYPE_NULL:
+        return ReadableType.Null;
+      case TYPE_BOOLEAN:
+        return ReadableType.Boolean;
+      case TYPE_INT:
+      case TYPE_DOUBLE:
+        return ReadableType.Number;
+      case TYPE_STRING:
+        return ReadableType.String;
+      case TYPE_ARRAY:
+        return ReadableType.Array;
+      case TYPE_MAP:
+        return ReadableType.Map;
+      default:
+        throw new IllegalStateException("Unknown type " + type);
+    }
+  }
+}
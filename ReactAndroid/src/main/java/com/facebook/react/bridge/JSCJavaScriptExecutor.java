@@ -29,6 +29,11 @@ public class JSCJavaScriptExecutor extends JavaScriptExecutor {
     initialize();
   }
 
+  @Override
+  public boolean supportsLazyModuleConfig() {
+    return true;
+  }
+
   private native void initialize();
 
 }
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import java.util.Arrays;
+
+/**
+ * Java to JS function calls and callback invocations that are sent to JS together, in order, with
+ * a single call through the bridge (see {@link ReactBridge#callBatch}). Not thread safe,
+ * {@link CatalystInstanceImpl} adds calls to a batch under a lock until the batch is sent.
+ */
+/* package */ class JSCallBatch {
+
+  /**
+   * Module id of callback invocations, their method id is the callback id. Matches
+   * MessageQueue.callBatchReturnFlushedQueue in JS.
+   */
+  /* package */ static final int CALLBACK_MODULE_ID = -1;
+
+  private static final int INITIAL_CAPACITY = 8;
+
+  private int[] mModuleIds = new int[INITIAL_CAPACITY];
+  private int[] mMethodIds = new int[INITIAL_CAPACITY];
+  private NativeArray[] mArguments = new NativeArray[INITIAL_CAPACITY];
+  private int mSize;
+
+  public void addFunctionCall(int moduleId, int methodId, NativeArray arguments) {
+    add(moduleId, methodId, arguments);
+  }
+
+  public void addCallback(int callbackId, NativeArray arguments) {
+    add(CALLBACK_MODULE_ID, callbackId, arguments);
+  }
+
+  public int size() {
+    return mSize;
+  }
+
+  public void send(ReactBridge bridge) {
+    bridge.callBatch(
+        Arrays.copyOf(mModuleIds, mSize),
+        Arrays.copyOf(mMethodIds, mSize),
+        Arrays.copyOf(mArguments, mSize));
+  }
+
+  private void add(int moduleId, int methodId, NativeArray arguments) {
+    if (mSize == mModuleIds.length) {
+      int capacity = mSize * 2;
+      mModuleIds = Arrays.copyOf(mModuleIds, capacity);
+      mMethodIds = Arrays.copyOf(mMethodIds, capacity);
+      mArguments = Arrays.copyOf(mArguments, capacity);
+    }
+    mModuleIds[mSize] = moduleId;
+    mMethodIds[mSize] = methodId;
+    mArguments[mSize] = arguments;
+    mSize++;
+  }
+}
@@ -25,4 +25,12 @@ public abstract class JavaScriptExecutor extends Countable {
   public void close() {
   }
 
+  /**
+   * @return whether JS can synchronously ask for the config of a native module, which lets modules
+   * registered with a {@link ModuleSpec} be described to JS by their name only
+   */
+  public boolean supportsLazyModuleConfig() {
+    return false;
+  }
+
 }
@@ -14,6 +14,7 @@ import javax.annotation.concurrent.Immutable;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -30,6 +31,7 @@ class JavaScriptModuleRegistration {
   private final Class<? extends JavaScriptModule> mModuleInterface;
   private final Map<Method, Integer> mMethodsToIds;
   private final Map<Method, String> mMethodsToTracingNames;
+  private final Set<Method> mUnbatchedMethods;
 
   JavaScriptModuleRegistration(int moduleId, Class<? extends JavaScriptModule> moduleInterface) {
     mModuleId = moduleId;
@@ -37,6 +39,7 @@ class JavaScriptModuleRegistration {
 
     mMethodsToIds = MapBuilder.newHashMap();
     mMethodsToTracingNames = MapBuilder.newHashMap();
+    mUnbatchedMethods = new HashSet<>();
     final Method[] declaredMethods = mModuleInterface.getDeclaredMethods();
     Arrays.sort(declaredMethods, new Comparator<Method>() {
       @Override
@@ -57,6 +60,9 @@ class JavaScriptModuleRegistration {
 
       mMethodsToIds.put(method, i);
       mMethodsToTracingNames.put(method, "JSCall__" + getName() + "_" + method.getName());
+      if (method.isAnnotationPresent(UnbatchedJSCall.class)) {
+        mUnbatchedMethods.add(method);
+      }
     }
   }
 
@@ -76,6 +82,14 @@ class JavaScriptModuleRegistration {
     return Assertions.assertNotNull(mMethodsToTracingNames.get(method));
   }
 
+  /**
+   * @return whether calls to {@param method} can be batched with other calls to JS, see
+   * {@link UnbatchedJSCall}
+   */
+  public boolean isBatched(Method method) {
+    return !mUnbatchedMethods.contains(method);
+  }
+
   public Class<? extends JavaScriptModule> getModuleInterface() {
     return mModuleInterface;
   }
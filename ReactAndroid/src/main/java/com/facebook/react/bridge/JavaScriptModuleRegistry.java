@@ -21,8 +21,9 @@ import com.facebook.infer.annotation.Assertions;
 
 /**
  * Class responsible for holding all the {@link JavaScriptModule}s registered to this
- * {@link CatalystInstance}. Uses Java proxy objects to dispatch method calls on JavaScriptModules
- * to the bridge using the corresponding module and method ids so the proper function is executed in
+ * {@link CatalystInstance}. Uses the {@link JavaScriptModuleStub} generated for a module interface,
+ * or a Java proxy object if there's none, to dispatch method calls on JavaScriptModules to the
+ * bridge using the corresponding module and method ids so the proper function is executed in
  * JavaScript.
  */
 /*package*/ class JavaScriptModuleRegistry {
@@ -35,15 +36,36 @@ import com.facebook.infer.annotation.Assertions;
     mModuleInstances = new HashMap<>();
     for (JavaScriptModuleRegistration registration : config.getModuleDefinitions()) {
       Class<? extends JavaScriptModule> moduleInterface = registration.getModuleInterface();
-      JavaScriptModule interfaceProxy = (JavaScriptModule) Proxy.newProxyInstance(
-          moduleInterface.getClassLoader(),
-          new Class[]{moduleInterface},
-          new JavaScriptModuleInvocationHandler(instance, registration));
+      JavaScriptModule module = createGeneratedModule(instance, registration);
+      if (module == null) {
+        module = (JavaScriptModule) Proxy.newProxyInstance(
+            moduleInterface.getClassLoader(),
+            new Class[]{moduleInterface},
+            new JavaScriptModuleInvocationHandler(instance, registration));
+      }
 
-      mModuleInstances.put(moduleInterface, interfaceProxy);
+      mModuleInstances.put(moduleInterface, module);
     }
   }
 
+  private static @Nullable JavaScriptModule createGeneratedModule(
+      CatalystInstanceImpl instance,
+      JavaScriptModuleRegistration registration) {
+    String stubClassName = registration.getModuleInterface().getName() + "$$JSModuleStub";
+    JavaScriptModuleStub stub;
+    try {
+      stub = (JavaScriptModuleStub) Class.forName(stubClassName).newInstance();
+    } catch (ClassNotFoundException e) {
+      // The module interface wasn't processed, like the ones of apps that don't run
+      // :ReactAndroid:processing or ones that inherit methods, calls will go through a proxy
+      return null;
+    } catch (InstantiationException | IllegalAccessException e) {
+      throw new RuntimeException("Unable to instantiate " + stubClassName, e);
+    }
+    stub.initialize(instance, registration.getModuleId());
+    return (JavaScriptModule) stub;
+  }
+
   public <T extends JavaScriptModule> T getJavaScriptModule(Class<T> moduleInterface) {
     return (T) Assertions.assertNotNull(
         mModuleInstances.get(moduleInterface),
@@ -69,7 +91,8 @@ import com.facebook.infer.annotation.Assertions;
           mModuleRegistration.getModuleId(),
           mModuleRegistration.getMethodId(method),
           Arguments.fromJavaArgs(args),
-          tracingName);
+          tracingName,
+          mModuleRegistration.isBatched(method));
       return null;
     }
   }
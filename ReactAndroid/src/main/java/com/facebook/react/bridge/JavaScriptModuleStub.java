@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import javax.annotation.Nullable;
+
+import com.facebook.infer.annotation.Assertions;
+
+/**
+ * Base class of the {@link JavaScriptModule} implementations generated by
+ * {@code com.facebook.react.processing.JavaScriptModuleProcessor} as
+ * {@code <module interface>$$JSModuleStub}. Generated methods push their arguments into a
+ * {@link WritableNativeArray} according to their declared types and call {@link #callFunction}
+ * with the method id, tracing name and batching computed at compile time.
+ *
+ * {@link JavaScriptModuleRegistry} uses these instead of a {@link java.lang.reflect.Proxy} when the
+ * module interface was processed. The processor runs when ReactAndroid compiles, from the
+ * :ReactAndroid:processing project.
+ */
+public abstract class JavaScriptModuleStub {
+
+  private @Nullable CatalystInstanceImpl mCatalystInstance;
+  private int mModuleId;
+
+  /* package */ void initialize(CatalystInstanceImpl catalystInstance, int moduleId) {
+    mCatalystInstance = catalystInstance;
+    mModuleId = moduleId;
+  }
+
+  protected final void callFunction(
+      int methodId,
+      NativeArray arguments,
+      String tracingName,
+      boolean batched) {
+    Assertions.assertNotNull(mCatalystInstance)
+        .callFunction(mModuleId, methodId, arguments, tracingName, batched);
+  }
+
+  /**
+   * Pushes an argument whose type is only known at runtime, like {@link Arguments#fromJavaArgs}
+   * does.
+   */
+  protected static void pushArgument(WritableNativeArray arguments, @Nullable Object argument) {
+    Arguments.pushJavaArg(arguments, argument);
+  }
+}
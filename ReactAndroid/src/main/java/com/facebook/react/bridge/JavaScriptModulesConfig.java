@@ -41,6 +41,19 @@ public class JavaScriptModulesConfig {
     jg.writeEndObject();
   }
 
+  /**
+   * Adds everything {@link #writeModuleDescriptions} writes to {@param fingerprint}.
+   */
+  /*package*/ void addToFingerprint(ModulesConfigFingerprint fingerprint) {
+    for (JavaScriptModuleRegistration registration : mModules) {
+      fingerprint.add(registration.getName()).add(registration.getModuleId());
+      fingerprint.add(registration.getMethods().size());
+      for (Method method : registration.getMethods()) {
+        fingerprint.add(method.getName()).add(registration.getMethodId(method));
+      }
+    }
+  }
+
   private void appendJSModuleToJSONObject(
       JsonGenerator jg,
       JavaScriptModuleRegistration registration) throws IOException {
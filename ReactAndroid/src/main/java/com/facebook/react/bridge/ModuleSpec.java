@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+/**
+ * Describes a {@link NativeModule} that is only created when JS first requires it, or when it's
+ * first looked up from Java. Until then, JS only knows the module's name: its methods and
+ * constants are read from the module when JS asks for its config, see
+ * {@link NativeModuleRegistry}.
+ */
+public class ModuleSpec {
+
+  private final String mName;
+  private final Class<? extends NativeModule> mType;
+  private final NativeModuleProvider mProvider;
+
+  /**
+   * @param name the name the created module returns from {@link NativeModule#getName}
+   * @param type the class of the created module, used to look it up with
+   * {@link CatalystInstance#getNativeModule}
+   */
+  public ModuleSpec(
+      String name,
+      Class<? extends NativeModule> type,
+      NativeModuleProvider provider) {
+    mName = name;
+    mType = type;
+    mProvider = provider;
+  }
+
+  public String getName() {
+    return mName;
+  }
+
+  public Class<? extends NativeModule> getType() {
+    return mType;
+  }
+
+  public NativeModuleProvider getProvider() {
+    return mProvider;
+  }
+}
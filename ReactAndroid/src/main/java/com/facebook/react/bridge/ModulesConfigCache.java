@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import javax.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import com.facebook.common.logging.FLog;
+import com.facebook.react.common.ReactConstants;
+
+/**
+ * Keeps the modules config JSON that {@link CatalystInstanceImpl} passes to JS in a file, along
+ * with its {@link ModulesConfigFingerprint}. The JSON only changes when modules, their methods or
+ * their constants change, which for most apps means when the app is updated, so later launches can
+ * skip serializing it.
+ *
+ * Failing to read or write the file only costs a rebuild of the JSON, so I/O errors are logged and
+ * otherwise ignored.
+ */
+public class ModulesConfigCache {
+
+  private static final String CHARSET = "UTF-8";
+
+  private final File mFile;
+
+  /**
+   * @param file the file to store the config in, e.g. in the app's cache directory
+   */
+  public ModulesConfigCache(File file) {
+    mFile = file;
+  }
+
+  /**
+   * @return the stored config if it has the given fingerprint, null otherwise
+   */
+  /* package */ @Nullable String get(long fingerprint) {
+    if (!mFile.exists()) {
+      return null;
+    }
+    DataInputStream input = null;
+    try {
+      input = new DataInputStream(new FileInputStream(mFile));
+      if (input.readLong() != fingerprint) {
+        return null;
+      }
+      byte[] json = new byte[(int) mFile.length() - 8];
+      input.readFully(json);
+      return new String(json, CHARSET);
+    } catch (IOException e) {
+      FLog.w(ReactConstants.TAG, "Unable to read the modules config cache", e);
+      return null;
+    } finally {
+      closeQuietly(input);
+    }
+  }
+
+  /* package */ void put(long fingerprint, String json) {
+    // Written to a temporary file first so that a partially written config is never read
+    File tempFile = new File(mFile.getPath() + ".tmp");
+    DataOutputStream output = null;
+    try {
+      output = new DataOutputStream(new FileOutputStream(tempFile));
+      output.writeLong(fingerprint);
+      output.write(json.getBytes(CHARSET));
+      output.close();
+      output = null;
+      if (!tempFile.renameTo(mFile)) {
+        throw new IOException("Unable to rename " + tempFile + " to " + mFile);
+      }
+    } catch (IOException e) {
+      FLog.w(ReactConstants.TAG, "Unable to write the modules config cache", e);
+      tempFile.delete();
+    } finally {
+      closeQuietly(output);
+    }
+  }
+
+  private static void closeQuietly(@Nullable Closeable closeable) {
+    if (closeable != null) {
+      try {
+        closeable.close();
+      } catch (IOException e) {
+        // Nothing to do, the file was already read or written
+      }
+    }
+  }
+}
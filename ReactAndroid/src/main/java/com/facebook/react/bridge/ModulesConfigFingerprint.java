@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a 64 bit FNV-1a hash of everything written to the modules config JSON: module and method
+ * names, ids and types, and the constants exported by modules. Walking the constants is much
+ * cheaper than serializing them, which lets {@link ModulesConfigCache} tell whether the JSON from
+ * a previous launch can be reused.
+ *
+ * Values are hashed in iteration order, like they're written to the JSON, and tagged with their
+ * type so that e.g. {@code 1} and {@code 1.0} or {@code "1"} differ.
+ */
+/* package */ class ModulesConfigFingerprint {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private static final int TAG_NULL = 0;
+  private static final int TAG_BOOLEAN = 1;
+  private static final int TAG_INT = 2;
+  private static final int TAG_DOUBLE = 3;
+  private static final int TAG_STRING = 4;
+  private static final int TAG_MAP = 5;
+  private static final int TAG_LIST = 6;
+  private static final int TAG_END = 7;
+
+  private long mHash = FNV_OFFSET_BASIS;
+
+  public ModulesConfigFingerprint add(int value) {
+    mix(value);
+    return this;
+  }
+
+  public ModulesConfigFingerprint add(boolean value) {
+    mix(value ? 1 : 0);
+    return this;
+  }
+
+  public ModulesConfigFingerprint add(String value) {
+    mix(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      mix(value.charAt(i));
+    }
+    return this;
+  }
+
+  /**
+   * Adds a constant value exported to JS. Supports the types {@link JsonGeneratorHelper} writes:
+   * null, booleans, numbers, strings, and maps and lists of those.
+   *
+   * @return false if the value, or a value nested in it, has another type, in which case the
+   * fingerprint can't be relied on
+   */
+  public boolean addValue(@Nullable Object value) {
+    if (value == null) {
+      mix(TAG_NULL);
+    } else if (value instanceof Boolean) {
+      mix(TAG_BOOLEAN);
+      add((Boolean) value);
+    } else if (value instanceof Integer || value instanceof Long || value instanceof Short ||
+        value instanceof Byte) {
+      mix(TAG_INT);
+      addLong(((Number) value).longValue());
+    } else if (value instanceof Double || value instanceof Float) {
+      mix(TAG_DOUBLE);
+      addLong(Double.doubleToLongBits(((Number) value).doubleValue()));
+    } else if (value instanceof String) {
+      mix(TAG_STRING);
+      add((String) value);
+    } else if (value instanceof Map) {
+      mix(TAG_MAP);
+      for (Map.Entry entry : ((Map<?, ?>) value).entrySet()) {
+        add(entry.getKey().toString());
+        if (!addValue(entry.getValue())) {
+          return false;
+        }
+      }
+      mix(TAG_END);
+    } else if (value instanceof List) {
+      mix(TAG_LIST);
+      List list = (List) value;
+      for (int i = 0; i < list.size(); i++) {
+        if (!addValue(list.get(i))) {
+          return false;
+        }
+      }
+      mix(TAG_END);
+    } else {
+      return false;
+    }
+    return true;
+  }
+
+  public long build() {
+    return mHash;
+  }
+
+  private void addLong(long value) {
+    mix((int) value);
+    mix((int) (value >>> 32));
+  }
+
+  private void mix(int value) {
+    for (int i = 0; i < 4; i++) {
+      mHash ^= (value >>> (i * 8)) & 0xff;
+      mHash *= FNV_PRIME;
+    }
+  }
+}
@@ -0,0 +1,22 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+/**
+ * Creates a {@link NativeModule} registered with a {@link ModuleSpec} the first time it's used.
+ */
+public interface NativeModuleProvider {
+
+  /**
+   * Called at most once per catalyst instance, from the JS thread, the native modules thread or
+   * any thread calling {@link CatalystInstance#getNativeModule}.
+   */
+  NativeModule createNativeModule();
+}
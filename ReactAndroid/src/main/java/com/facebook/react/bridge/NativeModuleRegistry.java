@@ -9,41 +9,59 @@
 
 package com.facebook.react.bridge;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.facebook.react.common.MapBuilder;
 import com.facebook.infer.annotation.Assertions;
 import com.facebook.systrace.Systrace;
+import com.facebook.systrace.SystraceMessage;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 
 /**
   * A set of Java APIs to expose to a particular JavaScript instance.
+  *
+  * Modules registered with a {@link ModuleSpec} are created the first time they're used: when JS
+  * asks for their config through {@link #getModuleConfig}, or when they're looked up with
+  * {@link #getModule}. Until then they're only described to JS by their name and id, provided the
+  * JS executor can ask for module configs synchronously.
   */
 public class NativeModuleRegistry {
 
   private final List<ModuleDefinition> mModuleTable;
-  private final Map<Class<? extends NativeModule>, NativeModule> mModuleInstances;
-  private final ArrayList<OnBatchCompleteListener> mBatchCompleteListenerModules;
+  private final Map<String, ModuleDefinition> mModulesByName;
+  private final Map<Class<? extends NativeModule>, ModuleDefinition> mModulesByType;
+  private final CopyOnWriteArrayList<OnBatchCompleteListener> mBatchCompleteListenerModules;
+  // Guards the creation of lazy modules, so that they're initialized exactly once
+  private final Object mCreateModuleLock = new Object();
+  private boolean mInitialized;
 
-  private NativeModuleRegistry(
-      List<ModuleDefinition> moduleTable,
-      Map<Class<? extends NativeModule>, NativeModule> moduleInstances) {
+  private NativeModuleRegistry(List<ModuleDefinition> moduleTable) {
     mModuleTable = moduleTable;
-    mModuleInstances = moduleInstances;
+    mModulesByName = new HashMap<>();
+    mModulesByType = new HashMap<>();
+    mBatchCompleteListenerModules = new CopyOnWriteArrayList<>();
+    ArrayList<OnBatchCompleteListener> batchCompleteListenerModules = new ArrayList<>();
 
-    mBatchCompleteListenerModules = new ArrayList<OnBatchCompleteListener>(mModuleTable.size());
     for (int i = 0; i < mModuleTable.size(); i++) {
       ModuleDefinition definition = mModuleTable.get(i);
+      mModulesByName.put(definition.name, definition);
+      mModulesByType.put(definition.type, definition);
       if (definition.target instanceof OnBatchCompleteListener) {
-        mBatchCompleteListenerModules.add((OnBatchCompleteListener) definition.target);
+        batchCompleteListenerModules.add((OnBatchCompleteListener) definition.target);
       }
     }
+    mBatchCompleteListenerModules.addAll(batchCompleteListenerModules);
   }
 
   /* package */ void call(
@@ -58,24 +76,29 @@ public class NativeModuleRegistry {
     definition.call(catalystInstance, methodId, parameters);
   }
 
-  /* package */ void writeModuleDescriptions(JsonGenerator jg) throws IOException {
+  /**
+   * @param describeLazily whether modules registered with a {@link ModuleSpec} can be described by
+   * their name and id only, JS then gets the rest of their config from {@link #getModuleConfig}.
+   * If not, they're created here.
+   * @param constants constants of the modules by name, as collected by {@link #addToFingerprint},
+   * so that they're not created again. Constants of the other modules are read from the modules.
+   */
+  /* package */ void writeModuleDescriptions(
+      JsonGenerator jg,
+      boolean describeLazily,
+      @Nullable Map<String, Map<String, Object>> constants)
+      throws IOException {
     Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "CreateJSON");
     try {
       jg.writeStartObject();
       for (ModuleDefinition moduleDef : mModuleTable) {
-        jg.writeObjectFieldStart(moduleDef.name);
-        jg.writeNumberField("moduleID", moduleDef.id);
-        jg.writeObjectFieldStart("methods");
-        for (int i = 0; i < moduleDef.methods.size(); i++) {
-          MethodRegistration method = moduleDef.methods.get(i);
-          jg.writeObjectFieldStart(method.name);
-          jg.writeNumberField("methodID", i);
-          jg.writeStringField("type", method.method.getType());
+        if (describeLazily && moduleDef.isLazy()) {
+          jg.writeObjectFieldStart(moduleDef.name);
+          jg.writeNumberField("moduleID", moduleDef.id);
           jg.writeEndObject();
+        } else {
+          writeModuleDescription(jg, moduleDef, constants);
         }
-        jg.writeEndObject();
-        moduleDef.target.writeConstantsField(jg, "constants");
-        jg.writeEndObject();
       }
       jg.writeEndObject();
     } finally {
@@ -83,13 +106,119 @@ public class NativeModuleRegistry {
     }
   }
 
+  /**
+   * Adds everything {@link #writeModuleDescriptions} writes to {@param fingerprint}.
+   *
+   * @param constants receives the constants of the fingerprinted modules by name, which
+   * {@link #writeModuleDescriptions} can reuse when the fingerprint isn't cached yet
+   * @return false if the constants of a module can't be fingerprinted, which is the case for
+   * modules that don't extend {@link BaseJavaModule}
+   */
+  /* package */ boolean addToFingerprint(
+      ModulesConfigFingerprint fingerprint,
+      boolean describeLazily,
+      Map<String, Map<String, Object>> constants) {
+    Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "FingerprintModulesConfig");
+    try {
+      for (ModuleDefinition moduleDef : mModuleTable) {
+        fingerprint.add(moduleDef.name).add(moduleDef.id);
+        boolean isDescribedLazily = describeLazily && moduleDef.isLazy();
+        fingerprint.add(isDescribedLazily);
+        if (isDescribedLazily) {
+          continue;
+        }
+        NativeModule target = getTarget(moduleDef);
+        if (!(target instanceof BaseJavaModule)) {
+          return false;
+        }
+        List<MethodRegistration> methods = Assertions.assertNotNull(moduleDef.methods);
+        fingerprint.add(methods.size());
+        for (int i = 0; i < methods.size(); i++) {
+          fingerprint.add(methods.get(i).name).add(methods.get(i).method.getType());
+        }
+        Map<String, Object> moduleConstants = ((BaseJavaModule) target).getConstants();
+        constants.put(moduleDef.name, moduleConstants);
+        if (!fingerprint.addValue(
+            moduleConstants == null || moduleConstants.isEmpty() ? null : moduleConstants)) {
+          return false;
+        }
+      }
+      return true;
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+    }
+  }
+
+  /**
+   * Creates the module with the given name if needed, and describes it the same way
+   * {@link #writeModuleDescriptions} does, in an object with the module name as only key.
+   *
+   * @return the config of the module, or null if there's no module with that name
+   */
+  /* package */ @Nullable String getModuleConfig(String moduleName) {
+    ModuleDefinition moduleDef = mModulesByName.get(moduleName);
+    if (moduleDef == null) {
+      // JS strips the RCT and RK prefixes from module names
+      moduleDef = mModulesByName.get("RCT" + moduleName);
+      if (moduleDef == null) {
+        moduleDef = mModulesByName.get("RK" + moduleName);
+      }
+      if (moduleDef == null) {
+        return null;
+      }
+    }
+
+    SystraceMessage.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "getModuleConfig")
+        .arg("module", moduleName)
+        .flush();
+    try {
+      StringWriter writer = new StringWriter();
+      JsonGenerator jg = new JsonFactory().createGenerator(writer);
+      jg.writeStartObject();
+      writeModuleDescription(jg, moduleDef, null);
+      jg.writeEndObject();
+      jg.close();
+      return writer.toString();
+    } catch (IOException e) {
+      throw new RuntimeException("Unable to serialize config of native module " + moduleName, e);
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+    }
+  }
+
+  private void writeModuleDescription(
+      JsonGenerator jg,
+      ModuleDefinition moduleDef,
+      @Nullable Map<String, Map<String, Object>> constants)
+      throws IOException {
+    NativeModule target = getTarget(moduleDef);
+    List<MethodRegistration> methods = Assertions.assertNotNull(moduleDef.methods);
+    jg.writeObjectFieldStart(moduleDef.name);
+    jg.writeNumberField("moduleID", moduleDef.id);
+    jg.writeObjectFieldStart("methods");
+    for (int i = 0; i < methods.size(); i++) {
+      MethodRegistration method = methods.get(i);
+      jg.writeObjectFieldStart(method.name);
+      jg.writeNumberField("methodID", i);
+      jg.writeStringField("type", method.method.getType());
+      jg.writeEndObject();
+    }
+    jg.writeEndObject();
+    if (constants != null && constants.containsKey(moduleDef.name)) {
+      BaseJavaModule.writeConstantsField(jg, "constants", constants.get(moduleDef.name));
+    } else {
+      target.writeConstantsField(jg, "constants");
+    }
+    jg.writeEndObject();
+  }
+
   /* package */ void notifyCatalystInstanceDestroy() {
     UiThreadUtil.assertOnUiThread();
     Systrace.beginSection(
         Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
         "NativeModuleRegistry_notifyCatalystInstanceDestroy");
     try {
-      for (NativeModule nativeModule : mModuleInstances.values()) {
+      for (NativeModule nativeModule : getAllModules()) {
         nativeModule.onCatalystInstanceDestroy();
       }
     } finally {
@@ -105,8 +234,11 @@ public class NativeModuleRegistry {
         Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
         "NativeModuleRegistry_notifyCatalystInstanceInitialized");
     try {
-      for (NativeModule nativeModule : mModuleInstances.values()) {
-        nativeModule.initialize();
+      synchronized (mCreateModuleLock) {
+        mInitialized = true;
+        for (NativeModule nativeModule : getAllModules()) {
+          nativeModule.initialize();
+        }
       }
     } finally {
       Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
@@ -121,41 +253,111 @@ public class NativeModuleRegistry {
   }
 
   public <T extends NativeModule> T getModule(Class<T> moduleInterface) {
-    return (T) Assertions.assertNotNull(mModuleInstances.get(moduleInterface));
+    ModuleDefinition moduleDef = Assertions.assertNotNull(mModulesByType.get(moduleInterface));
+    return (T) getTarget(moduleDef);
   }
 
+  /**
+   * @return the modules that have been created, which doesn't include the modules registered with
+   * a {@link ModuleSpec} that haven't been used yet
+   */
   public Collection<NativeModule> getAllModules() {
-    return mModuleInstances.values();
+    List<NativeModule> modules = new ArrayList<>(mModuleTable.size());
+    for (int i = 0; i < mModuleTable.size(); i++) {
+      NativeModule module = mModuleTable.get(i).target;
+      if (module != null) {
+        modules.add(module);
+      }
+    }
+    return modules;
+  }
+
+  private NativeModule getTarget(ModuleDefinition moduleDef) {
+    NativeModule module = moduleDef.target;
+    if (module != null) {
+      return module;
+    }
+    synchronized (mCreateModuleLock) {
+      if (moduleDef.target == null) {
+        createModule(moduleDef);
+      }
+      return moduleDef.target;
+    }
+  }
+
+  private void createModule(ModuleDefinition moduleDef) {
+    NativeModuleProvider provider = Assertions.assertNotNull(moduleDef.provider);
+    SystraceMessage.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "createModule")
+        .arg("module", moduleDef.name)
+        .flush();
+    try {
+      NativeModule module = provider.createNativeModule();
+      if (!moduleDef.name.equals(module.getName())) {
+        throw new IllegalStateException(
+            "Native module " + module.getClass().getSimpleName() + " is named " +
+                module.getName() + " but was registered as " + moduleDef.name);
+      }
+      moduleDef.setTarget(module);
+      if (module instanceof OnBatchCompleteListener) {
+        mBatchCompleteListenerModules.add((OnBatchCompleteListener) module);
+      }
+      if (mInitialized) {
+        module.initialize();
+      }
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+    }
   }
 
   private static class ModuleDefinition {
     public final int id;
     public final String name;
-    public final NativeModule target;
-    public final ArrayList<MethodRegistration> methods;
+    public final Class<? extends NativeModule> type;
+    public final @Nullable NativeModuleProvider provider;
+    // Set once, when a lazy module is created. Methods are set before the target is.
+    public volatile @Nullable NativeModule target;
+    public volatile @Nullable ArrayList<MethodRegistration> methods;
 
     public ModuleDefinition(int id, String name, NativeModule target) {
       this.id = id;
       this.name = name;
-      this.target = target;
-      this.methods = new ArrayList<MethodRegistration>();
+      this.type = target.getClass();
+      this.provider = null;
+      setTarget(target);
+    }
+
+    public ModuleDefinition(int id, ModuleSpec spec) {
+      this.id = id;
+      this.name = spec.getName();
+      this.type = spec.getType();
+      this.provider = spec.getProvider();
+    }
 
+    public boolean isLazy() {
+      return provider != null;
+    }
+
+    public void setTarget(NativeModule target) {
+      ArrayList<MethodRegistration> methods = new ArrayList<MethodRegistration>();
       for (Map.Entry<String, NativeModule.NativeMethod> entry : target.getMethods().entrySet()) {
-        this.methods.add(
+        methods.add(
           new MethodRegistration(
             entry.getKey(), "NativeCall__" + target.getName() + "_" + entry.getKey(),
             entry.getValue()));
       }
+      this.methods = methods;
+      this.target = target;
     }
 
     public void call(
         CatalystInstance catalystInstance,
         int methodId,
         ReadableNativeArray parameters) {
-      MethodRegistration method = this.methods.get(methodId);
+      // JS only calls methods it got from the module config, so the module has been created
+      MethodRegistration method = Assertions.assertNotNull(this.methods).get(methodId);
       Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, method.tracingName);
       try {
-        this.methods.get(methodId).method.invoke(catalystInstance, parameters);
+        method.method.invoke(catalystInstance, parameters);
       } finally {
         Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
       }
@@ -177,6 +379,7 @@ public class NativeModuleRegistry {
   public static class Builder {
 
     private final HashMap<String, NativeModule> mModules = MapBuilder.newHashMap();
+    private final HashMap<String, ModuleSpec> mModuleSpecs = MapBuilder.newHashMap();
 
     public Builder add(NativeModule module) {
       NativeModule existing = mModules.get(module.getName());
@@ -186,21 +389,42 @@ public class NativeModuleRegistry {
             module.getName() + ". If this was your intention, return true from " +
             module.getClass().getSimpleName() + "#canOverrideExistingModule()");
       }
+      ModuleSpec existingSpec = mModuleSpecs.get(module.getName());
+      if (existingSpec != null && !module.canOverrideExistingModule()) {
+        throw new IllegalStateException("Native module " + module.getClass().getSimpleName() +
+            " tried to override " + existingSpec.getType().getSimpleName() + " for module name " +
+            module.getName() + ". If this was your intention, return true from " +
+            module.getClass().getSimpleName() + "#canOverrideExistingModule()");
+      }
+      mModuleSpecs.remove(module.getName());
       mModules.put(module.getName(), module);
       return this;
     }
 
+    /**
+     * Registers a module that is created the first time it's used. Since it can't be asked
+     * whether it overrides an existing module, it must be the only one with its name.
+     */
+    public Builder add(ModuleSpec spec) {
+      if (mModules.containsKey(spec.getName()) || mModuleSpecs.containsKey(spec.getName())) {
+        throw new IllegalStateException("Native module " + spec.getType().getSimpleName() +
+            " is registered lazily but another module is already named " + spec.getName());
+      }
+      mModuleSpecs.put(spec.getName(), spec);
+      return this;
+    }
+
     public NativeModuleRegistry build() {
       List<ModuleDefinition> moduleTable = new ArrayList<>();
-      Map<Class<? extends NativeModule>, NativeModule> moduleInstances = new HashMap<>();
 
       int idx = 0;
       for (NativeModule module : mModules.values()) {
-        ModuleDefinition moduleDef = new ModuleDefinition(idx++, module.getName(), module);
-        moduleTable.add(moduleDef);
-        moduleInstances.put(module.getClass(), module);
+        moduleTable.add(new ModuleDefinition(idx++, module.getName(), module));
+      }
+      for (ModuleSpec spec : mModuleSpecs.values()) {
+        moduleTable.add(new ModuleDefinition(idx++, spec));
       }
-      return new NativeModuleRegistry(moduleTable, moduleInstances);
+      return new NativeModuleRegistry(moduleTable);
     }
   }
 }
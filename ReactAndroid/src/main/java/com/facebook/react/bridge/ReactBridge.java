@@ -81,6 +81,12 @@ public class ReactBridge extends Countable {
   public native void loadScriptFromFile(@Nullable String fileName, @Nullable String sourceURL);
   public native void callFunction(int moduleId, int methodId, NativeArray arguments);
   public native void invokeCallback(int callbackID, NativeArray arguments);
+  /**
+   * Calls JS functions and invokes JS callbacks, in order, with a single call into JS. Callback
+   * invocations have the module id {@link JSCallBatch#CALLBACK_MODULE_ID} and the callback id as
+   * method id.
+   */
+  public native void callBatch(int[] moduleIds, int[] methodIds, NativeArray[] arguments);
   public native void setGlobalVariable(String propertyName, String jsonEncodedArgument);
   public native boolean supportsProfiling();
   public native void startProfiler(String title);
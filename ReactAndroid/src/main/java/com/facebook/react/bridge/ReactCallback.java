@@ -9,6 +9,8 @@
 
 package com.facebook.react.bridge;
 
+import javax.annotation.Nullable;
+
 import com.facebook.proguard.annotations.DoNotStrip;
 
 @DoNotStrip
@@ -19,4 +21,13 @@ public interface ReactCallback {
 
   @DoNotStrip
   void onBatchComplete();
+
+  /**
+   * Called synchronously from the JS thread when JS first requires a native module that was only
+   * described by its name.
+   *
+   * @return the config of the module as JSON, or null if there's no such module
+   */
+  @DoNotStrip
+  @Nullable String getModuleConfig(String moduleName);
 }
@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+/**
+ * Calls the {@link ReactMethod}s declared by a {@link BaseJavaModule} subclass without reflection,
+ * reading their arguments straight from the JS arguments array into typed locals.
+ *
+ * Implementations are generated by {@code com.facebook.react.processing.ReactMethodProcessor} as
+ * {@code <module class>$$MethodInvoker}, and picked up by {@link BaseJavaModule#getMethods}. The
+ * gradle build runs the processor on ReactAndroid's own modules through :ReactAndroid:processing;
+ * modules that weren't processed keep being called through reflection.
+ *
+ * Methods are identified by their index in the arrays returned by this interface, which must not be
+ * modified.
+ */
+public interface ReactMethodInvoker<T extends BaseJavaModule> {
+
+  String[] getMethodNames();
+
+  /**
+   * @return {@link BaseJavaModule#METHOD_TYPE_REMOTE} or
+   * {@link BaseJavaModule#METHOD_TYPE_REMOTE_ASYNC} for each method
+   */
+  String[] getMethodTypes();
+
+  /**
+   * @return the number of JS arguments each method expects
+   */
+  int[] getJSArgumentCounts();
+
+  /**
+   * Extracts the arguments of the given method from {@code parameters} and calls it.
+   *
+   * @throws NativeArgumentsParseException if an argument doesn't have the expected type
+   */
+  void invoke(
+      T module,
+      int methodIndex,
+      CatalystInstance catalystInstance,
+      ReadableNativeArray parameters);
+}
@@ -43,6 +43,11 @@ public class ReadableNativeMap extends NativeMap implements ReadableMap {
   @Override
   public native ReadableType getType(String name);
 
+  /**
+   * Copies all the entries of this map to a {@link DecodedReadableMap} with a single JNI call.
+   */
+  public native DecodedReadableMap decode();
+
   @Override
   public ReadableMapKeySetIterator keySetIterator() {
     return new ReadableNativeMapKeySetIterator(this);
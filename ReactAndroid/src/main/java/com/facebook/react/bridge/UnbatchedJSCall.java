@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Annotation for methods of a {@link JavaScriptModule} whose calls are latency critical. Calls to
+ * JS are otherwise batched with the other calls made before the JS thread gets to them, and the
+ * native calls they result in are only dispatched once JS has run the whole batch. Calls to these
+ * methods are sent to JS on their own instead, still in order with the other calls.
+ */
+@Retention(RUNTIME)
+@Target(ElementType.METHOD)
+public @interface UnbatchedJSCall {
+
+}
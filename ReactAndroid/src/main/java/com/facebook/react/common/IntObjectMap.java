@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.common;
+
+import javax.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Map from int keys to non-null objects. Like a SparseArray, keys aren't boxed, but lookups,
+ * insertions and removals take constant time instead of a binary search plus shifting the
+ * following entries, which matters once it holds thousands of entries.
+ *
+ * Entries are stored densely in insertion order, except that removing an entry moves the last one
+ * into its place, so they can be iterated with {@link #keyAt} and {@link #valueAt} for indices in
+ * [0, {@link #size}). An open-addressing hash table with linear probing maps keys to their index.
+ */
+public class IntObjectMap<V> {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 16;
+  private static final int EMPTY_SLOT = -1;
+
+  private int[] mKeys;
+  private Object[] mValues;
+  private int mSize;
+
+  // Index of the entry for each slot, or EMPTY_SLOT. Its length is a power of two, at least
+  // twice the number of entries, which keeps probe sequences short.
+  private int[] mSlots;
+
+  public IntObjectMap() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  public IntObjectMap(int initialCapacity) {
+    int capacity = Math.max(initialCapacity, 1);
+    mKeys = new int[capacity];
+    mValues = new Object[capacity];
+    mSlots = new int[Integer.highestOneBit(capacity * 2 - 1) * 2];
+    Arrays.fill(mSlots, EMPTY_SLOT);
+  }
+
+  public @Nullable V get(int key) {
+    int entry = mSlots[findSlot(key)];
+    return entry == EMPTY_SLOT ? null : getValue(entry);
+  }
+
+  public boolean containsKey(int key) {
+    return mSlots[findSlot(key)] != EMPTY_SLOT;
+  }
+
+  /**
+   * Adds a mapping, replacing the previous value of {@code key} if there is one.
+   */
+  public void put(int key, V value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Null values are not supported, key: " + key);
+    }
+    int slot = findSlot(key);
+    int entry = mSlots[slot];
+    if (entry != EMPTY_SLOT) {
+      mValues[entry] = value;
+      return;
+    }
+
+    if (mSize == mKeys.length) {
+      int newCapacity = mSize * 2;
+      mKeys = Arrays.copyOf(mKeys, newCapacity);
+      mValues = Arrays.copyOf(mValues, newCapacity);
+    }
+    mKeys[mSize] = key;
+    mValues[mSize] = value;
+    if ((mSize + 1) * 2 > mSlots.length) {
+      mSize++;
+      rehash(mSlots.length * 2);
+    } else {
+      mSlots[slot] = mSize;
+      mSize++;
+    }
+  }
+
+  /**
+   * Removes the mapping for {@code key}, if there is one. The last entry takes the index of the
+   * removed one.
+   *
+   * @return the removed value, or null if there was none
+   */
+  public @Nullable V remove(int key) {
+    int slot = findSlot(key);
+    int entry = mSlots[slot];
+    if (entry == EMPTY_SLOT) {
+      return null;
+    }
+    V value = getValue(entry);
+    removeSlot(slot);
+
+    int lastEntry = mSize - 1;
+    if (entry != lastEntry) {
+      int lastKey = mKeys[lastEntry];
+      mKeys[entry] = lastKey;
+      mValues[entry] = mValues[lastEntry];
+      mSlots[findSlot(lastKey)] = entry;
+    }
+    mValues[lastEntry] = null;
+    mSize--;
+    return value;
+  }
+
+  public int size() {
+    return mSize;
+  }
+
+  public boolean isEmpty() {
+    return mSize == 0;
+  }
+
+  public int keyAt(int index) {
+    checkIndex(index);
+    return mKeys[index];
+  }
+
+  public V valueAt(int index) {
+    checkIndex(index);
+    return getValue(index);
+  }
+
+  public void clear() {
+    Arrays.fill(mValues, 0, mSize, null);
+    Arrays.fill(mSlots, EMPTY_SLOT);
+    mSize = 0;
+  }
+
+  @SuppressWarnings("unchecked")
+  private V getValue(int entry) {
+    return (V) mValues[entry];
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= mSize) {
+      throw new IndexOutOfBoundsException("" + index + " >= " + mSize);
+    }
+  }
+
+  private static int hash(int key) {
+    // Tags are mostly sequential, spread them over the whole table
+    int hash = key * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * @return the slot holding {@code key}, or the empty slot where it would be inserted
+   */
+  private int findSlot(int key) {
+    int mask = mSlots.length - 1;
+    int slot = hash(key) & mask;
+    while (true) {
+      int entry = mSlots[slot];
+      if (entry == EMPTY_SLOT || mKeys[entry] == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  /**
+   * Empties a slot, moving back the following entries of its probe sequence so that lookups don't
+   * stop early at the hole.
+   */
+  private void removeSlot(int slot) {
+    int mask = mSlots.length - 1;
+    int hole = slot;
+    int next = slot;
+    while (true) {
+      next = (next + 1) & mask;
+      int entry = mSlots[next];
+      if (entry == EMPTY_SLOT) {
+        break;
+      }
+      int home = hash(mKeys[entry]) & mask;
+      // The entry can fill the hole unless its home slot lies cyclically in (hole, next]
+      boolean canMove = hole <= next ?
+          home <= hole || home > next :
+          home <= hole && home > next;
+      if (canMove) {
+        mSlots[hole] = entry;
+        hole = next;
+      }
+    }
+    mSlots[hole] = EMPTY_SLOT;
+  }
+
+  private void rehash(int slotCount) {
+    mSlots = new int[slotCount];
+    Arrays.fill(mSlots, EMPTY_SLOT);
+    int mask = slotCount - 1;
+    for (int entry = 0; entry < mSize; entry++) {
+      int slot = hash(mKeys[entry]) & mask;
+      while (mSlots[slot] != EMPTY_SLOT) {
+        slot = (slot + 1) & mask;
+      }
+      mSlots[slot] = entry;
+    }
+  }
+}
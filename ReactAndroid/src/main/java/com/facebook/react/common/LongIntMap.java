@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.common;
+
+import java.util.Arrays;
+
+/**
+ * Map from long keys to int values that doesn't box either of them and doesn't allocate once it
+ * has grown to the number of entries it holds, unlike a LongSparseArray of Integers, which also
+ * does a binary search plus shifting the following entries on insertions.
+ *
+ * An open-addressing hash table with linear probing. Entries can't be removed one by one, only
+ * all at once with {@link #clear}.
+ */
+public class LongIntMap {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+  // Their length is a power of two, at least twice the number of entries, which keeps probe
+  // sequences short
+  private long[] mKeys;
+  private int[] mValues;
+  private boolean[] mUsed;
+  private int mSize;
+
+  public LongIntMap() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  public LongIntMap(int initialCapacity) {
+    int slotCount = Integer.highestOneBit(Math.max(initialCapacity, 1) * 2 - 1) * 2;
+    mKeys = new long[slotCount];
+    mValues = new int[slotCount];
+    mUsed = new boolean[slotCount];
+  }
+
+  /**
+   * @return the value of {@code key}, or {@code valueIfKeyNotFound} if there is none
+   */
+  public int get(long key, int valueIfKeyNotFound) {
+    int slot = findSlot(key);
+    return mUsed[slot] ? mValues[slot] : valueIfKeyNotFound;
+  }
+
+  public boolean containsKey(long key) {
+    return mUsed[findSlot(key)];
+  }
+
+  /**
+   * Adds a mapping, replacing the previous value of {@code key} if there is one.
+   */
+  public void put(long key, int value) {
+    int slot = findSlot(key);
+    if (mUsed[slot]) {
+      mValues[slot] = value;
+      return;
+    }
+
+    if ((mSize + 1) * 2 > mKeys.length) {
+      rehash(mKeys.length * 2);
+      slot = findSlot(key);
+    }
+    mKeys[slot] = key;
+    mValues[slot] = value;
+    mUsed[slot] = true;
+    mSize++;
+  }
+
+  public int size() {
+    return mSize;
+  }
+
+  public boolean isEmpty() {
+    return mSize == 0;
+  }
+
+  /**
+   * Removes all the mappings, keeping the capacity.
+   */
+  public void clear() {
+    if (mSize > 0) {
+      Arrays.fill(mUsed, false);
+      mSize = 0;
+    }
+  }
+
+  private static int hash(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32));
+  }
+
+  /**
+   * @return the slot holding {@code key}, or the empty slot where it would be inserted
+   */
+  private int findSlot(long key) {
+    int mask = mKeys.length - 1;
+    int slot = hash(key) & mask;
+    while (mUsed[slot] && mKeys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void rehash(int slotCount) {
+    long[] oldKeys = mKeys;
+    int[] oldValues = mValues;
+    boolean[] oldUsed = mUsed;
+    mKeys = new long[slotCount];
+    mValues = new int[slotCount];
+    mUsed = new boolean[slotCount];
+    int mask = slotCount - 1;
+    for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+      if (!oldUsed[oldSlot]) {
+        continue;
+      }
+      int slot = hash(oldKeys[oldSlot]) & mask;
+      while (mUsed[slot]) {
+        slot = (slot + 1) & mask;
+      }
+      mKeys[slot] = oldKeys[oldSlot];
+      mValues[slot] = oldValues[oldSlot];
+      mUsed[slot] = true;
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.common;
+
+import javax.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Unbounded lock-free FIFO queue with any number of producer threads and a single consumer
+ * thread. Producers never block or wait for each other or for the consumer: adding a value claims
+ * an index with a single atomic increment and stores the value in the slot at that index.
+ *
+ * Slots are stored in fixed size array chunks linked in index order. The producer that needs a
+ * slot past the last chunk links a new one, and the consumer drops chunks once it has read all of
+ * their slots.
+ *
+ * A producer that has claimed an index but not stored its value yet hides the values added after
+ * it from {@link #poll} until it does, which keeps values in order. The consumer picks them up on
+ * its next poll.
+ */
+public class MpscQueue<T> {
+
+  private static final int CHUNK_SIZE = 128;
+
+  private static class Chunk {
+
+    private final long mFirstIndex;
+    private final AtomicReferenceArray<Object> mSlots = new AtomicReferenceArray<>(CHUNK_SIZE);
+    private final AtomicReference<Chunk> mNext = new AtomicReference<>();
+
+    private Chunk(long firstIndex) {
+      mFirstIndex = firstIndex;
+    }
+
+    private Chunk getOrCreateNext() {
+      Chunk next = mNext.get();
+      if (next == null) {
+        next = new Chunk(mFirstIndex + CHUNK_SIZE);
+        if (!mNext.compareAndSet(null, next)) {
+          // Another producer linked one first
+          next = mNext.get();
+        }
+      }
+      return next;
+    }
+  }
+
+  private final AtomicLong mProducerIndex = new AtomicLong();
+  // Chunk from which producers look for the chunk of their index. Its first index is never above
+  // the producer index.
+  private final AtomicReference<Chunk> mProducerChunk;
+
+  // Only accessed by the consumer
+  private Chunk mConsumerChunk;
+  private long mConsumerIndex;
+
+  public MpscQueue() {
+    Chunk chunk = new Chunk(0);
+    mProducerChunk = new AtomicReference<>(chunk);
+    mConsumerChunk = chunk;
+  }
+
+  /**
+   * Adds a value to the end of the queue. Can be called from any thread.
+   */
+  public void add(T value) {
+    // Read the chunk before claiming the index, so that the index can't be before the chunk
+    Chunk firstChunk = mProducerChunk.get();
+    long index = mProducerIndex.getAndIncrement();
+
+    Chunk chunk = firstChunk;
+    while (index >= chunk.mFirstIndex + CHUNK_SIZE) {
+      chunk = chunk.getOrCreateNext();
+    }
+    if (chunk != firstChunk) {
+      advanceProducerChunk(chunk);
+    }
+
+    // Ordered store, the consumer sees the value once it sees the slot isn't empty
+    chunk.mSlots.lazySet((int) (index - chunk.mFirstIndex), value);
+  }
+
+  /**
+   * Removes and returns the first value of the queue, or null if the queue is empty or the producer
+   * of the first value hasn't stored it yet. Must only be called from the consumer thread.
+   */
+  public @Nullable T poll() {
+    int offset = (int) (mConsumerIndex - mConsumerChunk.mFirstIndex);
+    if (offset == CHUNK_SIZE) {
+      Chunk next = mConsumerChunk.mNext.get();
+      if (next == null) {
+        return null;
+      }
+      mConsumerChunk = next;
+      offset = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    T value = (T) mConsumerChunk.mSlots.get(offset);
+    if (value == null) {
+      return null;
+    }
+    // Producers that are behind may still reference the chunk, don't keep the value alive
+    mConsumerChunk.mSlots.lazySet(offset, null);
+    mConsumerIndex++;
+    return value;
+  }
+
+  private void advanceProducerChunk(Chunk chunk) {
+    while (true) {
+      Chunk current = mProducerChunk.get();
+      if (current.mFirstIndex >= chunk.mFirstIndex ||
+          mProducerChunk.compareAndSet(current, chunk)) {
+        return;
+      }
+    }
+  }
+}
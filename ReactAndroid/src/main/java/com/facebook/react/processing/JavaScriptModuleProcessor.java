@@ -0,0 +1,324 @@
+// Copyright 2004-present Facebook. All Rights Reserved.
+
+package com.facebook.react.processing;
+
+import javax.annotation.Nullable;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import com.facebook.infer.annotation.SuppressFieldNotInitialized;
+import com.facebook.react.bridge.UnbatchedJSCall;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import static javax.lang.model.element.Modifier.*;
+import static javax.tools.Diagnostic.Kind.ERROR;
+import static javax.tools.Diagnostic.Kind.WARNING;
+
+/**
+ * This annotation processor finds the interfaces extending JavaScriptModule and generates a class
+ * per interface that is named {@code <classname>$$JSModuleStub}. This class implements the
+ * interface by pushing the arguments of each method into a native array according to their
+ * declared types, and calling the JS function with the method id and tracing name computed here,
+ * without a proxy or reflection.
+ *
+ * Method ids are the index of the method in the methods of the interface sorted by name, the same
+ * way {@code JavaScriptModuleRegistration} assigns them. Interfaces that inherit methods from other
+ * interfaces are skipped, since the registration only exports declared methods.
+ *
+ * JavaScriptModule interfaces aren't annotated, so this processor looks at all the types of a
+ * round and doesn't claim any annotation.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedSourceVersion(SourceVersion.RELEASE_7)
+public class JavaScriptModuleProcessor extends AbstractProcessor {
+  private static final String BRIDGE_PACKAGE = "com.facebook.react.bridge";
+  private static final String JAVA_SCRIPT_MODULE_NAME = BRIDGE_PACKAGE + ".JavaScriptModule";
+
+  private static final TypeName STRING_TYPE = TypeName.get(String.class);
+  private static final TypeName WRITABLE_MAP_TYPE = ClassName.get(BRIDGE_PACKAGE, "WritableMap");
+  private static final TypeName WRITABLE_NATIVE_MAP_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "WritableNativeMap");
+  private static final TypeName WRITABLE_ARRAY_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "WritableArray");
+  private static final TypeName WRITABLE_NATIVE_ARRAY_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "WritableNativeArray");
+
+  private static final ClassName MODULE_STUB_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "JavaScriptModuleStub");
+
+  @SuppressFieldNotInitialized
+  private Filer mFiler;
+  @SuppressFieldNotInitialized
+  private Messager mMessager;
+  @SuppressFieldNotInitialized
+  private Types mTypes;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+
+    mFiler = processingEnv.getFiler();
+    mMessager = processingEnv.getMessager();
+    mTypes = processingEnv.getTypeUtils();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    TypeElement javaScriptModuleType =
+        processingEnv.getElementUtils().getTypeElement(JAVA_SCRIPT_MODULE_NAME);
+    if (javaScriptModuleType == null) {
+      // Not compiling against the bridge
+      return false;
+    }
+
+    List<TypeElement> moduleTypes = new ArrayList<>();
+    findModuleTypes(
+        ElementFilter.typesIn(roundEnv.getRootElements()),
+        javaScriptModuleType.asType(),
+        moduleTypes);
+
+    for (TypeElement moduleType : moduleTypes) {
+      try {
+        if (!shouldIgnoreInterface(moduleType, javaScriptModuleType)) {
+          generateCode(moduleType, getSortedMethods(moduleType));
+        } else if (shouldWarnInterface(moduleType)) {
+          warning(moduleType, "Interface was skipped. Interfaces need to be non-private.");
+        }
+      } catch (IOException e) {
+        error(e.getMessage());
+      } catch (JavaScriptModuleException e) {
+        error(e.element, e.getMessage());
+      } catch (Exception e) {
+        error(moduleType, e.getMessage());
+      }
+    }
+
+    // Other processors may need the annotations of these types
+    return false;
+  }
+
+  private void findModuleTypes(
+      Iterable<TypeElement> types,
+      TypeMirror javaScriptModuleType,
+      List<TypeElement> moduleTypes) {
+    for (TypeElement type : types) {
+      if (type.getKind() == ElementKind.INTERFACE &&
+          !mTypes.isSameType(type.asType(), javaScriptModuleType) &&
+          mTypes.isAssignable(mTypes.erasure(type.asType()), javaScriptModuleType)) {
+        moduleTypes.add(type);
+      }
+      findModuleTypes(
+          ElementFilter.typesIn(type.getEnclosedElements()),
+          javaScriptModuleType,
+          moduleTypes);
+    }
+  }
+
+  private static List<ExecutableElement> getSortedMethods(TypeElement moduleType)
+      throws JavaScriptModuleException {
+    List<ExecutableElement> methods = new ArrayList<>();
+    for (ExecutableElement method : ElementFilter.methodsIn(moduleType.getEnclosedElements())) {
+      if (!method.getModifiers().contains(STATIC)) {
+        methods.add(method);
+      }
+    }
+
+    // Sort by name
+    Collections.sort(
+        methods, new Comparator<ExecutableElement>() {
+          @Override
+          public int compare(ExecutableElement a, ExecutableElement b) {
+            return a.getSimpleName().toString().compareTo(b.getSimpleName().toString());
+          }
+        });
+
+    String previousName = null;
+    for (ExecutableElement method : methods) {
+      String name = method.getSimpleName().toString();
+      if (name.equals(previousName)) {
+        throw new JavaScriptModuleException("Method overloading is unsupported: " + name, method);
+      }
+      previousName = name;
+      if (method.getReturnType().getKind() != TypeKind.VOID) {
+        throw new JavaScriptModuleException("JavaScriptModule methods must return void", method);
+      }
+    }
+    return methods;
+  }
+
+  private void generateCode(TypeElement moduleType, List<ExecutableElement> methods)
+      throws IOException {
+    ClassName className = ClassName.get(moduleType);
+    String moduleName = moduleType.getSimpleName().toString();
+
+    String stubClassName = getClassName(moduleType, className.packageName()) + "$$JSModuleStub";
+    TypeSpec.Builder stubClass = TypeSpec.classBuilder(stubClassName)
+        .superclass(MODULE_STUB_TYPE)
+        .addSuperinterface(className)
+        .addModifiers(PUBLIC);
+    for (int i = 0, size = methods.size(); i < size; i++) {
+      stubClass.addMethod(generateMethod(moduleName, methods.get(i), i));
+    }
+
+    JavaFile javaFile = JavaFile.builder(className.packageName(), stubClass.build())
+        .addFileComment("Generated by " + getClass().getName())
+        .build();
+
+    javaFile.writeTo(mFiler);
+  }
+
+  private static String getClassName(TypeElement type, String packageName) {
+    int packageLen = packageName.length() + 1;
+    return type.getQualifiedName().toString().substring(packageLen).replace('.', '$');
+  }
+
+  private static MethodSpec generateMethod(
+      String moduleName,
+      ExecutableElement method,
+      int methodId) {
+    String name = method.getSimpleName().toString();
+    MethodSpec.Builder builder = MethodSpec.methodBuilder(name)
+        .addModifiers(PUBLIC)
+        .addAnnotation(Override.class)
+        .returns(TypeName.VOID)
+        .addStatement(
+            "$T arguments = new $T()",
+            WRITABLE_NATIVE_ARRAY_TYPE,
+            WRITABLE_NATIVE_ARRAY_TYPE);
+
+    List<? extends VariableElement> parameters = method.getParameters();
+    for (int i = 0, size = parameters.size(); i < size; i++) {
+      TypeName type = TypeName.get(parameters.get(i).asType());
+      String parameterName = "arg" + i;
+      builder.addParameter(ParameterSpec.builder(type, parameterName).build());
+      builder.addCode(generatePushArgument(type, parameterName));
+    }
+
+    boolean batched = method.getAnnotation(UnbatchedJSCall.class) == null;
+    builder.addStatement(
+        "callFunction($L, arguments, $S, $L)",
+        methodId,
+        "JSCall__" + moduleName + "_" + name,
+        batched);
+    return builder.build();
+  }
+
+  /**
+   * Pushes arguments the same way {@code Arguments#fromJavaArgs} does, with the checks of the
+   * declared type done here.
+   */
+  private static CodeBlock generatePushArgument(TypeName type, String name) {
+    CodeBlock.Builder builder = CodeBlock.builder();
+    if (type.isPrimitive()) {
+      if (type.equals(TypeName.BOOLEAN)) {
+        builder.addStatement("arguments.pushBoolean($L)", name);
+      } else if (type.equals(TypeName.INT) ||
+          type.equals(TypeName.DOUBLE) ||
+          type.equals(TypeName.FLOAT)) {
+        builder.addStatement("arguments.pushDouble($L)", name);
+      } else {
+        // Throws like Arguments#fromJavaArgs does for unsupported types
+        builder.addStatement("pushArgument(arguments, $L)", name);
+      }
+      return builder.build();
+    }
+
+    String pushMethod = getPushMethod(type);
+    if (pushMethod == null) {
+      builder.addStatement("pushArgument(arguments, $L)", name);
+      return builder.build();
+    }
+    return builder
+        .beginControlFlow("if ($L == null)", name)
+        .addStatement("arguments.pushNull()")
+        .nextControlFlow("else")
+        .addStatement("arguments.$L($L)", pushMethod, name)
+        .endControlFlow()
+        .build();
+  }
+
+  private static @Nullable String getPushMethod(TypeName type) {
+    if (type.equals(STRING_TYPE)) {
+      return "pushString";
+    } else if (type.equals(WRITABLE_MAP_TYPE) || type.equals(WRITABLE_NATIVE_MAP_TYPE)) {
+      return "pushMap";
+    } else if (type.equals(WRITABLE_ARRAY_TYPE) || type.equals(WRITABLE_NATIVE_ARRAY_TYPE)) {
+      return "pushArray";
+    } else if (type.equals(TypeName.BOOLEAN.box())) {
+      return "pushBoolean";
+    } else if (type.equals(TypeName.INT.box()) ||
+        type.equals(TypeName.DOUBLE.box()) ||
+        type.equals(TypeName.FLOAT.box())) {
+      return "pushDouble";
+    }
+    return null;
+  }
+
+  private boolean shouldIgnoreInterface(TypeElement moduleType, TypeElement javaScriptModuleType) {
+    if (moduleType.getModifiers().contains(PRIVATE) ||
+        !moduleType.getTypeParameters().isEmpty()) {
+      return true;
+    }
+    // Methods inherited from other interfaces don't have a method id
+    for (TypeMirror superInterface : moduleType.getInterfaces()) {
+      if (!mTypes.isSameType(superInterface, javaScriptModuleType.asType())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean shouldWarnInterface(TypeElement moduleType) {
+    return moduleType.getModifiers().contains(PRIVATE);
+  }
+
+  private void error(Element element, String message) {
+    mMessager.printMessage(ERROR, message, element);
+  }
+
+  private void error(String message) {
+    mMessager.printMessage(ERROR, message);
+  }
+
+  private void warning(Element element, String message) {
+    mMessager.printMessage(WARNING, message, element);
+  }
+
+  private static class JavaScriptModuleException extends Exception {
+    public final Element element;
+
+    public JavaScriptModuleException(String message, Element element) {
+      super(message);
+      this.element = element;
+    }
+  }
+}
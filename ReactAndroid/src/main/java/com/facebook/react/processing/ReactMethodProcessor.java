@@ -0,0 +1,463 @@
+// Copyright 2004-present Facebook. All Rights Reserved.
+
+package com.facebook.react.processing;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.facebook.infer.annotation.SuppressFieldNotInitialized;
+import com.facebook.react.bridge.ReactMethod;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import static javax.lang.model.element.Modifier.*;
+import static javax.tools.Diagnostic.Kind.ERROR;
+import static javax.tools.Diagnostic.Kind.WARNING;
+
+/**
+ * This annotation processor finds the methods of native modules annotated with @ReactMethod and
+ * generates a class per module that is named {@code <classname>$$MethodInvoker}. This class
+ * contains the name, type and number of JS arguments of every method, and calls them with their
+ * arguments read from the JS arguments array, without reflection.
+ *
+ * Only methods declared by the module class itself are exported, the same way
+ * {@code BaseJavaModule#getMethods} finds them through reflection.
+ */
+@SupportedAnnotationTypes("com.facebook.react.bridge.ReactMethod")
+@SupportedSourceVersion(SourceVersion.RELEASE_7)
+public class ReactMethodProcessor extends AbstractProcessor {
+  private static final String BRIDGE_PACKAGE = "com.facebook.react.bridge";
+
+  private static final TypeName STRING_TYPE = TypeName.get(String.class);
+  private static final TypeName READABLE_MAP_TYPE = ClassName.get(BRIDGE_PACKAGE, "ReadableMap");
+  private static final TypeName READABLE_ARRAY_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "ReadableArray");
+  private static final TypeName CALLBACK_TYPE = ClassName.get(BRIDGE_PACKAGE, "Callback");
+  private static final TypeName PROMISE_TYPE = ClassName.get(BRIDGE_PACKAGE, "Promise");
+
+  private static final ClassName CALLBACK_IMPL_TYPE = ClassName.get(BRIDGE_PACKAGE, "CallbackImpl");
+  private static final ClassName PROMISE_IMPL_TYPE = ClassName.get(BRIDGE_PACKAGE, "PromiseImpl");
+  private static final ClassName CATALYST_INSTANCE_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "CatalystInstance");
+  private static final ClassName NATIVE_ARRAY_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "ReadableNativeArray");
+  private static final ClassName BASE_JAVA_MODULE_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "BaseJavaModule");
+  private static final ClassName METHOD_INVOKER_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "ReactMethodInvoker");
+  private static final ClassName UNEXPECTED_TYPE_EXCEPTION_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "UnexpectedNativeTypeException");
+  private static final ClassName ARGUMENTS_PARSE_EXCEPTION_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "NativeArgumentsParseException");
+
+  private static final TypeName STRING_ARRAY_TYPE = ArrayTypeName.of(String.class);
+  private static final TypeName INT_ARRAY_TYPE = ArrayTypeName.of(int.class);
+
+  private final Map<TypeElement, List<ExecutableElement>> mModules;
+
+  @SuppressFieldNotInitialized
+  private Filer mFiler;
+  @SuppressFieldNotInitialized
+  private Messager mMessager;
+
+  public ReactMethodProcessor() {
+    mModules = new LinkedHashMap<>();
+  }
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+
+    mFiler = processingEnv.getFiler();
+    mMessager = processingEnv.getMessager();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    // Clear methods from previous rounds
+    mModules.clear();
+
+    Set<? extends Element> elements = roundEnv.getElementsAnnotatedWith(ReactMethod.class);
+    for (Element element : elements) {
+      try {
+        checkElement(element);
+        TypeElement moduleType = (TypeElement) element.getEnclosingElement();
+        List<ExecutableElement> methods = mModules.get(moduleType);
+        if (methods == null) {
+          methods = new ArrayList<>();
+          mModules.put(moduleType, methods);
+        }
+        methods.add((ExecutableElement) element);
+      } catch (ReactMethodException e) {
+        error(e.element, e.getMessage());
+      }
+    }
+
+    for (Map.Entry<TypeElement, List<ExecutableElement>> module : mModules.entrySet()) {
+      TypeElement moduleType = module.getKey();
+      List<ExecutableElement> methods = module.getValue();
+      try {
+        if (!shouldIgnoreClass(moduleType)) {
+          // Sort by name
+          Collections.sort(
+              methods, new Comparator<ExecutableElement>() {
+                @Override
+                public int compare(ExecutableElement a, ExecutableElement b) {
+                  return a.getSimpleName().toString().compareTo(b.getSimpleName().toString());
+                }
+              });
+          generateCode(moduleType, parseMethods(methods));
+        } else if (shouldWarnClass(moduleType)) {
+          warning(moduleType, "Class was skipped. Classes need to be non-private.");
+        }
+      } catch (IOException e) {
+        error(e.getMessage());
+      } catch (ReactMethodException e) {
+        error(e.element, e.getMessage());
+      } catch (Exception e) {
+        error(moduleType, e.getMessage());
+      }
+    }
+
+    return true;
+  }
+
+  private static List<MethodInfo> parseMethods(List<ExecutableElement> methods)
+      throws ReactMethodException {
+    List<MethodInfo> methodInfos = new ArrayList<>(methods.size());
+    String previousName = null;
+    for (ExecutableElement method : methods) {
+      String name = method.getSimpleName().toString();
+      if (name.equals(previousName)) {
+        throw new ReactMethodException(
+            "Java Module " + method.getEnclosingElement().getSimpleName() +
+                " method name already registered: " + name,
+            method);
+      }
+      previousName = name;
+      methodInfos.add(new MethodInfo(method));
+    }
+    return methodInfos;
+  }
+
+  private void generateCode(TypeElement moduleType, List<MethodInfo> methods)
+      throws IOException {
+    ClassName className = ClassName.get(moduleType);
+
+    CodeBlock.Builder names = CodeBlock.builder();
+    CodeBlock.Builder types = CodeBlock.builder();
+    CodeBlock.Builder jsArgumentCounts = CodeBlock.builder();
+    for (int i = 0, size = methods.size(); i < size; i++) {
+      MethodInfo method = methods.get(i);
+      String separator = i == 0 ? "" : ", ";
+      names.add("$L$S", separator, method.mName);
+      types.add("$L$T.$L", separator, BASE_JAVA_MODULE_TYPE, method.getTypeConstant());
+      jsArgumentCounts.add("$L$L", separator, method.mJSArgumentsNeeded);
+    }
+
+    String invokerClassName = getClassName(moduleType, className.packageName()) + "$$MethodInvoker";
+    TypeSpec invokerClass = TypeSpec.classBuilder(invokerClassName)
+        .addSuperinterface(ParameterizedTypeName.get(METHOD_INVOKER_TYPE, className))
+        .addModifiers(PUBLIC)
+        .addField(generateArrayField(STRING_ARRAY_TYPE, "METHOD_NAMES", names.build()))
+        .addField(generateArrayField(STRING_ARRAY_TYPE, "METHOD_TYPES", types.build()))
+        .addField(
+            generateArrayField(INT_ARRAY_TYPE, "JS_ARGUMENT_COUNTS", jsArgumentCounts.build()))
+        .addMethod(generateGetter(STRING_ARRAY_TYPE, "getMethodNames", "METHOD_NAMES"))
+        .addMethod(generateGetter(STRING_ARRAY_TYPE, "getMethodTypes", "METHOD_TYPES"))
+        .addMethod(generateGetter(INT_ARRAY_TYPE, "getJSArgumentCounts", "JS_ARGUMENT_COUNTS"))
+        .addMethod(generateInvokeSpec(className, methods))
+        .build();
+
+    JavaFile javaFile = JavaFile.builder(className.packageName(), invokerClass)
+        .addFileComment("Generated by " + getClass().getName())
+        .build();
+
+    javaFile.writeTo(mFiler);
+  }
+
+  private static String getClassName(TypeElement type, String packageName) {
+    int packageLen = packageName.length() + 1;
+    return type.getQualifiedName().toString().substring(packageLen).replace('.', '$');
+  }
+
+  private static FieldSpec generateArrayField(TypeName type, String name, CodeBlock values) {
+    return FieldSpec.builder(type, name, PRIVATE, STATIC, FINAL)
+        .initializer("{$L}", values)
+        .build();
+  }
+
+  private static MethodSpec generateGetter(TypeName type, String name, String field) {
+    return MethodSpec.methodBuilder(name)
+        .addModifiers(PUBLIC)
+        .addAnnotation(Override.class)
+        .returns(type)
+        .addStatement("return $L", field)
+        .build();
+  }
+
+  private static MethodSpec generateInvokeSpec(ClassName className, List<MethodInfo> methods) {
+    return MethodSpec.methodBuilder("invoke")
+        .addModifiers(PUBLIC)
+        .addAnnotation(Override.class)
+        .returns(TypeName.VOID)
+        .addParameter(className, "module")
+        .addParameter(TypeName.INT, "methodIndex")
+        .addParameter(CATALYST_INSTANCE_TYPE, "catalystInstance")
+        .addParameter(NATIVE_ARRAY_TYPE, "parameters")
+        .addCode(generateInvoke(methods))
+        .build();
+  }
+
+  private static CodeBlock generateInvoke(List<MethodInfo> methods) {
+    CodeBlock.Builder builder = CodeBlock.builder();
+
+    builder.add("switch (methodIndex) {\n").indent();
+    for (int i = 0, size = methods.size(); i < size; i++) {
+      MethodInfo method = methods.get(i);
+      builder
+          .add("case $L: {\n", i)
+          .indent();
+
+      List<TypeName> argumentTypes = method.mArgumentTypes;
+      for (int arg = 0; arg < argumentTypes.size(); arg++) {
+        builder.addStatement("$T arg$L", argumentTypes.get(arg), arg);
+      }
+      if (!argumentTypes.isEmpty()) {
+        builder.beginControlFlow("try");
+        int jsIndex = 0;
+        for (int arg = 0; arg < argumentTypes.size(); arg++) {
+          builder.add("arg$L = ", arg);
+          jsIndex += getArgumentExtractor(argumentTypes.get(arg), jsIndex, builder);
+          builder.add(";\n");
+        }
+        builder
+            .nextControlFlow("catch ($T e)", UNEXPECTED_TYPE_EXCEPTION_TYPE)
+            .addStatement(
+                "throw new $T(e.getMessage() + \" (constructing arguments for \" + " +
+                    "module.getName() + \".$L)\", e)",
+                ARGUMENTS_PARSE_EXCEPTION_TYPE,
+                method.mName)
+            .endControlFlow();
+      }
+
+      // Like the reflective call, rethrow unchecked exceptions as they are and wrap checked ones
+      if (method.mThrowsExceptions) {
+        builder.beginControlFlow("try");
+      }
+      builder.add("module.$L(", method.mName);
+      for (int arg = 0; arg < argumentTypes.size(); arg++) {
+        builder.add(arg == 0 ? "arg$L" : ", arg$L", arg);
+      }
+      builder.addStatement(")");
+      if (method.mThrowsExceptions) {
+        builder
+            .nextControlFlow("catch ($T e)", RuntimeException.class)
+            .addStatement("throw e")
+            .nextControlFlow("catch ($T e)", Exception.class)
+            .addStatement(
+                "throw new $T(\"Could not invoke \" + module.getName() + \".$L\", e)",
+                RuntimeException.class,
+                method.mName)
+            .endControlFlow();
+      }
+
+      builder
+          .addStatement("break")
+          .unindent()
+          .add("}\n");
+    }
+    builder
+        .add("default:\n")
+        .indent()
+        .addStatement(
+            "throw new $T(\"Unknown method index: \" + methodIndex)",
+            IllegalArgumentException.class)
+        .unindent();
+    builder.unindent().add("}\n");
+
+    return builder.build();
+  }
+
+  /**
+   * @return the number of JS arguments consumed by the argument
+   */
+  private static int getArgumentExtractor(
+      TypeName argumentType,
+      int jsIndex,
+      CodeBlock.Builder builder) {
+    if (argumentType.equals(STRING_TYPE)) {
+      builder.add("parameters.getString($L)", jsIndex);
+      return 1;
+    } else if (argumentType.equals(READABLE_MAP_TYPE)) {
+      builder.add("parameters.getMap($L)", jsIndex);
+      return 1;
+    } else if (argumentType.equals(READABLE_ARRAY_TYPE)) {
+      builder.add("parameters.getArray($L)", jsIndex);
+      return 1;
+    } else if (argumentType.equals(CALLBACK_TYPE)) {
+      addCallbackExtractor(jsIndex, builder);
+      return 1;
+    } else if (argumentType.equals(PROMISE_TYPE)) {
+      builder.add("new $T(", PROMISE_IMPL_TYPE);
+      addCallbackExtractor(jsIndex, builder);
+      builder.add(", ");
+      addCallbackExtractor(jsIndex + 1, builder);
+      builder.add(")");
+      return 2;
+    }
+
+    TypeName primitiveType = argumentType.isPrimitive() ? argumentType : argumentType.unbox();
+    if (primitiveType.equals(TypeName.BOOLEAN)) {
+      builder.add("parameters.getBoolean($L)", jsIndex);
+    } else if (primitiveType.equals(TypeName.DOUBLE)) {
+      builder.add("parameters.getDouble($L)", jsIndex);
+    } else if (primitiveType.equals(TypeName.FLOAT)) {
+      builder.add("(float) parameters.getDouble($L)", jsIndex);
+    } else if (primitiveType.equals(TypeName.INT)) {
+      builder.add("(int) parameters.getDouble($L)", jsIndex);
+    } else {
+      throw new IllegalArgumentException();
+    }
+    return 1;
+  }
+
+  private static void addCallbackExtractor(int jsIndex, CodeBlock.Builder builder) {
+    builder.add(
+        "parameters.isNull($L) ? null : new $T(catalystInstance, (int) parameters.getDouble($L))",
+        jsIndex,
+        CALLBACK_IMPL_TYPE,
+        jsIndex);
+  }
+
+  private static boolean isSupportedArgumentType(TypeName type) {
+    if (type.equals(STRING_TYPE) ||
+        type.equals(READABLE_MAP_TYPE) ||
+        type.equals(READABLE_ARRAY_TYPE) ||
+        type.equals(CALLBACK_TYPE) ||
+        type.equals(PROMISE_TYPE)) {
+      return true;
+    }
+    TypeName primitiveType;
+    try {
+      primitiveType = type.isPrimitive() ? type : type.unbox();
+    } catch (UnsupportedOperationException e) {
+      return false;
+    }
+    return primitiveType.equals(TypeName.BOOLEAN) ||
+        primitiveType.equals(TypeName.DOUBLE) ||
+        primitiveType.equals(TypeName.FLOAT) ||
+        primitiveType.equals(TypeName.INT);
+  }
+
+  private static void checkElement(Element element) throws ReactMethodException {
+    if (element.getKind() != ElementKind.METHOD || !element.getModifiers().contains(PUBLIC)) {
+      throw new ReactMethodException("@ReactMethod annotation must be on a public method", element);
+    }
+    if (((ExecutableElement) element).getReturnType().getKind() != TypeKind.VOID) {
+      throw new ReactMethodException("@ReactMethod methods must return void", element);
+    }
+  }
+
+  private static boolean shouldIgnoreClass(TypeElement moduleType) {
+    return moduleType.getModifiers().contains(PRIVATE)
+        || moduleType.getModifiers().contains(ABSTRACT)
+        || !moduleType.getTypeParameters().isEmpty();
+  }
+
+  private static boolean shouldWarnClass(TypeElement moduleType) {
+    return moduleType.getModifiers().contains(PRIVATE);
+  }
+
+  private void error(Element element, String message) {
+    mMessager.printMessage(ERROR, message, element);
+  }
+
+  private void error(String message) {
+    mMessager.printMessage(ERROR, message);
+  }
+
+  private void warning(Element element, String message) {
+    mMessager.printMessage(WARNING, message, element);
+  }
+
+  private static class MethodInfo {
+    public final String mName;
+    public final List<TypeName> mArgumentTypes;
+    public final boolean mIsAsync;
+    public final int mJSArgumentsNeeded;
+    public final boolean mThrowsExceptions;
+
+    public MethodInfo(ExecutableElement method) throws ReactMethodException {
+      mName = method.getSimpleName().toString();
+      mThrowsExceptions = !method.getThrownTypes().isEmpty();
+      mArgumentTypes = new ArrayList<>();
+
+      List<? extends VariableElement> parameters = method.getParameters();
+      boolean isAsync = false;
+      int jsArgumentsNeeded = 0;
+      for (int i = 0, size = parameters.size(); i < size; i++) {
+        TypeName type = TypeName.get(parameters.get(i).asType());
+        if (!isSupportedArgumentType(type)) {
+          throw new ReactMethodException(
+              "Argument " + i + " must be of a supported type, got " + type,
+              method);
+        }
+        if (type.equals(PROMISE_TYPE)) {
+          if (i != size - 1) {
+            throw new ReactMethodException("Promise must be used as last parameter only", method);
+          }
+          isAsync = true;
+          jsArgumentsNeeded += 2;
+        } else {
+          jsArgumentsNeeded++;
+        }
+        mArgumentTypes.add(type);
+      }
+      mIsAsync = isAsync;
+      mJSArgumentsNeeded = jsArgumentsNeeded;
+    }
+
+    public String getTypeConstant() {
+      return mIsAsync ? "METHOD_TYPE_REMOTE_ASYNC" : "METHOD_TYPE_REMOTE";
+    }
+  }
+
+  private static class ReactMethodException extends Exception {
+    public final Element element;
+
+    public ReactMethodException(String message, Element element) {
+      super(message);
+      this.element = element;
+    }
+  }
+}
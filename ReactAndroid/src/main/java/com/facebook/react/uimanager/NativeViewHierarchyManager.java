@@ -12,8 +12,8 @@ package com.facebook.react.uimanager;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
-import android.util.SparseArray;
-import android.util.SparseBooleanArray;
+import java.util.ArrayList;
+
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
@@ -32,6 +32,7 @@ import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.SoftAssertions;
 import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.common.IntObjectMap;
 import com.facebook.react.touch.JSResponderHandler;
 import com.facebook.react.uimanager.layoutanimation.LayoutAnimationController;
 import com.facebook.systrace.Systrace;
@@ -63,22 +64,23 @@ import com.facebook.systrace.SystraceMessage;
 public class NativeViewHierarchyManager {
 
   private final AnimationRegistry mAnimationRegistry;
-  private final SparseArray<View> mTagsToViews;
-  private final SparseArray<ViewManager> mTagsToViewManagers;
-  private final SparseBooleanArray mRootTags;
+  private final IntObjectMap<View> mTagsToViews;
+  private final IntObjectMap<ViewManager> mTagsToViewManagers;
+  private final IntObjectMap<ThemedReactContext> mRootTagsToContexts;
   private final ViewManagerRegistry mViewManagers;
   private final JSResponderHandler mJSResponderHandler = new JSResponderHandler();
   private final RootViewManager mRootViewManager = new RootViewManager();
   private final LayoutAnimationController mLayoutAnimator = new LayoutAnimationController();
+  private final ArrayList<ViewManager> mRecyclingViewManagers = new ArrayList<>();
 
   private boolean mLayoutAnimationEnabled;
 
   public NativeViewHierarchyManager(ViewManagerRegistry viewManagers) {
     mAnimationRegistry = new AnimationRegistry();
     mViewManagers = viewManagers;
-    mTagsToViews = new SparseArray<>();
-    mTagsToViewManagers = new SparseArray<>();
-    mRootTags = new SparseBooleanArray();
+    mTagsToViews = new IntObjectMap<>();
+    mTagsToViewManagers = new IntObjectMap<>();
+    mRootTagsToContexts = new IntObjectMap<>();
   }
 
   protected final View resolveView(int tag) {
@@ -155,7 +157,7 @@ public class NativeViewHierarchyManager {
           View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
 
       // Check if the parent of the view has to layout the view, or the child has to lay itself out.
-      if (!mRootTags.get(parentTag)) {
+      if (!mRootTagsToContexts.containsKey(parentTag)) {
         ViewManager parentViewManager = mTagsToViewManagers.get(parentTag);
         ViewGroupManager parentViewGroupManager;
         if (parentViewManager instanceof ViewGroupManager) {
@@ -413,7 +415,7 @@ public class NativeViewHierarchyManager {
 
     mTagsToViews.put(tag, view);
     mTagsToViewManagers.put(tag, mRootViewManager);
-    mRootTags.put(tag, true);
+    mRootTagsToContexts.put(tag, themedContext);
     view.setId(tag);
   }
 
@@ -422,7 +424,8 @@ public class NativeViewHierarchyManager {
    */
   protected final void dropView(View view) {
     UiThreadUtil.assertOnUiThread();
-    if (!mRootTags.get(view.getId())) {
+    boolean isRootView = mRootTagsToContexts.containsKey(view.getId());
+    if (!isRootView) {
       // For non-root views we notify viewmanager with {@link ViewManager#onDropInstance}
       resolveViewManager(view.getId()).onDropViewInstance(view);
     }
@@ -440,17 +443,54 @@ public class NativeViewHierarchyManager {
     }
     mTagsToViews.remove(view.getId());
     mTagsToViewManagers.remove(view.getId());
+    if (!isRootView && viewManager.recycleView(view) &&
+        !mRecyclingViewManagers.contains(viewManager)) {
+      mRecyclingViewManagers.add(viewManager);
+    }
+  }
+
+  /**
+   * Creates a view of the given class for the given root ahead of time, so that it's taken from
+   * the pool of its {@link ViewManager} instead of constructed when it's needed.
+   *
+   * @return whether a view was created, false once the pool holds {@code targetCount} views for
+   * that root or if the root has been removed
+   */
+  public boolean preallocateView(int rootViewTag, String className, int targetCount) {
+    UiThreadUtil.assertOnUiThread();
+    ThemedReactContext rootContext = mRootTagsToContexts.get(rootViewTag);
+    if (rootContext == null) {
+      return false;
+    }
+    ViewManager viewManager = mViewManagers.get(className);
+    if (!viewManager.preallocateView(rootContext, mJSResponderHandler, targetCount)) {
+      return false;
+    }
+    if (!mRecyclingViewManagers.contains(viewManager)) {
+      mRecyclingViewManagers.add(viewManager);
+    }
+    return true;
   }
 
   public void removeRootView(int rootViewTag) {
     UiThreadUtil.assertOnUiThread();
-    if (!mRootTags.get(rootViewTag)) {
+    if (!mRootTagsToContexts.containsKey(rootViewTag)) {
         SoftAssertions.assertUnreachable(
             "View with tag " + rootViewTag + " is not registered as a root view");
     }
     View rootView = mTagsToViews.get(rootViewTag);
     dropView(rootView);
-    mRootTags.delete(rootViewTag);
+
+    // Recycled views hold on to the context of the root they were created for
+    ThemedReactContext rootContext = mRootTagsToContexts.remove(rootViewTag);
+    if (rootContext != null) {
+      for (int i = 0; i < mRecyclingViewManagers.size(); i++) {
+        ViewRecyclePool recyclePool = mRecyclingViewManagers.get(i).getRecyclePool();
+        if (recyclePool != null) {
+          recyclePool.evict(rootContext);
+        }
+      }
+    }
   }
 
   /**
@@ -504,7 +544,7 @@ public class NativeViewHierarchyManager {
       return;
     }
 
-    if (mRootTags.get(reactTag)) {
+    if (mRootTagsToContexts.containsKey(reactTag)) {
       SoftAssertions.assertUnreachable(
           "Cannot block native responder on " + reactTag + " that is a root view");
     }
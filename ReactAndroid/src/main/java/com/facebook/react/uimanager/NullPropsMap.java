@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import javax.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.ReadableType;
+import com.facebook.react.bridge.UnexpectedNativeTypeException;
+
+/**
+ * Props map where every given prop is set to null, the same way JS resets props that are removed
+ * from an element. Passing it through prop setters restores their default values.
+ */
+/*package*/ final class NullPropsMap implements ReadableMap {
+
+  private final String[] mKeys;
+
+  /*package*/ NullPropsMap(Collection<String> keys) {
+    mKeys = keys.toArray(new String[keys.size()]);
+    Arrays.sort(mKeys);
+  }
+
+  @Override
+  public boolean hasKey(String name) {
+    return Arrays.binarySearch(mKeys, name) >= 0;
+  }
+
+  @Override
+  public boolean isNull(String name) {
+    return true;
+  }
+
+  @Override
+  public boolean getBoolean(String name) {
+    throw new UnexpectedNativeTypeException("Prop " + name + " is null");
+  }
+
+  @Override
+  public double getDouble(String name) {
+    throw new UnexpectedNativeTypeException("Prop " + name + " is null");
+  }
+
+  @Override
+  public int getInt(String name) {
+    throw new UnexpectedNativeTypeException("Prop " + name + " is null");
+  }
+
+  @Override
+  public @Nullable String getString(String name) {
+    return null;
+  }
+
+  @Override
+  public @Nullable ReadableArray getArray(String name) {
+    return null;
+  }
+
+  @Override
+  public @Nullable ReadableMap getMap(String name) {
+    return null;
+  }
+
+  @Override
+  public ReadableType getType(String name) {
+    return ReadableType.Null;
+  }
+
+  @Override
+  public ReadableMapKeySetIterator keySetIterator() {
+    return new ReadableMapKeySetIterator() {
+      private int mIndex;
+
+      @Override
+      public boolean hasNextKey() {
+        return mIndex < mKeys.length;
+      }
+
+      @Override
+      public String nextKey() {
+        return mKeys[mIndex++];
+      }
+    };
+  }
+}
@@ -10,11 +10,11 @@
 package com.facebook.react.uimanager;
 
 import android.os.SystemClock;
-import android.support.v4.util.Pools;
 
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 /**
@@ -22,8 +22,8 @@ import com.facebook.react.uimanager.events.RCTEventEmitter;
  */
 public class OnLayoutEvent extends Event<OnLayoutEvent> {
 
-  private static final Pools.SynchronizedPool<OnLayoutEvent> EVENTS_POOL =
-      new Pools.SynchronizedPool<>(20);
+  private static final EventPool<OnLayoutEvent> EVENTS_POOL =
+      new EventPool<>(OnLayoutEvent.class, 20);
 
   private int mX, mY, mWidth, mHeight;
 
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.facebook.csslayout.CSSLayoutContext;
+import com.facebook.csslayout.CSSNode;
+
+/**
+ * Calculates layout of several independent root hierarchies concurrently on a bounded
+ * {@link ForkJoinPool}. The calling thread lays out the first root itself and then waits for the
+ * others, so this blocks until every root has been laid out.
+ *
+ * Each root gets its own {@link CSSLayoutContext}. All contexts share a single measure lock, so
+ * {@link CSSNode.MeasureFunction}s (e.g. text measurement, which uses a shared static TextPaint)
+ * never run concurrently; only the layout arithmetic itself is parallelized. Roots must not share
+ * any nodes.
+ */
+/*package*/ final class ParallelRootLayoutCalculator {
+
+  private static final int MAX_PARALLELISM = 4;
+
+  private final ForkJoinPool mPool;
+  private final Object mMeasureLock = new Object();
+  private final ArrayList<CSSLayoutContext> mLayoutContexts = new ArrayList<>();
+  private final ArrayList<ForkJoinTask<?>> mPendingTasks = new ArrayList<>();
+
+  public ParallelRootLayoutCalculator() {
+    this(Math.min(Runtime.getRuntime().availableProcessors(), MAX_PARALLELISM));
+  }
+
+  public ParallelRootLayoutCalculator(int parallelism) {
+    mPool = new ForkJoinPool(Math.max(parallelism, 1));
+  }
+
+  /**
+   * Lays out {@code roots[0..count)}. Exceptions thrown while laying out any root are rethrown on
+   * the calling thread once all roots have finished.
+   */
+  public void calculateLayouts(CSSNode[] roots, int count) {
+    while (mLayoutContexts.size() < count) {
+      mLayoutContexts.add(new CSSLayoutContext(mMeasureLock));
+    }
+
+    int firstUnsubmittedRoot = 1;
+    try {
+      for (; firstUnsubmittedRoot < count; firstUnsubmittedRoot++) {
+        mPendingTasks.add(
+            mPool.submit(
+                new RootLayoutTask(
+                    roots[firstUnsubmittedRoot],
+                    mLayoutContexts.get(firstUnsubmittedRoot))));
+      }
+    } catch (RejectedExecutionException e) {
+      // The pool was shut down concurrently, lay out the remaining roots on this thread
+    }
+
+    RuntimeException failure = null;
+    try {
+      if (count > 0) {
+        roots[0].calculateLayout(mLayoutContexts.get(0));
+      }
+      for (int i = firstUnsubmittedRoot; i < count; i++) {
+        roots[i].calculateLayout(mLayoutContexts.get(i));
+      }
+    } catch (RuntimeException e) {
+      failure = e;
+    }
+
+    for (int i = 0; i < mPendingTasks.size(); i++) {
+      try {
+        mPendingTasks.get(i).join();
+      } catch (RuntimeException e) {
+        if (failure == null) {
+          failure = e;
+        }
+      }
+    }
+    mPendingTasks.clear();
+
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Stops the threads of the pool. Roots laid out afterwards are laid out on the calling thread.
+   */
+  public void shutdown() {
+    mPool.shutdown();
+  }
+
+  private static class RootLayoutTask implements Runnable {
+
+    private final CSSNode mRoot;
+    private final CSSLayoutContext mLayoutContext;
+
+    private RootLayoutTask(CSSNode root, CSSLayoutContext layoutContext) {
+      mRoot = root;
+      mLayoutContext = layoutContext;
+    }
+
+    @Override
+    public void run() {
+      mRoot.calculateLayout(mLayoutContext);
+    }
+  }
+}
@@ -60,6 +60,13 @@ public class ReactShadowNode extends CSSNode {
   private float mAbsoluteRight;
   private float mAbsoluteBottom;
 
+  // Last layout sent to the native hierarchy, see dispatchUpdates
+  private boolean mHasDispatchedLayout;
+  private int mDispatchedScreenX;
+  private int mDispatchedScreenY;
+  private int mDispatchedScreenWidth;
+  private int mDispatchedScreenHeight;
+
   /**
    * Nodes that return {@code true} will be treated as "virtual" nodes. That is, nodes that are not
    * mapped into native views (e.g. nested text node). By default this method returns {@code false}.
@@ -87,6 +94,15 @@ public class ReactShadowNode extends CSSNode {
     return mNodeUpdated || hasNewLayout() || isDirty();
   }
 
+  /**
+   * @return whether any descendant of this node may have updates to dispatch. Descendants can be
+   * skipped when neither this node nor any node below it was updated and this node's layout was
+   * reused from the previous pass (see {@link #hasNewDescendantLayout()}).
+   */
+  /* package */ final boolean hasDescendantUpdates() {
+    return mNodeUpdated || !hasNewLayout() || hasNewDescendantLayout();
+  }
+
   public final void markUpdateSeen() {
     mNodeUpdated = false;
     if (hasNewLayout()) {
@@ -117,6 +133,8 @@ public class ReactShadowNode extends CSSNode {
     super.addChildAt(child, i);
     markUpdated();
     ReactShadowNode node = (ReactShadowNode) child;
+    // The native parent of the child may have changed, so its layout has to be sent again
+    node.mHasDispatchedLayout = false;
 
     int increase = node.mIsLayoutOnly ? node.mTotalNativeChildren : 1;
     mTotalNativeChildren += increase;
@@ -202,7 +220,24 @@ public class ReactShadowNode extends CSSNode {
       mAbsoluteRight = Math.round(absoluteX + getLayoutX() + getLayoutWidth());
       mAbsoluteBottom = Math.round(absoluteY + getLayoutY() + getLayoutHeight());
 
-      nativeViewHierarchyOptimizer.handleUpdateLayout(this);
+      // Siblings of a changed node get a new layout even when they didn't move; don't send the
+      // same frame to the native view again.
+      int screenX = getScreenX();
+      int screenY = getScreenY();
+      int screenWidth = getScreenWidth();
+      int screenHeight = getScreenHeight();
+      if (!mHasDispatchedLayout ||
+          screenX != mDispatchedScreenX ||
+          screenY != mDispatchedScreenY ||
+          screenWidth != mDispatchedScreenWidth ||
+          screenHeight != mDispatchedScreenHeight) {
+        mHasDispatchedLayout = true;
+        mDispatchedScreenX = screenX;
+        mDispatchedScreenY = screenY;
+        mDispatchedScreenWidth = screenWidth;
+        mDispatchedScreenHeight = screenHeight;
+        nativeViewHierarchyOptimizer.handleUpdateLayout(this);
+      }
     }
   }
 
@@ -9,8 +9,7 @@
 
 package com.facebook.react.uimanager;
 
-import android.util.SparseArray;
-import android.util.SparseBooleanArray;
+import com.facebook.react.common.IntObjectMap;
 
 /**
  * Simple container class to keep track of {@link ReactShadowNode}s associated with a particular
@@ -18,28 +17,28 @@ import android.util.SparseBooleanArray;
  */
 /*package*/ class ShadowNodeRegistry {
 
-  private final SparseArray<ReactShadowNode> mTagsToCSSNodes;
-  private final SparseBooleanArray mRootTags;
+  private final IntObjectMap<ReactShadowNode> mTagsToCSSNodes;
+  private final IntObjectMap<ReactShadowNode> mRootNodes;
 
   public ShadowNodeRegistry() {
-    mTagsToCSSNodes = new SparseArray<>();
-    mRootTags = new SparseBooleanArray();
+    mTagsToCSSNodes = new IntObjectMap<>();
+    mRootNodes = new IntObjectMap<>();
   }
 
   public void addRootNode(ReactShadowNode node) {
     int tag = node.getReactTag();
     mTagsToCSSNodes.put(tag, node);
-    mRootTags.put(tag, true);
+    mRootNodes.put(tag, node);
   }
 
   public void removeRootNode(int tag) {
-    if (!mRootTags.get(tag)) {
+    if (!mRootNodes.containsKey(tag)) {
       throw new IllegalViewOperationException(
           "View with tag " + tag + " is not registered as a root view");
     }
 
     mTagsToCSSNodes.remove(tag);
-    mRootTags.delete(tag);
+    mRootNodes.remove(tag);
   }
 
   public void addNode(ReactShadowNode node) {
@@ -47,7 +46,7 @@ import android.util.SparseBooleanArray;
   }
 
   public void removeNode(int tag) {
-    if (mRootTags.get(tag)) {
+    if (mRootNodes.containsKey(tag)) {
       throw new IllegalViewOperationException(
           "Trying to remove root node " + tag + " without using removeRootNode!");
     }
@@ -59,14 +58,14 @@ import android.util.SparseBooleanArray;
   }
 
   public boolean isRootNode(int tag) {
-    return mRootTags.get(tag);
+    return mRootNodes.containsKey(tag);
   }
 
   public int getRootNodeCount() {
-    return mRootTags.size();
+    return mRootNodes.size();
   }
 
   public int getRootTag(int index) {
-    return mRootTags.keyAt(index);
+    return mRootNodes.keyAt(index);
   }
 }
@@ -11,6 +11,7 @@ package com.facebook.react.uimanager;
 import javax.annotation.Nullable;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 import com.facebook.csslayout.CSSLayoutContext;
@@ -18,9 +19,11 @@ import com.facebook.infer.annotation.Assertions;
 import com.facebook.react.animation.Animation;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.DecodedReadableMap;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableNativeMap;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.uimanager.debug.NotThreadSafeViewHierarchyUpdateDebugListener;
 import com.facebook.react.uimanager.events.EventDispatcher;
@@ -40,11 +43,19 @@ public class UIImplementation {
   private final NativeViewHierarchyOptimizer mNativeViewHierarchyOptimizer;
   private final int[] mMeasureBuffer = new int[4];
 
+  // Guards creating and shutting down mParallelRootLayoutCalculator, which can be requested from
+  // any thread. dispatchViewUpdates only reads the volatile field.
+  private final Object mParallelRootLayoutLock = new Object();
+  private volatile @Nullable ParallelRootLayoutCalculator mParallelRootLayoutCalculator;
+  private boolean mIsDestroyed;
+  private boolean mIsPropsDecodingEnabled;
+  private ReactShadowNode[] mRootsToLayout = new ReactShadowNode[4];
+
   public UIImplementation(ReactApplicationContext reactContext, List<ViewManager> viewManagers) {
     this(reactContext, new ViewManagerRegistry(viewManagers));
   }
 
-  private UIImplementation(ReactApplicationContext reactContext, ViewManagerRegistry viewManagers) {
+  public UIImplementation(ReactApplicationContext reactContext, ViewManagerRegistry viewManagers) {
     this(
         viewManagers,
         new UIViewOperationQueue(reactContext, new NativeViewHierarchyManager(viewManagers)));
@@ -79,6 +90,10 @@ public class UIImplementation {
     return mViewManagers.get(className);
   }
 
+  /* package */ Collection<String> getProvidedViewManagerNames() {
+    return mViewManagers.getProvidedViewManagerNames();
+  }
+
   /**
    * Registers a root node with a given tag, size and ThemedReactContext
    * and adds it to a node registry.
@@ -108,6 +123,17 @@ public class UIImplementation {
     mOperationsQueue.enqueueRemoveRootView(rootViewTag);
   }
 
+  /**
+   * Hints that {@code count} views of the given class are about to be created in the given root,
+   * so they can be created ahead of time while the UI thread is idle. See
+   * {@link UIViewOperationQueue#enqueuePreallocateViews}.
+   */
+  public void preallocateViews(int rootViewTag, String className, int count) {
+    // Fail early for unknown classes, as creating the views happens later on the UI thread
+    mViewManagers.get(className);
+    mOperationsQueue.enqueuePreallocateViews(rootViewTag, className, count);
+  }
+
   /**
    * Invoked when native view that corresponds to a root node has its size changed.
    */
@@ -143,7 +169,7 @@ public class UIImplementation {
 
     CatalystStylesDiffMap styles = null;
     if (props != null) {
-      styles = new CatalystStylesDiffMap(props);
+      styles = new CatalystStylesDiffMap(decodeProps(props));
       cssNode.updateProperties(styles);
     }
 
@@ -173,7 +199,7 @@ public class UIImplementation {
     }
 
     if (props != null) {
-      CatalystStylesDiffMap styles = new CatalystStylesDiffMap(props);
+      CatalystStylesDiffMap styles = new CatalystStylesDiffMap(decodeProps(props));
       cssNode.updateProperties(styles);
       handleUpdateView(cssNode, className, styles);
     }
@@ -437,17 +463,101 @@ public class UIImplementation {
    * Invoked at the end of the transaction to commit any updates to the node hierarchy.
    */
   public void dispatchViewUpdates(EventDispatcher eventDispatcher, int batchId) {
-    for (int i = 0; i < mShadowNodeRegistry.getRootNodeCount(); i++) {
+    int rootNodeCount = mShadowNodeRegistry.getRootNodeCount();
+    // Read once, the calculator is shut down and cleared from the thread destroying the instance
+    ParallelRootLayoutCalculator parallelRootLayoutCalculator = mParallelRootLayoutCalculator;
+    if (parallelRootLayoutCalculator != null && rootNodeCount > 1) {
+      dispatchViewUpdatesWithParallelLayout(
+          eventDispatcher,
+          parallelRootLayoutCalculator,
+          rootNodeCount);
+    } else {
+      for (int i = 0; i < rootNodeCount; i++) {
+        int tag = mShadowNodeRegistry.getRootTag(i);
+        ReactShadowNode cssRoot = mShadowNodeRegistry.getNode(tag);
+        notifyOnBeforeLayoutRecursive(cssRoot);
+
+        calculateRootLayout(cssRoot);
+        applyUpdatesRecursive(cssRoot, 0f, 0f, eventDispatcher);
+      }
+    }
+
+    mNativeViewHierarchyOptimizer.onBatchComplete();
+    mOperationsQueue.dispatchViewUpdates(batchId);
+  }
+
+  private void dispatchViewUpdatesWithParallelLayout(
+      EventDispatcher eventDispatcher,
+      ParallelRootLayoutCalculator parallelRootLayoutCalculator,
+      int rootNodeCount) {
+    if (mRootsToLayout.length < rootNodeCount) {
+      mRootsToLayout = new ReactShadowNode[rootNodeCount];
+    }
+
+    // onBeforeLayout and the dispatch of updates may touch shared state (e.g. the operation queue),
+    // so only the layout calculation itself runs concurrently.
+    for (int i = 0; i < rootNodeCount; i++) {
       int tag = mShadowNodeRegistry.getRootTag(i);
       ReactShadowNode cssRoot = mShadowNodeRegistry.getNode(tag);
       notifyOnBeforeLayoutRecursive(cssRoot);
+      mRootsToLayout[i] = cssRoot;
+    }
 
-      calculateRootLayout(cssRoot);
-      applyUpdatesRecursive(cssRoot, 0f, 0f, eventDispatcher);
+    SystraceMessage.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "calculateRootLayouts")
+        .arg("rootCount", rootNodeCount)
+        .flush();
+    try {
+      parallelRootLayoutCalculator.calculateLayouts(mRootsToLayout, rootNodeCount);
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
     }
 
-    mNativeViewHierarchyOptimizer.onBatchComplete();
-    mOperationsQueue.dispatchViewUpdates(batchId);
+    for (int i = 0; i < rootNodeCount; i++) {
+      applyUpdatesRecursive(mRootsToLayout[i], 0f, 0f, eventDispatcher);
+      mRootsToLayout[i] = null;
+    }
+  }
+
+  /**
+   * When enabled, the layout of independent root views is calculated concurrently on a small
+   * thread pool during {@link #dispatchViewUpdates}, instead of one root after another. Measure
+   * functions are still never invoked concurrently. This has no effect with a single root view.
+   *
+   * Note that {@link #calculateRootLayout} is not called in this mode, so subclasses overriding it
+   * should not enable it. Enabling it after {@link #onCatalystInstanceDestroy} has no effect.
+   */
+  public void setParallelRootLayoutEnabled(boolean enabled) {
+    synchronized (mParallelRootLayoutLock) {
+      if (enabled && mParallelRootLayoutCalculator == null && !mIsDestroyed) {
+        mParallelRootLayoutCalculator = new ParallelRootLayoutCalculator();
+      } else if (!enabled && mParallelRootLayoutCalculator != null) {
+        mParallelRootLayoutCalculator.shutdown();
+        mParallelRootLayoutCalculator = null;
+      }
+    }
+  }
+
+  /**
+   * When enabled, the props passed to {@link #createView} and {@link #updateView} are copied out
+   * of native memory with a single JNI call, see {@link DecodedReadableMap}. Shadow node and view
+   * setters then read them from the Java heap instead of making one or two JNI calls per prop.
+   */
+  public void setPropsDecodingEnabled(boolean enabled) {
+    mIsPropsDecodingEnabled = enabled;
+  }
+
+  private ReadableMap decodeProps(ReadableMap props) {
+    if (mIsPropsDecodingEnabled && props instanceof ReadableNativeMap) {
+      return ((ReadableNativeMap) props).decode();
+    }
+    return props;
+  }
+
+  /**
+   * See {@link UIViewOperationQueue#setFrameBudgetMs}.
+   */
+  public void setUIOperationsFrameBudgetMs(long budgetMs) {
+    mOperationsQueue.setFrameBudgetMs(budgetMs);
   }
 
   /**
@@ -556,6 +666,13 @@ public class UIImplementation {
   public void onHostDestroy() {
   }
 
+  public void onCatalystInstanceDestroy() {
+    synchronized (mParallelRootLayoutLock) {
+      mIsDestroyed = true;
+      setParallelRootLayoutEnabled(false);
+    }
+  }
+
   public void setViewHierarchyUpdateDebugListener(
       @Nullable NotThreadSafeViewHierarchyUpdateDebugListener listener) {
     mOperationsQueue.setViewHierarchyUpdateDebugListener(listener);
@@ -666,6 +783,10 @@ public class UIImplementation {
     cssNode.onBeforeLayout();
   }
 
+  /**
+   * Calculates the layout of a root view and its hierarchy. Not called for roots laid out in
+   * parallel, see {@link #setParallelRootLayoutEnabled}.
+   */
   protected void calculateRootLayout(ReactShadowNode cssRoot) {
     SystraceMessage.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "cssRoot.calculateLayout")
         .arg("rootTag", cssRoot.getReactTag())
@@ -686,7 +807,7 @@ public class UIImplementation {
       return;
     }
 
-    if (!cssNode.isVirtualAnchor()) {
+    if (!cssNode.isVirtualAnchor() && cssNode.hasDescendantUpdates()) {
       for (int i = 0; i < cssNode.getChildCount(); i++) {
         applyUpdatesRecursive(
             cssNode.getChildAt(i),
@@ -21,4 +21,14 @@ public class UIImplementationProvider {
       List<ViewManager> viewManagers) {
     return new UIImplementation(reactContext, viewManagers);
   }
+
+  /**
+   * Used instead of {@link #createUIImplementation(ReactApplicationContext, List)} when some view
+   * managers are registered through a {@link ViewManagerProvider}.
+   */
+  public UIImplementation createUIImplementation(
+      ReactApplicationContext reactContext,
+      ViewManagerRegistry viewManagerRegistry) {
+    return new UIImplementation(reactContext, viewManagerRegistry);
+  }
 }
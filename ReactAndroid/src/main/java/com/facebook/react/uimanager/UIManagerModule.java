@@ -12,6 +12,9 @@ package com.facebook.react.uimanager;
 import javax.annotation.Nullable;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -24,11 +27,13 @@ import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Callback;
 import com.facebook.react.bridge.LifecycleEventListener;
 import com.facebook.react.bridge.OnBatchCompleteListener;
+import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.uimanager.debug.NotThreadSafeViewHierarchyUpdateDebugListener;
 import com.facebook.react.uimanager.events.EventDispatcher;
@@ -74,6 +79,11 @@ public class UIManagerModule extends ReactContextBaseJavaModule implements
   private final EventDispatcher mEventDispatcher;
   private final Map<String, Object> mModuleConstants;
   private final UIImplementation mUIImplementation;
+  // View managers whose constants are created when JS asks for them, see
+  // getConstantsForViewManager. Only accessed from the native modules thread.
+  private final @Nullable Map<String, ViewManager> mLazyViewManagers;
+  // View managers created on first use, whose constants are always loaded lazily
+  private final Collection<String> mProvidedViewManagerNames;
 
   private int mNextRootViewTag = 1;
   private int mBatchId = 0;
@@ -82,12 +92,50 @@ public class UIManagerModule extends ReactContextBaseJavaModule implements
       ReactApplicationContext reactContext,
       List<ViewManager> viewManagerList,
       UIImplementation uiImplementation) {
+    this(reactContext, viewManagerList, uiImplementation, null);
+  }
+
+  /**
+   * @param eagerViewManagerNames if not null, enables exporting view manager constants lazily:
+   * only the view managers named here, e.g. the ones used by the first screen of the app, have
+   * their constants exported with the constants of this module. JS loads the constants of the
+   * other view managers with {@link #getConstantsForViewManager} the first time it requires their
+   * native component. View managers registered through a {@link ViewManagerProvider} always have
+   * their constants loaded that way. RCTView is always exported eagerly.
+   */
+  public UIManagerModule(
+      ReactApplicationContext reactContext,
+      List<ViewManager> viewManagerList,
+      UIImplementation uiImplementation,
+      @Nullable Collection<String> eagerViewManagerNames) {
     super(reactContext);
     mEventDispatcher = new EventDispatcher(reactContext);
     DisplayMetrics displayMetrics = reactContext.getResources().getDisplayMetrics();
     DisplayMetricsHolder.setDisplayMetrics(displayMetrics);
-    mModuleConstants = createConstants(displayMetrics, viewManagerList);
     mUIImplementation = uiImplementation;
+    mProvidedViewManagerNames = uiImplementation.getProvidedViewManagerNames();
+    Collection<String> eagerNames = null;
+    if (eagerViewManagerNames != null) {
+      // requireNativeComponent adds the native props of RCTView to those of every component, so
+      // they must be available before any component is required
+      eagerNames = new HashSet<>(eagerViewManagerNames);
+      eagerNames.add(ViewProps.VIEW_CLASS_NAME);
+    }
+    mModuleConstants = createConstants(
+        displayMetrics,
+        viewManagerList,
+        eagerNames,
+        mProvidedViewManagerNames);
+    if (eagerNames != null) {
+      mLazyViewManagers = new HashMap<>();
+      for (ViewManager viewManager : viewManagerList) {
+        if (!eagerNames.contains(viewManager.getName())) {
+          mLazyViewManagers.put(viewManager.getName(), viewManager);
+        }
+      }
+    } else {
+      mLazyViewManagers = null;
+    }
 
     reactContext.addLifecycleEventListener(this);
   }
@@ -121,16 +169,52 @@ public class UIManagerModule extends ReactContextBaseJavaModule implements
   public void onCatalystInstanceDestroy() {
     super.onCatalystInstanceDestroy();
     mEventDispatcher.onCatalystInstanceDestroyed();
+    mUIImplementation.onCatalystInstanceDestroy();
   }
 
   private static Map<String, Object> createConstants(
       DisplayMetrics displayMetrics,
-      List<ViewManager> viewManagerList) {
+      List<ViewManager> viewManagerList,
+      @Nullable Collection<String> eagerViewManagerNames,
+      Collection<String> providedViewManagerNames) {
     Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "CreateUIManagerConstants");
     try {
       return UIManagerModuleConstantsHelper.createConstants(
           displayMetrics,
-          viewManagerList);
+          viewManagerList,
+          eagerViewManagerNames,
+          providedViewManagerNames);
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+    }
+  }
+
+  /**
+   * Resolves the promise with the constants of a view manager that weren't exported with the
+   * constants of this module, see {@link #UIManagerModule(ReactApplicationContext, List,
+   * UIImplementation, Collection)}. Each view manager is only expected to be asked for once.
+   */
+  @ReactMethod
+  public void getConstantsForViewManager(String viewManagerName, Promise promise) {
+    ViewManager viewManager =
+        mLazyViewManagers != null ? mLazyViewManagers.get(viewManagerName) : null;
+    if (viewManager == null && mProvidedViewManagerNames.contains(viewManagerName)) {
+      viewManager = mUIImplementation.resolveViewManager(viewManagerName);
+    }
+    if (viewManager == null) {
+      promise.reject("No lazily exported ViewManager named " + viewManagerName);
+      return;
+    }
+
+    SystraceMessage.beginSection(
+        Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+        "CreateViewManagerConstants")
+        .arg("ViewManager", viewManagerName)
+        .flush();
+    try {
+      promise.resolve(
+          Arguments.makeNativeMap(
+              UIManagerModuleConstantsHelper.createViewManagerConstants(viewManager)));
     } finally {
       Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
     }
@@ -192,6 +276,21 @@ public class UIManagerModule extends ReactContextBaseJavaModule implements
     mUIImplementation.removeRootView(rootViewTag);
   }
 
+  /**
+   * Hints that views are about to be created in the given root, e.g. before navigating to a new
+   * screen, so they can be created ahead of time while the UI thread is idle.
+   *
+   * @param viewCounts map from view class name to the number of views of that class to create
+   */
+  @ReactMethod
+  public void preallocateViews(int rootViewTag, ReadableMap viewCounts) {
+    ReadableMapKeySetIterator iterator = viewCounts.keySetIterator();
+    while (iterator.hasNextKey()) {
+      String className = iterator.nextKey();
+      mUIImplementation.preallocateViews(rootViewTag, className, viewCounts.getInt(className));
+    }
+  }
+
   private void updateRootNodeSize(int rootViewTag, int newWidth, int newHeight) {
     getReactApplicationContext().assertOnNativeModulesQueueThread();
 
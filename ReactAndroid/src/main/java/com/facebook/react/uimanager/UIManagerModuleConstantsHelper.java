@@ -9,7 +9,10 @@
 
 package com.facebook.react.uimanager;
 
-import java.util.HashMap;
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +28,7 @@ import com.facebook.react.common.MapBuilder;
 
   private static final String CUSTOM_BUBBLING_EVENT_TYPES_KEY = "customBubblingEventTypes";
   private static final String CUSTOM_DIRECT_EVENT_TYPES_KEY = "customDirectEventTypes";
+  private static final String LAZY_VIEW_MANAGER_NAMES_KEY = "LazyViewManagerNames";
 
   /**
    * Generates map of constants that is then exposed by {@link UIManagerModule}. The constants map
@@ -37,14 +41,29 @@ import com.facebook.react.common.MapBuilder;
    * that corresponds to the view manager's name (see {@link ViewManager#getName}). Constants are
    * merged into the map of {@link UIManagerModule} base constants that is stored in
    * {@link UIManagerModuleConstants}.
+   *
+   * When {@param eagerViewManagerNames} isn't null, only the view managers it names get their
+   * constants exported here. The names of the others are listed under 'LazyViewManagerNames' and
+   * their constants are created by {@link #createViewManagerConstants} the first time JS asks for
+   * them. Event types of all view managers are exported either way, since JS registers them all
+   * with its event plugins when it starts.
+   *
+   * View managers named in {@param providedViewManagerNames} haven't been created yet, see
+   * {@link ViewManagerProvider}, so they're always listed under 'LazyViewManagerNames'. Their
+   * custom event types aren't exported, they may only dispatch event types exported by other view
+   * managers or by {@link UIManagerModuleConstants}. Debug builds fail when a provided view manager
+   * has custom event types, see {@link ViewManagerRegistry}.
    * TODO(6845124): Create a test for this
    */
   /* package */ static Map<String, Object> createConstants(
       DisplayMetrics displayMetrics,
-      List<ViewManager> viewManagers) {
+      List<ViewManager> viewManagers,
+      @Nullable Collection<String> eagerViewManagerNames,
+      Collection<String> providedViewManagerNames) {
     Map<String, Object> constants = UIManagerModuleConstants.getConstants(displayMetrics);
     Map bubblingEventTypesConstants = UIManagerModuleConstants.getBubblingEventTypeConstants();
     Map directEventTypesConstants = UIManagerModuleConstants.getDirectEventTypeConstants();
+    List<String> lazyViewManagerNames = new ArrayList<>(providedViewManagerNames);
 
     for (ViewManager viewManager : viewManagers) {
       Map viewManagerBubblingEvents = viewManager.getExportedCustomBubblingEventTypeConstants();
@@ -55,19 +74,12 @@ import com.facebook.react.common.MapBuilder;
       if (viewManagerDirectEvents != null) {
         recursiveMerge(directEventTypesConstants, viewManagerDirectEvents);
       }
-      Map viewManagerConstants = MapBuilder.newHashMap();
-      Map customViewConstants = viewManager.getExportedViewConstants();
-      if (customViewConstants != null) {
-        viewManagerConstants.put("Constants", customViewConstants);
-      }
-      Map viewManagerCommands = viewManager.getCommandsMap();
-      if (viewManagerCommands != null) {
-        viewManagerConstants.put("Commands", viewManagerCommands);
-      }
-      Map<String, String> viewManagerNativeProps = viewManager.getNativeProps();
-      if (!viewManagerNativeProps.isEmpty()) {
-        viewManagerConstants.put("NativeProps", viewManagerNativeProps);
+      if (eagerViewManagerNames != null &&
+          !eagerViewManagerNames.contains(viewManager.getName())) {
+        lazyViewManagerNames.add(viewManager.getName());
+        continue;
       }
+      Map viewManagerConstants = createViewManagerConstants(viewManager);
       if (!viewManagerConstants.isEmpty()) {
         constants.put(viewManager.getName(), viewManagerConstants);
       }
@@ -75,10 +87,35 @@ import com.facebook.react.common.MapBuilder;
 
     constants.put(CUSTOM_BUBBLING_EVENT_TYPES_KEY, bubblingEventTypesConstants);
     constants.put(CUSTOM_DIRECT_EVENT_TYPES_KEY, directEventTypesConstants);
+    if (eagerViewManagerNames != null || !lazyViewManagerNames.isEmpty()) {
+      constants.put(LAZY_VIEW_MANAGER_NAMES_KEY, lazyViewManagerNames);
+    }
 
     return constants;
   }
 
+  /**
+   * Creates the constants JS needs to use the views of {@param viewManager}: its custom constants,
+   * commands and native props. Collecting native props scans the annotations of the view manager
+   * and its shadow node class, which is the expensive part of exporting constants.
+   */
+  /* package */ static Map<String, Object> createViewManagerConstants(ViewManager viewManager) {
+    Map<String, Object> viewManagerConstants = MapBuilder.newHashMap();
+    Map customViewConstants = viewManager.getExportedViewConstants();
+    if (customViewConstants != null) {
+      viewManagerConstants.put("Constants", customViewConstants);
+    }
+    Map viewManagerCommands = viewManager.getCommandsMap();
+    if (viewManagerCommands != null) {
+      viewManagerConstants.put("Commands", viewManagerCommands);
+    }
+    Map<String, String> viewManagerNativeProps = viewManager.getNativeProps();
+    if (!viewManagerNativeProps.isEmpty()) {
+      viewManagerConstants.put("NativeProps", viewManagerNativeProps);
+    }
+    return viewManagerConstants;
+  }
+
   /**
    * Merges {@param source} map into {@param dest} map recursively
    */
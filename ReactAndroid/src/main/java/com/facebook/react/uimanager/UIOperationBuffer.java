@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import javax.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Compact, growable command stream used by {@link UIViewOperationQueue} to buffer the operations
+ * of a batch without allocating an object per operation.
+ *
+ * Each operation is written as an opcode followed by its arguments. Primitive arguments go to
+ * {@code int[]} and {@code float[]} streams, object arguments (props, callbacks, ...) to a side
+ * table, and they are read back in the same order they were written. Once all operations have
+ * been read, {@link #clear} makes the buffer reusable while keeping its capacity.
+ *
+ * Before any operation is read, operations can also be accessed by index, which lets a batch be
+ * rewritten (see {@link UIOperationCoalescer}).
+ *
+ * Not thread safe: a buffer is written by one thread, then handed over to another for reading.
+ */
+/*package*/ final class UIOperationBuffer {
+
+  private static final int INITIAL_INT_CAPACITY = 256;
+  private static final int INITIAL_FLOAT_CAPACITY = 16;
+  private static final int INITIAL_OBJECT_CAPACITY = 32;
+  private static final int INITIAL_OPERATION_CAPACITY = 64;
+  // Ints of mOperationStarts per operation
+  private static final int STARTS_STRIDE = 3;
+
+  private int[] mInts = new int[INITIAL_INT_CAPACITY];
+  private float[] mFloats = new float[INITIAL_FLOAT_CAPACITY];
+  private Object[] mObjects = new Object[INITIAL_OBJECT_CAPACITY];
+  // For each operation, where its arguments start in the int, float and object streams
+  private int[] mOperationStarts = new int[INITIAL_OPERATION_CAPACITY * STARTS_STRIDE];
+  private int mIntCount;
+  private int mFloatCount;
+  private int mObjectCount;
+  private int mOperationCount;
+
+  private int mIntPosition;
+  private int mFloatPosition;
+  private int mObjectPosition;
+
+  private int mBatchId;
+  private boolean mIsAtomic;
+
+  public void addOperation(int opcode) {
+    int startsIndex = mOperationCount * STARTS_STRIDE;
+    if (startsIndex + STARTS_STRIDE > mOperationStarts.length) {
+      mOperationStarts = Arrays.copyOf(mOperationStarts, mOperationStarts.length * 2);
+    }
+    mOperationStarts[startsIndex] = mIntCount;
+    mOperationStarts[startsIndex + 1] = mFloatCount;
+    mOperationStarts[startsIndex + 2] = mObjectCount;
+    putInt(opcode);
+    mOperationCount++;
+  }
+
+  public void putInt(int value) {
+    if (mIntCount == mInts.length) {
+      mInts = Arrays.copyOf(mInts, mIntCount * 2);
+    }
+    mInts[mIntCount++] = value;
+  }
+
+  public void putBoolean(boolean value) {
+    putInt(value ? 1 : 0);
+  }
+
+  public void putFloat(float value) {
+    if (mFloatCount == mFloats.length) {
+      mFloats = Arrays.copyOf(mFloats, mFloatCount * 2);
+    }
+    mFloats[mFloatCount++] = value;
+  }
+
+  public void putObject(@Nullable Object value) {
+    if (mObjectCount == mObjects.length) {
+      mObjects = Arrays.copyOf(mObjects, mObjectCount * 2);
+    }
+    mObjects[mObjectCount++] = value;
+  }
+
+  /**
+   * @return whether there is another operation to read. When true, the next value read with
+   * {@link #nextInt} is its opcode.
+   */
+  public boolean hasNext() {
+    return mIntPosition < mIntCount;
+  }
+
+  public int nextInt() {
+    return mInts[mIntPosition++];
+  }
+
+  public boolean nextBoolean() {
+    return mInts[mIntPosition++] != 0;
+  }
+
+  public float nextFloat() {
+    return mFloats[mFloatPosition++];
+  }
+
+  public @Nullable Object nextObject() {
+    return mObjects[mObjectPosition++];
+  }
+
+  public int getOpcode(int operation) {
+    return mInts[mOperationStarts[operation * STARTS_STRIDE]];
+  }
+
+  /**
+   * @return the {@code index}th int argument of the given operation
+   */
+  public int getInt(int operation, int index) {
+    return mInts[mOperationStarts[operation * STARTS_STRIDE] + 1 + index];
+  }
+
+  /**
+   * @return the {@code index}th object argument of the given operation
+   */
+  public @Nullable Object getObject(int operation, int index) {
+    return mObjects[mOperationStarts[operation * STARTS_STRIDE + 2] + index];
+  }
+
+  public void setObject(int operation, int index, @Nullable Object value) {
+    mObjects[mOperationStarts[operation * STARTS_STRIDE + 2] + index] = value;
+  }
+
+  /**
+   * Removes the operations whose index is flagged in {@code removed}, keeping the others in order.
+   * Must not be called once operations have started being read.
+   */
+  public void removeOperations(boolean[] removed) {
+    int operationCount = 0;
+    int intCount = 0;
+    int floatCount = 0;
+    int objectCount = 0;
+    for (int operation = 0; operation < mOperationCount; operation++) {
+      int startsIndex = operation * STARTS_STRIDE;
+      int intStart = mOperationStarts[startsIndex];
+      int floatStart = mOperationStarts[startsIndex + 1];
+      int objectStart = mOperationStarts[startsIndex + 2];
+      boolean isLast = operation == mOperationCount - 1;
+      int intEnd = isLast ? mIntCount : mOperationStarts[startsIndex + STARTS_STRIDE];
+      int floatEnd = isLast ? mFloatCount : mOperationStarts[startsIndex + STARTS_STRIDE + 1];
+      int objectEnd = isLast ? mObjectCount : mOperationStarts[startsIndex + STARTS_STRIDE + 2];
+      if (removed[operation]) {
+        continue;
+      }
+
+      int newStartsIndex = operationCount * STARTS_STRIDE;
+      mOperationStarts[newStartsIndex] = intCount;
+      mOperationStarts[newStartsIndex + 1] = floatCount;
+      mOperationStarts[newStartsIndex + 2] = objectCount;
+      System.arraycopy(mInts, intStart, mInts, intCount, intEnd - intStart);
+      System.arraycopy(mFloats, floatStart, mFloats, floatCount, floatEnd - floatStart);
+      System.arraycopy(mObjects, objectStart, mObjects, objectCount, objectEnd - objectStart);
+      intCount += intEnd - intStart;
+      floatCount += floatEnd - floatStart;
+      objectCount += objectEnd - objectStart;
+      operationCount++;
+    }
+    Arrays.fill(mObjects, objectCount, mObjectCount, null);
+    mOperationCount = operationCount;
+    mIntCount = intCount;
+    mFloatCount = floatCount;
+    mObjectCount = objectCount;
+  }
+
+  public int size() {
+    return mOperationCount;
+  }
+
+  public boolean isEmpty() {
+    return mOperationCount == 0;
+  }
+
+  public int getBatchId() {
+    return mBatchId;
+  }
+
+  public void setBatchId(int batchId) {
+    mBatchId = batchId;
+  }
+
+  /**
+   * Marks the operations of this buffer as having to be executed together, in a single frame.
+   */
+  public void markAtomic() {
+    mIsAtomic = true;
+  }
+
+  public boolean isAtomic() {
+    return mIsAtomic;
+  }
+
+  /**
+   * Drops all operations, releasing references to their object arguments, and rewinds the buffer
+   * so it can be written again.
+   */
+  public void clear() {
+    Arrays.fill(mObjects, 0, mObjectCount, null);
+    mIntCount = 0;
+    mFloatCount = 0;
+    mObjectCount = 0;
+    mOperationCount = 0;
+    mIntPosition = 0;
+    mFloatPosition = 0;
+    mObjectPosition = 0;
+    mIsAtomic = false;
+  }
+}
@@ -0,0 +1,467 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import android.util.SparseIntArray;
+
+import com.facebook.react.bridge.DecodedReadableMap;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableNativeMap;
+import com.facebook.react.bridge.WritableNativeMap;
+import com.facebook.systrace.Systrace;
+
+import static com.facebook.react.uimanager.UIViewOperationQueue.OP_CONFIGURE_LAYOUT_ANIMATION;
+import static com.facebook.react.uimanager.UIViewOperationQueue.OP_CREATE_VIEW;
+import static com.facebook.react.uimanager.UIViewOperationQueue.OP_MANAGE_CHILDREN;
+import static com.facebook.react.uimanager.UIViewOperationQueue.OP_REGISTER_ANIMATION;
+import static com.facebook.react.uimanager.UIViewOperationQueue.OP_REMOVE_ANIMATION;
+import static com.facebook.react.uimanager.UIViewOperationQueue.OP_SET_LAYOUT_ANIMATION_ENABLED;
+import static com.facebook.react.uimanager.UIViewOperationQueue.OP_UPDATE_EXTRA_DATA;
+import static com.facebook.react.uimanager.UIViewOperationQueue.OP_UPDATE_LAYOUT;
+import static com.facebook.react.uimanager.UIViewOperationQueue.OP_UPDATE_PROPERTIES;
+
+/**
+ * Rewrites the operations of a batch in a {@link UIOperationBuffer} before it's handed over to
+ * the UI thread, so that the same end state is reached with fewer operations:
+ *
+ *  - consecutive property updates of a view are merged into the first one (or into the props the
+ *    view is created with), as long as no other operation touches the view in between: updating
+ *    its layout, adding it to or deleting it from a parent, managing its children, or removing
+ *    any view by index (which may be this one) all keep later updates where they are;
+ *  - of consecutive layout updates of a view, only the last one is kept, unless its props or
+ *    children change or it is added to a parent in between;
+ *  - views that are created and deleted within the batch are never created, along with the
+ *    children created for them.
+ *
+ * Operations that read the native hierarchy or have effects we can't reason about (measure,
+ * commands, custom operations, ...) act as barriers: nothing is moved or removed across them.
+ *
+ * Only used from the native modules thread. All state is reused between batches.
+ */
+/*package*/ final class UIOperationCoalescer {
+
+  private static final int NONE = -1;
+  private static final int MULTIPLE = -2;
+
+  // All keyed by view tag, and only valid within the current barrier-free segment of the batch
+  private final SparseIntArray mLayoutOperations = new SparseIntArray();
+  private final SparseIntArray mPropsOperations = new SparseIntArray();
+  private final SparseIntArray mCreateOperations = new SparseIntArray();
+  // Operation adding the view to a parent, or MULTIPLE if it was added more than once
+  private final SparseIntArray mAddOperations = new SparseIntArray();
+  // Operation managing the children of the view, or MULTIPLE if there is more than one
+  private final SparseIntArray mManageChildrenOperations = new SparseIntArray();
+  // Operation deleting a view created in this segment, or MULTIPLE
+  private final SparseIntArray mDeleteOperations = new SparseIntArray();
+
+  private final SparseIntArray mEliminatedTags = new SparseIntArray();
+  private final ArrayList<Object> mPendingRewrites = new ArrayList<>();
+  private int[] mTagStack = new int[16];
+
+  private boolean[] mRemoved = new boolean[64];
+  private int mRemovedCount;
+
+  /**
+   * Coalesces the operations of {@code operations} in place.
+   *
+   * @return the number of operations that were removed
+   */
+  public int coalesce(UIOperationBuffer operations) {
+    int operationCount = operations.size();
+    if (mRemoved.length < operationCount) {
+      mRemoved = new boolean[Math.max(operationCount, mRemoved.length * 2)];
+    }
+    Arrays.fill(mRemoved, 0, operationCount, false);
+    mRemovedCount = 0;
+
+    int segmentStart = 0;
+    for (int op = 0; op < operationCount; op++) {
+      int opcode = operations.getOpcode(op);
+      switch (opcode) {
+        case OP_CREATE_VIEW:
+          visitCreateView(operations, op);
+          break;
+        case OP_UPDATE_PROPERTIES:
+          visitUpdateProperties(operations, op);
+          break;
+        case OP_UPDATE_LAYOUT:
+          visitUpdateLayout(operations, op);
+          break;
+        case OP_MANAGE_CHILDREN:
+          visitManageChildren(operations, op);
+          break;
+        case OP_UPDATE_EXTRA_DATA:
+          mPropsOperations.delete(operations.getInt(op, 0));
+          break;
+        case OP_SET_LAYOUT_ANIMATION_ENABLED:
+        case OP_CONFIGURE_LAYOUT_ANIMATION:
+        case OP_REGISTER_ANIMATION:
+        case OP_REMOVE_ANIMATION:
+          // Don't involve any view
+          break;
+        default:
+          finishSegment(operations, segmentStart, op);
+          segmentStart = op + 1;
+          break;
+      }
+    }
+    finishSegment(operations, segmentStart, operationCount);
+
+    int removedCount = mRemovedCount;
+    if (removedCount > 0) {
+      operations.removeOperations(mRemoved);
+    }
+    return removedCount;
+  }
+
+  private void visitCreateView(UIOperationBuffer operations, int op) {
+    int tag = operations.getInt(op, 0);
+    mCreateOperations.put(tag, op);
+    mPropsOperations.put(tag, op);
+  }
+
+  private void visitUpdateProperties(UIOperationBuffer operations, int op) {
+    int tag = operations.getInt(op, 0);
+    mLayoutOperations.delete(tag);
+    int targetOp = mPropsOperations.get(tag, NONE);
+    if (targetOp != NONE) {
+      int propsIndex = operations.getOpcode(targetOp) == OP_CREATE_VIEW ? 2 : 0;
+      CatalystStylesDiffMap merged = mergeProps(
+          (CatalystStylesDiffMap) operations.getObject(targetOp, propsIndex),
+          (CatalystStylesDiffMap) operations.getObject(op, 0));
+      if (merged != null) {
+        operations.setObject(targetOp, propsIndex, merged);
+        remove(operations, op);
+        return;
+      }
+    }
+    mPropsOperations.put(tag, op);
+  }
+
+  private void visitUpdateLayout(UIOperationBuffer operations, int op) {
+    int tag = operations.getInt(op, 0);
+    // Props set after this layout must not be applied before it
+    mPropsOperations.delete(tag);
+    int previousOp = mLayoutOperations.get(tag, NONE);
+    if (previousOp != NONE) {
+      remove(operations, previousOp);
+    }
+    mLayoutOperations.put(tag, op);
+  }
+
+  private void visitManageChildren(UIOperationBuffer operations, int op) {
+    int parentTag = operations.getInt(op, 0);
+    int[] indicesToRemove = (int[]) operations.getObject(op, 0);
+    ViewAtIndex[] viewsToAdd = (ViewAtIndex[]) operations.getObject(op, 1);
+    int[] tagsToDelete = (int[]) operations.getObject(op, 2);
+
+    if (indicesToRemove != null) {
+      // The tags of the removed views aren't known here, so no props are merged across this
+      mPropsOperations.clear();
+    } else {
+      mPropsOperations.delete(parentTag);
+    }
+    mLayoutOperations.delete(parentTag);
+    mManageChildrenOperations.put(
+        parentTag,
+        mManageChildrenOperations.get(parentTag, NONE) == NONE ? op : MULTIPLE);
+
+    if (viewsToAdd != null) {
+      for (int i = 0; i < viewsToAdd.length; i++) {
+        int tag = viewsToAdd[i].mTag;
+        mPropsOperations.delete(tag);
+        mLayoutOperations.delete(tag);
+        mAddOperations.put(tag, mAddOperations.get(tag, NONE) == NONE ? op : MULTIPLE);
+      }
+    }
+    if (tagsToDelete != null) {
+      for (int i = 0; i < tagsToDelete.length; i++) {
+        int tag = tagsToDelete[i];
+        mPropsOperations.delete(tag);
+        if (mCreateOperations.get(tag, NONE) != NONE) {
+          mDeleteOperations.put(tag, mDeleteOperations.get(tag, NONE) == NONE ? op : MULTIPLE);
+        }
+      }
+    }
+  }
+
+  /**
+   * Eliminates the views created and deleted within the segment that ends at {@code end}, then
+   * resets all per-segment state.
+   */
+  private void finishSegment(UIOperationBuffer operations, int start, int end) {
+    for (int i = 0; i < mDeleteOperations.size(); i++) {
+      int deleteOp = mDeleteOperations.valueAt(i);
+      if (deleteOp != MULTIPLE) {
+        tryEliminateView(operations, mDeleteOperations.keyAt(i), deleteOp, start, end);
+      }
+    }
+
+    mLayoutOperations.clear();
+    mPropsOperations.clear();
+    mCreateOperations.clear();
+    mAddOperations.clear();
+    mManageChildrenOperations.clear();
+    mDeleteOperations.clear();
+  }
+
+  /**
+   * Removes all operations on {@code tag} and the views created as its descendants, if they all
+   * happen within this segment and {@code tag} is only ever added once to its parent. The
+   * operations managing the children of that parent are rewritten as if the view never existed.
+   */
+  private void tryEliminateView(
+      UIOperationBuffer operations,
+      int tag,
+      int deleteOp,
+      int start,
+      int end) {
+    int addOp = mAddOperations.get(tag, NONE);
+    if (addOp == NONE || addOp == MULTIPLE || addOp > deleteOp || mRemoved[deleteOp]) {
+      return;
+    }
+    int parentTag = operations.getInt(addOp, 0);
+    if (parentTag != operations.getInt(deleteOp, 0)) {
+      return;
+    }
+
+    if (!collectCreatedSubtree(operations, tag) ||
+        !rewriteParentOperations(operations, tag, parentTag, addOp, deleteOp)) {
+      mEliminatedTags.clear();
+      mPendingRewrites.clear();
+      return;
+    }
+
+    for (int i = 0; i < mPendingRewrites.size(); i += 3) {
+      operations.setObject(
+          (Integer) mPendingRewrites.get(i),
+          (Integer) mPendingRewrites.get(i + 1),
+          mPendingRewrites.get(i + 2));
+    }
+    mPendingRewrites.clear();
+
+    for (int op = start; op < end; op++) {
+      if (!mRemoved[op] && isOperationOnEliminatedView(operations, op)) {
+        remove(operations, op);
+      }
+    }
+    mEliminatedTags.clear();
+  }
+
+  /**
+   * Collects {@code rootTag} and its descendants in {@link #mEliminatedTags}.
+   *
+   * @return false if some view of the subtree wasn't created in this segment, or its children
+   * were changed in ways other than a single addition, in which case it can't be eliminated
+   */
+  private boolean collectCreatedSubtree(UIOperationBuffer operations, int rootTag) {
+    int stackSize = 0;
+    mTagStack[stackSize++] = rootTag;
+    while (stackSize > 0) {
+      int tag = mTagStack[--stackSize];
+      if (mCreateOperations.get(tag, NONE) == NONE) {
+        return false;
+      }
+      mEliminatedTags.put(tag, tag);
+
+      int manageChildrenOp = mManageChildrenOperations.get(tag, NONE);
+      if (manageChildrenOp == NONE) {
+        continue;
+      }
+      if (manageChildrenOp == MULTIPLE ||
+          operations.getObject(manageChildrenOp, 0) != null ||
+          operations.getObject(manageChildrenOp, 2) != null) {
+        return false;
+      }
+      ViewAtIndex[] viewsToAdd = (ViewAtIndex[]) operations.getObject(manageChildrenOp, 1);
+      if (viewsToAdd == null) {
+        continue;
+      }
+      for (int i = 0; i < viewsToAdd.length; i++) {
+        int childTag = viewsToAdd[i].mTag;
+        if (mAddOperations.get(childTag, NONE) != manageChildrenOp ||
+            mDeleteOperations.get(childTag, NONE) != NONE) {
+          return false;
+        }
+        if (stackSize == mTagStack.length) {
+          mTagStack = Arrays.copyOf(mTagStack, stackSize * 2);
+        }
+        mTagStack[stackSize++] = childTag;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Computes the children operations of {@code parentTag} between the addition and the deletion
+   * of {@code tag} as if it had never been added, shifting the indices past its position. The new
+   * arguments are stored in {@link #mPendingRewrites}, to be applied only if the whole view can be
+   * eliminated.
+   *
+   * @return false if {@code tag} isn't removed from its parent by {@code deleteOp}
+   */
+  private boolean rewriteParentOperations(
+      UIOperationBuffer operations,
+      int tag,
+      int parentTag,
+      int addOp,
+      int deleteOp) {
+    int position = NONE;
+    for (int op = addOp; op <= deleteOp; op++) {
+      if (operations.getOpcode(op) != OP_MANAGE_CHILDREN ||
+          operations.getInt(op, 0) != parentTag ||
+          mRemoved[op]) {
+        continue;
+      }
+
+      // Removals are applied from the highest index down, before any addition
+      int[] indicesToRemove = (int[]) operations.getObject(op, 0);
+      if (position != NONE && indicesToRemove != null) {
+        int[] newIndicesToRemove = new int[indicesToRemove.length];
+        int newCount = 0;
+        boolean removedView = false;
+        for (int i = indicesToRemove.length - 1; i >= 0; i--) {
+          int index = indicesToRemove[i];
+          if (index > position) {
+            newIndicesToRemove[newCount++] = index - 1;
+          } else if (index == position) {
+            removedView = true;
+          } else {
+            newIndicesToRemove[newCount++] = index;
+            position--;
+          }
+        }
+        if (removedView != (op == deleteOp)) {
+          return false;
+        }
+        if (removedView) {
+          // Additions in the deleting operation happen after the view is gone
+          position = NONE;
+        }
+        int[] reversed = new int[newCount];
+        for (int i = 0; i < newCount; i++) {
+          reversed[i] = newIndicesToRemove[newCount - 1 - i];
+        }
+        addPendingRewrite(op, 0, newCount > 0 ? reversed : null);
+      } else if (op == deleteOp) {
+        return false;
+      }
+
+      ViewAtIndex[] viewsToAdd = (ViewAtIndex[]) operations.getObject(op, 1);
+      if (viewsToAdd != null) {
+        ArrayList<ViewAtIndex> newViewsToAdd = new ArrayList<>(viewsToAdd.length);
+        for (int i = 0; i < viewsToAdd.length; i++) {
+          ViewAtIndex viewAtIndex = viewsToAdd[i];
+          if (op == addOp && viewAtIndex.mTag == tag) {
+            position = viewAtIndex.mIndex;
+          } else if (position == NONE || viewAtIndex.mIndex <= position) {
+            newViewsToAdd.add(viewAtIndex);
+            if (position != NONE) {
+              position++;
+            }
+          } else {
+            newViewsToAdd.add(new ViewAtIndex(viewAtIndex.mTag, viewAtIndex.mIndex - 1));
+          }
+        }
+        addPendingRewrite(
+            op,
+            1,
+            newViewsToAdd.isEmpty() ?
+                null :
+                newViewsToAdd.toArray(new ViewAtIndex[newViewsToAdd.size()]));
+      }
+
+      if (op == deleteOp) {
+        int[] tagsToDelete = (int[]) operations.getObject(op, 2);
+        int[] newTagsToDelete = new int[tagsToDelete.length - 1];
+        int newCount = 0;
+        for (int i = 0; i < tagsToDelete.length; i++) {
+          if (tagsToDelete[i] != tag) {
+            newTagsToDelete[newCount++] = tagsToDelete[i];
+          }
+        }
+        addPendingRewrite(op, 2, newCount > 0 ? newTagsToDelete : null);
+      }
+    }
+    return true;
+  }
+
+  private void addPendingRewrite(int op, int objectIndex, @Nullable Object value) {
+    mPendingRewrites.add(op);
+    mPendingRewrites.add(objectIndex);
+    mPendingRewrites.add(value);
+  }
+
+  private boolean isOperationOnEliminatedView(UIOperationBuffer operations, int op) {
+    switch (operations.getOpcode(op)) {
+      case OP_CREATE_VIEW:
+      case OP_UPDATE_PROPERTIES:
+      case OP_UPDATE_LAYOUT:
+      case OP_UPDATE_EXTRA_DATA:
+        return mEliminatedTags.indexOfKey(operations.getInt(op, 0)) >= 0;
+      case OP_MANAGE_CHILDREN:
+        // Either managing the children of an eliminated view, or left with nothing to do once the
+        // eliminated view was taken out of the arguments
+        return mEliminatedTags.indexOfKey(operations.getInt(op, 0)) >= 0 ||
+            (operations.getObject(op, 0) == null &&
+                operations.getObject(op, 1) == null &&
+                operations.getObject(op, 2) == null);
+      default:
+        return false;
+    }
+  }
+
+  private void remove(UIOperationBuffer operations, int op) {
+    if (mRemoved[op]) {
+      return;
+    }
+    mRemoved[op] = true;
+    mRemovedCount++;
+
+    // Close the flows started when these were enqueued, see UIViewOperationQueue
+    int opcode = operations.getOpcode(op);
+    if (opcode == OP_CREATE_VIEW) {
+      Systrace.endAsyncFlow(Systrace.TRACE_TAG_REACT_VIEW, "createView", operations.getInt(op, 0));
+    } else if (opcode == OP_UPDATE_LAYOUT) {
+      Systrace.endAsyncFlow(
+          Systrace.TRACE_TAG_REACT_VIEW,
+          "updateLayout",
+          operations.getInt(op, 0));
+    }
+  }
+
+  private static @Nullable CatalystStylesDiffMap mergeProps(
+      @Nullable CatalystStylesDiffMap first,
+      CatalystStylesDiffMap second) {
+    if (first == null) {
+      return second;
+    }
+    ReadableMap firstMap = first.mBackingMap;
+    ReadableMap secondMap = second.mBackingMap;
+    if (firstMap instanceof DecodedReadableMap && secondMap instanceof DecodedReadableMap) {
+      return new CatalystStylesDiffMap(
+          DecodedReadableMap.merge(
+              (DecodedReadableMap) firstMap,
+              (DecodedReadableMap) secondMap));
+    }
+    if (!(firstMap instanceof ReadableNativeMap) || !(secondMap instanceof ReadableNativeMap)) {
+      return null;
+    }
+    WritableNativeMap merged = new WritableNativeMap();
+    merged.merge(firstMap);
+    merged.merge(secondMap);
+    return new CatalystStylesDiffMap(merged);
+  }
+}
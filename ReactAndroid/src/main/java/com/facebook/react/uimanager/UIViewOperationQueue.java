@@ -37,11 +37,41 @@ import com.facebook.systrace.SystraceMessage;
  * execute all the JS operation coming from a single batch a single loop of the main (UI) android
  * looper.
  *
- * TODO(7135923): Pooling of operation objects
- * TODO(5694019): Consider a better data structure for operations queue to save on allocations
+ * Operations are not stored as objects: each one is written as an opcode and its arguments into a
+ * {@link UIOperationBuffer}. The buffer of a batch is handed over to the UI thread, and is reused
+ * for a later batch once the UI thread has executed it, so in steady state enqueuing operations
+ * such as layout updates doesn't allocate.
  */
 public class UIViewOperationQueue {
 
+  /* package */ static final int OP_REMOVE_ROOT_VIEW = 1;
+  /* package */ static final int OP_UPDATE_PROPERTIES = 2;
+  /* package */ static final int OP_UPDATE_LAYOUT = 3;
+  /* package */ static final int OP_CREATE_VIEW = 4;
+  /* package */ static final int OP_MANAGE_CHILDREN = 5;
+  /* package */ static final int OP_UPDATE_EXTRA_DATA = 6;
+  /* package */ static final int OP_CHANGE_JS_RESPONDER = 7;
+  /* package */ static final int OP_DISPATCH_COMMAND = 8;
+  /* package */ static final int OP_SHOW_POPUP_MENU = 9;
+  /* package */ static final int OP_REGISTER_ANIMATION = 10;
+  /* package */ static final int OP_ADD_ANIMATION = 11;
+  /* package */ static final int OP_REMOVE_ANIMATION = 12;
+  /* package */ static final int OP_SET_LAYOUT_ANIMATION_ENABLED = 13;
+  /* package */ static final int OP_CONFIGURE_LAYOUT_ANIMATION = 14;
+  /* package */ static final int OP_MEASURE = 15;
+  /* package */ static final int OP_FIND_TARGET_FOR_TOUCH = 16;
+  /* package */ static final int OP_SEND_ACCESSIBILITY_EVENT = 17;
+  /* package */ static final int OP_CUSTOM = 18;
+
+  // Buffers kept around for the next batch once the UI thread is done with them. One is enough
+  // to alternate between the buffer being filled and the one being executed.
+  private static final int MAX_SPARE_BUFFERS = 1;
+
+  private static final long NO_FRAME_BUDGET = 0;
+
+  // Time an idle frame may spend creating views ahead of time
+  private static final long PREALLOCATION_FRAME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(4);
+
   private final int[] mMeasureBuffer = new int[4];
 
   /**
@@ -52,412 +82,10 @@ public class UIViewOperationQueue {
     void execute();
   }
 
-  /**
-   * A spec for an operation on the native View hierarchy.
-   */
-  private abstract class ViewOperation implements UIOperation {
-
-    public int mTag;
-
-    public ViewOperation(int tag) {
-      mTag = tag;
-    }
-  }
-
-  private final class RemoveRootViewOperation extends ViewOperation {
-
-    public RemoveRootViewOperation(int tag) {
-      super(tag);
-    }
-
-    @Override
-    public void execute() {
-      mNativeViewHierarchyManager.removeRootView(mTag);
-    }
-  }
-
-  private final class UpdatePropertiesOperation extends ViewOperation {
-
-    private final CatalystStylesDiffMap mProps;
-
-    private UpdatePropertiesOperation(int tag, CatalystStylesDiffMap props) {
-      super(tag);
-      mProps = props;
-    }
-
-    @Override
-    public void execute() {
-      mNativeViewHierarchyManager.updateProperties(mTag, mProps);
-    }
-  }
-
-  /**
-   * Operation for updating native view's position and size. The operation is not created directly
-   * by a {@link UIManagerModule} call from JS. Instead it gets inflated using computed position
-   * and size values by CSSNode hierarchy.
-   */
-  private final class UpdateLayoutOperation extends ViewOperation {
-
-    private final int mParentTag, mX, mY, mWidth, mHeight;
-
-    public UpdateLayoutOperation(
-        int parentTag,
-        int tag,
-        int x,
-        int y,
-        int width,
-        int height) {
-      super(tag);
-      mParentTag = parentTag;
-      mX = x;
-      mY = y;
-      mWidth = width;
-      mHeight = height;
-      Systrace.startAsyncFlow(Systrace.TRACE_TAG_REACT_VIEW, "updateLayout", mTag);
-    }
-
-    @Override
-    public void execute() {
-      Systrace.endAsyncFlow(Systrace.TRACE_TAG_REACT_VIEW, "updateLayout", mTag);
-      mNativeViewHierarchyManager.updateLayout(mParentTag, mTag, mX, mY, mWidth, mHeight);
-    }
-  }
-
-  private final class CreateViewOperation extends ViewOperation {
-
-    private final ThemedReactContext mThemedContext;
-    private final String mClassName;
-    private final @Nullable CatalystStylesDiffMap mInitialProps;
-
-    public CreateViewOperation(
-        ThemedReactContext themedContext,
-        int tag,
-        String className,
-        @Nullable CatalystStylesDiffMap initialProps) {
-      super(tag);
-      mThemedContext = themedContext;
-      mClassName = className;
-      mInitialProps = initialProps;
-      Systrace.startAsyncFlow(Systrace.TRACE_TAG_REACT_VIEW, "createView", mTag);
-    }
-
-    @Override
-    public void execute() {
-      Systrace.endAsyncFlow(Systrace.TRACE_TAG_REACT_VIEW, "createView", mTag);
-      mNativeViewHierarchyManager.createView(
-          mThemedContext,
-          mTag,
-          mClassName,
-          mInitialProps);
-    }
-  }
-
-  private final class ManageChildrenOperation extends ViewOperation {
-
-    private final @Nullable int[] mIndicesToRemove;
-    private final @Nullable ViewAtIndex[] mViewsToAdd;
-    private final @Nullable int[] mTagsToDelete;
-
-    public ManageChildrenOperation(
-        int tag,
-        @Nullable int[] indicesToRemove,
-        @Nullable ViewAtIndex[] viewsToAdd,
-        @Nullable int[] tagsToDelete) {
-      super(tag);
-      mIndicesToRemove = indicesToRemove;
-      mViewsToAdd = viewsToAdd;
-      mTagsToDelete = tagsToDelete;
-    }
-
-    @Override
-    public void execute() {
-      mNativeViewHierarchyManager.manageChildren(
-          mTag,
-          mIndicesToRemove,
-          mViewsToAdd,
-          mTagsToDelete);
-    }
-  }
-
-  private final class UpdateViewExtraData extends ViewOperation {
-
-    private final Object mExtraData;
-
-    public UpdateViewExtraData(int tag, Object extraData) {
-      super(tag);
-      mExtraData = extraData;
-    }
-
-    @Override
-    public void execute() {
-      mNativeViewHierarchyManager.updateViewExtraData(mTag, mExtraData);
-    }
-  }
-
-  private final class ChangeJSResponderOperation extends ViewOperation {
-
-    private final int mInitialTag;
-    private final boolean mBlockNativeResponder;
-    private final boolean mClearResponder;
-
-    public ChangeJSResponderOperation(
-        int tag,
-        int initialTag,
-        boolean clearResponder,
-        boolean blockNativeResponder) {
-      super(tag);
-      mInitialTag = initialTag;
-      mClearResponder = clearResponder;
-      mBlockNativeResponder = blockNativeResponder;
-    }
-
-    @Override
-    public void execute() {
-      if (!mClearResponder) {
-        mNativeViewHierarchyManager.setJSResponder(mTag, mInitialTag, mBlockNativeResponder);
-      } else {
-        mNativeViewHierarchyManager.clearJSResponder();
-      }
-    }
-  }
-
-  private final class DispatchCommandOperation extends ViewOperation {
-
-    private final int mCommand;
-    private final @Nullable ReadableArray mArgs;
-
-    public DispatchCommandOperation(int tag, int command, @Nullable ReadableArray args) {
-      super(tag);
-      mCommand = command;
-      mArgs = args;
-    }
-
-    @Override
-    public void execute() {
-      mNativeViewHierarchyManager.dispatchCommand(mTag, mCommand, mArgs);
-    }
-  }
-
-  private final class ShowPopupMenuOperation extends ViewOperation {
-
-    private final ReadableArray mItems;
-    private final Callback mSuccess;
-
-    public ShowPopupMenuOperation(
-        int tag,
-        ReadableArray items,
-        Callback success) {
-      super(tag);
-      mItems = items;
-      mSuccess = success;
-    }
-
-    @Override
-    public void execute() {
-      mNativeViewHierarchyManager.showPopupMenu(mTag, mItems, mSuccess);
-    }
-  }
-
-  /**
-   * A spec for animation operations (add/remove)
-   */
-  private static abstract class AnimationOperation implements UIViewOperationQueue.UIOperation {
-
-    protected final int mAnimationID;
-
-    public AnimationOperation(int animationID) {
-      mAnimationID = animationID;
-    }
-  }
-
-  private class RegisterAnimationOperation extends AnimationOperation {
-
-    private final Animation mAnimation;
-
-    private RegisterAnimationOperation(Animation animation) {
-      super(animation.getAnimationID());
-      mAnimation = animation;
-    }
-
-    @Override
-    public void execute() {
-      mAnimationRegistry.registerAnimation(mAnimation);
-    }
-  }
-
-  private class AddAnimationOperation extends AnimationOperation {
-    private final int mReactTag;
-    private final Callback mSuccessCallback;
-
-    private AddAnimationOperation(int reactTag, int animationID, Callback successCallback) {
-      super(animationID);
-      mReactTag = reactTag;
-      mSuccessCallback = successCallback;
-    }
-
-    @Override
-    public void execute() {
-      Animation animation = mAnimationRegistry.getAnimation(mAnimationID);
-      if (animation != null) {
-        mNativeViewHierarchyManager.startAnimationForNativeView(
-            mReactTag,
-            animation,
-            mSuccessCallback);
-      } else {
-        // node or animation not found
-        // TODO(5712813): cleanup callback in JS callbacks table in case of an error
-        throw new IllegalViewOperationException("Animation with id " + mAnimationID
-            + " was not found");
-      }
-    }
-  }
-
-  private final class RemoveAnimationOperation extends AnimationOperation {
-
-    private RemoveAnimationOperation(int animationID) {
-      super(animationID);
-    }
-
-    @Override
-    public void execute() {
-      Animation animation = mAnimationRegistry.getAnimation(mAnimationID);
-      if (animation != null) {
-        animation.cancel();
-      }
-    }
-  }
-
-  private class SetLayoutAnimationEnabledOperation implements UIOperation {
-    private final boolean mEnabled;
-
-    private SetLayoutAnimationEnabledOperation(final boolean enabled) {
-      mEnabled = enabled;
-    }
-
-    @Override
-    public void execute() {
-      mNativeViewHierarchyManager.setLayoutAnimationEnabled(mEnabled);
-    }
-  }
-
-  private class ConfigureLayoutAnimationOperation implements UIOperation {
-    private final ReadableMap mConfig;
-
-    private ConfigureLayoutAnimationOperation(final ReadableMap config) {
-      mConfig = config;
-    }
-
-    @Override
-    public void execute() {
-      mNativeViewHierarchyManager.configureLayoutAnimation(mConfig);
-    }
-  }
-
-  private final class MeasureOperation implements UIOperation {
-
-    private final int mReactTag;
-    private final Callback mCallback;
-
-    private MeasureOperation(
-        final int reactTag,
-        final Callback callback) {
-      super();
-      mReactTag = reactTag;
-      mCallback = callback;
-    }
-
-    @Override
-    public void execute() {
-      try {
-        mNativeViewHierarchyManager.measure(mReactTag, mMeasureBuffer);
-      } catch (NoSuchNativeViewException e) {
-        // Invoke with no args to signal failure and to allow JS to clean up the callback
-        // handle.
-        mCallback.invoke();
-        return;
-      }
-
-      float x = PixelUtil.toDIPFromPixel(mMeasureBuffer[0]);
-      float y = PixelUtil.toDIPFromPixel(mMeasureBuffer[1]);
-      float width = PixelUtil.toDIPFromPixel(mMeasureBuffer[2]);
-      float height = PixelUtil.toDIPFromPixel(mMeasureBuffer[3]);
-      mCallback.invoke(0, 0, width, height, x, y);
-    }
-  }
-
-  private ArrayList<UIOperation> mOperations = new ArrayList<>();
-
-  private final class FindTargetForTouchOperation implements UIOperation {
-
-    private final int mReactTag;
-    private final float mTargetX;
-    private final float mTargetY;
-    private final Callback mCallback;
-
-    private FindTargetForTouchOperation(
-        final int reactTag,
-        final float targetX,
-        final float targetY,
-        final Callback callback) {
-      super();
-      mReactTag = reactTag;
-      mTargetX = targetX;
-      mTargetY = targetY;
-      mCallback = callback;
-    }
-
-    @Override
-    public void execute() {
-      try {
-        mNativeViewHierarchyManager.measure(
-            mReactTag,
-            mMeasureBuffer);
-      } catch (IllegalViewOperationException e) {
-        mCallback.invoke();
-        return;
-      }
-
-      // Because React coordinates are relative to root container, and measure() operates
-      // on screen coordinates, we need to offset values using root container location.
-      final float containerX = (float) mMeasureBuffer[0];
-      final float containerY = (float) mMeasureBuffer[1];
-
-      final int touchTargetReactTag = mNativeViewHierarchyManager.findTargetTagForTouch(
-          mReactTag,
-          mTargetX,
-          mTargetY);
-
-      try {
-        mNativeViewHierarchyManager.measure(
-            touchTargetReactTag,
-            mMeasureBuffer);
-      } catch (IllegalViewOperationException e) {
-        mCallback.invoke();
-        return;
-      }
-
-      float x = PixelUtil.toDIPFromPixel(mMeasureBuffer[0] - containerX);
-      float y = PixelUtil.toDIPFromPixel(mMeasureBuffer[1] - containerY);
-      float width = PixelUtil.toDIPFromPixel(mMeasureBuffer[2]);
-      float height = PixelUtil.toDIPFromPixel(mMeasureBuffer[3]);
-      mCallback.invoke(touchTargetReactTag, x, y, width, height);
-    }
-  }
-
-  private final class SendAccessibilityEvent extends ViewOperation {
-
-    private final int mEventType;
-
-    private SendAccessibilityEvent(int tag, int eventType) {
-      super(tag);
-      mEventType = eventType;
-    }
-
-    @Override
-    public void execute() {
-      mNativeViewHierarchyManager.sendAccessibilityEvent(mTag, mEventType);
-    }
-  }
+  private UIOperationBuffer mOperations = new UIOperationBuffer();
+  private final UIOperationCoalescer mOperationCoalescer = new UIOperationCoalescer();
+  private boolean mIsCoalescingEnabled = true;
+  private long mCoalescedOperationCount;
 
   private final NativeViewHierarchyManager mNativeViewHierarchyManager;
   private final AnimationRegistry mAnimationRegistry;
@@ -467,10 +95,16 @@ public class UIViewOperationQueue {
   private final ReactApplicationContext mReactApplicationContext;
 
   @GuardedBy("mDispatchRunnablesLock")
-  private final ArrayList<Runnable> mDispatchUIRunnables = new ArrayList<>();
+  private final ArrayList<UIOperationBuffer> mDispatchUIBatches = new ArrayList<>();
+  @GuardedBy("mDispatchRunnablesLock")
+  private final ArrayList<UIOperationBuffer> mSpareBuffers = new ArrayList<>();
+  @GuardedBy("mDispatchRunnablesLock")
+  private final ArrayList<ViewPreallocation> mPendingPreallocations = new ArrayList<>();
 
   private @Nullable NotThreadSafeViewHierarchyUpdateDebugListener mViewHierarchyUpdateDebugListener;
 
+  private volatile long mFrameBudgetNanos = NO_FRAME_BUDGET;
+
   public UIViewOperationQueue(
       ReactApplicationContext reactContext,
       NativeViewHierarchyManager nativeViewHierarchyManager) {
@@ -485,6 +119,33 @@ public class UIViewOperationQueue {
     mViewHierarchyUpdateDebugListener = listener;
   }
 
+  /**
+   * Limits the time spent executing operations in a single frame. Once the budget is used up, the
+   * current batch is interrupted between two operations and resumed on the next frame, so a large
+   * batch is spread over several frames instead of causing one long frame. Batches that configure a
+   * layout animation are never interrupted, as the animation only applies to its own batch.
+   *
+   * @param budgetMs the budget in milliseconds, or 0 to execute all pending batches every frame
+   */
+  public void setFrameBudgetMs(long budgetMs) {
+    mFrameBudgetNanos = budgetMs > 0 ? TimeUnit.MILLISECONDS.toNanos(budgetMs) : NO_FRAME_BUDGET;
+  }
+
+  /**
+   * Enables or disables rewriting each batch with {@link UIOperationCoalescer} before it's
+   * dispatched to the UI thread. Enabled by default.
+   */
+  public void setCoalescingEnabled(boolean enabled) {
+    mIsCoalescingEnabled = enabled;
+  }
+
+  /**
+   * @return how many operations have been saved by coalescing since this queue was created
+   */
+  public long getCoalescedOperationCount() {
+    return mCoalescedOperationCount;
+  }
+
   public boolean isEmpty() {
     return mOperations.isEmpty();
   }
@@ -520,39 +181,61 @@ public class UIViewOperationQueue {
    * subclass to support UIOperations not provided by UIViewOperationQueue.
    */
   protected void enqueueUIOperation(UIOperation operation) {
-    mOperations.add(operation);
+    mOperations.addOperation(OP_CUSTOM);
+    mOperations.putObject(operation);
+  }
+
+  /**
+   * Hints that views of the given class are about to be created in the given root. Unlike other
+   * operations this doesn't wait for the batch to be dispatched: {@code count} views are created
+   * during the following frames that have no operations to execute, and kept in the pool of their
+   * {@link ViewManager} until {@link ViewManager#createView} is called for the root.
+   */
+  public void enqueuePreallocateViews(int rootViewTag, String className, int count) {
+    synchronized (mDispatchRunnablesLock) {
+      mPendingPreallocations.add(new ViewPreallocation(rootViewTag, className, count));
+    }
   }
 
   public void enqueueRemoveRootView(int rootViewTag) {
-    mOperations.add(new RemoveRootViewOperation(rootViewTag));
+    mOperations.addOperation(OP_REMOVE_ROOT_VIEW);
+    mOperations.putInt(rootViewTag);
   }
 
   public void enqueueSetJSResponder(
       int tag,
       int initialTag,
       boolean blockNativeResponder) {
-    mOperations.add(
-        new ChangeJSResponderOperation(
-            tag,
-            initialTag,
-            false /*clearResponder*/,
-            blockNativeResponder));
+    mOperations.addOperation(OP_CHANGE_JS_RESPONDER);
+    mOperations.putInt(tag);
+    mOperations.putInt(initialTag);
+    mOperations.putBoolean(false /*clearResponder*/);
+    mOperations.putBoolean(blockNativeResponder);
   }
 
   public void enqueueClearJSResponder() {
     // Tag is 0 because JSResponderHandler doesn't need one in order to clear the responder.
-    mOperations.add(new ChangeJSResponderOperation(0, 0, true /*clearResponder*/, false));
+    mOperations.addOperation(OP_CHANGE_JS_RESPONDER);
+    mOperations.putInt(0);
+    mOperations.putInt(0);
+    mOperations.putBoolean(true /*clearResponder*/);
+    mOperations.putBoolean(false);
   }
 
   public void enqueueDispatchCommand(
       int reactTag,
       int commandId,
       ReadableArray commandArgs) {
-    mOperations.add(new DispatchCommandOperation(reactTag, commandId, commandArgs));
+    mOperations.addOperation(OP_DISPATCH_COMMAND);
+    mOperations.putInt(reactTag);
+    mOperations.putInt(commandId);
+    mOperations.putObject(commandArgs);
   }
 
   public void enqueueUpdateExtraData(int reactTag, Object extraData) {
-    mOperations.add(new UpdateViewExtraData(reactTag, extraData));
+    mOperations.addOperation(OP_UPDATE_EXTRA_DATA);
+    mOperations.putInt(reactTag);
+    mOperations.putObject(extraData);
   }
 
   public void enqueueShowPopupMenu(
@@ -560,7 +243,10 @@ public class UIViewOperationQueue {
       ReadableArray items,
       Callback error,
       Callback success) {
-    mOperations.add(new ShowPopupMenuOperation(reactTag, items, success));
+    mOperations.addOperation(OP_SHOW_POPUP_MENU);
+    mOperations.putInt(reactTag);
+    mOperations.putObject(items);
+    mOperations.putObject(success);
   }
 
   public void enqueueCreateView(
@@ -568,18 +254,24 @@ public class UIViewOperationQueue {
       int viewReactTag,
       String viewClassName,
       @Nullable CatalystStylesDiffMap initialProps) {
-    mOperations.add(
-        new CreateViewOperation(
-            themedContext,
-            viewReactTag,
-            viewClassName,
-            initialProps));
+    Systrace.startAsyncFlow(Systrace.TRACE_TAG_REACT_VIEW, "createView", viewReactTag);
+    mOperations.addOperation(OP_CREATE_VIEW);
+    mOperations.putInt(viewReactTag);
+    mOperations.putObject(themedContext);
+    mOperations.putObject(viewClassName);
+    mOperations.putObject(initialProps);
   }
 
   public void enqueueUpdateProperties(int reactTag, String className, CatalystStylesDiffMap props) {
-    mOperations.add(new UpdatePropertiesOperation(reactTag, props));
+    mOperations.addOperation(OP_UPDATE_PROPERTIES);
+    mOperations.putInt(reactTag);
+    mOperations.putObject(props);
   }
 
+  /**
+   * Layout updates are computed by the CSSNode hierarchy rather than requested by JS, and are the
+   * bulk of the operations of most batches. They only take up primitive slots in the buffer.
+   */
   public void enqueueUpdateLayout(
       int parentTag,
       int reactTag,
@@ -587,8 +279,14 @@ public class UIViewOperationQueue {
       int y,
       int width,
       int height) {
-    mOperations.add(
-        new UpdateLayoutOperation(parentTag, reactTag, x, y, width, height));
+    Systrace.startAsyncFlow(Systrace.TRACE_TAG_REACT_VIEW, "updateLayout", reactTag);
+    mOperations.addOperation(OP_UPDATE_LAYOUT);
+    mOperations.putInt(reactTag);
+    mOperations.putInt(parentTag);
+    mOperations.putInt(x);
+    mOperations.putInt(y);
+    mOperations.putInt(width);
+    mOperations.putInt(height);
   }
 
   public void enqueueManageChildren(
@@ -596,42 +294,54 @@ public class UIViewOperationQueue {
       @Nullable int[] indicesToRemove,
       @Nullable ViewAtIndex[] viewsToAdd,
       @Nullable int[] tagsToDelete) {
-    mOperations.add(
-        new ManageChildrenOperation(reactTag, indicesToRemove, viewsToAdd, tagsToDelete));
+    mOperations.addOperation(OP_MANAGE_CHILDREN);
+    mOperations.putInt(reactTag);
+    mOperations.putObject(indicesToRemove);
+    mOperations.putObject(viewsToAdd);
+    mOperations.putObject(tagsToDelete);
   }
 
   public void enqueueRegisterAnimation(Animation animation) {
-    mOperations.add(new RegisterAnimationOperation(animation));
+    mOperations.addOperation(OP_REGISTER_ANIMATION);
+    mOperations.putObject(animation);
   }
 
   public void enqueueAddAnimation(
       final int reactTag,
       final int animationID,
       final Callback onSuccess) {
-    mOperations.add(new AddAnimationOperation(reactTag, animationID, onSuccess));
+    mOperations.addOperation(OP_ADD_ANIMATION);
+    mOperations.putInt(reactTag);
+    mOperations.putInt(animationID);
+    mOperations.putObject(onSuccess);
   }
 
   public void enqueueRemoveAnimation(int animationID) {
-    mOperations.add(new RemoveAnimationOperation(animationID));
+    mOperations.addOperation(OP_REMOVE_ANIMATION);
+    mOperations.putInt(animationID);
   }
 
   public void enqueueSetLayoutAnimationEnabled(
       final boolean enabled) {
-    mOperations.add(new SetLayoutAnimationEnabledOperation(enabled));
+    mOperations.addOperation(OP_SET_LAYOUT_ANIMATION_ENABLED);
+    mOperations.putBoolean(enabled);
   }
 
   public void enqueueConfigureLayoutAnimation(
       final ReadableMap config,
       final Callback onSuccess,
       final Callback onError) {
-    mOperations.add(new ConfigureLayoutAnimationOperation(config));
+    mOperations.addOperation(OP_CONFIGURE_LAYOUT_ANIMATION);
+    mOperations.putObject(config);
+    mOperations.markAtomic();
   }
 
   public void enqueueMeasure(
       final int reactTag,
       final Callback callback) {
-    mOperations.add(
-        new MeasureOperation(reactTag, callback));
+    mOperations.addOperation(OP_MEASURE);
+    mOperations.putInt(reactTag);
+    mOperations.putObject(callback);
   }
 
   public void enqueueFindTargetForTouch(
@@ -639,51 +349,316 @@ public class UIViewOperationQueue {
       final float targetX,
       final float targetY,
       final Callback callback) {
-    mOperations.add(
-        new FindTargetForTouchOperation(reactTag, targetX, targetY, callback));
+    mOperations.addOperation(OP_FIND_TARGET_FOR_TOUCH);
+    mOperations.putInt(reactTag);
+    mOperations.putFloat(targetX);
+    mOperations.putFloat(targetY);
+    mOperations.putObject(callback);
   }
 
   public void enqueueSendAccessibilityEvent(int tag, int eventType) {
-    mOperations.add(new SendAccessibilityEvent(tag, eventType));
+    mOperations.addOperation(OP_SEND_ACCESSIBILITY_EVENT);
+    mOperations.putInt(tag);
+    mOperations.putInt(eventType);
   }
 
   /* package */ void dispatchViewUpdates(final int batchId) {
-    // Store the current operation queues to dispatch and create new empty ones to continue
-    // receiving new operations
-    final ArrayList<UIOperation> operations = mOperations.isEmpty() ? null : mOperations;
-    if (operations != null) {
-      mOperations = new ArrayList<>();
-    }
-
     if (mViewHierarchyUpdateDebugListener != null) {
       mViewHierarchyUpdateDebugListener.onViewHierarchyUpdateEnqueued();
     }
 
+    if (mIsCoalescingEnabled && mOperations.size() > 1) {
+      coalesceOperations(batchId);
+    }
+
+    // Hand the current buffer over to the UI thread and continue receiving new operations in a
+    // buffer it has already executed, if there is one
+    UIOperationBuffer operations = mOperations;
+    operations.setBatchId(batchId);
     synchronized (mDispatchRunnablesLock) {
-      mDispatchUIRunnables.add(
-          new Runnable() {
-             @Override
-             public void run() {
-               SystraceMessage.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "DispatchUI")
-                   .arg("BatchId", batchId)
-                   .flush();
-               try {
-                 if (operations != null) {
-                   for (int i = 0; i < operations.size(); i++) {
-                     operations.get(i).execute();
-                   }
-                 }
-                 if (mViewHierarchyUpdateDebugListener != null) {
-                   mViewHierarchyUpdateDebugListener.onViewHierarchyUpdateFinished();
-                 }
-               } finally {
-                 Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
-               }
-             }
-           });
+      mDispatchUIBatches.add(operations);
+      int spareCount = mSpareBuffers.size();
+      mOperations = spareCount > 0 ?
+          mSpareBuffers.remove(spareCount - 1) :
+          new UIOperationBuffer();
     }
   }
 
+  private void coalesceOperations(int batchId) {
+    SystraceMessage.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "coalesceUIOperations")
+        .arg("BatchId", batchId)
+        .arg("OperationCount", mOperations.size())
+        .flush();
+    try {
+      int coalescedCount = mOperationCoalescer.coalesce(mOperations);
+      mCoalescedOperationCount += coalescedCount;
+      Systrace.traceCounter(
+          Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+          "coalescedUIOperations",
+          coalescedCount);
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+    }
+  }
+
+  /**
+   * Executes the remaining operations of a batch. Unless the batch is atomic, this returns early,
+   * leaving the remaining operations in {@code operations}, once {@code deadlineNanos} has passed.
+   * At least one operation is executed by every call.
+   *
+   * @return whether all operations of the batch have been executed
+   */
+  private boolean executeBatch(UIOperationBuffer operations, long deadlineNanos) {
+    SystraceMessage.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "DispatchUI")
+        .arg("BatchId", operations.getBatchId())
+        .flush();
+    try {
+      boolean interruptible = deadlineNanos != NO_FRAME_BUDGET && !operations.isAtomic();
+      while (operations.hasNext()) {
+        executeOperation(operations);
+        if (interruptible && operations.hasNext() && System.nanoTime() >= deadlineNanos) {
+          return false;
+        }
+      }
+      if (mViewHierarchyUpdateDebugListener != null) {
+        mViewHierarchyUpdateDebugListener.onViewHierarchyUpdateFinished();
+      }
+      return true;
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+    }
+  }
+
+  /**
+   * Reads the next operation from {@code operations} and executes it. Arguments have to be read
+   * in exactly the order they were written by the corresponding enqueue method.
+   */
+  private void executeOperation(UIOperationBuffer operations) {
+    int opcode = operations.nextInt();
+    switch (opcode) {
+      case OP_REMOVE_ROOT_VIEW:
+        mNativeViewHierarchyManager.removeRootView(operations.nextInt());
+        break;
+      case OP_UPDATE_PROPERTIES: {
+        int tag = operations.nextInt();
+        mNativeViewHierarchyManager.updateProperties(
+            tag,
+            (CatalystStylesDiffMap) operations.nextObject());
+        break;
+      }
+      case OP_UPDATE_LAYOUT: {
+        int tag = operations.nextInt();
+        int parentTag = operations.nextInt();
+        int x = operations.nextInt();
+        int y = operations.nextInt();
+        int width = operations.nextInt();
+        int height = operations.nextInt();
+        Systrace.endAsyncFlow(Systrace.TRACE_TAG_REACT_VIEW, "updateLayout", tag);
+        mNativeViewHierarchyManager.updateLayout(parentTag, tag, x, y, width, height);
+        break;
+      }
+      case OP_CREATE_VIEW: {
+        int tag = operations.nextInt();
+        ThemedReactContext themedContext = (ThemedReactContext) operations.nextObject();
+        String className = (String) operations.nextObject();
+        CatalystStylesDiffMap initialProps = (CatalystStylesDiffMap) operations.nextObject();
+        Systrace.endAsyncFlow(Systrace.TRACE_TAG_REACT_VIEW, "createView", tag);
+        mNativeViewHierarchyManager.createView(themedContext, tag, className, initialProps);
+        break;
+      }
+      case OP_MANAGE_CHILDREN: {
+        int tag = operations.nextInt();
+        int[] indicesToRemove = (int[]) operations.nextObject();
+        ViewAtIndex[] viewsToAdd = (ViewAtIndex[]) operations.nextObject();
+        int[] tagsToDelete = (int[]) operations.nextObject();
+        mNativeViewHierarchyManager.manageChildren(
+            tag,
+            indicesToRemove,
+            viewsToAdd,
+            tagsToDelete);
+        break;
+      }
+      case OP_UPDATE_EXTRA_DATA: {
+        int tag = operations.nextInt();
+        mNativeViewHierarchyManager.updateViewExtraData(tag, operations.nextObject());
+        break;
+      }
+      case OP_CHANGE_JS_RESPONDER: {
+        int tag = operations.nextInt();
+        int initialTag = operations.nextInt();
+        boolean clearResponder = operations.nextBoolean();
+        boolean blockNativeResponder = operations.nextBoolean();
+        if (!clearResponder) {
+          mNativeViewHierarchyManager.setJSResponder(tag, initialTag, blockNativeResponder);
+        } else {
+          mNativeViewHierarchyManager.clearJSResponder();
+        }
+        break;
+      }
+      case OP_DISPATCH_COMMAND: {
+        int tag = operations.nextInt();
+        int command = operations.nextInt();
+        mNativeViewHierarchyManager.dispatchCommand(
+            tag,
+            command,
+            (ReadableArray) operations.nextObject());
+        break;
+      }
+      case OP_SHOW_POPUP_MENU: {
+        int tag = operations.nextInt();
+        ReadableArray items = (ReadableArray) operations.nextObject();
+        Callback success = (Callback) operations.nextObject();
+        mNativeViewHierarchyManager.showPopupMenu(tag, items, success);
+        break;
+      }
+      case OP_REGISTER_ANIMATION:
+        mAnimationRegistry.registerAnimation((Animation) operations.nextObject());
+        break;
+      case OP_ADD_ANIMATION: {
+        int tag = operations.nextInt();
+        int animationID = operations.nextInt();
+        Callback successCallback = (Callback) operations.nextObject();
+        Animation animation = mAnimationRegistry.getAnimation(animationID);
+        if (animation != null) {
+          mNativeViewHierarchyManager.startAnimationForNativeView(
+              tag,
+              animation,
+              successCallback);
+        } else {
+          // node or animation not found
+          // TODO(5712813): cleanup callback in JS callbacks table in case of an error
+          throw new IllegalViewOperationException("Animation with id " + animationID
+              + " was not found");
+        }
+        break;
+      }
+      case OP_REMOVE_ANIMATION: {
+        Animation animation = mAnimationRegistry.getAnimation(operations.nextInt());
+        if (animation != null) {
+          animation.cancel();
+        }
+        break;
+      }
+      case OP_SET_LAYOUT_ANIMATION_ENABLED:
+        mNativeViewHierarchyManager.setLayoutAnimationEnabled(operations.nextBoolean());
+        break;
+      case OP_CONFIGURE_LAYOUT_ANIMATION:
+        mNativeViewHierarchyManager.configureLayoutAnimation(
+            (ReadableMap) operations.nextObject());
+        break;
+      case OP_MEASURE: {
+        int tag = operations.nextInt();
+        measure(tag, (Callback) operations.nextObject());
+        break;
+      }
+      case OP_FIND_TARGET_FOR_TOUCH: {
+        int tag = operations.nextInt();
+        float targetX = operations.nextFloat();
+        float targetY = operations.nextFloat();
+        findTargetForTouch(tag, targetX, targetY, (Callback) operations.nextObject());
+        break;
+      }
+      case OP_SEND_ACCESSIBILITY_EVENT: {
+        int tag = operations.nextInt();
+        mNativeViewHierarchyManager.sendAccessibilityEvent(tag, operations.nextInt());
+        break;
+      }
+      case OP_CUSTOM:
+        ((UIOperation) operations.nextObject()).execute();
+        break;
+      default:
+        throw new IllegalStateException("Unknown UI operation " + opcode);
+    }
+  }
+
+  /**
+   * Creates views for the pending preallocations until {@code deadlineNanos} has passed or a batch
+   * of operations is dispatched. At least one view is created by every call.
+   */
+  private void preallocateViews(long deadlineNanos) {
+    Systrace.beginSection(Systrace.TRACE_TAG_REACT_VIEW, "preallocateViews");
+    try {
+      do {
+        ViewPreallocation preallocation;
+        synchronized (mDispatchRunnablesLock) {
+          if (mPendingPreallocations.isEmpty() || !mDispatchUIBatches.isEmpty()) {
+            return;
+          }
+          preallocation = mPendingPreallocations.get(0);
+        }
+        boolean created = mNativeViewHierarchyManager.preallocateView(
+            preallocation.mRootViewTag,
+            preallocation.mClassName,
+            preallocation.mCount);
+        if (!created) {
+          // Only the UI thread removes preallocations, so this is still the first one
+          synchronized (mDispatchRunnablesLock) {
+            mPendingPreallocations.remove(0);
+          }
+        }
+      } while (System.nanoTime() < deadlineNanos);
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_VIEW);
+    }
+  }
+
+  private void measure(int reactTag, Callback callback) {
+    try {
+      mNativeViewHierarchyManager.measure(reactTag, mMeasureBuffer);
+    } catch (NoSuchNativeViewException e) {
+      // Invoke with no args to signal failure and to allow JS to clean up the callback
+      // handle.
+      callback.invoke();
+      return;
+    }
+
+    float x = PixelUtil.toDIPFromPixel(mMeasureBuffer[0]);
+    float y = PixelUtil.toDIPFromPixel(mMeasureBuffer[1]);
+    float width = PixelUtil.toDIPFromPixel(mMeasureBuffer[2]);
+    float height = PixelUtil.toDIPFromPixel(mMeasureBuffer[3]);
+    callback.invoke(0, 0, width, height, x, y);
+  }
+
+  private void findTargetForTouch(
+      int reactTag,
+      float targetX,
+      float targetY,
+      Callback callback) {
+    try {
+      mNativeViewHierarchyManager.measure(
+          reactTag,
+          mMeasureBuffer);
+    } catch (IllegalViewOperationException e) {
+      callback.invoke();
+      return;
+    }
+
+    // Because React coordinates are relative to root container, and measure() operates
+    // on screen coordinates, we need to offset values using root container location.
+    final float containerX = (float) mMeasureBuffer[0];
+    final float containerY = (float) mMeasureBuffer[1];
+
+    final int touchTargetReactTag = mNativeViewHierarchyManager.findTargetTagForTouch(
+        reactTag,
+        targetX,
+        targetY);
+
+    try {
+      mNativeViewHierarchyManager.measure(
+          touchTargetReactTag,
+          mMeasureBuffer);
+    } catch (IllegalViewOperationException e) {
+      callback.invoke();
+      return;
+    }
+
+    float x = PixelUtil.toDIPFromPixel(mMeasureBuffer[0] - containerX);
+    float y = PixelUtil.toDIPFromPixel(mMeasureBuffer[1] - containerY);
+    float width = PixelUtil.toDIPFromPixel(mMeasureBuffer[2]);
+    float height = PixelUtil.toDIPFromPixel(mMeasureBuffer[3]);
+    callback.invoke(touchTargetReactTag, x, y, width, height);
+  }
+
   /* package */ void resumeFrameCallback() {
     ReactChoreographer.getInstance()
         .postFrameCallback(ReactChoreographer.CallbackType.DISPATCH_UI, mDispatchUIFrameCallback);
@@ -718,18 +693,65 @@ public class UIViewOperationQueue {
 
     @Override
     public void doFrameGuarded(long frameTimeNanos) {
+      long frameStartNanos = System.nanoTime();
+      long frameBudgetNanos = mFrameBudgetNanos;
+      long deadlineNanos = frameBudgetNanos == NO_FRAME_BUDGET ?
+          NO_FRAME_BUDGET :
+          frameStartNanos + frameBudgetNanos;
+      boolean shouldPreallocateViews;
+
       synchronized (mDispatchRunnablesLock) {
-        for (int i = 0; i < mDispatchUIRunnables.size(); i++) {
-          mDispatchUIRunnables.get(i).run();
+        // Views are only created ahead of time in frames that have nothing else to do
+        shouldPreallocateViews =
+            mDispatchUIBatches.isEmpty() && !mPendingPreallocations.isEmpty();
+        int executedBatches = 0;
+        try {
+          while (executedBatches < mDispatchUIBatches.size()) {
+            if (executedBatches > 0 &&
+                deadlineNanos != NO_FRAME_BUDGET &&
+                System.nanoTime() >= deadlineNanos) {
+              break;
+            }
+            UIOperationBuffer operations = mDispatchUIBatches.get(executedBatches);
+            if (!executeBatch(operations, deadlineNanos)) {
+              // Out of time, the rest of this batch will be executed on the next frame
+              break;
+            }
+            executedBatches++;
+            operations.clear();
+            if (mSpareBuffers.size() < MAX_SPARE_BUFFERS) {
+              mSpareBuffers.add(operations);
+            }
+          }
+        } finally {
+          // Executed buffers have been recycled for new operations and must not stay pending
+          mDispatchUIBatches.subList(0, executedBatches).clear();
         }
-        mDispatchUIRunnables.clear();
 
-        // Clear layout animation, as animation only apply to current UI operations batch.
+        // Clear layout animation, as animation only apply to current UI operations batch. Batches
+        // that configure one are atomic, so they're never left half executed at this point.
         mNativeViewHierarchyManager.clearLayoutAnimation();
       }
 
+      if (shouldPreallocateViews) {
+        preallocateViews(frameStartNanos + PREALLOCATION_FRAME_BUDGET_NANOS);
+      }
+
       ReactChoreographer.getInstance().postFrameCallback(
           ReactChoreographer.CallbackType.DISPATCH_UI, this);
     }
   }
+
+  private static class ViewPreallocation {
+
+    private final int mRootViewTag;
+    private final String mClassName;
+    private final int mCount;
+
+    private ViewPreallocation(int rootViewTag, String className, int count) {
+      mRootViewTag = rootViewTag;
+      mClassName = className;
+      mCount = count;
+    }
+  }
 }
@@ -30,17 +30,33 @@ import com.facebook.react.uimanager.annotations.ReactPropertyHolder;
 @ReactPropertyHolder
 public abstract class ViewManager<T extends View, C extends ReactShadowNode> {
 
+  private @Nullable ViewRecyclePool<T> mRecyclePool;
+
   public final void updateProperties(T viewToUpdate, CatalystStylesDiffMap props) {
     ViewManagerPropertyUpdater.updateProps(this, viewToUpdate, props);
     onAfterUpdateTransaction(viewToUpdate);
   }
 
   /**
-   * Creates a view and installs event emitters on it.
+   * Creates a view and installs event emitters on it, or reuses a recycled view created for the
+   * same context, which already has them.
    */
   public final T createView(
       ThemedReactContext reactContext,
       JSResponderHandler jsResponderHandler) {
+    ViewRecyclePool<T> recyclePool = getRecyclePool();
+    if (recyclePool != null) {
+      T recycledView = recyclePool.acquire(reactContext);
+      if (recycledView != null) {
+        return recycledView;
+      }
+    }
+    return createNewView(reactContext, jsResponderHandler);
+  }
+
+  private T createNewView(
+      ThemedReactContext reactContext,
+      JSResponderHandler jsResponderHandler) {
     T view = createViewInstance(reactContext);
     addEventEmitters(reactContext, view);
     if (view instanceof CatalystInterceptingViewGroup) {
@@ -87,6 +103,92 @@ public abstract class ViewManager<T extends View, C extends ReactShadowNode> {
   public void onDropViewInstance(T view) {
   }
 
+  /**
+   * Subclasses can return a positive number to keep up to that many dropped views around and reuse
+   * them for new views of this type, see {@link #prepareToRecycleView}. Recycling is disabled by
+   * default.
+   */
+  protected int getRecyclePoolSize() {
+    return 0;
+  }
+
+  /**
+   * Called after {@link #onDropViewInstance} on a view that may be reused. Subclasses that enable
+   * recycling should reset here any state the view may have accumulated, e.g. using
+   * {@link #resetViewProps}, so that it looks freshly created to the next user.
+   *
+   * @return whether the view can be recycled
+   */
+  protected boolean prepareToRecycleView(T view) {
+    return false;
+  }
+
+  /**
+   * @return rough estimate of the memory held by a recycled view, reported by
+   * {@link ViewRecyclePool#getPooledBytesEstimate}
+   */
+  protected long estimateRecycledViewSize(T view) {
+    return 0;
+  }
+
+  /**
+   * Sets all the {@link ReactProp} and {@link ReactPropGroup} properties of this manager back to
+   * their default value.
+   */
+  protected final void resetViewProps(T view) {
+    ViewManagerPropertyUpdater.resetProps(this, view);
+  }
+
+  /**
+   * @return the pool of recycled and pre-created views, or null if this manager doesn't recycle
+   * views and none have been pre-created
+   */
+  public final @Nullable ViewRecyclePool<T> getRecyclePool() {
+    if (mRecyclePool == null) {
+      int poolSize = getRecyclePoolSize();
+      if (poolSize > 0) {
+        mRecyclePool = new ViewRecyclePool<>(poolSize);
+      }
+    }
+    return mRecyclePool;
+  }
+
+  /**
+   * Offers a view that has just been dropped to the recycle pool.
+   *
+   * @return whether the view was pooled
+   */
+  /* package */ final boolean recycleView(T view) {
+    ViewRecyclePool<T> recyclePool = getRecyclePool();
+    if (recyclePool == null || !prepareToRecycleView(view)) {
+      return false;
+    }
+    return recyclePool.offer(view, estimateRecycledViewSize(view));
+  }
+
+  /**
+   * Creates a view ahead of time and adds it to the pool, unless it already holds
+   * {@code targetCount} views for this context. Pre-created views don't need to be reset, so this
+   * works whether or not the manager recycles views.
+   *
+   * @return whether a view was created
+   */
+  /* package */ final boolean preallocateView(
+      ThemedReactContext reactContext,
+      JSResponderHandler jsResponderHandler,
+      int targetCount) {
+    if (mRecyclePool == null) {
+      mRecyclePool = new ViewRecyclePool<>(Math.max(getRecyclePoolSize(), targetCount));
+    } else {
+      mRecyclePool.ensureMaxSize(targetCount);
+    }
+    if (mRecyclePool.getPooledViewCount(reactContext) >= targetCount) {
+      return false;
+    }
+    T view = createNewView(reactContext, jsResponderHandler);
+    return mRecyclePool.offer(view, estimateRecycledViewSize(view));
+  }
+
   /**
    * Subclasses can override this method to install custom event emitters on the given View. You
    * might want to override this method if your view needs to emit events besides basic touch events
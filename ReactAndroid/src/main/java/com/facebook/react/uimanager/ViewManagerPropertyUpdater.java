@@ -29,6 +29,7 @@ public class ViewManagerPropertyUpdater {
   private static final Map<Class<?>, ViewManagerSetter<?, ?>> VIEW_MANAGER_SETTER_MAP =
       new HashMap<>();
   private static final Map<Class<?>, ShadowNodeSetter<?>> SHADOW_NODE_SETTER_MAP = new HashMap<>();
+  private static final Map<Class<?>, CatalystStylesDiffMap> NULL_PROPS_MAP = new HashMap<>();
 
   public static <T extends ViewManager, V extends View> void updateProps(
       T manager,
@@ -43,6 +44,20 @@ public class ViewManagerPropertyUpdater {
     }
   }
 
+  /**
+   * Sets every prop the manager exposes back to its default value, as if it was removed from JS.
+   */
+  public static <T extends ViewManager, V extends View> void resetProps(T manager, V v) {
+    Class<? extends ViewManager> managerClass = manager.getClass();
+    CatalystStylesDiffMap nullProps = NULL_PROPS_MAP.get(managerClass);
+    if (nullProps == null) {
+      nullProps = new CatalystStylesDiffMap(
+          new NullPropsMap(findManagerSetter(managerClass).getProperties().keySet()));
+      NULL_PROPS_MAP.put(managerClass, nullProps);
+    }
+    updateProps(manager, v, nullProps);
+  }
+
   public static <T extends ReactShadowNode> void updateProps(T node, CatalystStylesDiffMap props) {
     ShadowNodeSetter<T> setter = findNodeSetter(node.getClass());
     ReadableMap propMap = props.mBackingMap;
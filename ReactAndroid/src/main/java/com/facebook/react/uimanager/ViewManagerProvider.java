@@ -0,0 +1,26 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+/**
+ * Creates a {@link ViewManager} the first time a view it manages is created or updated, see
+ * {@link ViewManagerRegistry}. Lets apps register view managers that the first screen doesn't use
+ * without paying for their creation at startup.
+ */
+public interface ViewManagerProvider {
+
+  /**
+   * Called at most once, from the native modules thread or the UI thread. The returned view
+   * manager's {@link ViewManager#getName} must match the name the provider was registered with.
+   * Its custom event types can't be exported to JS anymore, so it must not have any: debug builds
+   * fail when it does.
+   */
+  ViewManager createViewManager();
+}
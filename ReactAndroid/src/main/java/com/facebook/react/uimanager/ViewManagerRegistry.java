@@ -9,30 +9,106 @@
 
 package com.facebook.react.uimanager;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.facebook.react.common.build.ReactBuildConfig;
+import com.facebook.systrace.Systrace;
+import com.facebook.systrace.SystraceMessage;
+
 /**
  * Class that stores the mapping between native view name used in JS and the corresponding instance
  * of {@link ViewManager}.
+ *
+ * View managers registered through a {@link ViewManagerProvider} are created the first time
+ * {@link #get} is called for them.
  */
 public class ViewManagerRegistry {
 
   private final Map<String, ViewManager> mViewManagers = new HashMap<>();
+  private final Map<String, ViewManagerProvider> mViewManagerProviders;
+  // View managers created by their provider, guarded by mViewManagerProviders. Kept apart from
+  // mViewManagers so that eagerly created view managers can be read without locking from both the
+  // native modules thread and the UI thread.
+  private final Map<String, ViewManager> mProvidedViewManagers = new HashMap<>();
 
   public ViewManagerRegistry(List<ViewManager> viewManagerList) {
+    this(viewManagerList, Collections.<String, ViewManagerProvider>emptyMap());
+  }
+
+  /**
+   * @param viewManagerProviders providers of view managers that are created on first use, by the
+   * name of the view manager they create. A view manager in {@param viewManagerList} with the same
+   * name takes precedence.
+   */
+  public ViewManagerRegistry(
+      List<ViewManager> viewManagerList,
+      Map<String, ViewManagerProvider> viewManagerProviders) {
     for (ViewManager viewManager : viewManagerList) {
       mViewManagers.put(viewManager.getName(), viewManager);
     }
+    mViewManagerProviders = new HashMap<>(viewManagerProviders);
+    mViewManagerProviders.keySet().removeAll(mViewManagers.keySet());
   }
 
   public ViewManager get(String className) {
     ViewManager viewManager = mViewManagers.get(className);
     if (viewManager != null) {
       return viewManager;
-    } else {
+    }
+    if (mViewManagerProviders.isEmpty()) {
       throw new IllegalViewOperationException("No ViewManager defined for class " + className);
     }
+    synchronized (mViewManagerProviders) {
+      viewManager = mProvidedViewManagers.get(className);
+      if (viewManager == null) {
+        viewManager = createProvidedViewManager(className);
+        mProvidedViewManagers.put(className, viewManager);
+      }
+      return viewManager;
+    }
+  }
+
+  /**
+   * @return the names of the view managers registered through a {@link ViewManagerProvider}
+   */
+  public Collection<String> getProvidedViewManagerNames() {
+    return Collections.unmodifiableSet(mViewManagerProviders.keySet());
+  }
+
+  private static boolean exportsCustomEventTypes(ViewManager viewManager) {
+    Map<String, Object> bubblingEventTypes = viewManager.getExportedCustomBubblingEventTypeConstants();
+    Map<String, Object> directEventTypes = viewManager.getExportedCustomDirectEventTypeConstants();
+    return (bubblingEventTypes != null && !bubblingEventTypes.isEmpty()) ||
+        (directEventTypes != null && !directEventTypes.isEmpty());
+  }
+
+  private ViewManager createProvidedViewManager(String className) {
+    ViewManagerProvider provider = mViewManagerProviders.get(className);
+    if (provider == null) {
+      throw new IllegalViewOperationException("No ViewManager defined for class " + className);
+    }
+    SystraceMessage.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "createViewManager")
+        .arg("ViewManager", className)
+        .flush();
+    try {
+      ViewManager viewManager = provider.createViewManager();
+      if (!className.equals(viewManager.getName())) {
+        throw new IllegalViewOperationException(
+            "ViewManager provided for class " + className + " is named " + viewManager.getName());
+      }
+      if (ReactBuildConfig.DEBUG && exportsCustomEventTypes(viewManager)) {
+        throw new IllegalViewOperationException(
+            "ViewManager provided for class " + className + " exports custom event types, which " +
+                "are only exported for view managers created with the catalyst instance. Return " +
+                "it from ReactPackage#createViewManagers instead.");
+      }
+      return viewManager;
+    } finally {
+      Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
+    }
   }
 }
@@ -5,7 +5,6 @@ package com.facebook.react.uimanager;
 import javax.annotation.Nullable;
 
 import java.lang.reflect.Method;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -34,13 +33,10 @@ import com.facebook.react.uimanager.annotations.ReactPropGroup;
     protected final Method mSetter;
     protected final @Nullable Integer mIndex; /* non-null only for group setters */
 
-    // The following Object arrays are used to prevent extra allocations from varargs when we call
-    // Method.invoke. It's safe for those objects to be static as we update properties in a single
-    // thread sequentially
-    private static final Object[] VIEW_MGR_ARGS = new Object[2];
-    private static final Object[] VIEW_MGR_GROUP_ARGS = new Object[3];
-    private static final Object[] SHADOW_ARGS = new Object[1];
-    private static final Object[] SHADOW_GROUP_ARGS = new Object[2];
+    // Arguments of the setter, reused for every call to avoid the varargs allocation of
+    // Method.invoke. The group index never changes so it's only set once. Properties are updated
+    // from a single thread, and a setter doesn't reenter itself.
+    private final Object[] mArgs;
 
     private PropSetter(ReactProp prop, String defaultType, Method setter) {
       mPropName = prop.name();
@@ -48,6 +44,7 @@ import com.facebook.react.uimanager.annotations.ReactPropGroup;
           defaultType : prop.customType();
       mSetter = setter;
       mIndex = null;
+      mArgs = createArgs(setter, null);
     }
 
     private PropSetter(ReactPropGroup prop, String defaultType, Method setter, int index) {
@@ -56,6 +53,17 @@ import com.facebook.react.uimanager.annotations.ReactPropGroup;
           defaultType : prop.customType();
       mSetter = setter;
       mIndex = index;
+      mArgs = createArgs(setter, mIndex);
+    }
+
+    private static Object[] createArgs(Method setter, @Nullable Integer index) {
+      // Skips the access checks Method.invoke would otherwise do on every call
+      setter.setAccessible(true);
+      Object[] args = new Object[setter.getParameterTypes().length];
+      if (index != null) {
+        args[args.length - 2] = index;
+      }
+      return args;
     }
 
     public String getPropName() {
@@ -70,53 +78,49 @@ import com.facebook.react.uimanager.annotations.ReactPropGroup;
         ViewManager viewManager,
         View viewToUpdate,
         CatalystStylesDiffMap props) {
+      Object[] args = mArgs;
       try {
-        if (mIndex == null) {
-          VIEW_MGR_ARGS[0] = viewToUpdate;
-          VIEW_MGR_ARGS[1] = extractProperty(props);
-          mSetter.invoke(viewManager, VIEW_MGR_ARGS);
-          Arrays.fill(VIEW_MGR_ARGS, null);
-        } else {
-          VIEW_MGR_GROUP_ARGS[0] = viewToUpdate;
-          VIEW_MGR_GROUP_ARGS[1] = mIndex;
-          VIEW_MGR_GROUP_ARGS[2] = extractProperty(props);
-          mSetter.invoke(viewManager, VIEW_MGR_GROUP_ARGS);
-          Arrays.fill(VIEW_MGR_GROUP_ARGS, null);
-        }
+        args[0] = viewToUpdate;
+        args[args.length - 1] = extractProperty(props);
+        mSetter.invoke(viewManager, args);
       } catch (Throwable t) {
         FLog.e(ViewManager.class, "Error while updating prop " + mPropName, t);
         throw new JSApplicationIllegalArgumentException("Error while updating property '" +
             mPropName + "' of a view managed by: " + viewManager.getName(), t);
+      } finally {
+        args[0] = null;
+        args[args.length - 1] = null;
       }
     }
 
     public void updateShadowNodeProp(
         ReactShadowNode nodeToUpdate,
         CatalystStylesDiffMap props) {
+      Object[] args = mArgs;
       try {
-        if (mIndex == null) {
-          SHADOW_ARGS[0] = extractProperty(props);
-          mSetter.invoke(nodeToUpdate, SHADOW_ARGS);
-          Arrays.fill(SHADOW_ARGS, null);
-        } else {
-          SHADOW_GROUP_ARGS[0] = mIndex;
-          SHADOW_GROUP_ARGS[1] = extractProperty(props);
-          mSetter.invoke(nodeToUpdate, SHADOW_GROUP_ARGS);
-          Arrays.fill(SHADOW_GROUP_ARGS, null);
-        }
+        args[args.length - 1] = extractProperty(props);
+        mSetter.invoke(nodeToUpdate, args);
       } catch (Throwable t) {
         FLog.e(ViewManager.class, "Error while updating prop " + mPropName, t);
         throw new JSApplicationIllegalArgumentException("Error while updating property '" +
             mPropName + "' in shadow node of type: " + nodeToUpdate.getViewClass(), t);
+      } finally {
+        args[args.length - 1] = null;
       }
     }
 
+    /**
+     * Reads the value to pass to the setter. Primitive setters box it, reusing the box from the
+     * previous update when the value hasn't changed: the same values tend to be set over and over,
+     * e.g. when rows of a list are updated.
+     */
     protected abstract @Nullable Object extractProperty(CatalystStylesDiffMap props);
   }
 
   private static class IntPropSetter extends PropSetter {
 
     private final int mDefaultValue;
+    private @Nullable Integer mBoxedValue;
 
     public IntPropSetter(ReactProp prop, Method setter, int defaultValue) {
       super(prop, "number", setter);
@@ -130,13 +134,19 @@ import com.facebook.react.uimanager.annotations.ReactPropGroup;
 
     @Override
     protected Object extractProperty(CatalystStylesDiffMap props) {
-      return props.getInt(mPropName, mDefaultValue);
+      int value = props.getInt(mPropName, mDefaultValue);
+      Integer boxedValue = mBoxedValue;
+      if (boxedValue == null || boxedValue != value) {
+        boxedValue = mBoxedValue = value;
+      }
+      return boxedValue;
     }
   }
 
   private static class DoublePropSetter extends PropSetter {
 
     private final double mDefaultValue;
+    private @Nullable Double mBoxedValue;
 
     public DoublePropSetter(ReactProp prop, Method setter, double defaultValue) {
       super(prop, "number", setter);
@@ -150,7 +160,13 @@ import com.facebook.react.uimanager.annotations.ReactPropGroup;
 
     @Override
     protected Object extractProperty(CatalystStylesDiffMap props) {
-      return props.getDouble(mPropName, mDefaultValue);
+      double value = props.getDouble(mPropName, mDefaultValue);
+      Double boxedValue = mBoxedValue;
+      if (boxedValue == null ||
+          Double.doubleToLongBits(boxedValue) != Double.doubleToLongBits(value)) {
+        boxedValue = mBoxedValue = value;
+      }
+      return boxedValue;
     }
   }
 
@@ -172,6 +188,7 @@ import com.facebook.react.uimanager.annotations.ReactPropGroup;
   private static class FloatPropSetter extends PropSetter {
 
     private final float mDefaultValue;
+    private @Nullable Float mBoxedValue;
 
     public FloatPropSetter(ReactProp prop, Method setter, float defaultValue) {
       super(prop, "number", setter);
@@ -185,7 +202,13 @@ import com.facebook.react.uimanager.annotations.ReactPropGroup;
 
     @Override
     protected Object extractProperty(CatalystStylesDiffMap props) {
-      return props.getFloat(mPropName, mDefaultValue);
+      float value = props.getFloat(mPropName, mDefaultValue);
+      Float boxedValue = mBoxedValue;
+      if (boxedValue == null ||
+          Float.floatToIntBits(boxedValue) != Float.floatToIntBits(value)) {
+        boxedValue = mBoxedValue = value;
+      }
+      return boxedValue;
     }
   }
 
@@ -242,6 +265,8 @@ import com.facebook.react.uimanager.annotations.ReactPropGroup;
 
   private static class BoxedIntPropSetter extends PropSetter {
 
+    private @Nullable Integer mBoxedValue;
+
     public BoxedIntPropSetter(ReactProp prop, Method setter) {
       super(prop, "number", setter);
     }
@@ -253,7 +278,12 @@ import com.facebook.react.uimanager.annotations.ReactPropGroup;
     @Override
     protected @Nullable Object extractProperty(CatalystStylesDiffMap props) {
       if (!props.isNull(mPropName)) {
-        return props.getInt(mPropName, /* ignored */ 0);
+        int value = props.getInt(mPropName, /* ignored */ 0);
+        Integer boxedValue = mBoxedValue;
+        if (boxedValue == null || boxedValue != value) {
+          boxedValue = mBoxedValue = value;
+        }
+        return boxedValue;
       }
       return null;
     }
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+
+import android.content.Context;
+import android.view.View;
+
+/**
+ * Bounded pool of dropped native views of a single {@link ViewManager}, kept so that they can be
+ * reused instead of creating new instances. See {@link ViewManager#getRecyclePoolSize}. Views
+ * created ahead of time during idle frames are kept here too, see
+ * {@link UIViewOperationQueue#enqueuePreallocateViews}.
+ *
+ * A view is only reused for the same {@link ThemedReactContext} it was created with, since its
+ * event emitters are bound to it. Should only be accessed from the UI thread.
+ */
+public final class ViewRecyclePool<T extends View> {
+
+  private int mMaxSize;
+  private final ArrayList<T> mViews;
+  private final ArrayList<Long> mViewSizes;
+  private long mPooledBytes;
+
+  private long mHitCount;
+  private long mMissCount;
+  private long mDiscardCount;
+
+  /*package*/ ViewRecyclePool(int maxSize) {
+    mMaxSize = maxSize;
+    mViews = new ArrayList<>(maxSize);
+    mViewSizes = new ArrayList<>(maxSize);
+  }
+
+  /**
+   * @return a pooled view created with the given context, or null if there is none
+   */
+  /*package*/ @Nullable T acquire(Context context) {
+    for (int i = mViews.size() - 1; i >= 0; i--) {
+      T view = mViews.get(i);
+      // A view dropped along with its parent is only detached once the whole subtree is dropped
+      if (view.getContext() == context && view.getParent() == null) {
+        mViews.remove(i);
+        mPooledBytes -= mViewSizes.remove(i);
+        mHitCount++;
+        return view;
+      }
+    }
+    mMissCount++;
+    return null;
+  }
+
+  /**
+   * @return whether the view was added to the pool, false if the pool is full
+   */
+  /*package*/ boolean offer(T view, long sizeEstimateBytes) {
+    if (mViews.size() >= mMaxSize) {
+      mDiscardCount++;
+      return false;
+    }
+    mViews.add(view);
+    mViewSizes.add(sizeEstimateBytes);
+    mPooledBytes += sizeEstimateBytes;
+    return true;
+  }
+
+  /**
+   * Drops the pooled views created with the given context, e.g. once its root view is gone.
+   */
+  /*package*/ void evict(Context context) {
+    for (int i = mViews.size() - 1; i >= 0; i--) {
+      if (mViews.get(i).getContext() == context) {
+        mViews.remove(i);
+        mPooledBytes -= mViewSizes.remove(i);
+      }
+    }
+  }
+
+  public void clear() {
+    mViews.clear();
+    mViewSizes.clear();
+    mPooledBytes = 0;
+  }
+
+  public int getMaxSize() {
+    return mMaxSize;
+  }
+
+  public int getPooledViewCount() {
+    return mViews.size();
+  }
+
+  /*package*/ int getPooledViewCount(Context context) {
+    int count = 0;
+    for (int i = 0; i < mViews.size(); i++) {
+      if (mViews.get(i).getContext() == context) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Grows the pool so it can hold at least {@code maxSize} views, e.g. to keep pre-created views.
+   */
+  /*package*/ void ensureMaxSize(int maxSize) {
+    mMaxSize = Math.max(mMaxSize, maxSize);
+  }
+
+  /**
+   * @return the memory held by pooled views, as estimated by
+   * {@link ViewManager#estimateRecycledViewSize}
+   */
+  public long getPooledBytesEstimate() {
+    return mPooledBytes;
+  }
+
+  /**
+   * @return how many view creations were served from the pool
+   */
+  public long getHitCount() {
+    return mHitCount;
+  }
+
+  /**
+   * @return how many view creations had to create a new view
+   */
+  public long getMissCount() {
+    return mMissCount;
+  }
+
+  /**
+   * @return how many recyclable views were dropped because the pool was full
+   */
+  public long getDiscardCount() {
+    return mDiscardCount;
+  }
+
+  public float getHitRate() {
+    long requests = mHitCount + mMissCount;
+    return requests == 0 ? 0 : (float) mHitCount / requests;
+  }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager.events;
+
+import javax.annotation.Nullable;
+
+import java.util.Map;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.common.MapBuilder;
+
+/**
+ * {@link RCTEventEmitter} that records the events dispatched to it instead of calling JS, so that
+ * all the events of a frame can be sent with a single {@link RCTEventEmitter#receiveEventBatch}
+ * call. Calls are recorded in order as (target tag, event type id, payload) records, flattened in a
+ * single array. The event type id is the index of the event name in the event types array sent
+ * along. Touches are recorded with {@link #TOUCHES_TARGET_TAG} as target tag and
+ * {@code [touches, changedIndices]} as payload.
+ *
+ * Must only be used from the JS thread.
+ */
+/* package */ class BatchingEventEmitter implements RCTEventEmitter {
+
+  /**
+   * Keep in sync with ReactNativeEventEmitter.receiveEventBatch
+   */
+  /* package */ static final int TOUCHES_TARGET_TAG = -1;
+
+  private final Map<String, Integer> mEventTypeIds = MapBuilder.newHashMap();
+  private @Nullable WritableArray mEventTypes;
+  private @Nullable WritableArray mRecords;
+  private int mRecordCount;
+
+  @Override
+  public void receiveEvent(int targetTag, String eventName, @Nullable WritableMap event) {
+    WritableArray records = startRecord(targetTag, eventName);
+    if (event == null) {
+      records.pushNull();
+    } else {
+      records.pushMap(event);
+    }
+  }
+
+  @Override
+  public void receiveTouches(
+      String eventName,
+      WritableArray touches,
+      WritableArray changedIndices) {
+    WritableArray records = startRecord(TOUCHES_TARGET_TAG, eventName);
+    WritableArray payload = Arguments.createArray();
+    payload.pushArray(touches);
+    payload.pushArray(changedIndices);
+    records.pushArray(payload);
+  }
+
+  @Override
+  public void receiveEventBatch(WritableArray eventTypes, WritableArray records) {
+    throw new IllegalStateException("Batches can't be nested");
+  }
+
+  /**
+   * Sends the recorded events to JS and starts a new batch. Sends nothing if no event was recorded.
+   */
+  public void flush(RCTEventEmitter rctEventEmitter) {
+    if (mRecordCount == 0) {
+      return;
+    }
+    WritableArray eventTypes = mEventTypes;
+    WritableArray records = mRecords;
+    mEventTypes = null;
+    mRecords = null;
+    mRecordCount = 0;
+    mEventTypeIds.clear();
+    rctEventEmitter.receiveEventBatch(eventTypes, records);
+  }
+
+  private WritableArray startRecord(int targetTag, String eventName) {
+    if (mRecords == null || mEventTypes == null) {
+      mRecords = Arguments.createArray();
+      mEventTypes = Arguments.createArray();
+    }
+    Integer eventTypeId = mEventTypeIds.get(eventName);
+    if (eventTypeId == null) {
+      eventTypeId = mEventTypeIds.size();
+      mEventTypeIds.put(eventName, eventTypeId);
+      mEventTypes.pushString(eventName);
+    }
+    mRecords.pushInt(targetTag);
+    mRecords.pushInt(eventTypeId);
+    mRecordCount++;
+    return mRecords;
+  }
+}
@@ -9,6 +9,12 @@
 
 package com.facebook.react.uimanager.events;
 
+import javax.annotation.Nullable;
+
+import java.util.Map;
+
+import com.facebook.react.common.MapBuilder;
+
 /**
  * A UI event that can be dispatched to JS.
  *
@@ -19,11 +25,14 @@ package com.facebook.react.uimanager.events;
 public abstract class Event<T extends Event> {
 
   private static int sUniqueID = 0;
+  private static final Map<String, Short> sEventNameToEventTypeId = MapBuilder.newHashMap();
 
   private boolean mInitialized;
   private int mViewTag;
   private long mTimestampMs;
   private int mUniqueID = sUniqueID++;
+  private @Nullable String mEventTypeName;
+  private short mEventTypeId;
 
   protected Event() {
   }
@@ -74,6 +83,15 @@ public abstract class Event<T extends Event> {
     return (T) (getTimestampMs() > otherEvent.getTimestampMs() ? this : otherEvent);
   }
 
+  /**
+   * @return true if this event should be sent to JS as soon as it is dispatched instead of on the
+   * next frame, e.g. because it is user input. Events dispatched before it are sent along with it,
+   * so events still reach JS in order.
+   */
+  public boolean isLatencyCritical() {
+    return false;
+  }
+
   /**
    * @return a key used to determine which other events of this type this event can be coalesced
    * with. For example, touch move events should only be coalesced within a single gesture so a
@@ -92,11 +110,36 @@ public abstract class Event<T extends Event> {
 
   /**
    * Called when the EventDispatcher is done with an event, either because it was dispatched or
-   * because it was coalesced with another Event.
+   * because it was coalesced with another Event. Events obtained from an {@link EventPool} release
+   * themselves to it here.
    */
   public void onDispose() {
   }
 
+  /**
+   * @return a small id unique to the name of this event, used in event cookies. Ids are interned
+   * once per event name for the whole process, and cached by the event for as long as its name
+   * doesn't change, e.g. until a pooled event is reused for another type.
+   */
+  /*package*/ final short getEventTypeId() {
+    String eventName = getEventName();
+    // Event names are constants, comparing references avoids comparing their contents
+    if (eventName != mEventTypeName) {
+      mEventTypeId = internEventTypeId(eventName);
+      mEventTypeName = eventName;
+    }
+    return mEventTypeId;
+  }
+
+  private static synchronized short internEventTypeId(String eventName) {
+    Short eventTypeId = sEventNameToEventTypeId.get(eventName);
+    if (eventTypeId == null) {
+      eventTypeId = (short) sEventNameToEventTypeId.size();
+      sEventNameToEventTypeId.put(eventName, eventTypeId);
+    }
+    return eventTypeId;
+  }
+
   /*package*/ boolean isInitialized() {
     return mInitialized;
   }
@@ -11,20 +11,19 @@ package com.facebook.react.uimanager.events;
 
 import javax.annotation.Nullable;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Map;
 
-import android.util.LongSparseArray;
+import android.os.SystemClock;
 import android.view.Choreographer;
 
 import com.facebook.infer.annotation.Assertions;
 import com.facebook.react.bridge.LifecycleEventListener;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.UiThreadUtil;
-import com.facebook.react.common.MapBuilder;
+import com.facebook.react.common.LongIntMap;
+import com.facebook.react.common.MpscQueue;
 import com.facebook.react.uimanager.ReactChoreographer;
 import com.facebook.systrace.Systrace;
 
@@ -50,6 +49,28 @@ import com.facebook.systrace.Systrace;
  * Ideally, we don't need this and JS is fast enough to process all the events each frame, but bad
  * things happen, including load on CPUs from the system, and we should handle this case well.
  *
+ * == Batching ==
+ *
+ * The events of a frame are sent to JS with a single {@link RCTEventEmitter#receiveEventBatch}
+ * call rather than one call per event, see {@link BatchingEventEmitter}.
+ *
+ * == Threading ==
+ *
+ * Threads dispatching events add them to a lock-free queue and never wait for the UI or JS
+ * threads. On each frame, the UI thread moves the events from that queue to the pending events
+ * array, coalescing them. The JS thread sends the events of a second array to JS. When the JS
+ * thread is done with it, the UI thread swaps the arrays and schedules the JS thread again, so
+ * neither thread waits for the other one either.
+ *
+ * == Latency critical events ==
+ *
+ * Events for which {@link Event#isLatencyCritical} returns true, like touches, don't wait for the
+ * next frame: the UI thread moves the staged events to the pending events right away and hands
+ * them over to the JS thread if it isn't busy with previous events, or as soon as it is done with
+ * them otherwise. Events dispatched before them are handed over along with them, so events still
+ * reach JS in order. {@link #getInputLatencyStats} and {@link #getEventLatencyStats} tell how long
+ * events wait to be sent to JS.
+ *
  * == Event Cookies ==
  *
  * An event cookie is made up of the event type id, view tag, and a custom coalescing key. Only
@@ -86,20 +107,34 @@ public class EventDispatcher implements LifecycleEventListener {
     }
   };
 
-  private final Object mEventsStagingLock = new Object();
-  private final Object mEventsToDispatchLock = new Object();
   private final ReactApplicationContext mReactContext;
-  private final LongSparseArray<Integer> mEventCookieToLastEventIdx = new LongSparseArray<>();
-  private final Map<String, Short> mEventNameToEventId = MapBuilder.newHashMap();
   private final DispatchEventsRunnable mDispatchEventsRunnable = new DispatchEventsRunnable();
-  private final ArrayList<Event> mEventStaging = new ArrayList<>();
+  private final Runnable mDispatchLatencyCriticalEventsRunnable = new Runnable() {
+    @Override
+    public void run() {
+      dispatchLatencyCriticalEvents();
+    }
+  };
+  private final EventLatencyStats mInputLatencyStats = new EventLatencyStats();
+  private final EventLatencyStats mEventLatencyStats = new EventLatencyStats();
+  private final MpscQueue<Event> mEventStaging = new MpscQueue<>();
 
+  // Only accessed from the UI thread
+  private final LongIntMap mEventCookieToLastEventIdx = new LongIntMap();
+  private Event[] mPendingEvents = new Event[16];
+  private int mPendingEventsSize = 0;
+
+  // Owned by the JS thread while mHasDispatchScheduled is true, and by the UI thread otherwise
   private Event[] mEventsToDispatch = new Event[16];
   private int mEventsToDispatchSize = 0;
+
+  // Only accessed from the JS thread
+  private final BatchingEventEmitter mBatchingEventEmitter = new BatchingEventEmitter();
   private @Nullable RCTEventEmitter mRCTEventEmitter;
   private volatile @Nullable ScheduleDispatchFrameCallback mCurrentFrameCallback;
-  private short mNextEventTypeId = 0;
   private volatile boolean mHasDispatchScheduled = false;
+  // Set when latency critical events are pending while a dispatch is scheduled
+  private volatile boolean mHasLatencyCriticalEventsPending = false;
   private volatile int mHasDispatchScheduledCount = 0;
 
   public EventDispatcher(ReactApplicationContext reactContext) {
@@ -108,19 +143,40 @@ public class EventDispatcher implements LifecycleEventListener {
   }
 
   /**
-   * Sends the given Event to JS, coalescing eligible events if JS is backed up.
+   * Sends the given Event to JS, coalescing eligible events if JS is backed up. Can be called from
+   * any thread.
    */
   public void dispatchEvent(Event event) {
     Assertions.assertCondition(event.isInitialized(), "Dispatched event hasn't been initialized");
-    synchronized (mEventsStagingLock) {
-      mEventStaging.add(event);
-      Systrace.startAsyncFlow(
-          Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
-          event.getEventName(),
-          event.getUniqueID());
+    Systrace.startAsyncFlow(
+        Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+        event.getEventName(),
+        event.getUniqueID());
+    mEventStaging.add(event);
+
+    if (event.isLatencyCritical()) {
+      if (UiThreadUtil.isOnUiThread()) {
+        dispatchLatencyCriticalEvents();
+      } else {
+        UiThreadUtil.runOnUiThread(mDispatchLatencyCriticalEventsRunnable);
+      }
     }
   }
 
+  /**
+   * @return the latency of the events for which {@link Event#isLatencyCritical} returns true
+   */
+  public EventLatencyStats getInputLatencyStats() {
+    return mInputLatencyStats;
+  }
+
+  /**
+   * @return the latency of the events sent to JS on frames
+   */
+  public EventLatencyStats getEventLatencyStats() {
+    return mEventLatencyStats;
+  }
+
   @Override
   public void onHostResume() {
     UiThreadUtil.assertOnUiThread();
@@ -163,64 +219,100 @@ public class EventDispatcher implements LifecycleEventListener {
    * UI thread is in the process of adding UI events and we might incorrectly send one event this
    * frame and another from this frame during the next.
    */
-  private void moveStagedEventsToDispatchQueue() {
-    synchronized (mEventsStagingLock) {
-      synchronized (mEventsToDispatchLock) {
-        for (int i = 0; i < mEventStaging.size(); i++) {
-          Event event = mEventStaging.get(i);
-
-          if (!event.canCoalesce()) {
-            addEventToEventsToDispatch(event);
-            continue;
-          }
+  private void moveStagedEventsToPendingEvents() {
+    Event event;
+    while ((event = mEventStaging.poll()) != null) {
+      if (!event.canCoalesce()) {
+        addPendingEvent(event);
+        continue;
+      }
 
-          long eventCookie = getEventCookie(
-              event.getViewTag(),
-              event.getEventName(),
-              event.getCoalescingKey());
-
-          Event eventToAdd = null;
-          Event eventToDispose = null;
-          Integer lastEventIdx = mEventCookieToLastEventIdx.get(eventCookie);
-
-          if (lastEventIdx == null) {
-            eventToAdd = event;
-            mEventCookieToLastEventIdx.put(eventCookie, mEventsToDispatchSize);
-          } else {
-            Event lastEvent = mEventsToDispatch[lastEventIdx];
-            Event coalescedEvent = event.coalesce(lastEvent);
-            if (coalescedEvent != lastEvent) {
-              eventToAdd = coalescedEvent;
-              mEventCookieToLastEventIdx.put(eventCookie, mEventsToDispatchSize);
-              eventToDispose = lastEvent;
-              mEventsToDispatch[lastEventIdx] = null;
-            } else {
-              eventToDispose = event;
-            }
-          }
+      long eventCookie = getEventCookie(
+          event.getViewTag(),
+          event.getEventTypeId(),
+          event.getCoalescingKey());
 
-          if (eventToAdd != null) {
-            addEventToEventsToDispatch(eventToAdd);
-          }
-          if (eventToDispose != null) {
-            eventToDispose.dispose();
-          }
+      Event eventToAdd = null;
+      Event eventToDispose = null;
+      int lastEventIdx = mEventCookieToLastEventIdx.get(eventCookie, -1);
+
+      if (lastEventIdx == -1) {
+        eventToAdd = event;
+        mEventCookieToLastEventIdx.put(eventCookie, mPendingEventsSize);
+      } else {
+        Event lastEvent = mPendingEvents[lastEventIdx];
+        Event coalescedEvent = event.coalesce(lastEvent);
+        if (coalescedEvent != lastEvent) {
+          eventToAdd = coalescedEvent;
+          mEventCookieToLastEventIdx.put(eventCookie, mPendingEventsSize);
+          eventToDispose = lastEvent;
+          mPendingEvents[lastEventIdx] = null;
+        } else {
+          eventToDispose = event;
         }
       }
-      mEventStaging.clear();
+
+      if (eventToAdd != null) {
+        addPendingEvent(eventToAdd);
+      }
+      if (eventToDispose != null) {
+        eventToDispose.dispose();
+      }
     }
   }
 
-  private long getEventCookie(int viewTag, String eventName, short coalescingKey) {
-    short eventTypeId;
-    Short eventIdObj = mEventNameToEventId.get(eventName);
-    if (eventIdObj != null) {
-      eventTypeId = eventIdObj;
-    } else {
-      eventTypeId = mNextEventTypeId++;
-      mEventNameToEventId.put(eventName, eventTypeId);
+  /**
+   * Sends the staged events to JS without waiting for the next frame, or as soon as the JS thread
+   * is done with the events it is sending.
+   */
+  private void dispatchLatencyCriticalEvents() {
+    UiThreadUtil.assertOnUiThread();
+    // Like frames, only send events while the host is resumed
+    if (mCurrentFrameCallback == null) {
+      return;
     }
-    return getEventCookie(viewTag, eventTypeId, coalescingKey);
+
+    moveStagedEventsToPendingEvents();
+    if (mPendingEventsSize == 0) {
+      // The events were already handed over with a scheduled dispatch
+      return;
+    }
+    mHasLatencyCriticalEventsPending = true;
+    // If a dispatch is scheduled, its runnable sees mHasLatencyCriticalEventsPending when done
+    maybeScheduleDispatch();
+  }
+
+  /**
+   * Hands the pending events over to the JS thread, unless it still has previous events to send.
+   */
+  private void maybeScheduleDispatch() {
+    if (mHasDispatchScheduled || mPendingEventsSize == 0) {
+      return;
+    }
+
+    swapPendingEventsAndEventsToDispatch();
+    mHasLatencyCriticalEventsPending = false;
+    // Publishes the events to dispatch to the JS thread
+    mHasDispatchScheduled = true;
+    Systrace.startAsyncFlow(
+        Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+        "ScheduleDispatchFrameCallback",
+        mHasDispatchScheduledCount);
+    mReactContext.runOnJSQueueThread(mDispatchEventsRunnable);
+  }
+
+  /**
+   * Must only be called when no dispatch is scheduled, i.e. when the JS thread is done with the
+   * previous events. Events dispatched from now on can no longer be coalesced with the ones handed
+   * over.
+   */
+  private void swapPendingEventsAndEventsToDispatch() {
+    Event[] eventsToDispatch = mEventsToDispatch;
+    mEventsToDispatch = mPendingEvents;
+    mEventsToDispatchSize = mPendingEventsSize;
+    mPendingEvents = eventsToDispatch;
+    mPendingEventsSize = 0;
+    mEventCookieToLastEventIdx.clear();
   }
 
   private static long getEventCookie(int viewTag, short eventTypeId, short coalescingKey) {
@@ -243,16 +335,8 @@ public class EventDispatcher implements LifecycleEventListener {
 
       Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "ScheduleDispatchFrameCallback");
       try {
-        moveStagedEventsToDispatchQueue();
-
-        if (!mHasDispatchScheduled) {
-          mHasDispatchScheduled = true;
-          Systrace.startAsyncFlow(
-              Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
-              "ScheduleDispatchFrameCallback",
-              mHasDispatchScheduledCount);
-          mReactContext.runOnJSQueueThread(mDispatchEventsRunnable);
-        }
+        moveStagedEventsToPendingEvents();
+        maybeScheduleDispatch();
 
         ReactChoreographer.getInstance()
             .postFrameCallback(ReactChoreographer.CallbackType.TIMERS_EVENTS, this);
@@ -276,30 +360,39 @@ public class EventDispatcher implements LifecycleEventListener {
             Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
             "ScheduleDispatchFrameCallback",
             mHasDispatchScheduledCount);
-        mHasDispatchScheduled = false;
         mHasDispatchScheduledCount++;
-        Assertions.assertNotNull(mRCTEventEmitter);
-        synchronized (mEventsToDispatchLock) {
-          // We avoid allocating an array and iterator, and "sorting" if we don't need to.
-          // This occurs when the size of mEventsToDispatch is zero or one.
-          if (mEventsToDispatchSize > 1) {
-            Arrays.sort(mEventsToDispatch, 0, mEventsToDispatchSize, EVENT_COMPARATOR);
-          }
-          for (int eventIdx = 0; eventIdx < mEventsToDispatchSize; eventIdx++) {
-            Event event = mEventsToDispatch[eventIdx];
-            // Event can be null if it has been coalesced into another event.
-            if (event == null) {
-              continue;
-            }
-            Systrace.endAsyncFlow(
-                Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
-                event.getEventName(),
-                event.getUniqueID());
-            event.dispatch(mRCTEventEmitter);
-            event.dispose();
+        RCTEventEmitter rctEventEmitter = Assertions.assertNotNull(mRCTEventEmitter);
+        // A single event is sent on its own, several are sent to JS in a single call
+        RCTEventEmitter eventEmitter =
+            mEventsToDispatchSize > 1 ? mBatchingEventEmitter : rctEventEmitter;
+        // We avoid allocating an array and iterator, and "sorting" if we don't need to.
+        // This occurs when the size of mEventsToDispatch is zero or one.
+        if (mEventsToDispatchSize > 1) {
+          Arrays.sort(mEventsToDispatch, 0, mEventsToDispatchSize, EVENT_COMPARATOR);
+        }
+        long nowMs = SystemClock.uptimeMillis();
+        for (int eventIdx = 0; eventIdx < mEventsToDispatchSize; eventIdx++) {
+          Event event = mEventsToDispatch[eventIdx];
+          // Event can be null if it has been coalesced into another event.
+          if (event == null) {
+            continue;
           }
-          clearEventsToDispatch();
-          mEventCookieToLastEventIdx.clear();
+          Systrace.endAsyncFlow(
+              Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+              event.getEventName(),
+              event.getUniqueID());
+          EventLatencyStats latencyStats =
+              event.isLatencyCritical() ? mInputLatencyStats : mEventLatencyStats;
+          latencyStats.record(nowMs - event.getTimestampMs());
+          event.dispatch(eventEmitter);
+          event.dispose();
+        }
+        mBatchingEventEmitter.flush(rctEventEmitter);
+        clearEventsToDispatch();
+        // Hands the events array back to the UI thread
+        mHasDispatchScheduled = false;
+        if (mHasLatencyCriticalEventsPending) {
+          UiThreadUtil.runOnUiThread(mDispatchLatencyCriticalEventsRunnable);
         }
       } finally {
         Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
@@ -307,11 +400,11 @@ public class EventDispatcher implements LifecycleEventListener {
     }
   }
 
-  private void addEventToEventsToDispatch(Event event) {
-    if (mEventsToDispatchSize == mEventsToDispatch.length) {
-      mEventsToDispatch = Arrays.copyOf(mEventsToDispatch, 2 * mEventsToDispatch.length);
+  private void addPendingEvent(Event event) {
+    if (mPendingEventsSize == mPendingEvents.length) {
+      mPendingEvents = Arrays.copyOf(mPendingEvents, 2 * mPendingEvents.length);
     }
-    mEventsToDispatch[mEventsToDispatchSize++] = event;
+    mPendingEvents[mPendingEventsSize++] = event;
   }
 
   private void clearEventsToDispatch() {
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager.events;
+
+/**
+ * Latency of the events sent to JS by an {@link EventDispatcher}: the time between the timestamp
+ * of an event, which most views set to the time they dispatch it, and the time the JS thread sends
+ * it to JS, in milliseconds. Recorded on the JS thread, can be read from any thread.
+ */
+public class EventLatencyStats {
+
+  private long mEventCount;
+  private long mTotalLatencyMs;
+  private long mMaxLatencyMs;
+
+  /* package */ synchronized void record(long latencyMs) {
+    mEventCount++;
+    mTotalLatencyMs += latencyMs;
+    mMaxLatencyMs = Math.max(mMaxLatencyMs, latencyMs);
+  }
+
+  public synchronized long getEventCount() {
+    return mEventCount;
+  }
+
+  public synchronized float getAverageLatencyMs() {
+    return mEventCount == 0 ? 0 : (float) mTotalLatencyMs / mEventCount;
+  }
+
+  public synchronized long getMaxLatencyMs() {
+    return mMaxLatencyMs;
+  }
+
+  public synchronized void reset() {
+    mEventCount = 0;
+    mTotalLatencyMs = 0;
+    mMaxLatencyMs = 0;
+  }
+}
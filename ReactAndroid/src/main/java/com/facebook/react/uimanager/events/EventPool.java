@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager.events;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thread safe pool of events of a given type, so that frequent events don't allocate a new object
+ * each time they are dispatched. Events that are only dispatched once in a while, like focus
+ * changes or clicks, aren't worth pooling. An event type declares a pool as a constant and uses it
+ * like this:
+ *
+ * <pre>
+ *   private static final EventPool&lt;MyEvent&gt; EVENTS_POOL =
+ *       new EventPool&lt;&gt;(MyEvent.class, 3);
+ *
+ *   public static MyEvent obtain(int viewTag, ...) {
+ *     MyEvent event = EVENTS_POOL.acquire();
+ *     if (event == null) {
+ *       event = new MyEvent();
+ *     }
+ *     event.init(viewTag, ...);
+ *     return event;
+ *   }
+ *
+ *   {@literal @}Override
+ *   public void onDispose() {
+ *     EVENTS_POOL.release(this);
+ *   }
+ * </pre>
+ *
+ * Every pool counts its hits, misses and overflows (events dropped because the pool was full),
+ * which can be read at runtime through {@link #getPools} to tune the size of each pool with
+ * {@link #setMaxSize}.
+ */
+public class EventPool<T extends Event> {
+
+  private static final List<EventPool<?>> sPools = new ArrayList<>();
+
+  /**
+   * @return the pools of all the event types loaded so far
+   */
+  public static List<EventPool<?>> getPools() {
+    synchronized (sPools) {
+      return new ArrayList<>(sPools);
+    }
+  }
+
+  private final Class<T> mEventClass;
+  private Object[] mEvents;
+  private int mPoolSize;
+  private long mHitCount;
+  private long mMissCount;
+  private long mOverflowCount;
+
+  public EventPool(Class<T> eventClass, int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("The max pool size must be >= 0: " + maxSize);
+    }
+    mEventClass = eventClass;
+    mEvents = new Object[maxSize];
+    synchronized (sPools) {
+      sPools.add(this);
+    }
+  }
+
+  /**
+   * @return a pooled event, or null if the pool is empty and the caller has to create one
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized @Nullable T acquire() {
+    if (mPoolSize == 0) {
+      mMissCount++;
+      return null;
+    }
+    mHitCount++;
+    mPoolSize--;
+    T event = (T) mEvents[mPoolSize];
+    mEvents[mPoolSize] = null;
+    return event;
+  }
+
+  /**
+   * Puts an event back in the pool, unless the pool is full.
+   *
+   * @return whether the event was pooled
+   */
+  public synchronized boolean release(T event) {
+    for (int i = 0; i < mPoolSize; i++) {
+      if (mEvents[i] == event) {
+        throw new IllegalStateException("Event is already in the pool: " + event);
+      }
+    }
+    if (mPoolSize == mEvents.length) {
+      mOverflowCount++;
+      return false;
+    }
+    mEvents[mPoolSize++] = event;
+    return true;
+  }
+
+  public Class<T> getEventClass() {
+    return mEventClass;
+  }
+
+  public synchronized int getMaxSize() {
+    return mEvents.length;
+  }
+
+  /**
+   * Changes how many events the pool can hold, dropping the pooled events that don't fit anymore.
+   */
+  public synchronized void setMaxSize(int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("The max pool size must be >= 0: " + maxSize);
+    }
+    Object[] events = new Object[maxSize];
+    mPoolSize = Math.min(mPoolSize, maxSize);
+    System.arraycopy(mEvents, 0, events, 0, mPoolSize);
+    mEvents = events;
+  }
+
+  /**
+   * @return how many events are in the pool
+   */
+  public synchronized int getPoolSize() {
+    return mPoolSize;
+  }
+
+  /**
+   * @return how many events were served from the pool
+   */
+  public synchronized long getHitCount() {
+    return mHitCount;
+  }
+
+  /**
+   * @return how many events had to be created because the pool was empty
+   */
+  public synchronized long getMissCount() {
+    return mMissCount;
+  }
+
+  /**
+   * @return how many released events were dropped because the pool was full
+   */
+  public synchronized long getOverflowCount() {
+    return mOverflowCount;
+  }
+
+  public synchronized float getHitRate() {
+    long requests = mHitCount + mMissCount;
+    return requests == 0 ? 0 : (float) mHitCount / requests;
+  }
+
+  public synchronized void resetCounts() {
+    mHitCount = 0;
+    mMissCount = 0;
+    mOverflowCount = 0;
+  }
+
+  /**
+   * Drops the pooled events.
+   */
+  public synchronized void clear() {
+    for (int i = 0; i < mPoolSize; i++) {
+      mEvents[i] = null;
+    }
+    mPoolSize = 0;
+  }
+}
@@ -12,13 +12,23 @@ package com.facebook.react.uimanager.events;
 import javax.annotation.Nullable;
 
 import com.facebook.react.bridge.JavaScriptModule;
+import com.facebook.react.bridge.UnbatchedJSCall;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 
 public interface RCTEventEmitter extends JavaScriptModule {
   public void receiveEvent(int targetTag, String eventName, @Nullable WritableMap event);
+  @UnbatchedJSCall
   public void receiveTouches(
       String eventName,
       WritableArray touches,
       WritableArray changedIndices);
+
+  /**
+   * Delivers several events with a single call. {@code records} holds, for each event in order, its
+   * target tag, event type id (the index of its name in {@code eventTypes}) and payload. Touches
+   * have a target tag of -1 and {@code [touches, changedIndices]} as payload.
+   */
+  @UnbatchedJSCall
+  public void receiveEventBatch(WritableArray eventTypes, WritableArray records);
 }
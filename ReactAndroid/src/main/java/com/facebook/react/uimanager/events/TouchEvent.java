@@ -11,7 +11,6 @@ package com.facebook.react.uimanager.events;
 
 import javax.annotation.Nullable;
 
-import android.support.v4.util.Pools;
 import android.view.MotionEvent;
 
 import com.facebook.infer.annotation.Assertions;
@@ -28,8 +27,8 @@ public class TouchEvent extends Event<TouchEvent> {
 
   private static final int TOUCH_EVENTS_POOL_SIZE = 3;
 
-  private static final Pools.SynchronizedPool<TouchEvent> EVENTS_POOL =
-      new Pools.SynchronizedPool<>(TOUCH_EVENTS_POOL_SIZE);
+  private static final EventPool<TouchEvent> EVENTS_POOL =
+      new EventPool<>(TouchEvent.class, TOUCH_EVENTS_POOL_SIZE);
 
   public static TouchEvent obtain(
       int viewTag,
@@ -125,6 +124,11 @@ public class TouchEvent extends Event<TouchEvent> {
     }
   }
 
+  @Override
+  public boolean isLatencyCritical() {
+    return true;
+  }
+
   @Override
   public short getCoalescingKey() {
     return mCoalescingKey;
@@ -151,7 +151,7 @@ public class ReactDrawerLayoutManager extends ViewGroupManager<ReactDrawerLayout
     @Override
     public void onDrawerSlide(View view, float v) {
       mEventDispatcher.dispatchEvent(
-          new DrawerSlideEvent(mDrawerLayout.getId(), SystemClock.uptimeMillis(), v));
+          DrawerSlideEvent.obtain(mDrawerLayout.getId(), SystemClock.uptimeMillis(), v));
     }
 
     @Override
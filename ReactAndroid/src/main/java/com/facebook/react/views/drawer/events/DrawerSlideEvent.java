@@ -12,6 +12,7 @@ package com.facebook.react.views.drawer.events;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 /**
@@ -21,13 +22,41 @@ public class DrawerSlideEvent extends Event<DrawerSlideEvent> {
 
   public static final String EVENT_NAME = "topDrawerSlide";
 
-  private final float mOffset;
+  private static final EventPool<DrawerSlideEvent> EVENTS_POOL =
+      new EventPool<>(DrawerSlideEvent.class, 3);
 
+  private float mOffset;
+
+  public static DrawerSlideEvent obtain(int viewId, long timestampMs, float offset) {
+    DrawerSlideEvent event = EVENTS_POOL.acquire();
+    if (event == null) {
+      event = new DrawerSlideEvent();
+    }
+    event.init(viewId, timestampMs, offset);
+    return event;
+  }
+
+  private DrawerSlideEvent() {
+  }
+
+  /**
+   * @deprecated Use {@link #obtain} so that the event is pooled.
+   */
+  @Deprecated
   public DrawerSlideEvent(int viewId, long timestampMs, float offset) {
-    super(viewId, timestampMs);
+    init(viewId, timestampMs, offset);
+  }
+
+  private void init(int viewId, long timestampMs, float offset) {
+    super.init(viewId, timestampMs);
     mOffset = offset;
   }
 
+  @Override
+  public void onDispose() {
+    EVENTS_POOL.release(this);
+  }
+
   public float getOffset() {
     return mOffset;
   }
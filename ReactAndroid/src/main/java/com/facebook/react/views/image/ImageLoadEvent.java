@@ -12,6 +12,7 @@ package com.facebook.react.views.image;
 import android.support.annotation.IntDef;
 
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 import java.lang.annotation.Retention;
@@ -30,13 +31,41 @@ public class ImageLoadEvent extends Event<ImageLoadEvent> {
   public static final int ON_LOAD_START = 4;
   public static final int ON_PROGRESS = 5;
 
-  private final int mEventType;
+  private static final EventPool<ImageLoadEvent> EVENTS_POOL =
+      new EventPool<>(ImageLoadEvent.class, 10);
 
+  private int mEventType;
+
+  public static ImageLoadEvent obtain(int viewId, long timestampMs, @ImageEventType int eventType) {
+    ImageLoadEvent event = EVENTS_POOL.acquire();
+    if (event == null) {
+      event = new ImageLoadEvent();
+    }
+    event.init(viewId, timestampMs, eventType);
+    return event;
+  }
+
+  private ImageLoadEvent() {
+  }
+
+  /**
+   * @deprecated Use {@link #obtain} so that the event is pooled.
+   */
+  @Deprecated
   public ImageLoadEvent(int viewId, long timestampMs, @ImageEventType int eventType) {
-    super(viewId, timestampMs);
+    init(viewId, timestampMs, eventType);
+  }
+
+  private void init(int viewId, long timestampMs, @ImageEventType int eventType) {
+    super.init(viewId, timestampMs);
     mEventType = eventType;
   }
 
+  @Override
+  public void onDispose() {
+    EVENTS_POOL.release(this);
+  }
+
   public static String eventNameForType(@ImageEventType int eventType) {
     switch(eventType) {
       case ON_ERROR:
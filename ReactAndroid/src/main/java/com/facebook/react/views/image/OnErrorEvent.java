@@ -3,6 +3,7 @@ package com.facebook.react.views.image;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 /**
@@ -12,13 +13,41 @@ public class OnErrorEvent extends Event<OnErrorEvent> {
 
     /* package */ static final String EVENT_NAME = "topImageLoadError";
 
+    private static final EventPool<OnErrorEvent> EVENTS_POOL =
+            new EventPool<>(OnErrorEvent.class, 2);
+
     private String mError;
 
+    public static OnErrorEvent obtain(int viewTag, long timestampMs, String error) {
+        OnErrorEvent event = EVENTS_POOL.acquire();
+        if (event == null) {
+            event = new OnErrorEvent();
+        }
+        event.init(viewTag, timestampMs, error);
+        return event;
+    }
+
+    private OnErrorEvent() {
+    }
+
+    /**
+     * @deprecated Use {@link #obtain} so that the event is pooled.
+     */
+    @Deprecated
     public OnErrorEvent(int viewTag, long timestampMs, String error) {
-        super(viewTag, timestampMs);
+        init(viewTag, timestampMs, error);
+    }
+
+    private void init(int viewTag, long timestampMs, String error) {
+        super.init(viewTag, timestampMs);
         mError = error;
     }
 
+    @Override
+    public void onDispose() {
+        EVENTS_POOL.release(this);
+    }
+
     @Override
     public String getEventName() {
         return EVENT_NAME;
@@ -3,6 +3,7 @@ package com.facebook.react.views.image;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 /**
@@ -12,8 +13,32 @@ public class OnLoadEvent extends Event<OnLoadEvent> {
 
     /* package */ static final String EVENT_NAME = "topImageLoaded";
 
+    private static final EventPool<OnLoadEvent> EVENTS_POOL =
+            new EventPool<>(OnLoadEvent.class, 5);
+
+    public static OnLoadEvent obtain(int viewTag, long timestampMs) {
+        OnLoadEvent event = EVENTS_POOL.acquire();
+        if (event == null) {
+            event = new OnLoadEvent();
+        }
+        event.init(viewTag, timestampMs);
+        return event;
+    }
+
+    private OnLoadEvent() {
+    }
+
+    /**
+     * @deprecated Use {@link #obtain} so that the event is pooled.
+     */
+    @Deprecated
     public OnLoadEvent(int viewTag, long timestampMs) {
-        super(viewTag, timestampMs);
+        init(viewTag, timestampMs);
+    }
+
+    @Override
+    public void onDispose() {
+        EVENTS_POOL.release(this);
     }
 
     @Override
@@ -3,6 +3,7 @@ package com.facebook.react.views.image;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 /**
@@ -12,8 +13,32 @@ public class OnLoadStartEvent extends Event<OnLoadStartEvent> {
 
     /* package */ static final String EVENT_NAME = "topImageLoadStarted";
 
+    private static final EventPool<OnLoadStartEvent> EVENTS_POOL =
+            new EventPool<>(OnLoadStartEvent.class, 5);
+
+    public static OnLoadStartEvent obtain(int viewTag, long timestampMs) {
+        OnLoadStartEvent event = EVENTS_POOL.acquire();
+        if (event == null) {
+            event = new OnLoadStartEvent();
+        }
+        event.init(viewTag, timestampMs);
+        return event;
+    }
+
+    private OnLoadStartEvent() {
+    }
+
+    /**
+     * @deprecated Use {@link #obtain} so that the event is pooled.
+     */
+    @Deprecated
     public OnLoadStartEvent(int viewTag, long timestampMs) {
-        super(viewTag, timestampMs);
+        init(viewTag, timestampMs);
+    }
+
+    @Override
+    public void onDispose() {
+        EVENTS_POOL.release(this);
     }
 
     @Override
@@ -16,6 +16,7 @@ import java.util.Map;
 import android.graphics.Color;
 
 import android.graphics.drawable.Animatable;
+import android.os.SystemClock;
 import com.facebook.drawee.backends.pipeline.Fresco;
 import com.facebook.drawee.controller.AbstractDraweeControllerBuilder;
 import com.facebook.drawee.controller.ControllerListener;
@@ -199,7 +200,7 @@ public class ReactImageManager extends SimpleViewManager<ReactImageView> {
       ReactContext reactContext = mReactContextWeakReference.get();
       ReactImageView view = mImageViewWeakReference.get();
       if (reactContext != null && view != null) {
-        reactContext.getNativeModule(UIManagerModule.class).getEventDispatcher().dispatchEvent(new OnLoadStartEvent(view.getId(), System.currentTimeMillis()));
+        reactContext.getNativeModule(UIManagerModule.class).getEventDispatcher().dispatchEvent(OnLoadStartEvent.obtain(view.getId(), SystemClock.uptimeMillis()));
       }
     }
 
@@ -208,7 +209,7 @@ public class ReactImageManager extends SimpleViewManager<ReactImageView> {
       ReactContext reactContext = mReactContextWeakReference.get();
       ReactImageView view = mImageViewWeakReference.get();
       if (reactContext != null && view != null) {
-        reactContext.getNativeModule(UIManagerModule.class).getEventDispatcher().dispatchEvent(new OnLoadEvent(view.getId(), System.currentTimeMillis()));
+        reactContext.getNativeModule(UIManagerModule.class).getEventDispatcher().dispatchEvent(OnLoadEvent.obtain(view.getId(), SystemClock.uptimeMillis()));
       }
     }
 
@@ -227,7 +228,7 @@ public class ReactImageManager extends SimpleViewManager<ReactImageView> {
       ReactContext reactContext = mReactContextWeakReference.get();
       ReactImageView view = mImageViewWeakReference.get();
       if (reactContext != null && view != null) {
-        reactContext.getNativeModule(UIManagerModule.class).getEventDispatcher().dispatchEvent(new OnErrorEvent(view.getId(), System.currentTimeMillis(), throwable.getLocalizedMessage()));
+        reactContext.getNativeModule(UIManagerModule.class).getEventDispatcher().dispatchEvent(OnErrorEvent.obtain(view.getId(), SystemClock.uptimeMillis(), throwable.getLocalizedMessage()));
       }
     }
 
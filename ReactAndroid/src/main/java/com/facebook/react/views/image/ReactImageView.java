@@ -152,8 +152,10 @@ public class ReactImageView extends GenericDraweeView {
         @Override
         public void onSubmit(String id, Object callerContext) {
           mEventDispatcher.dispatchEvent(
-              new ImageLoadEvent(getId(), SystemClock.uptimeMillis(), ImageLoadEvent.ON_LOAD_START)
-          );
+              ImageLoadEvent.obtain(
+                  getId(),
+                  SystemClock.uptimeMillis(),
+                  ImageLoadEvent.ON_LOAD_START));
         }
 
         @Override
@@ -163,19 +165,25 @@ public class ReactImageView extends GenericDraweeView {
             @Nullable Animatable animatable) {
           if (imageInfo != null) {
             mEventDispatcher.dispatchEvent(
-                new ImageLoadEvent(getId(), SystemClock.uptimeMillis(), ImageLoadEvent.ON_LOAD_END)
-            );
+                ImageLoadEvent.obtain(
+                    getId(),
+                    SystemClock.uptimeMillis(),
+                    ImageLoadEvent.ON_LOAD_END));
             mEventDispatcher.dispatchEvent(
-                new ImageLoadEvent(getId(), SystemClock.uptimeMillis(), ImageLoadEvent.ON_LOAD)
-            );
+                ImageLoadEvent.obtain(
+                    getId(),
+                    SystemClock.uptimeMillis(),
+                    ImageLoadEvent.ON_LOAD));
           }
         }
 
         @Override
         public void onFailure(String id, Throwable throwable) {
           mEventDispatcher.dispatchEvent(
-              new ImageLoadEvent(getId(), SystemClock.uptimeMillis(), ImageLoadEvent.ON_LOAD_END)
-          );
+              ImageLoadEvent.obtain(
+                  getId(),
+                  SystemClock.uptimeMillis(),
+                  ImageLoadEvent.ON_LOAD_END));
         }
       };
     }
@@ -6,6 +6,7 @@ import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.PixelUtil;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 /**
@@ -16,15 +17,47 @@ public class ContentSizeChangeEvent extends Event<ContentSizeChangeEvent> {
 
   public static final String EVENT_NAME = "topContentSizeChange";
 
-  private final int mWidth;
-  private final int mHeight;
+  private static final EventPool<ContentSizeChangeEvent> EVENTS_POOL =
+      new EventPool<>(ContentSizeChangeEvent.class, 3);
 
+  private int mWidth;
+  private int mHeight;
+
+  public static ContentSizeChangeEvent obtain(
+      int viewTag,
+      long timestampMs,
+      int width,
+      int height) {
+    ContentSizeChangeEvent event = EVENTS_POOL.acquire();
+    if (event == null) {
+      event = new ContentSizeChangeEvent();
+    }
+    event.init(viewTag, timestampMs, width, height);
+    return event;
+  }
+
+  private ContentSizeChangeEvent() {
+  }
+
+  /**
+   * @deprecated Use {@link #obtain} so that the event is pooled.
+   */
+  @Deprecated
   public ContentSizeChangeEvent(int viewTag, long timestampMs, int width, int height) {
-    super(viewTag, timestampMs);
+    init(viewTag, timestampMs, width, height);
+  }
+
+  private void init(int viewTag, long timestampMs, int width, int height) {
+    super.init(viewTag, timestampMs);
     mWidth = width;
     mHeight = height;
   }
 
+  @Override
+  public void onDispose() {
+    EVENTS_POOL.release(this);
+  }
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
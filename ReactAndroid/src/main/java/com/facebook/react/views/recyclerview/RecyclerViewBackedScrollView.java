@@ -326,7 +326,7 @@ public class RecyclerViewBackedScrollView extends RecyclerView {
   private void onTotalChildrenHeightChange(int newTotalChildrenHeight) {
     if (mSendContentSizeChangeEvents) {
       ((ReactContext) getContext()).getNativeModule(UIManagerModule.class).getEventDispatcher()
-          .dispatchEvent(new ContentSizeChangeEvent(
+          .dispatchEvent(ContentSizeChangeEvent.obtain(
                   getId(),
                   SystemClock.uptimeMillis(),
                   getWidth(),
@@ -1,10 +1,9 @@
 package com.facebook.react.views.scroll;
 
-import android.support.v4.util.Pools;
-
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 /**
@@ -14,8 +13,8 @@ public class OverScrollEvent extends Event<OverScrollEvent> {
 
     /*package*/ static final String EVENT_NAME = "topOverScroll";
 
-    private static final Pools.SynchronizedPool<OverScrollEvent> EVENTS_POOL =
-            new Pools.SynchronizedPool<>(3);
+    private static final EventPool<OverScrollEvent> EVENTS_POOL =
+            new EventPool<>(OverScrollEvent.class, 3);
 
     private float mOverScrollX;
     private float mOverScrollY;
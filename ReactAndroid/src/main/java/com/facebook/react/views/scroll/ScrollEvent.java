@@ -13,13 +13,12 @@ import javax.annotation.Nullable;
 
 import java.lang.Override;
 
-import android.support.v4.util.Pools;
-
 import com.facebook.infer.annotation.Assertions;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.PixelUtil;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 /**
@@ -27,8 +26,8 @@ import com.facebook.react.uimanager.events.RCTEventEmitter;
  */
 public class ScrollEvent extends Event<ScrollEvent> {
 
-  private static final Pools.SynchronizedPool<ScrollEvent> EVENTS_POOL =
-      new Pools.SynchronizedPool<>(3);
+  private static final EventPool<ScrollEvent> EVENTS_POOL =
+      new EventPool<>(ScrollEvent.class, 3);
 
   private int mScrollX;
   private int mScrollY;
@@ -12,6 +12,7 @@ package com.facebook.react.views.textinput;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 /**
@@ -22,11 +23,36 @@ public class ReactTextChangedEvent extends Event<ReactTextChangedEvent> {
 
   public static final String EVENT_NAME = "topChange";
 
+  private static final EventPool<ReactTextChangedEvent> EVENTS_POOL =
+      new EventPool<>(ReactTextChangedEvent.class, 3);
+
   private String mText;
   private int mContentWidth;
   private int mContentHeight;
   private int mEventCount;
 
+  public static ReactTextChangedEvent obtain(
+      int viewId,
+      long timestampMs,
+      String text,
+      int contentSizeWidth,
+      int contentSizeHeight,
+      int eventCount) {
+    ReactTextChangedEvent event = EVENTS_POOL.acquire();
+    if (event == null) {
+      event = new ReactTextChangedEvent();
+    }
+    event.init(viewId, timestampMs, text, contentSizeWidth, contentSizeHeight, eventCount);
+    return event;
+  }
+
+  private ReactTextChangedEvent() {
+  }
+
+  /**
+   * @deprecated Use {@link #obtain} so that the event is pooled.
+   */
+  @Deprecated
   public ReactTextChangedEvent(
       int viewId,
       long timestampMs,
@@ -34,13 +60,28 @@ public class ReactTextChangedEvent extends Event<ReactTextChangedEvent> {
       int contentSizeWidth,
       int contentSizeHeight,
       int eventCount) {
-    super(viewId, timestampMs);
+    init(viewId, timestampMs, text, contentSizeWidth, contentSizeHeight, eventCount);
+  }
+
+  private void init(
+      int viewId,
+      long timestampMs,
+      String text,
+      int contentSizeWidth,
+      int contentSizeHeight,
+      int eventCount) {
+    super.init(viewId, timestampMs);
     mText = text;
     mContentWidth = contentSizeWidth;
     mContentHeight = contentSizeHeight;
     mEventCount = eventCount;
   }
 
+  @Override
+  public void onDispose() {
+    EVENTS_POOL.release(this);
+  }
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
@@ -12,6 +12,7 @@ package com.facebook.react.views.textinput;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 /**
@@ -22,11 +23,36 @@ public class ReactTextInputEvent extends Event<ReactTextInputEvent> {
 
   public static final String EVENT_NAME = "topTextInput";
 
+  private static final EventPool<ReactTextInputEvent> EVENTS_POOL =
+      new EventPool<>(ReactTextInputEvent.class, 3);
+
   private String mText;
   private String mPreviousText;
   private int mRangeStart;
   private int mRangeEnd;
 
+  public static ReactTextInputEvent obtain(
+      int viewId,
+      long timestampMs,
+      String text,
+      String previousText,
+      int rangeStart,
+      int rangeEnd) {
+    ReactTextInputEvent event = EVENTS_POOL.acquire();
+    if (event == null) {
+      event = new ReactTextInputEvent();
+    }
+    event.init(viewId, timestampMs, text, previousText, rangeStart, rangeEnd);
+    return event;
+  }
+
+  private ReactTextInputEvent() {
+  }
+
+  /**
+   * @deprecated Use {@link #obtain} so that the event is pooled.
+   */
+  @Deprecated
   public ReactTextInputEvent(
       int viewId,
       long timestampMs,
@@ -34,13 +60,28 @@ public class ReactTextInputEvent extends Event<ReactTextInputEvent> {
       String previousText,
       int rangeStart,
       int rangeEnd) {
-    super(viewId, timestampMs);
+    init(viewId, timestampMs, text, previousText, rangeStart, rangeEnd);
+  }
+
+  private void init(
+      int viewId,
+      long timestampMs,
+      String text,
+      String previousText,
+      int rangeStart,
+      int rangeEnd) {
+    super.init(viewId, timestampMs);
     mText = text;
     mPreviousText = previousText;
     mRangeStart = rangeStart;
     mRangeEnd = rangeEnd;
   }
 
+  @Override
+  public void onDispose() {
+    EVENTS_POOL.release(this);
+  }
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
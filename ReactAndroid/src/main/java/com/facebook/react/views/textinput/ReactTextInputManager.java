@@ -386,7 +386,7 @@ public class ReactTextInputManager extends
       // The event that contains the event counter and updates it must be sent first.
       // TODO: t7936714 merge these events
       mEventDispatcher.dispatchEvent(
-          new ReactTextChangedEvent(
+          ReactTextChangedEvent.obtain(
               mEditText.getId(),
               SystemClock.uptimeMillis(),
               s.toString(),
@@ -395,7 +395,7 @@ public class ReactTextInputManager extends
               mEditText.incrementAndGetEventCounter()));
 
       mEventDispatcher.dispatchEvent(
-          new ReactTextInputEvent(
+          ReactTextInputEvent.obtain(
               mEditText.getId(),
               SystemClock.uptimeMillis(),
               newText,
@@ -479,7 +479,7 @@ public class ReactTextInputManager extends
       // forward it on if we have new values
       if (mPreviousSelectionStart != start || mPreviousSelectionEnd != end) {
         mEventDispatcher.dispatchEvent(
-            new ReactTextInputSelectionEvent(
+            ReactTextInputSelectionEvent.obtain(
                 mReactEditText.getId(),
                 SystemClock.uptimeMillis(),
                 start,
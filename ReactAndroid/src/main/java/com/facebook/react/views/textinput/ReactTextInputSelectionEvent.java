@@ -12,6 +12,7 @@ package com.facebook.react.views.textinput;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 /**
@@ -22,19 +23,55 @@ import com.facebook.react.uimanager.events.RCTEventEmitter;
 
   private static final String EVENT_NAME = "topSelectionChange";
 
+  private static final EventPool<ReactTextInputSelectionEvent> EVENTS_POOL =
+      new EventPool<>(ReactTextInputSelectionEvent.class, 3);
+
   private int mSelectionStart;
   private int mSelectionEnd;
 
+  public static ReactTextInputSelectionEvent obtain(
+      int viewId,
+      long timestampMs,
+      int selectionStart,
+      int selectionEnd) {
+    ReactTextInputSelectionEvent event = EVENTS_POOL.acquire();
+    if (event == null) {
+      event = new ReactTextInputSelectionEvent();
+    }
+    event.init(viewId, timestampMs, selectionStart, selectionEnd);
+    return event;
+  }
+
+  private ReactTextInputSelectionEvent() {
+  }
+
+  /**
+   * @deprecated Use {@link #obtain} so that the event is pooled.
+   */
+  @Deprecated
   public ReactTextInputSelectionEvent(
       int viewId,
       long timestampMs,
       int selectionStart,
       int selectionEnd) {
-    super(viewId, timestampMs);
+    init(viewId, timestampMs, selectionStart, selectionEnd);
+  }
+
+  private void init(
+      int viewId,
+      long timestampMs,
+      int selectionStart,
+      int selectionEnd) {
+    super.init(viewId, timestampMs);
     mSelectionStart = selectionStart;
     mSelectionEnd = selectionEnd;
   }
 
+  @Override
+  public void onDispose() {
+    EVENTS_POOL.release(this);
+  }
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
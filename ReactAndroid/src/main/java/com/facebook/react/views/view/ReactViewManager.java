@@ -45,6 +45,7 @@ public class ReactViewManager extends ViewGroupManager<ReactViewGroup> {
   };
   private static final int CMD_HOTSPOT_UPDATE = 1;
   private static final int CMD_SET_PRESSED = 2;
+  private static final int RECYCLE_POOL_SIZE = 32;
 
   @ReactProp(name = "accessible")
   public void setAccessible(ReactViewGroup view, boolean accessible) {
@@ -127,6 +128,21 @@ public class ReactViewManager extends ViewGroupManager<ReactViewGroup> {
     return new ReactViewGroup(context);
   }
 
+  @Override
+  protected int getRecyclePoolSize() {
+    return RECYCLE_POOL_SIZE;
+  }
+
+  @Override
+  protected boolean prepareToRecycleView(ReactViewGroup view) {
+    resetViewProps(view);
+    // A null pointerEvents prop leaves the current value in place
+    view.setPointerEvents(PointerEvents.AUTO);
+    view.setPressed(false);
+    view.clearAnimation();
+    return true;
+  }
+
   @Override
   public Map<String, Integer> getCommandsMap() {
     return MapBuilder.of("hotspotUpdate", CMD_HOTSPOT_UPDATE, "setPressed", CMD_SET_PRESSED);
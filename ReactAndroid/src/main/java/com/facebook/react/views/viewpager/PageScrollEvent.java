@@ -12,6 +12,7 @@ package com.facebook.react.views.viewpager;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 /**
@@ -28,15 +29,47 @@ import com.facebook.react.uimanager.events.RCTEventEmitter;
 
   public static final String EVENT_NAME = "topPageScroll";
 
-  private final int mPosition;
-  private final float mOffset;
+  private static final EventPool<PageScrollEvent> EVENTS_POOL =
+      new EventPool<>(PageScrollEvent.class, 3);
 
+  private int mPosition;
+  private float mOffset;
+
+  /* package */ static PageScrollEvent obtain(
+      int viewTag,
+      long timestampMs,
+      int position,
+      float offset) {
+    PageScrollEvent event = EVENTS_POOL.acquire();
+    if (event == null) {
+      event = new PageScrollEvent();
+    }
+    event.init(viewTag, timestampMs, position, offset);
+    return event;
+  }
+
+  private PageScrollEvent() {
+  }
+
+  /**
+   * @deprecated Use {@link #obtain} so that the event is pooled.
+   */
+  @Deprecated
   protected PageScrollEvent(int viewTag, long timestampMs, int position, float offset) {
-    super(viewTag, timestampMs);
+    init(viewTag, timestampMs, position, offset);
+  }
+
+  private void init(int viewTag, long timestampMs, int position, float offset) {
+    super.init(viewTag, timestampMs);
     mPosition = position;
     mOffset = offset;
   }
 
+  @Override
+  public void onDispose() {
+    EVENTS_POOL.release(this);
+  }
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
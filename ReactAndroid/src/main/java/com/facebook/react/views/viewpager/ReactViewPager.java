@@ -91,7 +91,7 @@ import com.facebook.react.uimanager.events.NativeGestureUtil;
     @Override
     public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
       mEventDispatcher.dispatchEvent(
-          new PageScrollEvent(getId(), SystemClock.uptimeMillis(), position, positionOffset));
+          PageScrollEvent.obtain(getId(), SystemClock.uptimeMillis(), position, positionOffset));
     }
 
     @Override
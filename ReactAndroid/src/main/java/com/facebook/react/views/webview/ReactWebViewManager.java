@@ -349,7 +349,7 @@ public class ReactWebViewManager extends SimpleViewManager<WebView> {
               reactContext.getNativeModule(UIManagerModule.class).getEventDispatcher();
       WritableMap map = Arguments.createMap();
       map.putInt("progress", newProgress);
-      eventDispatcher.dispatchEvent(new TopLoadingProgressEvent(view.getId(), System.currentTimeMillis(), map));
+      eventDispatcher.dispatchEvent(TopLoadingProgressEvent.obtain(view.getId(), SystemClock.uptimeMillis(), map));
     }
   }
 }
@@ -11,6 +11,7 @@ package com.facebook.catalyst.views.webview.events;
 
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.EventPool;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 /**
@@ -19,13 +20,45 @@ import com.facebook.react.uimanager.events.RCTEventEmitter;
 public class TopLoadingProgressEvent extends Event<TopLoadingProgressEvent> {
 
   public static final String EVENT_NAME = "topLoadingProgress";
+
+  private static final EventPool<TopLoadingProgressEvent> EVENTS_POOL =
+      new EventPool<>(TopLoadingProgressEvent.class, 3);
+
   private WritableMap mEventData;
 
+  public static TopLoadingProgressEvent obtain(
+      int viewId,
+      long timestampMs,
+      WritableMap eventData) {
+    TopLoadingProgressEvent event = EVENTS_POOL.acquire();
+    if (event == null) {
+      event = new TopLoadingProgressEvent();
+    }
+    event.init(viewId, timestampMs, eventData);
+    return event;
+  }
+
+  private TopLoadingProgressEvent() {
+  }
+
+  /**
+   * @deprecated Use {@link #obtain} so that the event is pooled.
+   */
+  @Deprecated
   public TopLoadingProgressEvent(int viewId, long timestampMs, WritableMap eventData) {
-    super(viewId, timestampMs);
+    init(viewId, timestampMs, eventData);
+  }
+
+  private void init(int viewId, long timestampMs, WritableMap eventData) {
+    super.init(viewId, timestampMs);
     mEventData = eventData;
   }
 
+  @Override
+  public void onDispose() {
+    EVENTS_POOL.release(this);
+  }
+
   @Override
   public String getEventName() {
     return EVENT_NAME;
@@ -15,12 +15,17 @@ namespace react {
 
 class JSThreadState {
 public:
-  JSThreadState(const RefPtr<JSExecutorFactory>& jsExecutorFactory, Bridge::Callback&& callback) :
+  JSThreadState(
+      const RefPtr<JSExecutorFactory>& jsExecutorFactory,
+      Bridge::Callback&& callback,
+      RequireModuleConfigCallback&& requireModuleConfigCallback) :
     m_callback(callback)
   {
-    m_jsExecutor = jsExecutorFactory->createJSExecutor([this, callback] (std::string queueJSON, bool isEndOfBatch) {
-      m_callback(parseMethodCalls(queueJSON), false /* = isEndOfBatch */);
-    });
+    m_jsExecutor = jsExecutorFactory->createJSExecutor(
+      [this, callback] (std::string queueJSON, bool isEndOfBatch) {
+        m_callback(parseMethodCalls(queueJSON), false /* = isEndOfBatch */);
+      },
+      std::move(requireModuleConfigCallback));
   }
 
   void executeApplicationScript(const std::string& script, const std::string& sourceURL) {
@@ -42,6 +47,11 @@ public:
     m_callback(parseMethodCalls(returnedJSON), true /* = isEndOfBatch */);
   }
 
+  void callBatch(const folly::dynamic& calls) {
+    auto returnedJSON = m_jsExecutor->callBatch(calls);
+    m_callback(parseMethodCalls(returnedJSON), true /* = isEndOfBatch */);
+  }
+
   void setGlobalVariable(const std::string& propName, const std::string& jsonValue) {
     m_jsExecutor->setGlobalVariable(propName, jsonValue);
   }
@@ -71,7 +81,10 @@ private:
   Bridge::Callback m_callback;
 };
 
-Bridge::Bridge(const RefPtr<JSExecutorFactory>& jsExecutorFactory, Callback callback) :
+Bridge::Bridge(
+    const RefPtr<JSExecutorFactory>& jsExecutorFactory,
+    Callback callback,
+    RequireModuleConfigCallback requireModuleConfigCallback) :
   m_callback(callback),
   m_destroyed(std::shared_ptr<bool>(new bool(false)))
 {
@@ -82,7 +95,10 @@ Bridge::Bridge(const RefPtr<JSExecutorFactory>& jsExecutorFactory, Callback call
     }
     m_callback(std::move(calls), isEndOfBatch);
   };
-  m_threadState.reset(new JSThreadState(jsExecutorFactory, std::move(proxyCallback)));
+  m_threadState.reset(new JSThreadState(
+    jsExecutorFactory,
+    std::move(proxyCallback),
+    std::move(requireModuleConfigCallback)));
 }
 
 // This must be called on the same thread on which the constructor was called.
@@ -122,6 +138,16 @@ void Bridge::invokeCallback(const double callbackId, const folly::dynamic& argum
   m_threadState->invokeCallback(callbackId, arguments);
 }
 
+void Bridge::callBatch(const folly::dynamic& calls) {
+  if (*m_destroyed) {
+    return;
+  }
+  #ifdef WITH_FBSYSTRACE
+  FbSystraceSection s(TRACE_TAG_REACT_CXX_BRIDGE, "Bridge.callBatch");
+  #endif
+  m_threadState->callBatch(calls);
+}
+
 void Bridge::setGlobalVariable(const std::string& propName, const std::string& jsonValue) {
   m_threadState->setGlobalVariable(propName, jsonValue);
 }
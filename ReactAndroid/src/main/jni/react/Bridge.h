@@ -26,7 +26,10 @@ class Bridge : public Countable {
 public:
   typedef std::function<void(std::vector<MethodCall>, bool isEndOfBatch)> Callback;
 
-  Bridge(const RefPtr<JSExecutorFactory>& jsExecutorFactory, Callback callback);
+  Bridge(
+    const RefPtr<JSExecutorFactory>& jsExecutorFactory,
+    Callback callback,
+    RequireModuleConfigCallback requireModuleConfigCallback);
   virtual ~Bridge();
 
   /**
@@ -45,6 +48,12 @@ public:
    */
   void invokeCallback(const double callbackId, const folly::dynamic& args);
 
+  /**
+   * Executes a batch of function calls and callback invocations in JS with a
+   * single call, see JSExecutor::callBatch.
+   */
+  void callBatch(const folly::dynamic& calls);
+
   void executeApplicationScript(const std::string& script, const std::string& sourceURL);
   void setGlobalVariable(const std::string& propName, const std::string& jsonValue);
   bool supportsProfiling();
@@ -19,10 +19,15 @@ namespace react {
 class JSExecutor;
 
 typedef std::function<void(std::string, bool)> FlushImmediateCallback;
+// Returns the config of the native module with the given name as JSON, or an empty string if
+// there's no such module. Called synchronously from the JS thread.
+typedef std::function<std::string(const std::string&)> RequireModuleConfigCallback;
 
 class JSExecutorFactory : public Countable {
 public:
-  virtual std::unique_ptr<JSExecutor> createJSExecutor(FlushImmediateCallback cb) = 0;
+  virtual std::unique_ptr<JSExecutor> createJSExecutor(
+    FlushImmediateCallback cb,
+    RequireModuleConfigCallback requireModuleConfigCb) = 0;
   virtual ~JSExecutorFactory() {};
 };
 
@@ -53,6 +58,15 @@ public:
    */
   virtual std::string invokeCallback(const double callbackId, const folly::dynamic& arguments) = 0;
 
+  /**
+   * Executes BatchedBridge.callBatchReturnFlushedQueue with a batch of
+   * function calls and callback invocations, and returns the next queue. The
+   * batch has the layout of the queue JS returns: [moduleIDs, methodIDs,
+   * params]. Callback invocations have the module ID -1 and the cbID as
+   * method ID.
+   */
+  virtual std::string callBatch(const folly::dynamic& calls) = 0;
+
   virtual void setGlobalVariable(
     const std::string& propName,
     const std::string& jsonValue) = 0;
@@ -58,6 +58,13 @@ static JSValueRef nativeFlushQueueImmediate(
     size_t argumentCount,
     const JSValueRef arguments[],
     JSValueRef *exception);
+static JSValueRef nativeRequireModuleConfig(
+    JSContextRef ctx,
+    JSObjectRef function,
+    JSObjectRef thisObject,
+    size_t argumentCount,
+    const JSValueRef arguments[],
+    JSValueRef *exception);
 static JSValueRef nativeLoggingHook(
     JSContextRef ctx,
     JSObjectRef function,
@@ -92,16 +99,22 @@ static std::string executeJSCallWithJSC(
   return Value(ctx, result).toJSONString();
 }
 
-std::unique_ptr<JSExecutor> JSCExecutorFactory::createJSExecutor(FlushImmediateCallback cb) {
-  return std::unique_ptr<JSExecutor>(new JSCExecutor(cb));
+std::unique_ptr<JSExecutor> JSCExecutorFactory::createJSExecutor(
+    FlushImmediateCallback cb,
+    RequireModuleConfigCallback requireModuleConfigCb) {
+  return std::unique_ptr<JSExecutor>(new JSCExecutor(cb, requireModuleConfigCb));
 }
 
-JSCExecutor::JSCExecutor(FlushImmediateCallback cb) :
-    m_flushImmediateCallback(cb) {
+JSCExecutor::JSCExecutor(
+    FlushImmediateCallback cb,
+    RequireModuleConfigCallback requireModuleConfigCb) :
+    m_flushImmediateCallback(cb),
+    m_requireModuleConfigCallback(requireModuleConfigCb) {
   m_context = JSGlobalContextCreateInGroup(nullptr, nullptr);
   m_messageQueueThread = JMessageQueueThread::currentMessageQueueThread();
   s_globalContextRefToJSCExecutor[m_context] = this;
   installGlobalFunction(m_context, "nativeFlushQueueImmediate", nativeFlushQueueImmediate);
+  installGlobalFunction(m_context, "nativeRequireModuleConfig", nativeRequireModuleConfig);
   installGlobalFunction(m_context, "nativeLoggingHook", nativeLoggingHook);
   installGlobalFunction(m_context, "nativePerformanceNow", nativePerformanceNow);
   installGlobalFunction(m_context, "nativeStartWorker", nativeStartWorker);
@@ -184,6 +197,14 @@ std::string JSCExecutor::invokeCallback(const double callbackId, const folly::dy
   return executeJSCallWithJSC(m_context, "invokeCallbackAndReturnFlushedQueue", std::move(call));
 }
 
+std::string JSCExecutor::callBatch(const folly::dynamic& calls) {
+  // TODO: Make this a first class function instead of evaling. #9317773
+  std::vector<folly::dynamic> call{
+    std::move(calls)
+  };
+  return executeJSCallWithJSC(m_context, "callBatchReturnFlushedQueue", std::move(call));
+}
+
 void JSCExecutor::setGlobalVariable(const std::string& propName, const std::string& jsonValue) {
   auto globalObject = JSContextGetGlobalObject(m_context);
   String jsPropertyName(propName.c_str());
@@ -238,6 +259,15 @@ void JSCExecutor::flushQueueImmediate(std::string queueJSON) {
   m_flushImmediateCallback(queueJSON, false);
 }
 
+std::string JSCExecutor::requireModuleConfig(const std::string& moduleName) {
+  #ifdef WITH_FBSYSTRACE
+  FbSystraceSection s(
+      TRACE_TAG_REACT_CXX_BRIDGE, "JSCExecutor.requireModuleConfig",
+      "module", moduleName);
+  #endif
+  return m_requireModuleConfigCallback ? m_requireModuleConfigCallback(moduleName) : "";
+}
+
 // WebWorker impl
 
 JSGlobalContextRef JSCExecutor::getContext() {
@@ -320,6 +350,40 @@ static JSValueRef nativeFlushQueueImmediate(
   return JSValueMakeUndefined(ctx);
 }
 
+static JSValueRef nativeRequireModuleConfig(
+    JSContextRef ctx,
+    JSObjectRef function,
+    JSObjectRef thisObject,
+    size_t argumentCount,
+    const JSValueRef arguments[],
+    JSValueRef *exception) {
+  if (argumentCount != 1) {
+    *exception = createErrorString(ctx, "Got wrong number of args");
+    return JSValueMakeUndefined(ctx);
+  }
+
+  JSCExecutor *executor;
+  try {
+    executor = s_globalContextRefToJSCExecutor.at(JSContextGetGlobalContext(ctx));
+  } catch (std::out_of_range& e) {
+    *exception = createErrorString(ctx, "Global JS context didn't map to a valid executor");
+    return JSValueMakeUndefined(ctx);
+  }
+
+  std::string moduleName = Value(ctx, arguments[0]).toString().str();
+  std::string config;
+  try {
+    config = executor->requireModuleConfig(moduleName);
+  } catch (...) {
+    *exception = createErrorString(ctx, "Failed to get the config of a native module");
+    return JSValueMakeUndefined(ctx);
+  }
+  if (config.empty()) {
+    return JSValueMakeNull(ctx);
+  }
+  return JSValueMakeString(ctx, String(config.c_str()));
+}
+
 JSValueRef JSCExecutor::nativeStartWorker(
     JSContextRef ctx,
     JSObjectRef function,
@@ -16,7 +16,9 @@ class JMessageQueueThread;
 
 class JSCExecutorFactory : public JSExecutorFactory {
 public:
-  virtual std::unique_ptr<JSExecutor> createJSExecutor(FlushImmediateCallback cb) override;
+  virtual std::unique_ptr<JSExecutor> createJSExecutor(
+    FlushImmediateCallback cb,
+    RequireModuleConfigCallback requireModuleConfigCb) override;
 };
 
 class JSCExecutor : public JSExecutor, public JSCWebWorkerOwner {
@@ -24,7 +26,9 @@ public:
   /**
    * Should be invoked from the JS thread.
    */
-  explicit JSCExecutor(FlushImmediateCallback flushImmediateCallback);
+  JSCExecutor(
+    FlushImmediateCallback flushImmediateCallback,
+    RequireModuleConfigCallback requireModuleConfigCallback);
   ~JSCExecutor() override;
 
   virtual void executeApplicationScript(
@@ -38,6 +42,7 @@ public:
   virtual std::string invokeCallback(
     const double callbackId,
     const folly::dynamic& arguments) override;
+  virtual std::string callBatch(const folly::dynamic& calls) override;
   virtual void setGlobalVariable(
     const std::string& propName,
     const std::string& jsonValue) override;
@@ -48,6 +53,7 @@ public:
   virtual void handleMemoryPressureCritical() override;
 
   void flushQueueImmediate(std::string queueJSON);
+  std::string requireModuleConfig(const std::string& moduleName);
   void installNativeHook(const char *name, JSObjectCallAsFunctionCallback callback);
   virtual void onMessageReceived(int workerId, const std::string& message) override;
   virtual JSGlobalContextRef getContext() override;
@@ -56,6 +62,7 @@ public:
 private:
   JSGlobalContextRef m_context;
   FlushImmediateCallback m_flushImmediateCallback;
+  RequireModuleConfigCallback m_requireModuleConfigCallback;
   std::unordered_map<int, JSCWebWorker> m_webWorkers;
   std::unordered_map<int, Object> m_webWorkerJSObjs;
   std::shared_ptr<JMessageQueueThread> m_messageQueueThread;
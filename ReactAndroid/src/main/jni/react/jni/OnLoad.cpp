@@ -32,6 +32,10 @@ namespace react {
 
 static jclass gReadableNativeMapClass;
 static jmethodID gReadableNativeMapCtor;
+static jclass gDecodedReadableMapClass;
+static jmethodID gDecodedReadableMapCtor;
+static jclass gStringClass;
+static jclass gObjectClass;
 
 namespace exceptions {
 
@@ -483,6 +487,85 @@ static jobject getValueType(JNIEnv* env, jobject obj, jstring keyName) {
   return type::getType(getMapValue(env, obj, keyName).type());
 }
 
+// Value types of DecodedReadableMap
+enum DecodedType : jbyte {
+  DECODED_NULL = 0,
+  DECODED_BOOLEAN = 1,
+  DECODED_INT = 2,
+  DECODED_DOUBLE = 3,
+  DECODED_STRING = 4,
+  DECODED_ARRAY = 5,
+  DECODED_MAP = 6,
+};
+
+static jobject decode(JNIEnv* env, jobject obj) {
+  auto nativeMap = extractRefPtr<NativeMap>(env, obj);
+  auto& map = nativeMap->map;
+  jsize size = map.size();
+
+  jobjectArray keys = env->NewObjectArray(size, gStringClass, nullptr);
+  jobjectArray objects = env->NewObjectArray(size, gObjectClass, nullptr);
+  std::vector<jbyte> types(size);
+  std::vector<jdouble> numbers(size);
+
+  jsize i = 0;
+  for (auto& item : map.items()) {
+    LocalString key(item.first.c_str());
+    env->SetObjectArrayElement(keys, i, key.string());
+
+    const folly::dynamic& value = item.second;
+    jobject object = nullptr;
+    switch (value.type()) {
+      case folly::dynamic::Type::NULLT:
+        types[i] = DECODED_NULL;
+        break;
+      case folly::dynamic::Type::BOOL:
+        types[i] = DECODED_BOOLEAN;
+        numbers[i] = value.getBool() ? 1 : 0;
+        break;
+      case folly::dynamic::Type::INT64:
+        types[i] = DECODED_INT;
+        numbers[i] = value.getInt();
+        break;
+      case folly::dynamic::Type::DOUBLE:
+        types[i] = DECODED_DOUBLE;
+        numbers[i] = value.getDouble();
+        break;
+      case folly::dynamic::Type::STRING: {
+        types[i] = DECODED_STRING;
+        LocalString string(value.getString().c_str());
+        env->SetObjectArrayElement(objects, i, string.string());
+        break;
+      }
+      case folly::dynamic::Type::ARRAY:
+        types[i] = DECODED_ARRAY;
+        object = ReadableNativeArray::newObjectCxxArgs(value).release();
+        break;
+      case folly::dynamic::Type::OBJECT:
+        types[i] = DECODED_MAP;
+        object = createReadableNativeMapWithContents(env, value);
+        break;
+      default:
+        throwNewJavaException(exceptions::gUnexpectedNativeTypeExceptionClass,
+                              "Unsupported value type %s", value.typeName());
+    }
+    if (object != nullptr) {
+      env->SetObjectArrayElement(objects, i, object);
+      // Props may hold many nested arrays and maps, don't exhaust the local reference table
+      env->DeleteLocalRef(object);
+    }
+    ++i;
+  }
+
+  jbyteArray jtypes = env->NewByteArray(size);
+  env->SetByteArrayRegion(jtypes, 0, size, types.data());
+  jdoubleArray jnumbers = env->NewDoubleArray(size);
+  env->SetDoubleArrayRegion(jnumbers, 0, size, numbers.data());
+
+  return env->NewObject(
+    gDecodedReadableMapClass, gDecodedReadableMapCtor, keys, jtypes, jnumbers, objects);
+}
+
 } // namespace readable
 
 namespace iterator {
@@ -557,6 +640,7 @@ namespace bridge {
 
 static jmethodID gCallbackMethod;
 static jmethodID gOnBatchCompleteMethod;
+static jmethodID gGetModuleConfigMethod;
 static jmethodID gLogMarkerMethod;
 
 static void makeJavaCall(JNIEnv* env, jobject callback, MethodCall&& call) {
@@ -618,6 +702,21 @@ static void dispatchCallbacksToJava(const RefPtr<WeakReference>& weakCallback,
   queue::enqueueNativeRunnableOnQueue(env, callbackQueueThread, jNativeRunnable.get());
 }
 
+static std::string requireModuleConfig(
+    const RefPtr<WeakReference>& weakCallback,
+    const std::string& moduleName) {
+  auto env = Environment::current();
+  ResolvedWeakReference callback(weakCallback);
+  if (!callback) {
+    return "";
+  }
+  auto jModuleName = make_jstring(moduleName.c_str());
+  auto config = adopt_local(static_cast<jstring>(
+    env->CallObjectMethod(callback, gGetModuleConfigMethod, jModuleName.get())));
+  throwPendingJniExceptionAsCppException();
+  return config ? fromJString(env, config.get()) : "";
+}
+
 static void create(JNIEnv* env, jobject obj, jobject executor, jobject callback,
                    jobject callbackQueueThread) {
   auto weakCallback = createNew<WeakReference>(callback);
@@ -626,7 +725,13 @@ static void create(JNIEnv* env, jobject obj, jobject executor, jobject callback,
     dispatchCallbacksToJava(weakCallback, weakCallbackQueueThread, std::move(calls), isEndOfBatch);
   };
   auto nativeExecutorFactory = extractRefPtr<JSExecutorFactory>(env, executor);
-  auto bridge = createNew<Bridge>(nativeExecutorFactory, bridgeCallback);
+  auto requireModuleConfigCallback = [weakCallback] (const std::string& moduleName) {
+    return requireModuleConfig(weakCallback, moduleName);
+  };
+  auto bridge = createNew<Bridge>(
+    nativeExecutorFactory,
+    bridgeCallback,
+    requireModuleConfigCallback);
   setCountableForJava(env, obj, std::move(bridge));
 }
 
@@ -716,6 +821,38 @@ static void invokeCallback(JNIEnv* env, jobject obj, jint callbackId,
   }
 }
 
+static void callBatch(JNIEnv* env, jobject obj, jintArray moduleIds, jintArray methodIds,
+                      jobjectArray args) {
+  auto bridge = extractRefPtr<Bridge>(env, obj);
+  jsize size = env->GetArrayLength(args);
+  std::vector<jint> moduleIdValues(size);
+  std::vector<jint> methodIdValues(size);
+  env->GetIntArrayRegion(moduleIds, 0, size, moduleIdValues.data());
+  env->GetIntArrayRegion(methodIds, 0, size, methodIdValues.data());
+
+  folly::dynamic moduleIdsArray({});
+  folly::dynamic methodIdsArray({});
+  folly::dynamic params({});
+  for (jsize i = 0; i < size; i++) {
+    moduleIdsArray.push_back((double) moduleIdValues[i]);
+    methodIdsArray.push_back((double) methodIdValues[i]);
+    // Batches can be long, don't exhaust the local reference table
+    auto arguments = adopt_local(
+      static_cast<NativeArray::jhybridobject>(env->GetObjectArrayElement(args, i)));
+    params.push_back(std::move(cthis(wrap_alias(arguments.get()))->array));
+  }
+
+  folly::dynamic calls({});
+  calls.push_back(std::move(moduleIdsArray));
+  calls.push_back(std::move(methodIdsArray));
+  calls.push_back(std::move(params));
+  try {
+    bridge->callBatch(std::move(calls));
+  } catch (...) {
+    translatePendingCppExceptionToJavaException();
+  }
+}
+
 static void setGlobalVariable(JNIEnv* env, jobject obj, jstring propName, jstring jsonValue) {
   auto bridge = extractRefPtr<Bridge>(env, obj);
   bridge->setGlobalVariable(fromJString(env, propName), fromJString(env, jsonValue));
@@ -792,6 +929,12 @@ extern "C" JNIEXPORT jint JNI_OnLoad(JavaVM* vm, void* reserved) {
     jclass readableMapClass = env->FindClass("com/facebook/react/bridge/ReadableNativeMap");
     gReadableNativeMapClass = (jclass)env->NewGlobalRef(readableMapClass);
     gReadableNativeMapCtor = env->GetMethodID(readableMapClass, "<init>", "()V");
+    jclass decodedMapClass = env->FindClass("com/facebook/react/bridge/DecodedReadableMap");
+    gDecodedReadableMapClass = (jclass)env->NewGlobalRef(decodedMapClass);
+    gDecodedReadableMapCtor = env->GetMethodID(
+      decodedMapClass, "<init>", "([Ljava/lang/String;[B[D[Ljava/lang/Object;)V");
+    gStringClass = (jclass)env->NewGlobalRef(env->FindClass("java/lang/String"));
+    gObjectClass = (jclass)env->NewGlobalRef(env->FindClass("java/lang/Object"));
     wrap_alias(readableMapClass)->registerNatives({
         makeNativeMethod("hasKey", map::readable::hasKey),
         makeNativeMethod("isNull", map::readable::isNull),
@@ -806,6 +949,9 @@ extern "C" JNIEXPORT jint JNI_OnLoad(JavaVM* vm, void* reserved) {
         makeNativeMethod(
           "getType", "(Ljava/lang/String;)Lcom/facebook/react/bridge/ReadableType;",
           map::readable::getValueType),
+        makeNativeMethod(
+          "decode", "()Lcom/facebook/react/bridge/DecodedReadableMap;",
+          map::readable::decode),
     });
 
     registerNatives("com/facebook/react/bridge/WritableNativeMap", {
@@ -843,6 +989,7 @@ extern "C" JNIEXPORT jint JNI_OnLoad(JavaVM* vm, void* reserved) {
     jclass callbackClass = env->FindClass("com/facebook/react/bridge/ReactCallback");
     bridge::gCallbackMethod = env->GetMethodID(callbackClass, "call", "(IILcom/facebook/react/bridge/ReadableNativeArray;)V");
     bridge::gOnBatchCompleteMethod = env->GetMethodID(callbackClass, "onBatchComplete", "()V");
+    bridge::gGetModuleConfigMethod = env->GetMethodID(callbackClass, "getModuleConfig", "(Ljava/lang/String;)Ljava/lang/String;");
 
     jclass markerClass = env->FindClass("com/facebook/react/bridge/ReactMarker");
     bridge::gLogMarkerMethod = env->GetStaticMethodID(markerClass, "logMarker", "(Ljava/lang/String;)V");
@@ -855,6 +1002,9 @@ extern "C" JNIEXPORT jint JNI_OnLoad(JavaVM* vm, void* reserved) {
         makeNativeMethod("loadScriptFromFile", bridge::loadScriptFromFile),
         makeNativeMethod("callFunction", bridge::callFunction),
         makeNativeMethod("invokeCallback", bridge::invokeCallback),
+        makeNativeMethod(
+          "callBatch", "([I[I[Lcom/facebook/react/bridge/NativeArray;)V",
+          bridge::callBatch),
         makeNativeMethod("setGlobalVariable", bridge::setGlobalVariable),
         makeNativeMethod("supportsProfiling", bridge::supportsProfiling),
         makeNativeMethod("startProfiler", bridge::startProfiler),
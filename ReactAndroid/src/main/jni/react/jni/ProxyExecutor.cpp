@@ -26,7 +26,9 @@ static std::string executeJSCallWithProxy(
   return result->toString();
 }
 
-std::unique_ptr<JSExecutor> ProxyExecutorOneTimeFactory::createJSExecutor(FlushImmediateCallback ignoredCallback) {
+std::unique_ptr<JSExecutor> ProxyExecutorOneTimeFactory::createJSExecutor(
+    FlushImmediateCallback ignoredCallback,
+    RequireModuleConfigCallback ignoredRequireModuleConfigCallback) {
   FBASSERTMSGF(
     m_executor.get() != nullptr,
     "Proxy instance should not be null. Did you attempt to call createJSExecutor() on this factory "
@@ -72,6 +74,13 @@ std::string ProxyExecutor::invokeCallback(const double callbackId, const folly::
   return executeJSCallWithProxy(m_executor.get(), "invokeCallbackAndReturnFlushedQueue", std::move(call));
 }
 
+std::string ProxyExecutor::callBatch(const folly::dynamic& calls) {
+  std::vector<folly::dynamic> call{
+    std::move(calls)
+  };
+  return executeJSCallWithProxy(m_executor.get(), "callBatchReturnFlushedQueue", std::move(call));
+}
+
 void ProxyExecutor::setGlobalVariable(const std::string& propName, const std::string& jsonValue) {
   static auto setGlobalVariable =
     jni::findClassStatic(EXECUTOR_BASECLASS)->getMethod<void(jstring, jstring)>("setGlobalVariable");
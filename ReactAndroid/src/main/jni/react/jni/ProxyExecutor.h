@@ -18,7 +18,9 @@ class ProxyExecutorOneTimeFactory : public JSExecutorFactory {
 public:
   ProxyExecutorOneTimeFactory(jni::global_ref<jobject>&& executorInstance) :
     m_executor(std::move(executorInstance)) {}
-  virtual std::unique_ptr<JSExecutor> createJSExecutor(FlushImmediateCallback ignoredCallback) override;
+  virtual std::unique_ptr<JSExecutor> createJSExecutor(
+    FlushImmediateCallback ignoredCallback,
+    RequireModuleConfigCallback ignoredRequireModuleConfigCallback) override;
 
 private:
   jni::global_ref<jobject> m_executor;
@@ -40,6 +42,7 @@ public:
   virtual std::string invokeCallback(
     const double callbackId,
     const folly::dynamic& arguments) override;
+  virtual std::string callBatch(const folly::dynamic& calls) override;
   virtual void setGlobalVariable(
     const std::string& propName,
     const std::string& jsonValue) override;
@@ -0,0 +1,316 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.csslayout;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Differential test of {@link CSSNodeStoreLayoutEngine} against {@link LayoutEngine}: random trees
+ * are built both as {@link CSSNode}s and in a {@link CSSNodeStore}, laid out, changed and laid out
+ * again, and every node must end up with the same layout. This is what catches the port falling
+ * behind LayoutEngine after a sync from css-layout.
+ */
+public class CSSNodeStoreLayoutEngineTest {
+
+  private static final int TREE_COUNT = 2000;
+  private static final int MAX_DEPTH = 4;
+
+  private static final CSSAlign[] ALIGN_ITEMS = {
+      CSSAlign.STRETCH,
+      CSSAlign.FLEX_START,
+      CSSAlign.CENTER,
+      CSSAlign.FLEX_END,
+  };
+
+  private static final CSSNode.MeasureFunction NODE_MEASURE_FUNCTION =
+      new CSSNode.MeasureFunction() {
+        @Override
+        public void measure(CSSNode node, float width, float height, MeasureOutput measureOutput) {
+          measureText(width, measureOutput);
+        }
+      };
+
+  private static final CSSNodeStore.MeasureFunction STORE_MEASURE_FUNCTION =
+      new CSSNodeStore.MeasureFunction() {
+        @Override
+        public void measure(
+            CSSNodeStore store,
+            int node,
+            float width,
+            float height,
+            MeasureOutput measureOutput) {
+          measureText(width, measureOutput);
+        }
+      };
+
+  private Random mRandom;
+  private CSSNodeStore mStore;
+
+  @Test
+  public void testRandomTreesMatchLayoutEngine() {
+    for (int seed = 0; seed < TREE_COUNT; seed++) {
+      mRandom = new Random(seed);
+      mStore = new CSSNodeStore(4);
+      CSSNode root = new CSSNode();
+      int rootId = buildTree(root, 0);
+      root.setStyleWidth(300);
+      mStore.setStyleWidth(rootId, 300);
+
+      layoutAndCompare(seed, root, rootId);
+
+      // Relayout after changing the root and a random descendant, which exercises the layout cache
+      markLayoutSeen(root, rootId);
+      root.setStyleWidth(200);
+      mStore.setStyleWidth(rootId, 200);
+      CSSNode node = root;
+      int nodeId = rootId;
+      while (node.getChildCount() > 0) {
+        int i = mRandom.nextInt(node.getChildCount());
+        node = node.getChildAt(i);
+        nodeId = mStore.getChildAt(nodeId, i);
+      }
+      float padding = mRandom.nextInt(10);
+      node.setPadding(Spacing.ALL, padding);
+      mStore.setPadding(nodeId, Spacing.ALL, padding);
+
+      layoutAndCompare(seed, root, rootId);
+    }
+  }
+
+  @Test
+  public void testRemovedChildIsNotLaidOut() {
+    mStore = new CSSNodeStore();
+    CSSNode root = new CSSNode();
+    int rootId = mStore.createNode();
+    for (int i = 0; i < 3; i++) {
+      CSSNode child = new CSSNode();
+      child.setFlex(1);
+      root.addChildAt(child, i);
+      int childId = mStore.createNode();
+      mStore.setFlex(childId, 1);
+      mStore.addChildAt(rootId, childId, i);
+    }
+    root.setStyleHeight(90);
+    mStore.setStyleHeight(rootId, 90);
+    layoutAndCompare(0, root, rootId);
+
+    markLayoutSeen(root, rootId);
+    root.removeChildAt(1);
+    int removedId = mStore.removeChildAt(rootId, 1);
+    layoutAndCompare(0, root, rootId);
+    assertEquals(45f, mStore.getLayoutHeight(mStore.getChildAt(rootId, 1)), 0f);
+
+    assertEquals(CSSNodeStore.NONE, mStore.getParent(removedId));
+    mStore.releaseNode(removedId);
+    assertEquals(removedId, mStore.createNode());
+  }
+
+  private void layoutAndCompare(int seed, CSSNode root, int rootId) {
+    root.calculateLayout(new CSSLayoutContext());
+    mStore.calculateLayout(new CSSLayoutContext(), rootId);
+    assertSameLayout("seed " + seed + ", root", root, rootId);
+  }
+
+  private void assertSameLayout(String path, CSSNode node, int nodeId) {
+    assertFloatEquals(path + " x", node.getLayoutX(), mStore.getLayoutX(nodeId));
+    assertFloatEquals(path + " y", node.getLayoutY(), mStore.getLayoutY(nodeId));
+    assertFloatEquals(path + " width", node.getLayoutWidth(), mStore.getLayoutWidth(nodeId));
+    assertFloatEquals(path + " height", node.getLayoutHeight(), mStore.getLayoutHeight(nodeId));
+    assertEquals(path + " direction", node.getLayoutDirection(), mStore.getLayoutDirection(nodeId));
+    assertEquals(path + " new layout", node.hasNewLayout(), mStore.hasNewLayout(nodeId));
+    assertEquals(
+        path + " new descendant layout",
+        node.hasNewDescendantLayout(),
+        mStore.hasNewDescendantLayout(nodeId));
+    assertEquals(path + " child count", node.getChildCount(), mStore.getChildCount(nodeId));
+    for (int i = 0; i < node.getChildCount(); i++) {
+      assertSameLayout(path + "." + i, node.getChildAt(i), mStore.getChildAt(nodeId, i));
+    }
+  }
+
+  private static void assertFloatEquals(String message, float expected, float actual) {
+    // floatsEqual doesn't consider infinities equal, which degenerate trees can lay out to
+    assertTrue(
+        message + ": expected " + expected + " but was " + actual,
+        expected == actual || FloatUtil.floatsEqual(expected, actual));
+  }
+
+  private void markLayoutSeen(CSSNode node, int nodeId) {
+    if (node.hasNewLayout()) {
+      node.markLayoutSeen();
+    }
+    if (mStore.hasNewLayout(nodeId)) {
+      mStore.markLayoutSeen(nodeId);
+    }
+    for (int i = 0; i < node.getChildCount(); i++) {
+      markLayoutSeen(node.getChildAt(i), mStore.getChildAt(nodeId, i));
+    }
+  }
+
+  /**
+   * Gives the same random style to {@code node} and to a new node of the store, recursively.
+   *
+   * @return the id of the new node
+   */
+  private int buildTree(CSSNode node, int depth) {
+    int nodeId = mStore.createNode();
+    if (mRandom.nextInt(3) == 0) {
+      CSSDirection direction = pick(CSSDirection.values());
+      node.setDirection(direction);
+      mStore.setDirection(nodeId, direction);
+    }
+    CSSFlexDirection flexDirection = pick(CSSFlexDirection.values());
+    node.setFlexDirection(flexDirection);
+    mStore.setFlexDirection(nodeId, flexDirection);
+    CSSJustify justifyContent = pick(CSSJustify.values());
+    node.setJustifyContent(justifyContent);
+    mStore.setJustifyContent(nodeId, justifyContent);
+    CSSAlign alignItems = pick(ALIGN_ITEMS);
+    node.setAlignItems(alignItems);
+    mStore.setAlignItems(nodeId, alignItems);
+    CSSAlign alignSelf = pick(CSSAlign.values());
+    node.setAlignSelf(alignSelf);
+    mStore.setAlignSelf(nodeId, alignSelf);
+    if (mRandom.nextInt(3) == 0) {
+      CSSAlign alignContent = pick(ALIGN_ITEMS);
+      node.style.alignContent = alignContent;
+      mStore.setAlignContent(nodeId, alignContent);
+    }
+    if (mRandom.nextInt(5) == 0) {
+      node.setPositionType(CSSPositionType.ABSOLUTE);
+      mStore.setPositionType(nodeId, CSSPositionType.ABSOLUTE);
+    }
+    if (mRandom.nextInt(3) == 0) {
+      node.setWrap(CSSWrap.WRAP);
+      mStore.setWrap(nodeId, CSSWrap.WRAP);
+    }
+    if (mRandom.nextInt(3) == 0) {
+      float flex = mRandom.nextInt(3);
+      node.setFlex(flex);
+      mStore.setFlex(nodeId, flex);
+    }
+
+    for (int spacingType = Spacing.LEFT; spacingType <= Spacing.ALL; spacingType++) {
+      if (mRandom.nextInt(6) == 0) {
+        float margin = mRandom.nextInt(10);
+        node.setMargin(spacingType, margin);
+        mStore.setMargin(nodeId, spacingType, margin);
+      }
+      if (mRandom.nextInt(6) == 0) {
+        float padding = mRandom.nextInt(10);
+        node.setPadding(spacingType, padding);
+        mStore.setPadding(nodeId, spacingType, padding);
+      }
+      if (mRandom.nextInt(8) == 0) {
+        float border = mRandom.nextInt(5);
+        node.setBorder(spacingType, border);
+        mStore.setBorder(nodeId, spacingType, border);
+      }
+    }
+    if (mRandom.nextInt(6) == 0) {
+      for (int spacingType = Spacing.LEFT; spacingType <= Spacing.BOTTOM; spacingType++) {
+        float padding = mRandom.nextInt(7);
+        node.setDefaultPadding(spacingType, padding);
+        mStore.setDefaultPadding(nodeId, spacingType, padding);
+      }
+    }
+
+    if (mRandom.nextInt(4) == 0) {
+      float top = randomLength();
+      node.setPositionTop(top);
+      mStore.setPositionTop(nodeId, top);
+    }
+    if (mRandom.nextInt(4) == 0) {
+      float left = randomLength();
+      node.setPositionLeft(left);
+      mStore.setPositionLeft(nodeId, left);
+    }
+    if (mRandom.nextInt(5) == 0) {
+      float right = randomLength();
+      node.setPositionRight(right);
+      mStore.setPositionRight(nodeId, right);
+    }
+    if (mRandom.nextInt(5) == 0) {
+      float bottom = randomLength();
+      node.setPositionBottom(bottom);
+      mStore.setPositionBottom(nodeId, bottom);
+    }
+    if (mRandom.nextInt(3) == 0) {
+      float width = randomLength() * 4;
+      node.setStyleWidth(width);
+      mStore.setStyleWidth(nodeId, width);
+    }
+    if (mRandom.nextInt(3) == 0) {
+      float height = randomLength() * 4;
+      node.setStyleHeight(height);
+      mStore.setStyleHeight(nodeId, height);
+    }
+    // CSSNode has no setters for these, the nodes are still dirty so setting the style is enough
+    if (mRandom.nextInt(8) == 0) {
+      float minWidth = mRandom.nextInt(100);
+      node.style.minWidth = minWidth;
+      mStore.setMinWidth(nodeId, minWidth);
+    }
+    if (mRandom.nextInt(8) == 0) {
+      float maxWidth = mRandom.nextInt(200);
+      node.style.maxWidth = maxWidth;
+      mStore.setMaxWidth(nodeId, maxWidth);
+    }
+    if (mRandom.nextInt(8) == 0) {
+      float minHeight = mRandom.nextInt(100);
+      node.style.minHeight = minHeight;
+      mStore.setMinHeight(nodeId, minHeight);
+    }
+    if (mRandom.nextInt(8) == 0) {
+      float maxHeight = mRandom.nextInt(200);
+      node.style.maxHeight = maxHeight;
+      mStore.setMaxHeight(nodeId, maxHeight);
+    }
+
+    int childCount = depth >= MAX_DEPTH ? 0 : mRandom.nextInt(5);
+    if (childCount == 0 && mRandom.nextBoolean()) {
+      node.setMeasureFunction(NODE_MEASURE_FUNCTION);
+      mStore.setMeasureFunction(nodeId, STORE_MEASURE_FUNCTION);
+    }
+    for (int i = 0; i < childCount; i++) {
+      CSSNode child = new CSSNode();
+      int childId = buildTree(child, depth + 1);
+      node.addChildAt(child, i);
+      mStore.addChildAt(nodeId, childId, i);
+    }
+    return nodeId;
+  }
+
+  private float randomLength() {
+    return mRandom.nextInt(3) == 0 ? CSSConstants.UNDEFINED : mRandom.nextInt(50);
+  }
+
+  private <T> T pick(T[] values) {
+    return values[mRandom.nextInt(values.length)];
+  }
+
+  /**
+   * Text-like measure: 100 wide on a single line, wrapping to more lines when narrower.
+   */
+  private static void measureText(float width, MeasureOutput measureOutput) {
+    if (CSSConstants.isUndefined(width)) {
+      measureOutput.width = 100;
+      measureOutput.height = 10;
+    } else {
+      measureOutput.width = Math.min(width, 100);
+      measureOutput.height = 1000 / Math.max(width, 1);
+    }
+  }
+}
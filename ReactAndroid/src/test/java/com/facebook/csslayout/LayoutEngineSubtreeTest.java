@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.csslayout;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that a relayout reuses the layout of clean subtrees and reports it through
+ * {@link CSSNode#hasNewDescendantLayout()}, while dirty nodes deep in the tree are still laid out.
+ */
+public class LayoutEngineSubtreeTest {
+
+  private CSSNode mRoot;
+  private CSSNode mClean;
+  private CSSNode mMeasured;
+  private CSSNode mLeaf;
+  private int mMeasureCount;
+
+  /**
+   * root
+   *   clean
+   *     measured
+   *     child
+   *   chain
+   *     child
+   *       child
+   *         leaf
+   */
+  @Before
+  public void setUp() {
+    mRoot = new CSSNode();
+    mRoot.setStyleWidth(300);
+
+    mClean = new CSSNode();
+    mMeasured = new CSSNode();
+    mMeasured.setMeasureFunction(
+        new CSSNode.MeasureFunction() {
+          @Override
+          public void measure(
+              CSSNode node,
+              float width,
+              float height,
+              MeasureOutput measureOutput) {
+            mMeasureCount++;
+            measureOutput.width = 50;
+            measureOutput.height = 20;
+          }
+        });
+    mClean.addChildAt(mMeasured, 0);
+    CSSNode sibling = new CSSNode();
+    sibling.setStyleHeight(10);
+    mClean.addChildAt(sibling, 1);
+    mRoot.addChildAt(mClean, 0);
+
+    CSSNode parent = mRoot;
+    for (int i = 0; i < 3; i++) {
+      CSSNode child = new CSSNode();
+      parent.addChildAt(child, parent.getChildCount());
+      parent = child;
+    }
+    mLeaf = new CSSNode();
+    parent.addChildAt(mLeaf, 0);
+
+    mRoot.calculateLayout(new CSSLayoutContext());
+    markLayoutSeen(mRoot);
+  }
+
+  @Test
+  public void testFirstLayoutHasNewDescendantLayouts() {
+    CSSNode root = new CSSNode();
+    CSSNode child = new CSSNode();
+    root.addChildAt(child, 0);
+    root.calculateLayout(new CSSLayoutContext());
+
+    assertTrue(root.hasNewLayout());
+    assertTrue(root.hasNewDescendantLayout());
+    assertTrue(child.hasNewLayout());
+    assertFalse(child.hasNewDescendantLayout());
+  }
+
+  @Test
+  public void testCleanSubtreeIsSkipped() {
+    mLeaf.setPadding(Spacing.ALL, 5);
+    mRoot.calculateLayout(new CSSLayoutContext());
+
+    assertTrue(mRoot.hasNewDescendantLayout());
+    assertTrue(mClean.hasNewLayout());
+    assertFalse(mClean.hasNewDescendantLayout());
+    assertFalse(mMeasured.hasNewLayout());
+    assertFalse(mClean.getChildAt(1).hasNewLayout());
+    assertEquals(1, mMeasureCount);
+  }
+
+  @Test
+  public void testDeepDirtyLeafPropagates() {
+    mLeaf.setPadding(Spacing.ALL, 5);
+    mRoot.calculateLayout(new CSSLayoutContext());
+
+    CSSNode node = mLeaf.getParent();
+    while (node != null) {
+      assertTrue(node.hasNewLayout());
+      assertTrue(node.hasNewDescendantLayout());
+      node = node.getParent();
+    }
+    assertTrue(mLeaf.hasNewLayout());
+    assertEquals(10f, mLeaf.getLayoutHeight(), 0f);
+    assertEquals(10f, mRoot.getChildAt(1).getLayoutHeight(), 0f);
+  }
+
+  @Test
+  public void testUnseenDescendantLayoutStaysNew() {
+    mLeaf.setPadding(Spacing.ALL, 5);
+    mRoot.calculateLayout(new CSSLayoutContext());
+    // Nothing changed, so this pass reuses every layout; the leaf's layout still wasn't seen
+    mRoot.calculateLayout(new CSSLayoutContext());
+
+    assertTrue(mRoot.hasNewDescendantLayout());
+    assertTrue(mLeaf.getParent().hasNewDescendantLayout());
+    assertTrue(mLeaf.hasNewLayout());
+  }
+
+  @Test
+  public void testResetClearsDescendantLayout() {
+    CSSNode root = new CSSNode();
+    CSSNode child = new CSSNode();
+    root.addChildAt(child, 0);
+    root.calculateLayout(new CSSLayoutContext());
+    markLayoutSeen(root);
+    root.removeChildAt(0);
+
+    assertTrue(root.hasNewDescendantLayout());
+    root.reset();
+    assertFalse(root.hasNewDescendantLayout());
+  }
+
+  private static void markLayoutSeen(CSSNode node) {
+    if (node.hasNewLayout()) {
+      node.markLayoutSeen();
+    }
+    for (int i = 0; i < node.getChildCount(); i++) {
+      markLayoutSeen(node.getChildAt(i));
+    }
+  }
+}
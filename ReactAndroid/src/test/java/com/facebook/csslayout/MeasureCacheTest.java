@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.csslayout;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link MeasureCache} of nodes with a {@link CSSNode.MeasureFunction}, and the hit and
+ * miss counters of {@link CSSLayoutContext}.
+ */
+public class MeasureCacheTest {
+
+  private CSSLayoutContext mLayoutContext;
+  private CSSNode mNode;
+  private int mMeasureCount;
+
+  @Before
+  public void setUp() {
+    mLayoutContext = new CSSLayoutContext();
+    mNode = new CSSNode();
+    mNode.setMeasureFunction(
+        new CSSNode.MeasureFunction() {
+          @Override
+          public void measure(
+              CSSNode node,
+              float width,
+              float height,
+              MeasureOutput measureOutput) {
+            mMeasureCount++;
+            measureOutput.width = width / 2;
+            measureOutput.height = height + 1;
+          }
+        });
+  }
+
+  @Test
+  public void testCountsHitsAndMisses() {
+    assertMeasured(100, 50);
+    assertMeasured(100, 50);
+    assertMeasured(200, 50);
+    assertMeasured(100, 60);
+    assertMeasured(200, 50);
+
+    assertEquals(3, mMeasureCount);
+    assertEquals(2, mLayoutContext.getMeasureCacheHitCount());
+    assertEquals(3, mLayoutContext.getMeasureCacheMissCount());
+
+    mLayoutContext.resetMeasureCacheCounters();
+    assertEquals(0, mLayoutContext.getMeasureCacheHitCount());
+    assertEquals(0, mLayoutContext.getMeasureCacheMissCount());
+  }
+
+  @Test
+  public void testUndefinedConstraints() {
+    assertMeasured(CSSConstants.UNDEFINED, CSSConstants.UNDEFINED);
+    assertMeasured(CSSConstants.UNDEFINED, CSSConstants.UNDEFINED);
+    assertEquals(1, mMeasureCount);
+  }
+
+  @Test
+  public void testEvictsOldestEntryWhenFull() {
+    for (int i = 0; i < MeasureCache.MAX_ENTRIES; i++) {
+      assertMeasured(i, 0);
+    }
+    for (int i = 0; i < MeasureCache.MAX_ENTRIES; i++) {
+      assertMeasured(i, 0);
+    }
+    assertEquals(MeasureCache.MAX_ENTRIES, mMeasureCount);
+
+    // Replaces the entry of width 0
+    assertMeasured(MeasureCache.MAX_ENTRIES, 0);
+    assertEquals(MeasureCache.MAX_ENTRIES + 1, mMeasureCount);
+    for (int i = 1; i <= MeasureCache.MAX_ENTRIES; i++) {
+      assertMeasured(i, 0);
+    }
+    assertEquals(MeasureCache.MAX_ENTRIES + 1, mMeasureCount);
+
+    assertMeasured(0, 0);
+    assertEquals(MeasureCache.MAX_ENTRIES + 2, mMeasureCount);
+  }
+
+  @Test
+  public void testDirtyClearsCache() {
+    assertMeasured(100, 50);
+    mNode.calculateLayout(mLayoutContext);
+    mNode.markLayoutSeen();
+    int measureCount = mMeasureCount;
+
+    assertMeasured(100, 50);
+    assertEquals(measureCount, mMeasureCount);
+
+    mNode.setFlex(1);
+    assertMeasured(100, 50);
+    assertEquals(measureCount + 1, mMeasureCount);
+
+    // Also cleared when the node is already dirty
+    mNode.dirty();
+    assertMeasured(100, 50);
+    assertEquals(measureCount + 2, mMeasureCount);
+  }
+
+  @Test
+  public void testResetClearsCache() {
+    assertMeasured(100, 50);
+    mNode.reset();
+    assertMeasured(100, 50);
+    assertEquals(2, mMeasureCount);
+    assertEquals(0, mLayoutContext.getMeasureCacheHitCount());
+  }
+
+  private void assertMeasured(float width, float height) {
+    MeasureOutput measureOutput = mNode.measure(mLayoutContext, width, height);
+    if (CSSConstants.isUndefined(width)) {
+      assertEquals(CSSConstants.UNDEFINED, measureOutput.width, 0);
+    } else {
+      assertEquals(width / 2, measureOutput.width, 0);
+    }
+    if (CSSConstants.isUndefined(height)) {
+      assertEquals(CSSConstants.UNDEFINED, measureOutput.height, 0);
+    } else {
+      assertEquals(height + 1, measureOutput.height, 0);
+    }
+  }
+}
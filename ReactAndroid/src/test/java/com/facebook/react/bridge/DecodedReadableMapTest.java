@@ -0,0 +1,263 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DecodedReadableMapTest {
+
+  @Test
+  public void testReadsValues() {
+    SimpleArray array = SimpleArray.of(1, 2);
+    SimpleMap map = SimpleMap.of("nested", true);
+    DecodedReadableMap decoded = DecodedReadableMaps.of(
+        "null", null,
+        "boolean", true,
+        "int", 42,
+        "double", 0.5,
+        "string", "hello",
+        "array", array,
+        "map", map);
+
+    assertEquals(7, decoded.size());
+    assertTrue(decoded.isNull("null"));
+    assertFalse(decoded.isNull("int"));
+    assertTrue(decoded.getBoolean("boolean"));
+    assertEquals(42, decoded.getInt("int"));
+    assertEquals(42, decoded.getDouble("int"), 0);
+    assertEquals(0.5, decoded.getDouble("double"), 0);
+    assertEquals("hello", decoded.getString("string"));
+    assertSame(array, decoded.getArray("array"));
+    assertSame(map, decoded.getMap("map"));
+
+    assertEquals(ReadableType.Null, decoded.getType("null"));
+    assertEquals(ReadableType.Boolean, decoded.getType("boolean"));
+    assertEquals(ReadableType.Number, decoded.getType("int"));
+    assertEquals(ReadableType.Number, decoded.getType("double"));
+    assertEquals(ReadableType.String, decoded.getType("string"));
+    assertEquals(ReadableType.Array, decoded.getType("array"));
+    assertEquals(ReadableType.Map, decoded.getType("map"));
+  }
+
+  @Test
+  public void testNullObjectsReadAsNull() {
+    DecodedReadableMap decoded = DecodedReadableMaps.of("value", null);
+    assertNull(decoded.getString("value"));
+    assertNull(decoded.getArray("value"));
+    assertNull(decoded.getMap("value"));
+  }
+
+  @Test
+  public void testMissingKeys() {
+    DecodedReadableMap decoded = DecodedReadableMaps.of("key", 1);
+    assertFalse(decoded.hasKey("otherKey"));
+    try {
+      decoded.getInt("otherKey");
+      fail("Expected a NoSuchKeyException");
+    } catch (NoSuchKeyException e) {
+      // Expected
+    }
+    try {
+      decoded.isNull("otherKey");
+      fail("Expected a NoSuchKeyException");
+    } catch (NoSuchKeyException e) {
+      // Expected
+    }
+
+    DecodedReadableMap empty = DecodedReadableMaps.of();
+    assertEquals(0, empty.size());
+    assertFalse(empty.hasKey("key"));
+    assertFalse(empty.keySetIterator().hasNextKey());
+  }
+
+  @Test
+  public void testCollidingHashes() {
+    // All of these have the same hash code
+    String[] keys = {"AaAa", "AaBB", "BBAa", "BBBB"};
+    DecodedReadableMap decoded = DecodedReadableMaps.of(
+        keys[0], 0,
+        keys[1], 1,
+        keys[2], 2);
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(keys[0].hashCode(), keys[i].hashCode());
+      assertTrue(decoded.hasKey(keys[i]));
+      assertEquals(i, decoded.getInt(keys[i]));
+    }
+    assertEquals(keys[0].hashCode(), keys[3].hashCode());
+    assertFalse(decoded.hasKey(keys[3]));
+  }
+
+  @Test
+  public void testManyKeys() {
+    // Enough keys for the probes of different hashes to run into each other
+    List<Object> keysAndValues = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      keysAndValues.add("key" + i);
+      keysAndValues.add(i);
+    }
+    DecodedReadableMap decoded = DecodedReadableMaps.of(keysAndValues.toArray());
+
+    assertEquals(1000, decoded.size());
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i, decoded.getInt("key" + i));
+    }
+    for (int i = 1000; i < 2000; i++) {
+      assertFalse(decoded.hasKey("key" + i));
+    }
+  }
+
+  @Test
+  public void testKeySetIterator() {
+    DecodedReadableMap decoded = DecodedReadableMaps.of("a", 1, "b", null, "c", "d");
+    Set<String> keys = new HashSet<>();
+    ReadableMapKeySetIterator iterator = decoded.keySetIterator();
+    while (iterator.hasNextKey()) {
+      keys.add(iterator.nextKey());
+    }
+    assertEquals(3, keys.size());
+    assertTrue(keys.contains("a"));
+    assertTrue(keys.contains("b"));
+    assertTrue(keys.contains("c"));
+    try {
+      iterator.nextKey();
+      fail("Expected an InvalidIteratorException");
+    } catch (InvalidIteratorException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testGetIntOutOfRange() {
+    DecodedReadableMap decoded = DecodedReadableMaps.of(
+        "max", (long) Integer.MAX_VALUE,
+        "min", (long) Integer.MIN_VALUE,
+        "tooLarge", Integer.MAX_VALUE + 1L,
+        "tooSmall", Integer.MIN_VALUE - 1L);
+
+    assertEquals(Integer.MAX_VALUE, decoded.getInt("max"));
+    assertEquals(Integer.MIN_VALUE, decoded.getInt("min"));
+    assertGetIntFails(decoded, "tooLarge");
+    assertGetIntFails(decoded, "tooSmall");
+    // Still readable as doubles
+    assertEquals(Integer.MAX_VALUE + 1L, decoded.getDouble("tooLarge"), 0);
+  }
+
+  @Test
+  public void testUnexpectedTypes() {
+    DecodedReadableMap decoded = DecodedReadableMaps.of(
+        "null", null,
+        "boolean", false,
+        "double", 1.5,
+        "string", "1",
+        "map", new SimpleMap());
+
+    assertGetIntFails(decoded, "double");
+    assertGetIntFails(decoded, "string");
+    assertGetIntFails(decoded, "null");
+    try {
+      decoded.getDouble("boolean");
+      fail("Expected an UnexpectedNativeTypeException");
+    } catch (UnexpectedNativeTypeException e) {
+      assertEquals("Expected number for key 'boolean', got a Boolean", e.getMessage());
+    }
+    try {
+      decoded.getBoolean("string");
+      fail("Expected an UnexpectedNativeTypeException");
+    } catch (UnexpectedNativeTypeException e) {
+      assertEquals("Expected Boolean for key 'string', got a String", e.getMessage());
+    }
+    try {
+      decoded.getString("map");
+      fail("Expected an UnexpectedNativeTypeException");
+    } catch (UnexpectedNativeTypeException e) {
+      // Expected
+    }
+    try {
+      decoded.getArray("map");
+      fail("Expected an UnexpectedNativeTypeException");
+    } catch (UnexpectedNativeTypeException e) {
+      // Expected
+    }
+    try {
+      decoded.getMap("string");
+      fail("Expected an UnexpectedNativeTypeException");
+    } catch (UnexpectedNativeTypeException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testMerge() {
+    DecodedReadableMap first = DecodedReadableMaps.of(
+        "onlyFirst", "first",
+        "both", 1,
+        "nullInSecond", true);
+    DecodedReadableMap second = DecodedReadableMaps.of(
+        "both", 2.5,
+        "nullInSecond", null,
+        "onlySecond", "second");
+
+    DecodedReadableMap merged = DecodedReadableMap.merge(first, second);
+    assertEquals(4, merged.size());
+    assertEquals("first", merged.getString("onlyFirst"));
+    assertEquals(2.5, merged.getDouble("both"), 0);
+    assertTrue(merged.isNull("nullInSecond"));
+    assertEquals("second", merged.getString("onlySecond"));
+
+    // The inputs are left untouched
+    assertEquals(1, first.getInt("both"));
+    assertEquals(3, second.size());
+  }
+
+  @Test
+  public void testMergeWithEmptyMaps() {
+    DecodedReadableMap map = DecodedReadableMaps.of("key", 1);
+    DecodedReadableMap empty = DecodedReadableMaps.of();
+
+    assertEquals("{\"key\":1}", DecodedReadableMap.merge(map, empty).toString());
+    assertEquals("{\"key\":1}", DecodedReadableMap.merge(empty, map).toString());
+    assertEquals(0, DecodedReadableMap.merge(empty, empty).size());
+  }
+
+  @Test
+  public void testMergeCollidingHashes() {
+    DecodedReadableMap first = DecodedReadableMaps.of("AaAa", 1, "AaBB", 2);
+    DecodedReadableMap second = DecodedReadableMaps.of("BBBB", 3, "AaBB", 4);
+
+    DecodedReadableMap merged = DecodedReadableMap.merge(first, second);
+    assertEquals(3, merged.size());
+    assertEquals(1, merged.getInt("AaAa"));
+    assertEquals(4, merged.getInt("AaBB"));
+    assertEquals(3, merged.getInt("BBBB"));
+    assertFalse(merged.hasKey("BBAa"));
+  }
+
+  private static void assertGetIntFails(DecodedReadableMap map, String key) {
+    try {
+      map.getInt(key);
+      fail("Expected an UnexpectedNativeTypeException for " + key);
+    } catch (UnexpectedNativeTypeException e) {
+      // Expected
+    }
+  }
+}
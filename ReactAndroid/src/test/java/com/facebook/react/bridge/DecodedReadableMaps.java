@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+/**
+ * Creates {@link DecodedReadableMap}s in tests, where they can't be decoded from native maps.
+ */
+public class DecodedReadableMaps {
+
+  /**
+   * @param keysAndValues keys and values, interleaved. Values are null, Booleans, Integers,
+   * Doubles, Strings, ReadableArrays or ReadableMaps. Longs are decoded as integers that may not
+   * fit in an int, like native code does for large numbers without a fractional part.
+   */
+  public static DecodedReadableMap of(Object... keysAndValues) {
+    if (keysAndValues.length % 2 != 0) {
+      throw new IllegalArgumentException("You must provide the same number of keys and values");
+    }
+    int size = keysAndValues.length / 2;
+    String[] keys = new String[size];
+    byte[] types = new byte[size];
+    double[] numbers = new double[size];
+    Object[] objects = new Object[size];
+    for (int i = 0; i < size; i++) {
+      keys[i] = (String) keysAndValues[2 * i];
+      Object value = keysAndValues[2 * i + 1];
+      if (value == null) {
+        types[i] = DecodedReadableMap.TYPE_NULL;
+      } else if (value instanceof Boolean) {
+        types[i] = DecodedReadableMap.TYPE_BOOLEAN;
+        numbers[i] = (Boolean) value ? 1 : 0;
+      } else if (value instanceof Integer) {
+        types[i] = DecodedReadableMap.TYPE_INT;
+        numbers[i] = (Integer) value;
+      } else if (value instanceof Long) {
+        types[i] = DecodedReadableMap.TYPE_INT;
+        numbers[i] = (Long) value;
+      } else if (value instanceof Double) {
+        types[i] = DecodedReadableMap.TYPE_DOUBLE;
+        numbers[i] = (Double) value;
+      } else if (value instanceof String) {
+        types[i] = DecodedReadableMap.TYPE_STRING;
+        objects[i] = value;
+      } else if (value instanceof ReadableArray) {
+        types[i] = DecodedReadableMap.TYPE_ARRAY;
+        objects[i] = value;
+      } else if (value instanceof ReadableMap) {
+        types[i] = DecodedReadableMap.TYPE_MAP;
+        objects[i] = value;
+      } else {
+        throw new IllegalArgumentException("Unsupported value " + value);
+      }
+    }
+    return new DecodedReadableMap(keys, types, numbers, objects);
+  }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.common;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IntObjectMapTest {
+
+  @Test
+  public void testPutGetRemove() {
+    IntObjectMap<String> map = new IntObjectMap<>();
+    assertTrue(map.isEmpty());
+    map.put(1, "a");
+    map.put(-5, "b");
+    map.put(Integer.MIN_VALUE, "c");
+    map.put(1, "d");
+
+    assertEquals(3, map.size());
+    assertEquals("d", map.get(1));
+    assertEquals("b", map.get(-5));
+    assertEquals("c", map.get(Integer.MIN_VALUE));
+    assertNull(map.get(2));
+    assertTrue(map.containsKey(-5));
+    assertFalse(map.containsKey(2));
+
+    assertEquals("b", map.remove(-5));
+    assertNull(map.remove(-5));
+    assertEquals(2, map.size());
+    assertFalse(map.containsKey(-5));
+
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertNull(map.get(1));
+  }
+
+  @Test
+  public void testRemoveMovesLastEntry() {
+    IntObjectMap<String> map = new IntObjectMap<>();
+    map.put(10, "a");
+    map.put(20, "b");
+    map.put(30, "c");
+    map.remove(10);
+
+    assertEquals(30, map.keyAt(0));
+    assertEquals("c", map.valueAt(0));
+    assertEquals(20, map.keyAt(1));
+    assertEquals("b", map.valueAt(1));
+    assertEquals("c", map.get(30));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testKeyAtOutOfBounds() {
+    IntObjectMap<String> map = new IntObjectMap<>();
+    map.put(1, "a");
+    map.keyAt(1);
+  }
+
+  /**
+   * Compares against a HashMap with keys that collide in the hash table, so that removals have to
+   * shift back long probe sequences, which wrap around the end of the table.
+   */
+  @Test
+  public void testRandomOperationsMatchHashMap() {
+    for (int seed = 0; seed < 50; seed++) {
+      Random random = new Random(seed);
+      IntObjectMap<Integer> map = new IntObjectMap<>(4);
+      Map<Integer, Integer> expected = new HashMap<>();
+      int keyRange = 8 + random.nextInt(500);
+      int keyStride = random.nextBoolean() ? 1 : 1024;
+      for (int i = 0; i < 5000; i++) {
+        int key = (random.nextInt(keyRange) - keyRange / 2) * keyStride;
+        int operation = random.nextInt(10);
+        if (operation < 5) {
+          map.put(key, i);
+          expected.put(key, i);
+        } else if (operation < 9) {
+          assertEquals(expected.remove(key), map.remove(key));
+        } else if (random.nextInt(100) == 0) {
+          map.clear();
+          expected.clear();
+        }
+        assertEquals(expected.get(key), map.get(key));
+        assertEquals(expected.size(), map.size());
+      }
+      assertSameEntries(expected, map);
+    }
+  }
+
+  private static void assertSameEntries(Map<Integer, Integer> expected, IntObjectMap<Integer> map) {
+    assertEquals(expected.size(), map.size());
+    Map<Integer, Integer> actual = new HashMap<>();
+    for (int i = 0; i < map.size(); i++) {
+      actual.put(map.keyAt(i), map.valueAt(i));
+    }
+    assertEquals(expected, actual);
+    for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+      assertEquals(entry.getValue(), map.get(entry.getKey()));
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.common;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LongIntMapTest {
+
+  @Test
+  public void testPutGet() {
+    LongIntMap map = new LongIntMap();
+    assertTrue(map.isEmpty());
+    map.put(1L, 10);
+    map.put(-1L, 20);
+    map.put(Long.MIN_VALUE, 30);
+    map.put(1L << 32, 40);
+    map.put(1L, 50);
+
+    assertEquals(4, map.size());
+    assertEquals(50, map.get(1L, -1));
+    assertEquals(20, map.get(-1L, -1));
+    assertEquals(30, map.get(Long.MIN_VALUE, -1));
+    assertEquals(40, map.get(1L << 32, -1));
+    assertEquals(-1, map.get(2L, -1));
+    assertTrue(map.containsKey(Long.MIN_VALUE));
+    assertFalse(map.containsKey(0L));
+  }
+
+  @Test
+  public void testClearKeepsMapUsable() {
+    LongIntMap map = new LongIntMap(2);
+    for (long key = 0; key < 100; key++) {
+      map.put(key, (int) key);
+    }
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertFalse(map.containsKey(5L));
+    assertEquals(-1, map.get(5L, -1));
+
+    map.put(5L, 7);
+    assertEquals(1, map.size());
+    assertEquals(7, map.get(5L, -1));
+  }
+
+  /**
+   * Compares against a HashMap with event cookie like keys, which only differ in a few bits.
+   */
+  @Test
+  public void testRandomOperationsMatchHashMap() {
+    for (int seed = 0; seed < 50; seed++) {
+      Random random = new Random(seed);
+      LongIntMap map = new LongIntMap(1);
+      Map<Long, Integer> expected = new HashMap<>();
+      for (int i = 0; i < 5000; i++) {
+        long key = random.nextInt(200) |
+            ((long) random.nextInt(4)) << 32 |
+            ((long) random.nextInt(3)) << 48;
+        if (random.nextBoolean()) {
+          map.put(key, i);
+          expected.put(key, i);
+        } else if (random.nextInt(200) == 0) {
+          map.clear();
+          expected.clear();
+        }
+        Integer value = expected.get(key);
+        assertEquals(value == null ? -1 : value, map.get(key, -1));
+        assertEquals(value != null, map.containsKey(key));
+        assertEquals(expected.size(), map.size());
+      }
+      for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+        assertEquals((int) entry.getValue(), map.get(entry.getKey(), -1));
+      }
+    }
+  }
+}
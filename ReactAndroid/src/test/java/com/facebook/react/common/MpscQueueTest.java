@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.common;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class MpscQueueTest {
+
+  private static final int PRODUCER_COUNT = 4;
+  private static final int VALUES_PER_PRODUCER = 100000;
+
+  @Test
+  public void testPollEmpty() {
+    MpscQueue<Integer> queue = new MpscQueue<>();
+    assertNull(queue.poll());
+    queue.add(1);
+    assertEquals(Integer.valueOf(1), queue.poll());
+    assertNull(queue.poll());
+  }
+
+  @Test
+  public void testFifoAcrossChunks() {
+    MpscQueue<Integer> queue = new MpscQueue<>();
+    int next = 0;
+    int expected = 0;
+    // Interleave adds and polls so that the consumer reaches the end of chunks both before and
+    // after the producer has linked the next one
+    for (int round = 0; round < 20; round++) {
+      for (int i = 0; i < 100 + round * 13; i++) {
+        queue.add(next++);
+      }
+      for (int i = 0; i < 90 + round * 11; i++) {
+        assertEquals(Integer.valueOf(expected++), queue.poll());
+      }
+    }
+    while (expected < next) {
+      assertEquals(Integer.valueOf(expected++), queue.poll());
+    }
+    assertNull(queue.poll());
+  }
+
+  @Test
+  public void testConcurrentProducers() throws InterruptedException {
+    final MpscQueue<long[]> queue = new MpscQueue<>();
+    final CountDownLatch start = new CountDownLatch(1);
+    Thread[] producers = new Thread[PRODUCER_COUNT];
+    for (int p = 0; p < PRODUCER_COUNT; p++) {
+      final int producer = p;
+      producers[p] = new Thread(
+          new Runnable() {
+            @Override
+            public void run() {
+              try {
+                start.await();
+              } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+              }
+              for (int i = 0; i < VALUES_PER_PRODUCER; i++) {
+                queue.add(new long[] {producer, i});
+              }
+            }
+          });
+      producers[p].start();
+    }
+    start.countDown();
+
+    // Every producer's values must come out exactly once and in the order it added them
+    int[] nextValues = new int[PRODUCER_COUNT];
+    int received = 0;
+    while (received < PRODUCER_COUNT * VALUES_PER_PRODUCER) {
+      long[] value = queue.poll();
+      if (value == null) {
+        Thread.yield();
+        continue;
+      }
+      int producer = (int) value[0];
+      assertEquals(nextValues[producer], value[1]);
+      nextValues[producer]++;
+      received++;
+    }
+
+    for (Thread producer : producers) {
+      producer.join();
+    }
+    assertNull(queue.poll());
+  }
+}
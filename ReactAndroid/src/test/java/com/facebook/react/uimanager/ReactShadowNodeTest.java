@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.facebook.csslayout.CSSLayoutContext;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that {@link ReactShadowNode#dispatchUpdates} only sends a layout to the native hierarchy
+ * when the frame of the view changed, and which subtrees have to be visited for updates.
+ */
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class ReactShadowNodeTest {
+
+  private List<ReactShadowNode> mUpdatedLayouts;
+  private NativeViewHierarchyOptimizer mOptimizer;
+  private ReactShadowNode mRoot;
+  private ReactShadowNode mFirst;
+  private ReactShadowNode mSecond;
+
+  @Before
+  public void setUp() {
+    mUpdatedLayouts = new ArrayList<>();
+    mOptimizer = new NativeViewHierarchyOptimizer(null, null) {
+      @Override
+      public void handleUpdateLayout(ReactShadowNode node) {
+        mUpdatedLayouts.add(node);
+      }
+    };
+
+    mRoot = createNode(1);
+    mRoot.setStyleWidth(100);
+    mFirst = createNode(2);
+    mFirst.setStyleHeight(10);
+    mSecond = createNode(3);
+    mSecond.setStyleHeight(20);
+    mRoot.addChildAt(mFirst, 0);
+    mRoot.addChildAt(mSecond, 1);
+
+    layoutAndDispatch();
+    assertEquals(2, mUpdatedLayouts.size());
+    mUpdatedLayouts.clear();
+  }
+
+  @Test
+  public void testUnchangedFrameIsNotDispatched() {
+    // Resizing the second child gives its sibling a new layout, but the same frame
+    mSecond.setStyleHeight(30);
+    layoutAndDispatch();
+
+    assertEquals(1, mUpdatedLayouts.size());
+    assertEquals(mSecond, mUpdatedLayouts.get(0));
+  }
+
+  @Test
+  public void testMovedFrameIsDispatched() {
+    mFirst.setStyleHeight(15);
+    layoutAndDispatch();
+
+    assertEquals(2, mUpdatedLayouts.size());
+    assertEquals(mFirst, mUpdatedLayouts.get(0));
+    assertEquals(mSecond, mUpdatedLayouts.get(1));
+    assertEquals(15, mSecond.getScreenY());
+  }
+
+  @Test
+  public void testReaddedNodeIsDispatched() {
+    mRoot.removeChildAt(1);
+    mRoot.addChildAt(mSecond, 1);
+    layoutAndDispatch();
+
+    assertEquals(1, mUpdatedLayouts.size());
+    assertEquals(mSecond, mUpdatedLayouts.get(0));
+  }
+
+  @Test
+  public void testCleanSubtreeHasNoDescendantUpdates() {
+    ReactShadowNode grandchild = createNode(4);
+    grandchild.setStyleHeight(5);
+    mFirst.addChildAt(grandchild, 0);
+    layoutAndDispatch();
+    mUpdatedLayouts.clear();
+
+    mSecond.setStyleHeight(30);
+    mRoot.calculateLayout(new CSSLayoutContext());
+
+    assertTrue(mRoot.hasDescendantUpdates());
+    assertTrue(mFirst.hasNewLayout());
+    assertFalse(mFirst.hasDescendantUpdates());
+    assertFalse(grandchild.hasUpdates());
+  }
+
+  private ReactShadowNode createNode(int tag) {
+    ReactShadowNode node = new ReactShadowNode();
+    node.setReactTag(tag);
+    return node;
+  }
+
+  private void layoutAndDispatch() {
+    mRoot.calculateLayout(new CSSLayoutContext());
+    dispatchUpdates(mRoot, 0, 0);
+  }
+
+  /**
+   * Walks the tree like {@link UIImplementation} does when applying updates.
+   */
+  private void dispatchUpdates(ReactShadowNode node, float absoluteX, float absoluteY) {
+    if (!node.hasUpdates()) {
+      return;
+    }
+    if (node.hasDescendantUpdates()) {
+      for (int i = 0; i < node.getChildCount(); i++) {
+        dispatchUpdates(
+            node.getChildAt(i),
+            absoluteX + node.getLayoutX(),
+            absoluteY + node.getLayoutY());
+      }
+    }
+    if (node != mRoot) {
+      node.dispatchUpdates(absoluteX, absoluteY, null, mOptimizer);
+    }
+    node.markUpdateSeen();
+  }
+}
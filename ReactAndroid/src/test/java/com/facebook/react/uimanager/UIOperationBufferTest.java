@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class UIOperationBufferTest {
+
+  // Enough to grow every stream of the buffer several times
+  private static final int OPERATION_COUNT = 500;
+
+  private UIOperationBuffer mBuffer;
+
+  @Before
+  public void setUp() {
+    mBuffer = new UIOperationBuffer();
+  }
+
+  @Test
+  public void testReadsBackManyOperations() {
+    writeOperations(OPERATION_COUNT);
+    assertEquals(OPERATION_COUNT, mBuffer.size());
+
+    for (int i = 0; i < OPERATION_COUNT; i++) {
+      assertEquals(opcode(i), mBuffer.getOpcode(i));
+      assertEquals(i, mBuffer.getInt(i, 0));
+      if (hasObject(i)) {
+        assertEquals("object " + i, mBuffer.getObject(i, 0));
+      }
+    }
+
+    readOperations(0, OPERATION_COUNT, 1);
+    assertFalse(mBuffer.hasNext());
+  }
+
+  @Test
+  public void testClearKeepsBufferReusable() {
+    writeOperations(OPERATION_COUNT);
+    readOperations(0, OPERATION_COUNT, 1);
+    mBuffer.clear();
+    assertTrue(mBuffer.isEmpty());
+    assertFalse(mBuffer.hasNext());
+
+    writeOperations(OPERATION_COUNT * 2);
+    readOperations(0, OPERATION_COUNT * 2, 1);
+    assertFalse(mBuffer.hasNext());
+  }
+
+  @Test
+  public void testRemoveOperations() {
+    writeOperations(OPERATION_COUNT);
+    boolean[] removed = new boolean[OPERATION_COUNT];
+    for (int i = 0; i < OPERATION_COUNT; i += 2) {
+      removed[i] = true;
+    }
+    mBuffer.removeOperations(removed);
+
+    assertEquals(OPERATION_COUNT / 2, mBuffer.size());
+    for (int i = 0; i < mBuffer.size(); i++) {
+      assertEquals(2 * i + 1, mBuffer.getInt(i, 0));
+    }
+    readOperations(1, OPERATION_COUNT, 2);
+    assertFalse(mBuffer.hasNext());
+  }
+
+  @Test
+  public void testSetObject() {
+    writeOperations(OPERATION_COUNT);
+    int operation = OPERATION_COUNT - 1;
+    while (!hasObject(operation)) {
+      operation--;
+    }
+    mBuffer.setObject(operation, 0, null);
+    assertNull(mBuffer.getObject(operation, 0));
+  }
+
+  private void writeOperations(int count) {
+    for (int i = 0; i < count; i++) {
+      mBuffer.addOperation(opcode(i));
+      mBuffer.putInt(i);
+      mBuffer.putBoolean(i % 2 == 0);
+      mBuffer.putFloat(i / 2f);
+      if (hasObject(i)) {
+        mBuffer.putObject("object " + i);
+      }
+    }
+  }
+
+  private void readOperations(int first, int end, int step) {
+    for (int i = first; i < end; i += step) {
+      assertTrue(mBuffer.hasNext());
+      assertEquals(opcode(i), mBuffer.nextInt());
+      assertEquals(i, mBuffer.nextInt());
+      assertEquals(i % 2 == 0, mBuffer.nextBoolean());
+      assertEquals(i / 2f, mBuffer.nextFloat(), 0f);
+      if (hasObject(i)) {
+        assertEquals("object " + i, mBuffer.nextObject());
+      }
+    }
+  }
+
+  private static int opcode(int operation) {
+    return operation % 7;
+  }
+
+  private static boolean hasObject(int operation) {
+    return operation % 3 == 0;
+  }
+}
@@ -0,0 +1,705 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import com.facebook.react.bridge.DecodedReadableMaps;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link UIOperationCoalescer}. Each batch is executed against a fake view hierarchy as
+ * written and once coalesced, and both must end up in the same state, which must also be the same
+ * whenever a barrier operation is executed.
+ */
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class UIOperationCoalescerTest {
+
+  private static final int ROOT_TAG = 1;
+  private static final int FIRST_CREATED_TAG = 100;
+
+  private UIOperationCoalescer mCoalescer;
+  private UIOperationBuffer mOperations;
+
+  @Before
+  public void setUp() {
+    mCoalescer = new UIOperationCoalescer();
+    mOperations = new UIOperationBuffer();
+  }
+
+  @Test
+  public void testUpdateMergedIntoCreate() {
+    createView(mOperations, 10, DecodedReadableMaps.of("opacity", 1, "testID", "a"));
+    updateProperties(mOperations, 10, DecodedReadableMaps.of("opacity", 2));
+    updateProperties(mOperations, 10, DecodedReadableMaps.of("color", 3, "testID", null));
+
+    assertEquals(2, coalesceAndCompare());
+    assertEquals(1, mOperations.size());
+    assertEquals(UIViewOperationQueue.OP_CREATE_VIEW, mOperations.getOpcode(0));
+    ReadableMap props = getProps(0, 2);
+    assertEquals(2, props.getInt("opacity"));
+    assertEquals(3, props.getInt("color"));
+    assertTrue(props.isNull("testID"));
+  }
+
+  @Test
+  public void testUpdateMergedIntoEarlierUpdate() {
+    updateProperties(mOperations, 2, DecodedReadableMaps.of("opacity", 1, "testID", "a"));
+    updateProperties(mOperations, 3, DecodedReadableMaps.of("opacity", 5));
+    updateProperties(mOperations, 2, DecodedReadableMaps.of("opacity", 2, "color", 3));
+
+    assertEquals(1, coalesceAndCompare());
+    assertEquals(2, mOperations.size());
+    assertEquals(2, mOperations.getInt(0, 0));
+    ReadableMap props = getProps(0, 0);
+    assertEquals(2, props.getInt("opacity"));
+    assertEquals(3, props.getInt("color"));
+    assertEquals("a", props.getString("testID"));
+  }
+
+  @Test
+  public void testUpdateNotMergedAcrossManageChildren() {
+    manageChildren(mOperations, 3, new int[] {0}, null, null);
+    updateProperties(mOperations, 4, DecodedReadableMaps.of("opacity", 1));
+    manageChildren(mOperations, 2, null, new ViewAtIndex[] {new ViewAtIndex(4, 0)}, null);
+    updateProperties(mOperations, 4, DecodedReadableMaps.of("opacity", 2));
+
+    assertEquals(0, coalesceAndCompare());
+  }
+
+  @Test
+  public void testUpdateNotMergedAcrossLayout() {
+    updateProperties(mOperations, 2, DecodedReadableMaps.of("opacity", 1));
+    updateLayout(mOperations, ROOT_TAG, 2, 0, 0, 10, 10);
+    updateProperties(mOperations, 2, DecodedReadableMaps.of("opacity", 2));
+
+    assertEquals(0, coalesceAndCompare());
+    assertEquals(UIViewOperationQueue.OP_UPDATE_LAYOUT, mOperations.getOpcode(1));
+  }
+
+  @Test
+  public void testUpdateNotMergedIntoCreateAcrossLayout() {
+    createView(mOperations, 10, DecodedReadableMaps.of("opacity", 1));
+    updateLayout(mOperations, ROOT_TAG, 10, 0, 0, 10, 10);
+    updateProperties(mOperations, 10, DecodedReadableMaps.of("opacity", 2));
+
+    assertEquals(0, coalesceAndCompare());
+  }
+
+  @Test
+  public void testUpdateNotMergedAcrossRemovalByIndex() {
+    // Removes 4 from 3 without naming it
+    updateProperties(mOperations, 4, DecodedReadableMaps.of("opacity", 1));
+    manageChildren(mOperations, 3, new int[] {0}, null, null);
+    updateProperties(mOperations, 4, DecodedReadableMaps.of("opacity", 2));
+
+    assertEquals(0, coalesceAndCompare());
+  }
+
+  @Test
+  public void testLayoutKeptAcrossUpdateAndAddition() {
+    updateLayout(mOperations, ROOT_TAG, 2, 0, 0, 10, 10);
+    updateProperties(mOperations, 2, DecodedReadableMaps.of("opacity", 1));
+    updateLayout(mOperations, ROOT_TAG, 2, 0, 0, 20, 20);
+    createView(mOperations, 10, null);
+    updateLayout(mOperations, 3, 10, 0, 0, 10, 10);
+    manageChildren(mOperations, 3, null, new ViewAtIndex[] {new ViewAtIndex(10, 1)}, null);
+    updateLayout(mOperations, 3, 10, 0, 0, 20, 20);
+
+    assertEquals(0, coalesceAndCompare());
+  }
+
+  @Test
+  public void testOnlyLastLayoutKept() {
+    updateLayout(mOperations, ROOT_TAG, 2, 0, 0, 10, 10);
+    updateLayout(mOperations, ROOT_TAG, 3, 0, 10, 10, 10);
+    updateLayout(mOperations, ROOT_TAG, 2, 0, 0, 20, 20);
+
+    assertEquals(1, coalesceAndCompare());
+    assertEquals(2, mOperations.size());
+    assertEquals(3, mOperations.getInt(0, 0));
+    assertEquals(2, mOperations.getInt(1, 0));
+  }
+
+  @Test
+  public void testCreateAndDeleteEliminatedWithLaterIndicesShifted() {
+    // The root starts with [2, 3]
+    createView(mOperations, 10, DecodedReadableMaps.of("opacity", 1));
+    createView(mOperations, 11, null);
+    manageChildren(mOperations, 10, null, new ViewAtIndex[] {new ViewAtIndex(11, 0)}, null);
+    // [2, 10, 3]
+    manageChildren(mOperations, ROOT_TAG, null, new ViewAtIndex[] {new ViewAtIndex(10, 1)}, null);
+    updateLayout(mOperations, ROOT_TAG, 10, 0, 0, 10, 10);
+    createView(mOperations, 12, null);
+    // [12, 2, 10, 3, 13], added past 10 so shifted down once it's eliminated
+    createView(mOperations, 13, null);
+    manageChildren(
+        mOperations,
+        ROOT_TAG,
+        null,
+        new ViewAtIndex[] {new ViewAtIndex(12, 0), new ViewAtIndex(13, 4)},
+        null);
+    updateProperties(mOperations, 10, DecodedReadableMaps.of("opacity", 2));
+    // Removes 2 and 10 and deletes 10: [12, 3, 13]
+    manageChildren(mOperations, ROOT_TAG, new int[] {1, 2}, null, new int[] {10});
+    // [12, 3, 14, 13]
+    createView(mOperations, 14, null);
+    manageChildren(mOperations, ROOT_TAG, null, new ViewAtIndex[] {new ViewAtIndex(14, 2)}, null);
+
+    assertEquals(6, coalesceAndCompare());
+    for (int i = 0; i < mOperations.size(); i++) {
+      int tag = mOperations.getInt(i, 0);
+      assertTrue(tag != 10 && tag != 11);
+    }
+    // Only the removal of 2 is left
+    int removeOperation = mOperations.size() - 3;
+    assertEquals(UIViewOperationQueue.OP_MANAGE_CHILDREN, mOperations.getOpcode(removeOperation));
+    assertTrue(Arrays.equals(new int[] {1}, (int[]) mOperations.getObject(removeOperation, 0)));
+  }
+
+  @Test
+  public void testCreateAndDeleteNotEliminatedWhenReadByBarrier() {
+    createView(mOperations, 10, null);
+    manageChildren(mOperations, ROOT_TAG, null, new ViewAtIndex[] {new ViewAtIndex(10, 0)}, null);
+    sendAccessibilityEvent(mOperations, 10);
+    manageChildren(mOperations, ROOT_TAG, new int[] {0}, null, new int[] {10});
+
+    assertEquals(0, coalesceAndCompare());
+  }
+
+  @Test
+  public void testBarrierBetweenCandidates() {
+    updateProperties(mOperations, 2, DecodedReadableMaps.of("opacity", 1));
+    updateLayout(mOperations, ROOT_TAG, 2, 0, 0, 10, 10);
+    sendAccessibilityEvent(mOperations, 3);
+    updateProperties(mOperations, 2, DecodedReadableMaps.of("opacity", 2));
+    updateLayout(mOperations, ROOT_TAG, 2, 0, 0, 20, 20);
+
+    assertEquals(0, coalesceAndCompare());
+    assertEquals(5, mOperations.size());
+  }
+
+  @Test
+  public void testOperationsThatDontInvolveViewsAreNotBarriers() {
+    updateProperties(mOperations, 2, DecodedReadableMaps.of("opacity", 1));
+    mOperations.addOperation(UIViewOperationQueue.OP_SET_LAYOUT_ANIMATION_ENABLED);
+    mOperations.putBoolean(true);
+    updateProperties(mOperations, 2, DecodedReadableMaps.of("opacity", 2));
+
+    assertEquals(1, coalesceAndCompare());
+  }
+
+  @Test
+  public void testRandomBatches() {
+    int removedCount = 0;
+    for (int seed = 0; seed < 500; seed++) {
+      mOperations = new RandomBatchGenerator(new Random(seed)).generate(40);
+      try {
+        removedCount += coalesceAndCompare();
+      } catch (AssertionError e) {
+        throw new AssertionError("seed " + seed + ": " + e.getMessage(), e);
+      }
+    }
+    assertTrue(removedCount > 0);
+  }
+
+  /**
+   * Coalesces {@link #mOperations} and checks that executing it gives the same results as before.
+   *
+   * @return how many operations were removed
+   */
+  private int coalesceAndCompare() {
+    UIOperationBuffer copy = copy(mOperations);
+    FakeViewHierarchy expected = createInitialHierarchy();
+    expected.execute(copy);
+
+    int removedCount = mCoalescer.coalesce(mOperations);
+    assertEquals(copy.size() - removedCount, mOperations.size());
+    FakeViewHierarchy actual = createInitialHierarchy();
+    actual.execute(copy(mOperations));
+
+    assertEquals(expected.mBarrierSnapshots, actual.mBarrierSnapshots);
+    assertEquals(expected.snapshot(), actual.snapshot());
+    return removedCount;
+  }
+
+  private ReadableMap getProps(int operation, int objectIndex) {
+    return ((CatalystStylesDiffMap) mOperations.getObject(operation, objectIndex)).mBackingMap;
+  }
+
+  /**
+   * A root with children 2 and 3, 3 having a child 4.
+   */
+  private static FakeViewHierarchy createInitialHierarchy() {
+    FakeViewHierarchy hierarchy = new FakeViewHierarchy();
+    UIOperationBuffer operations = new UIOperationBuffer();
+    for (int tag = ROOT_TAG; tag <= 4; tag++) {
+      createView(operations, tag, null);
+    }
+    manageChildren(
+        operations,
+        ROOT_TAG,
+        null,
+        new ViewAtIndex[] {new ViewAtIndex(2, 0), new ViewAtIndex(3, 1)},
+        null);
+    manageChildren(operations, 3, null, new ViewAtIndex[] {new ViewAtIndex(4, 0)}, null);
+    hierarchy.execute(operations);
+    return hierarchy;
+  }
+
+  // Operations are written like UIViewOperationQueue does
+
+  private static void createView(
+      UIOperationBuffer operations,
+      int tag,
+      @Nullable ReadableMap props) {
+    operations.addOperation(UIViewOperationQueue.OP_CREATE_VIEW);
+    operations.putInt(tag);
+    operations.putObject(null);
+    operations.putObject("RCTView");
+    operations.putObject(props == null ? null : new CatalystStylesDiffMap(props));
+  }
+
+  private static void updateProperties(UIOperationBuffer operations, int tag, ReadableMap props) {
+    operations.addOperation(UIViewOperationQueue.OP_UPDATE_PROPERTIES);
+    operations.putInt(tag);
+    operations.putObject(new CatalystStylesDiffMap(props));
+  }
+
+  private static void updateLayout(
+      UIOperationBuffer operations,
+      int parentTag,
+      int tag,
+      int x,
+      int y,
+      int width,
+      int height) {
+    operations.addOperation(UIViewOperationQueue.OP_UPDATE_LAYOUT);
+    operations.putInt(tag);
+    operations.putInt(parentTag);
+    operations.putInt(x);
+    operations.putInt(y);
+    operations.putInt(width);
+    operations.putInt(height);
+  }
+
+  private static void manageChildren(
+      UIOperationBuffer operations,
+      int tag,
+      @Nullable int[] indicesToRemove,
+      @Nullable ViewAtIndex[] viewsToAdd,
+      @Nullable int[] tagsToDelete) {
+    operations.addOperation(UIViewOperationQueue.OP_MANAGE_CHILDREN);
+    operations.putInt(tag);
+    operations.putObject(indicesToRemove);
+    operations.putObject(viewsToAdd);
+    operations.putObject(tagsToDelete);
+  }
+
+  private static void sendAccessibilityEvent(UIOperationBuffer operations, int tag) {
+    operations.addOperation(UIViewOperationQueue.OP_SEND_ACCESSIBILITY_EVENT);
+    operations.putInt(tag);
+    operations.putInt(0);
+  }
+
+  /**
+   * @return a copy of the operations of {@code operations}, which must not have been read yet
+   */
+  private static UIOperationBuffer copy(UIOperationBuffer operations) {
+    UIOperationBuffer copy = new UIOperationBuffer();
+    for (int i = 0; i < operations.size(); i++) {
+      copyOperation(operations, i, copy);
+    }
+    return copy;
+  }
+
+  private static void copyOperation(UIOperationBuffer from, int operation, UIOperationBuffer to) {
+    int opcode = from.getOpcode(operation);
+    int tag = from.getInt(operation, 0);
+    switch (opcode) {
+      case UIViewOperationQueue.OP_CREATE_VIEW: {
+        CatalystStylesDiffMap props = (CatalystStylesDiffMap) from.getObject(operation, 2);
+        createView(to, tag, props == null ? null : props.mBackingMap);
+        break;
+      }
+      case UIViewOperationQueue.OP_UPDATE_PROPERTIES:
+        updateProperties(
+            to,
+            tag,
+            ((CatalystStylesDiffMap) from.getObject(operation, 0)).mBackingMap);
+        break;
+      case UIViewOperationQueue.OP_UPDATE_LAYOUT:
+        updateLayout(
+            to,
+            from.getInt(operation, 1),
+            tag,
+            from.getInt(operation, 2),
+            from.getInt(operation, 3),
+            from.getInt(operation, 4),
+            from.getInt(operation, 5));
+        break;
+      case UIViewOperationQueue.OP_MANAGE_CHILDREN:
+        manageChildren(
+            to,
+            tag,
+            (int[]) from.getObject(operation, 0),
+            (ViewAtIndex[]) from.getObject(operation, 1),
+            (int[]) from.getObject(operation, 2));
+        break;
+      case UIViewOperationQueue.OP_SEND_ACCESSIBILITY_EVENT:
+        sendAccessibilityEvent(to, tag);
+        break;
+      case UIViewOperationQueue.OP_SET_LAYOUT_ANIMATION_ENABLED:
+        to.addOperation(opcode);
+        to.putBoolean(tag != 0);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported opcode " + opcode);
+    }
+  }
+
+  /**
+   * Executes operations the way NativeViewHierarchyManager does, failing on the same invalid
+   * operations, and records the resulting state.
+   */
+  private static class FakeViewHierarchy {
+
+    private final Map<Integer, List<Integer>> mChildren = new HashMap<>();
+    private final Map<Integer, Integer> mParents = new HashMap<>();
+    private final Map<Integer, Map<String, Object>> mProps = new HashMap<>();
+    private final Map<Integer, String> mLayouts = new HashMap<>();
+    // Props and layouts also record the state of the view they were applied to, so that moving
+    // one past the other or past a change of parent shows up in the snapshots
+    private final Map<Integer, String> mFrames = new HashMap<>();
+    private final List<String> mBarrierSnapshots = new ArrayList<>();
+
+    public void execute(UIOperationBuffer operations) {
+      while (operations.hasNext()) {
+        int opcode = operations.nextInt();
+        switch (opcode) {
+          case UIViewOperationQueue.OP_CREATE_VIEW: {
+            int tag = operations.nextInt();
+            operations.nextObject();
+            operations.nextObject();
+            CatalystStylesDiffMap props = (CatalystStylesDiffMap) operations.nextObject();
+            assertTrue("View " + tag + " already exists", !mChildren.containsKey(tag));
+            mChildren.put(tag, new ArrayList<Integer>());
+            mProps.put(tag, new TreeMap<String, Object>());
+            if (props != null) {
+              updateProps(tag, props.mBackingMap);
+            }
+            break;
+          }
+          case UIViewOperationQueue.OP_UPDATE_PROPERTIES: {
+            int tag = operations.nextInt();
+            updateProps(tag, ((CatalystStylesDiffMap) operations.nextObject()).mBackingMap);
+            break;
+          }
+          case UIViewOperationQueue.OP_UPDATE_LAYOUT: {
+            int tag = operations.nextInt();
+            int parentTag = operations.nextInt();
+            assertExists(tag);
+            String frame = parentTag + ":" + operations.nextInt() + "," + operations.nextInt() +
+                "," + operations.nextInt() + "," + operations.nextInt();
+            mFrames.put(tag, frame);
+            mLayouts.put(
+                tag,
+                frame + " props=" + mProps.get(tag) + " parent=" + mParents.get(tag));
+            break;
+          }
+          case UIViewOperationQueue.OP_MANAGE_CHILDREN:
+            manageChildren(
+                operations.nextInt(),
+                (int[]) operations.nextObject(),
+                (ViewAtIndex[]) operations.nextObject(),
+                (int[]) operations.nextObject());
+            break;
+          case UIViewOperationQueue.OP_SEND_ACCESSIBILITY_EVENT: {
+            int tag = operations.nextInt();
+            operations.nextInt();
+            assertExists(tag);
+            mBarrierSnapshots.add(snapshot());
+            break;
+          }
+          case UIViewOperationQueue.OP_SET_LAYOUT_ANIMATION_ENABLED:
+            operations.nextBoolean();
+            break;
+          default:
+            throw new IllegalArgumentException("Unsupported opcode " + opcode);
+        }
+      }
+    }
+
+    private void manageChildren(
+        int tag,
+        @Nullable int[] indicesToRemove,
+        @Nullable ViewAtIndex[] viewsToAdd,
+        @Nullable int[] tagsToDelete) {
+      assertExists(tag);
+      List<Integer> children = mChildren.get(tag);
+      if (indicesToRemove != null) {
+        int lastIndexToRemove = children.size();
+        for (int i = indicesToRemove.length - 1; i >= 0; i--) {
+          int index = indicesToRemove[i];
+          assertTrue("Invalid index to remove " + index, index >= 0 && index < lastIndexToRemove);
+          mParents.remove(children.remove(index));
+          lastIndexToRemove = index;
+        }
+      }
+      if (viewsToAdd != null) {
+        for (int i = 0; i < viewsToAdd.length; i++) {
+          ViewAtIndex viewAtIndex = viewsToAdd[i];
+          assertExists(viewAtIndex.mTag);
+          assertTrue(
+              "View " + viewAtIndex.mTag + " already has a parent",
+              !mParents.containsKey(viewAtIndex.mTag));
+          assertTrue(
+              "Invalid index to add " + viewAtIndex.mIndex,
+              viewAtIndex.mIndex >= 0 && viewAtIndex.mIndex <= children.size());
+          children.add(viewAtIndex.mIndex, viewAtIndex.mTag);
+          mParents.put(viewAtIndex.mTag, tag);
+        }
+      }
+      if (tagsToDelete != null) {
+        for (int i = 0; i < tagsToDelete.length; i++) {
+          assertExists(tagsToDelete[i]);
+          assertTrue(
+              "View " + tagsToDelete[i] + " is deleted while attached",
+              !mParents.containsKey(tagsToDelete[i]));
+          dropView(tagsToDelete[i]);
+        }
+      }
+    }
+
+    private void dropView(int tag) {
+      for (int child : mChildren.remove(tag)) {
+        mParents.remove(child);
+        dropView(child);
+      }
+      mProps.remove(tag);
+      mLayouts.remove(tag);
+      mFrames.remove(tag);
+    }
+
+    private void updateProps(int tag, ReadableMap props) {
+      assertExists(tag);
+      Map<String, Object> viewProps = mProps.get(tag);
+      ReadableMapKeySetIterator iterator = props.keySetIterator();
+      while (iterator.hasNextKey()) {
+        String key = iterator.nextKey();
+        viewProps.put(key + "@", mFrames.get(tag) + " parent=" + mParents.get(tag));
+        switch (props.getType(key)) {
+          case Null:
+            viewProps.put(key, null);
+            break;
+          case Boolean:
+            viewProps.put(key, props.getBoolean(key));
+            break;
+          case Number:
+            viewProps.put(key, props.getDouble(key));
+            break;
+          case String:
+            viewProps.put(key, props.getString(key));
+            break;
+          default:
+            throw new IllegalArgumentException("Unsupported prop " + key);
+        }
+      }
+    }
+
+    private void assertExists(int tag) {
+      assertTrue("View " + tag + " doesn't exist", mChildren.containsKey(tag));
+    }
+
+    public String snapshot() {
+      StringBuilder snapshot = new StringBuilder();
+      for (int tag : new TreeMap<>(mChildren).keySet()) {
+        snapshot.append(tag)
+            .append(": children=").append(mChildren.get(tag))
+            .append(" props=").append(mProps.get(tag))
+            .append(" layout=").append(mLayouts.get(tag))
+            .append('\n');
+      }
+      return snapshot.toString();
+    }
+  }
+
+  /**
+   * Generates valid batches on top of {@link #createInitialHierarchy}, favoring views created in
+   * the batch so that some get deleted in it too.
+   */
+  private static class RandomBatchGenerator {
+
+    private final Random mRandom;
+    private final FakeViewHierarchy mHierarchy = createInitialHierarchy();
+    private final UIOperationBuffer mOperations = new UIOperationBuffer();
+    private final UIOperationBuffer mOperation = new UIOperationBuffer();
+    private final List<Integer> mCreatedTags = new ArrayList<>();
+    private int mNextTag = FIRST_CREATED_TAG;
+
+    public RandomBatchGenerator(Random random) {
+      mRandom = random;
+    }
+
+    public UIOperationBuffer generate(int operationCount) {
+      for (int i = 0; i < operationCount; i++) {
+        switch (mRandom.nextInt(10)) {
+          case 0:
+          case 1:
+            createView(mOperation, mNextTag, mRandom.nextBoolean() ? randomProps() : null);
+            mCreatedTags.add(mNextTag++);
+            break;
+          case 2:
+          case 3:
+            updateProperties(mOperation, randomView(), randomProps());
+            break;
+          case 4:
+          case 5: {
+            int tag = randomView();
+            Integer parentTag = mHierarchy.mParents.get(tag);
+            updateLayout(
+                mOperation,
+                parentTag == null ? 0 : parentTag,
+                tag,
+                mRandom.nextInt(3),
+                0,
+                10,
+                10);
+            break;
+          }
+          case 6:
+          case 7:
+          case 8:
+            randomManageChildren();
+            break;
+          default:
+            sendAccessibilityEvent(mOperation, randomView());
+            break;
+        }
+        // Keep the hierarchy up to date, so that the next operation is valid
+        mHierarchy.execute(mOperation);
+        copyOperation(mOperation, 0, mOperations);
+        mOperation.clear();
+      }
+      return mOperations;
+    }
+
+    private void randomManageChildren() {
+      int tag = randomView();
+      List<Integer> children = mHierarchy.mChildren.get(tag);
+      ArrayList<Integer> indicesToRemove = new ArrayList<>();
+      ArrayList<Integer> tagsToDelete = new ArrayList<>();
+      for (int i = 0; i < children.size(); i++) {
+        if (mRandom.nextInt(3) == 0) {
+          indicesToRemove.add(i);
+          if (mRandom.nextBoolean()) {
+            tagsToDelete.add(children.get(i));
+          }
+        }
+      }
+
+      ArrayList<Integer> detachedTags = new ArrayList<>();
+      for (int createdTag : mCreatedTags) {
+        if (mHierarchy.mChildren.containsKey(createdTag) &&
+            !mHierarchy.mParents.containsKey(createdTag) &&
+            !isAncestor(createdTag, tag)) {
+          detachedTags.add(createdTag);
+        }
+      }
+      // Views removed without being deleted can be added back, which moves them
+      for (int i = 0; i < indicesToRemove.size(); i++) {
+        int removedTag = children.get(indicesToRemove.get(i));
+        if (!tagsToDelete.contains(removedTag)) {
+          detachedTags.add(removedTag);
+        }
+      }
+      ArrayList<ViewAtIndex> viewsToAdd = new ArrayList<>();
+      int childCount = children.size() - indicesToRemove.size();
+      int lastIndex = -1;
+      for (int i = 0; i < detachedTags.size(); i++) {
+        if (lastIndex < childCount && mRandom.nextBoolean()) {
+          int index = lastIndex + 1 + mRandom.nextInt(childCount - lastIndex);
+          viewsToAdd.add(new ViewAtIndex(detachedTags.get(i), index));
+          lastIndex = index;
+          childCount++;
+        }
+      }
+
+      manageChildren(
+          mOperation,
+          tag,
+          indicesToRemove.isEmpty() ? null : toIntArray(indicesToRemove),
+          viewsToAdd.isEmpty() ? null : viewsToAdd.toArray(new ViewAtIndex[viewsToAdd.size()]),
+          tagsToDelete.isEmpty() ? null : toIntArray(tagsToDelete));
+    }
+
+    private boolean isAncestor(int ancestorTag, int tag) {
+      for (Integer current = tag; current != null; current = mHierarchy.mParents.get(current)) {
+        if (current == ancestorTag) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private int randomView() {
+      // Prefer the views created in this batch
+      if (mRandom.nextInt(3) > 0) {
+        for (int attempt = 0; attempt < 3 && !mCreatedTags.isEmpty(); attempt++) {
+          int tag = mCreatedTags.get(mRandom.nextInt(mCreatedTags.size()));
+          if (mHierarchy.mChildren.containsKey(tag)) {
+            return tag;
+          }
+        }
+      }
+      ArrayList<Integer> tags = new ArrayList<>(mHierarchy.mChildren.keySet());
+      return tags.get(mRandom.nextInt(tags.size()));
+    }
+
+    private ReadableMap randomProps() {
+      String[] keys = {"opacity", "color", "testID"};
+      ArrayList<Object> keysAndValues = new ArrayList<>();
+      for (String key : keys) {
+        if (mRandom.nextBoolean()) {
+          keysAndValues.add(key);
+          keysAndValues.add(mRandom.nextInt(4) == 0 ? null : mRandom.nextInt(10));
+        }
+      }
+      return DecodedReadableMaps.of(keysAndValues.toArray());
+    }
+
+    private static int[] toIntArray(List<Integer> list) {
+      int[] array = new int[list.size()];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = list.get(i);
+      }
+      return array;
+    }
+  }
+}
@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import android.view.Choreographer;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReadableMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the frame budget of {@link UIViewOperationQueue}: operations of a batch are spread
+ * over several frames once the budget is used up, but never those of a batch configuring a layout
+ * animation.
+ */
+@PrepareForTest({ReactChoreographer.class})
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+@RunWith(RobolectricTestRunner.class)
+public class UIViewOperationQueueTest {
+
+  // Every operation takes longer than the budget, so a frame that may be interrupted executes
+  // exactly one operation
+  private static final long FRAME_BUDGET_MS = 1;
+  private static final long OPERATION_DURATION_MS = 2 * FRAME_BUDGET_MS;
+
+  private UIViewOperationQueue mQueue;
+  private ReactApplicationContext mReactContext;
+  private PostFrameCallbackHandler mPostFrameCallbackHandler;
+  private List<String> mExecuted;
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  @Before
+  public void setUp() {
+    ReactChoreographer choreographerMock = mock(ReactChoreographer.class);
+    PowerMockito.mockStatic(ReactChoreographer.class);
+    when(ReactChoreographer.getInstance()).thenReturn(choreographerMock);
+    mPostFrameCallbackHandler = new PostFrameCallbackHandler();
+    doAnswer(mPostFrameCallbackHandler)
+        .when(choreographerMock)
+        .postFrameCallback(
+            eq(ReactChoreographer.CallbackType.DISPATCH_UI),
+            any(Choreographer.FrameCallback.class));
+
+    mExecuted = new ArrayList<>();
+    NativeViewHierarchyManager nativeViewHierarchyManager = mock(NativeViewHierarchyManager.class);
+    doAnswer(new RecordingAnswer("configure"))
+        .when(nativeViewHierarchyManager)
+        .configureLayoutAnimation(any(ReadableMap.class));
+    doAnswer(new RecordingAnswer("clear"))
+        .when(nativeViewHierarchyManager)
+        .clearLayoutAnimation();
+
+    mReactContext = mock(ReactApplicationContext.class);
+    mQueue = new UIViewOperationQueue(mReactContext, nativeViewHierarchyManager);
+    mQueue.setFrameBudgetMs(FRAME_BUDGET_MS);
+    mQueue.resumeFrameCallback();
+  }
+
+  @After
+  public void tearDown() {
+    // Failures inside the frame callback are reported to the context instead of being thrown
+    verify(mReactContext, never()).handleException(any(RuntimeException.class));
+  }
+
+  @Test
+  public void testBatchIsSplitAcrossFrames() {
+    enqueueOperations(0, 3);
+    mQueue.dispatchViewUpdates(1);
+
+    stepFrame();
+    assertExecuted("op 0", "clear");
+    stepFrame();
+    assertExecuted("op 0", "clear", "op 1", "clear");
+    stepFrame();
+    assertExecuted("op 0", "clear", "op 1", "clear", "op 2", "clear");
+    stepFrame();
+    assertExecuted("op 0", "clear", "op 1", "clear", "op 2", "clear", "clear");
+  }
+
+  @Test
+  public void testLaterBatchWaitsForNextFrame() {
+    enqueueOperations(0, 1);
+    mQueue.dispatchViewUpdates(1);
+    enqueueOperations(1, 1);
+    mQueue.dispatchViewUpdates(2);
+
+    stepFrame();
+    assertExecuted("op 0", "clear");
+    stepFrame();
+    assertExecuted("op 0", "clear", "op 1", "clear");
+  }
+
+  @Test
+  public void testLayoutAnimationBatchIsNotSplit() {
+    mQueue.enqueueConfigureLayoutAnimation(mock(ReadableMap.class), null, null);
+    enqueueOperations(0, 3);
+    mQueue.dispatchViewUpdates(1);
+    enqueueOperations(3, 1);
+    mQueue.dispatchViewUpdates(2);
+
+    stepFrame();
+    assertExecuted("configure", "op 0", "op 1", "op 2", "clear");
+    stepFrame();
+    assertExecuted("configure", "op 0", "op 1", "op 2", "clear", "op 3", "clear");
+  }
+
+  @Test
+  public void testNoBudgetExecutesAllBatches() {
+    mQueue.setFrameBudgetMs(0);
+    enqueueOperations(0, 2);
+    mQueue.dispatchViewUpdates(1);
+    enqueueOperations(2, 1);
+    mQueue.dispatchViewUpdates(2);
+
+    stepFrame();
+    assertExecuted("op 0", "op 1", "op 2", "clear");
+  }
+
+  private void enqueueOperations(int firstIndex, int count) {
+    for (int i = firstIndex; i < firstIndex + count; i++) {
+      final String name = "op " + i;
+      mQueue.enqueueUIOperation(
+          new UIViewOperationQueue.UIOperation() {
+            @Override
+            public void execute() {
+              try {
+                Thread.sleep(OPERATION_DURATION_MS);
+              } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+              }
+              mExecuted.add(name);
+            }
+          });
+    }
+  }
+
+  private void stepFrame() {
+    Choreographer.FrameCallback callback = mPostFrameCallbackHandler.getAndResetFrameCallback();
+    callback.doFrame(System.nanoTime());
+  }
+
+  private void assertExecuted(String... expected) {
+    assertEquals(Arrays.asList(expected), mExecuted);
+  }
+
+  private class RecordingAnswer implements Answer<Void> {
+
+    private final String mName;
+
+    private RecordingAnswer(String name) {
+      mName = name;
+    }
+
+    @Override
+    public Void answer(InvocationOnMock invocation) throws Throwable {
+      mExecuted.add(mName);
+      return null;
+    }
+  }
+
+  private static class PostFrameCallbackHandler implements Answer<Void> {
+
+    private Choreographer.FrameCallback mFrameCallback;
+
+    @Override
+    public Void answer(InvocationOnMock invocation) throws Throwable {
+      Object[] args = invocation.getArguments();
+      mFrameCallback = (Choreographer.FrameCallback) args[1];
+      return null;
+    }
+
+    public Choreographer.FrameCallback getAndResetFrameCallback() {
+      Choreographer.FrameCallback callback = mFrameCallback;
+      mFrameCallback = null;
+      return callback;
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import javax.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import android.view.View;
+
+import com.facebook.react.common.MapBuilder;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class ViewManagerRegistryTest {
+
+  @Test
+  public void testProvidedViewManagerIsCreatedOnce() {
+    CountingProvider provider = new CountingProvider(new TestViewManager("Provided", null));
+    ViewManagerRegistry registry = new ViewManagerRegistry(
+        Collections.<ViewManager>emptyList(),
+        Collections.<String, ViewManagerProvider>singletonMap("Provided", provider));
+
+    assertEquals(0, provider.mCreateCount);
+    ViewManager viewManager = registry.get("Provided");
+    assertSame(viewManager, registry.get("Provided"));
+    assertEquals(1, provider.mCreateCount);
+  }
+
+  @Test
+  public void testViewManagerTakesPrecedenceOverProvider() {
+    TestViewManager viewManager = new TestViewManager("Both", null);
+    CountingProvider provider = new CountingProvider(new TestViewManager("Both", null));
+    ViewManagerRegistry registry = new ViewManagerRegistry(
+        Arrays.<ViewManager>asList(viewManager),
+        Collections.<String, ViewManagerProvider>singletonMap("Both", provider));
+
+    assertSame(viewManager, registry.get("Both"));
+    assertEquals(0, provider.mCreateCount);
+    assertTrue(registry.getProvidedViewManagerNames().isEmpty());
+  }
+
+  @Test
+  public void testUnknownViewManager() {
+    ViewManagerRegistry registry = new ViewManagerRegistry(
+        Collections.<ViewManager>emptyList(),
+        Collections.<String, ViewManagerProvider>singletonMap(
+            "Provided",
+            new CountingProvider(new TestViewManager("Provided", null))));
+    try {
+      registry.get("Unknown");
+      fail("Expected an IllegalViewOperationException");
+    } catch (IllegalViewOperationException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testProvidedViewManagerWithWrongName() {
+    ViewManagerRegistry registry = new ViewManagerRegistry(
+        Collections.<ViewManager>emptyList(),
+        Collections.<String, ViewManagerProvider>singletonMap(
+            "Provided",
+            new CountingProvider(new TestViewManager("Other", null))));
+    try {
+      registry.get("Provided");
+      fail("Expected an IllegalViewOperationException");
+    } catch (IllegalViewOperationException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testProvidedViewManagerWithCustomEventTypesFailsInDebug() {
+    Map<String, Object> eventTypes = new HashMap<>();
+    eventTypes.put("topCustom", MapBuilder.of("registrationName", "onCustom"));
+    ViewManagerRegistry registry = new ViewManagerRegistry(
+        Collections.<ViewManager>emptyList(),
+        Collections.<String, ViewManagerProvider>singletonMap(
+            "Provided",
+            new CountingProvider(new TestViewManager("Provided", eventTypes))));
+    try {
+      registry.get("Provided");
+      fail("Expected an IllegalViewOperationException");
+    } catch (IllegalViewOperationException e) {
+      // Expected
+    }
+  }
+
+  private static class CountingProvider implements ViewManagerProvider {
+
+    private final ViewManager mViewManager;
+    private int mCreateCount;
+
+    public CountingProvider(ViewManager viewManager) {
+      mViewManager = viewManager;
+    }
+
+    @Override
+    public ViewManager createViewManager() {
+      mCreateCount++;
+      return mViewManager;
+    }
+  }
+
+  private static class TestViewManager extends SimpleViewManager<View> {
+
+    private final String mName;
+    private final @Nullable Map<String, Object> mDirectEventTypes;
+
+    public TestViewManager(String name, @Nullable Map<String, Object> directEventTypes) {
+      mName = name;
+      mDirectEventTypes = directEventTypes;
+    }
+
+    @Override
+    public String getName() {
+      return mName;
+    }
+
+    @Override
+    protected View createViewInstance(ThemedReactContext reactContext) {
+      return new View(reactContext);
+    }
+
+    @Override
+    public @Nullable Map<String, Object> getExportedCustomDirectEventTypeConstants() {
+      return mDirectEventTypes;
+    }
+  }
+}